@@ -0,0 +1,70 @@
+package com.constructiq.benchmarks;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.security.AuthContext;
+import com.constructiq.backendjava.security.AuthTokenService;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AuthTokenService.parseToken for current-key, rotated-key and legacy (no kid) tokens,
+ * with the verified-token cache on and off.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AuthTokenBenchmark {
+
+    private static final String CURRENT_SECRET = "benchmark-current-secret-at-least-32-chars";
+    private static final String PREVIOUS_SECRET = "benchmark-previous-secret-at-least-32-chars";
+
+    @Param({"current", "rotated", "legacy"})
+    public String token;
+
+    @Param({"0", "10000"})
+    public int cacheSize;
+
+    private AuthTokenService service;
+    private String value;
+
+    @Setup
+    public void setUp() {
+        ConstructIQProperties properties = new ConstructIQProperties();
+        properties.setAuthTokenSecret(CURRENT_SECRET);
+        properties.setAuthTokenPreviousSecrets(PREVIOUS_SECRET);
+        properties.setAuthTokenTtlMinutes(60);
+        properties.setAuthTokenCacheSize(cacheSize);
+        service = new AuthTokenService(properties);
+
+        value = switch (token) {
+            case "current" -> service.createToken("user-1", QuotePayloads.ORG_ID, "buyer", "buyer@example.com");
+            case "rotated" -> {
+                ConstructIQProperties previous = new ConstructIQProperties();
+                previous.setAuthTokenSecret(PREVIOUS_SECRET);
+                previous.setAuthTokenTtlMinutes(60);
+                yield new AuthTokenService(previous).createToken("user-1", QuotePayloads.ORG_ID, "buyer", "buyer@example.com");
+            }
+            default -> Jwts.builder()
+                    .subject("user-1")
+                    .claim("org", QuotePayloads.ORG_ID)
+                    .expiration(new Date(System.currentTimeMillis() + 3_600_000))
+                    .signWith(Keys.hmacShaKeyFor(PREVIOUS_SECRET.getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                    .compact();
+        };
+        if (service.parseToken(value).isEmpty()) throw new IllegalStateException("Benchmark token does not verify");
+    }
+
+    @Benchmark
+    public Optional<AuthContext> parseToken() {
+        return service.parseToken(value);
+    }
+}
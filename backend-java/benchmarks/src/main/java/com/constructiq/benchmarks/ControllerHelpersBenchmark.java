@@ -0,0 +1,82 @@
+package com.constructiq.benchmarks;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.controller.ControllerBase;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * ControllerBase map helpers as the controllers apply them to every document of a list response.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ControllerHelpersBenchmark {
+
+    static final class Helpers extends ControllerBase {
+        Helpers() {
+            super(null, new ConstructIQProperties());
+        }
+
+        Map<String, Object> sanitizeDoc(Map<String, Object> doc) {
+            return sanitize(doc);
+        }
+
+        Map<String, Object> page(List<Map<String, Object>> items, long total) {
+            return paginate(items, total, 1, items.size());
+        }
+
+        Map<String, Object> line(Object item) {
+            return asMap(item);
+        }
+
+        double number(Object value) {
+            return asDouble(value, 0.0);
+        }
+
+        int integer(Object value) {
+            return asInt(value, 0);
+        }
+
+        String text(Object value) {
+            return asString(value, "");
+        }
+
+        List<Object> lines(Map<String, Object> doc) {
+            return asList(doc.get("items"));
+        }
+    }
+
+    private final Helpers helpers = new Helpers();
+    private List<Map<String, Object>> page;
+
+    @Setup
+    public void setUp() {
+        page = new QuotePayloads(11).quotes(50);
+    }
+
+    @Benchmark
+    public Map<String, Object> sanitizeAndPaginate() {
+        List<Map<String, Object>> items = page.stream().map(helpers::sanitizeDoc).toList();
+        return helpers.page(items, 1_000);
+    }
+
+    @Benchmark
+    public void coerceLineItems(Blackhole bh) {
+        for (Map<String, Object> doc : page) {
+            for (Object item : helpers.lines(doc)) {
+                Map<String, Object> line = helpers.line(item);
+                bh.consume(helpers.number(line.get("qty")) * helpers.number(line.get("unit_price")));
+                bh.consume(helpers.integer(line.get("qty")));
+                bh.consume(helpers.text(line.get("uom")));
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.constructiq.benchmarks;
+
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * In-memory filter ({@code matches}) and {@code sortAndPage} path of SqlDocumentStore.find, reached with
+ * operator queries the SQL builder cannot push down.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DocumentFilterBenchmark {
+
+    @Param({"1000", "10000"})
+    public int documents;
+
+    private SqlDocumentStore store;
+    private Map<String, Object> regexQuery;
+    private Map<String, Object> inQuery;
+
+    @Setup
+    public void setUp() {
+        List<Map<String, Object>> docs = new QuotePayloads(42).quotes(documents);
+        store = new SqlDocumentStore(StubJdbcTemplate.decoded(docs), new ObjectMapper());
+        regexQuery = Map.of("org_id", QuotePayloads.ORG_ID, "notes", Map.of("$regex", "urgent"));
+        inQuery = Map.of("org_id", QuotePayloads.ORG_ID,
+                "status", Map.of("$in", List.of("received", "under_review")),
+                "received_at", Map.of("$gte", "2025-06-01"));
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> regexFilterSortedFirstPage() {
+        return store.find("quotes", regexQuery, "created_at", true, 0, 20);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> inAndRangeFilterDeepPage() {
+        return store.find("quotes", inQuery, "total_amount", false, 500, 50);
+    }
+
+    @Benchmark
+    public long inMemoryCount() {
+        return store.count("quotes", inQuery);
+    }
+}
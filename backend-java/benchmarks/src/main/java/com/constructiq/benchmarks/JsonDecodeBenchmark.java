@@ -0,0 +1,38 @@
+package com.constructiq.benchmarks;
+
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Row decoding cost of SqlDocumentStore (json_data to Map) for realistic quote documents.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonDecodeBenchmark {
+
+    @Param({"1", "100"})
+    public int rows;
+
+    private SqlDocumentStore store;
+
+    @Setup
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper();
+        List<String> json = QuotePayloads.toJson(mapper, new QuotePayloads(7).quotes(rows));
+        store = new SqlDocumentStore(StubJdbcTemplate.json(json), mapper);
+    }
+
+    @Benchmark
+    public List<Map<String, Object>> decodePage() {
+        return store.find("quotes", Map.of("org_id", QuotePayloads.ORG_ID), null, false, 0, rows);
+    }
+}
@@ -0,0 +1,99 @@
+package com.constructiq.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+/**
+ * Deterministic quote documents shaped like the ones QuoteService persists.
+ */
+public final class QuotePayloads {
+
+    public static final String ORG_ID = "org-bench";
+    static final String[] STATUSES = {"received", "under_review", "accepted", "rejected"};
+    private static final String[] UOMS = {"ea", "m", "m2", "m3", "kg", "t", "bag", "roll"};
+    private static final String[] MATERIALS = {"Rebar 12mm", "Portland cement", "Plywood 18mm", "Copper pipe 22mm",
+            "Drywall 12.5mm", "Concrete block", "Insulation roll", "Steel I-beam", "Gravel 20mm", "PVC conduit"};
+    private static final String[] NOTES = {"Delivery within 5 days", "Urgent - site pour scheduled",
+            "Price valid for 30 days", "Includes transport", "Excludes VAT", "Subject to stock availability"};
+
+    private final Random random;
+    private final List<String> suppliers = new ArrayList<>();
+    private final List<String> rfqs = new ArrayList<>();
+    private final List<String> products = new ArrayList<>();
+
+    public QuotePayloads(long seed) {
+        this.random = new Random(seed);
+        for (int i = 0; i < 40; i++) suppliers.add(uuid());
+        for (int i = 0; i < 200; i++) rfqs.add(uuid());
+        for (int i = 0; i < 500; i++) products.add(uuid());
+    }
+
+    public List<Map<String, Object>> quotes(int count) {
+        List<Map<String, Object>> out = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) out.add(quote());
+        return out;
+    }
+
+    public Map<String, Object> quote() {
+        OffsetDateTime created = OffsetDateTime.of(2025, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC)
+                .plusMinutes(random.nextInt(600_000));
+        int lines = 1 + random.nextInt(12);
+        List<Map<String, Object>> items = new ArrayList<>(lines);
+        double total = 0;
+        for (int i = 0; i < lines; i++) {
+            double qty = 1 + random.nextInt(500);
+            double unitPrice = Math.round((2 + random.nextDouble() * 400) * 100) / 100.0;
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("id", uuid());
+            item.put("raw_line_text", MATERIALS[random.nextInt(MATERIALS.length)] + " x" + (int) qty);
+            item.put("normalized_product_id", pick(products));
+            item.put("qty", qty);
+            item.put("uom", UOMS[random.nextInt(UOMS.length)]);
+            item.put("unit_price", unitPrice);
+            item.put("total_price", qty * unitPrice);
+            items.add(item);
+            total += qty * unitPrice;
+        }
+        Map<String, Object> quote = new LinkedHashMap<>();
+        quote.put("id", uuid());
+        quote.put("org_id", ORG_ID);
+        quote.put("supplier_id", pick(suppliers));
+        quote.put("rfq_id", pick(rfqs));
+        quote.put("status", STATUSES[random.nextInt(STATUSES.length)]);
+        quote.put("currency", "USD");
+        quote.put("notes", NOTES[random.nextInt(NOTES.length)]);
+        quote.put("attachments", new ArrayList<>());
+        quote.put("items", items);
+        quote.put("total_amount", total);
+        quote.put("received_at", created.toString());
+        quote.put("created_at", created.toString());
+        quote.put("updated_at", created.plusHours(random.nextInt(72)).toString());
+        return quote;
+    }
+
+    public static List<String> toJson(ObjectMapper mapper, List<Map<String, Object>> docs) {
+        List<String> out = new ArrayList<>(docs.size());
+        try {
+            for (Map<String, Object> doc : docs) out.add(mapper.writeValueAsString(doc));
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+        return out;
+    }
+
+    private String pick(List<String> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+
+    private String uuid() {
+        return new UUID(random.nextLong(), random.nextLong()).toString();
+    }
+}
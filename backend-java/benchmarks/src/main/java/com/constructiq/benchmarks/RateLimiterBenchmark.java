@@ -0,0 +1,56 @@
+package com.constructiq.benchmarks;
+
+import com.constructiq.backendjava.api.QuotaLeaser;
+import com.constructiq.backendjava.api.RateLimiter;
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * RateLimitFilter's per-request decision under contention: every thread hitting one client key
+ * versus each thread acting as its own client.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class RateLimiterBenchmark {
+
+    private final AtomicInteger clients = new AtomicInteger();
+    private RateLimiter limiter;
+
+    @State(Scope.Thread)
+    public static class Client {
+        String address;
+        String path;
+
+        @Setup
+        public void setUp(RateLimiterBenchmark shared) {
+            address = "10.0.0." + shared.clients.incrementAndGet();
+            path = "/api/quotes/" + UUID.randomUUID();
+        }
+    }
+
+    @Setup
+    public void setUp() {
+        ConstructIQProperties properties = new ConstructIQProperties();
+        properties.setRateLimitPerMinute(Integer.MAX_VALUE);
+        limiter = new RateLimiter(properties, (QuotaLeaser) null);
+    }
+
+    @Benchmark
+    public RateLimiter.Decision sharedClient(Client client) {
+        return limiter.tryAcquire("10.0.0.1", client.path);
+    }
+
+    @Benchmark
+    public RateLimiter.Decision distinctClients(Client client) {
+        return limiter.tryAcquire(client.address, client.path);
+    }
+}
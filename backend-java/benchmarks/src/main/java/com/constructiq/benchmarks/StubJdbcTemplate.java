@@ -0,0 +1,55 @@
+package com.constructiq.benchmarks;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.lang.reflect.Proxy;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Serves every query from an in-memory result so benchmarks measure the store's own work, not MySQL.
+ * In {@code json} mode rows go through the store's RowMapper (JSON decoding); otherwise pre-decoded
+ * documents are returned as-is.
+ */
+final class StubJdbcTemplate extends JdbcTemplate {
+
+    private final List<?> decoded;
+    private final List<String> json;
+
+    private StubJdbcTemplate(List<?> decoded, List<String> json) {
+        this.decoded = decoded;
+        this.json = json;
+    }
+
+    static StubJdbcTemplate decoded(List<?> docs) {
+        return new StubJdbcTemplate(docs, null);
+    }
+
+    static StubJdbcTemplate json(List<String> docs) {
+        return new StubJdbcTemplate(null, docs);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> List<T> query(String sql, RowMapper<T> rowMapper, Object... args) {
+        if (json == null) return new ArrayList<>((List<T>) decoded);
+        List<T> out = new ArrayList<>(json.size());
+        try {
+            for (int i = 0; i < json.size(); i++) out.add(rowMapper.mapRow(row(json.get(i)), i));
+        } catch (SQLException e) {
+            throw new IllegalStateException(e);
+        }
+        return out;
+    }
+
+    private static ResultSet row(String value) {
+        return (ResultSet) Proxy.newProxyInstance(ResultSet.class.getClassLoader(), new Class<?>[]{ResultSet.class},
+                (proxy, method, args) -> {
+                    if ("getString".equals(method.getName())) return value;
+                    throw new UnsupportedOperationException(method.getName());
+                });
+    }
+}
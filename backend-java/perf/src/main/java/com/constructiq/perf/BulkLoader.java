@@ -0,0 +1,81 @@
+package com.constructiq.perf;
+
+import com.constructiq.backendjava.store.LatestPriceStore;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Loads a generated dataset through the application's own stores, running generator units on a fixed
+ * pool so generation and batched JDBC writes overlap across threads.
+ */
+public final class BulkLoader {
+    private static final Logger log = LoggerFactory.getLogger(BulkLoader.class);
+
+    public record Result(Map<String, Long> documents, long latestPrices, Duration elapsed) {
+        public long totalDocuments() {
+            return documents.values().stream().mapToLong(Long::longValue).sum();
+        }
+    }
+
+    private final SqlDocumentStore store;
+    private final LatestPriceStore latestPrices;
+    private final int threads;
+
+    public BulkLoader(SqlDocumentStore store, LatestPriceStore latestPrices, int threads) {
+        this.store = store;
+        this.latestPrices = latestPrices;
+        this.threads = Math.max(1, threads);
+    }
+
+    public Result load(DatasetGenerator generator) throws Exception {
+        Map<String, LongAdder> counts = new ConcurrentHashMap<>();
+        LongAdder latestCount = new LongAdder();
+        DatasetGenerator.Sink sink = new DatasetGenerator.Sink() {
+            @Override
+            public void documents(String collection, List<Map<String, Object>> docs) {
+                store.upsertAll(collection, docs);
+                counts.computeIfAbsent(collection, k -> new LongAdder()).add(docs.size());
+            }
+
+            @Override
+            public void latestPrices(String orgId, List<LatestPriceStore.LatestPrice> prices) {
+                latestPrices.upsertAll(orgId, prices);
+                latestCount.add(prices.size());
+            }
+        };
+
+        List<DatasetGenerator.Unit> units = generator.units();
+        AtomicInteger done = new AtomicInteger();
+        long start = System.nanoTime();
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = units.stream().<Future<?>>map(unit -> pool.submit(() -> {
+                unit.generate(sink);
+                int finished = done.incrementAndGet();
+                if (finished % 20 == 0 || finished == units.size()) {
+                    log.info("Loaded {}/{} units ({} documents)", finished, units.size(),
+                            counts.values().stream().mapToLong(LongAdder::sum).sum());
+                }
+            })).toList();
+            for (Future<?> future : futures) future.get();
+        } finally {
+            pool.shutdownNow();
+        }
+
+        Map<String, Long> totals = new TreeMap<>();
+        counts.forEach((collection, count) -> totals.put(collection, count.sum()));
+        return new Result(totals, latestCount.sum(), Duration.ofNanos(System.nanoTime() - start));
+    }
+}
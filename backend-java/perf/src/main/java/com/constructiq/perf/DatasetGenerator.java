@@ -0,0 +1,247 @@
+package com.constructiq.perf;
+
+import com.constructiq.backendjava.store.LatestPriceStore;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+
+/**
+ * Produces the documents of a {@link DatasetSpec} as independent work units. Each unit seeds its own
+ * random stream from (seed, org, unit), so units can run in any order or in parallel and still yield
+ * identical data.
+ */
+public final class DatasetGenerator {
+
+    public static final String PASSWORD = "perf-password-123";
+    public static final int BATCH = 1_000;
+    static final int PRODUCTS_PER_UNIT = 500;
+    static final int QUOTES_PER_UNIT = 50;
+
+    public interface Sink {
+        void documents(String collection, List<Map<String, Object>> docs);
+
+        void latestPrices(String orgId, List<LatestPriceStore.LatestPrice> prices);
+    }
+
+    public interface Unit {
+        void generate(Sink sink);
+    }
+
+    record Category(String name, String uom, double basePrice, String[] items) {}
+
+    static final Category[] CATEGORIES = {
+            new Category("Steel", "ton", 850, new String[]{"Rebar #4 Grade 60", "Rebar #5 Grade 60", "Wide Flange Beam W8x31", "Steel Angle 2x2", "Welded Wire Mesh"}),
+            new Category("Concrete", "cubic_yard", 140, new String[]{"Ready-Mix 3000 PSI", "Ready-Mix 4000 PSI", "Ready-Mix 5000 PSI", "Flowable Fill", "Shotcrete Mix"}),
+            new Category("Cement", "bag", 14, new String[]{"Portland Cement Type I/II", "Masonry Cement Type S", "Rapid Set Cement", "White Portland Cement"}),
+            new Category("Lumber", "board_ft", 3.2, new String[]{"SPF 2x4 Stud", "Douglas Fir 2x10", "Pressure Treated 4x4", "LVL Beam 1.75x11.875", "OSB Sheathing 7/16"}),
+            new Category("Electrical", "ft", 0.9, new String[]{"12/2 Romex Wire", "10/3 Romex Wire", "EMT Conduit 3/4", "THHN 12 AWG", "PVC Conduit 1in"}),
+            new Category("Plumbing", "ft", 4.5, new String[]{"Copper Pipe Type L 3/4", "PEX Tubing 1/2", "PVC DWV 4in", "Cast Iron Soil Pipe 4in", "CPVC Pipe 3/4"}),
+            new Category("Drywall", "sheet", 16, new String[]{"Gypsum Board 1/2 4x8", "Type X Board 5/8 4x8", "Moisture Resistant Board", "Cement Backer Board"}),
+            new Category("Insulation", "sq_ft", 1.1, new String[]{"Fiberglass Batt R-13", "Fiberglass Batt R-30", "Rigid Foam XPS 2in", "Mineral Wool R-15"}),
+            new Category("Aggregates", "ton", 32, new String[]{"Crushed Stone 3/4", "Washed Sand", "Pea Gravel", "Recycled Base Course"}),
+            new Category("Roofing", "square", 110, new String[]{"Architectural Shingles", "TPO Membrane 60mil", "Standing Seam Panel", "Roofing Underlayment"}),
+    };
+
+    private static final String[] SUPPLIER_WORDS = {"Summit", "Keystone", "Atlas", "Pioneer", "Granite", "Beacon",
+            "Frontier", "Liberty", "Union", "Harbor", "Ridge", "Metro", "Capital", "Northern", "Coastal", "Prairie"};
+    private static final String[] SUPPLIER_KINDS = {"Supply", "Materials", "Distributors", "Building Products",
+            "Industrial", "Wholesale", "Trading Co.", "Depot"};
+    private static final String[] QUOTE_STATUSES = {"received", "received", "under_review", "accepted", "rejected"};
+
+    private final DatasetSpec spec;
+    private final String passwordHash;
+    private final OffsetDateTime historyEnd;
+
+    public DatasetGenerator(DatasetSpec spec, String passwordHash) {
+        this(spec, passwordHash, OffsetDateTime.now(ZoneOffset.UTC).withNano(0));
+    }
+
+    DatasetGenerator(DatasetSpec spec, String passwordHash, OffsetDateTime historyEnd) {
+        this.spec = spec;
+        this.passwordHash = passwordHash;
+        this.historyEnd = historyEnd;
+    }
+
+    public List<Unit> units() {
+        List<Unit> units = new ArrayList<>();
+        for (int org = 0; org < spec.orgs(); org++) {
+            int o = org;
+            units.add(sink -> organization(o, sink));
+            units.add(sink -> suppliers(o, sink));
+            for (int from = 0; from < spec.products(); from += PRODUCTS_PER_UNIT) {
+                int start = from;
+                units.add(sink -> products(o, start, Math.min(spec.products(), start + PRODUCTS_PER_UNIT), sink));
+            }
+            for (int from = 0; from < spec.quotes(); from += QUOTES_PER_UNIT) {
+                int start = from;
+                units.add(sink -> quotes(o, start, Math.min(spec.quotes(), start + QUOTES_PER_UNIT), sink));
+            }
+        }
+        return units;
+    }
+
+    static Category category(int product) {
+        return CATEGORIES[product % CATEGORIES.length];
+    }
+
+    private void organization(int org, Sink sink) {
+        String orgId = DatasetSpec.orgId(org);
+        String created = historyEnd.minusDays(spec.historyDays()).toString();
+        sink.documents("organizations", List.of(doc("id", orgId, "name", "Perf Construction " + org,
+                "plan", "enterprise", "currency", "USD", "created_at", created)));
+        sink.documents("users", List.of(doc("id", orgId + "-admin", "org_id", orgId,
+                "email", DatasetSpec.adminEmail(org), "name", "Perf Admin " + org, "role", "admin",
+                "password", passwordHash, "status", "active", "created_at", created)));
+
+        List<Map<String, Object>> projects = new ArrayList<>();
+        List<Map<String, Object>> rfqs = new ArrayList<>();
+        Random random = random(org, -1);
+        for (int p = 0; p < 20; p++) {
+            String projectId = orgId + "-proj-" + p;
+            projects.add(doc("id", projectId, "org_id", orgId, "name", "Project " + p,
+                    "location", "Site " + (100 + p), "status", p % 5 == 4 ? "on_hold" : "active",
+                    "description", "Synthetic project " + p, "created_at", timestamp(random), "updated_at", created));
+            for (int r = 0; r < 10; r++) {
+                rfqs.add(doc("id", projectId + "-rfq-" + r, "org_id", orgId, "project_id", projectId,
+                        "title", "RFQ " + p + "-" + r, "status", r % 3 == 0 ? "draft" : "sent",
+                        "items", new ArrayList<>(), "created_at", timestamp(random), "updated_at", created));
+            }
+        }
+        sink.documents("projects", projects);
+        sink.documents("rfqs", rfqs);
+        sink.documents("alert_rules", List.of(
+                doc("id", orgId + "-rule-change", "org_id", orgId, "name", "Price change > 12%", "type", "price_change",
+                        "is_active", true, "params", doc("threshold_percent", 12.0, "compare_last_n", 3), "created_at", created),
+                doc("id", orgId + "-rule-anomaly", "org_id", orgId, "name", "Price anomaly", "type", "price_anomaly",
+                        "is_active", true, "params", doc("z_threshold", 3.0, "min_samples", 5), "created_at", created)));
+    }
+
+    private void suppliers(int org, Sink sink) {
+        String orgId = DatasetSpec.orgId(org);
+        Random random = random(org, -2);
+        List<Map<String, Object>> batch = new ArrayList<>(BATCH);
+        for (int s = 0; s < spec.suppliers(); s++) {
+            String name = SUPPLIER_WORDS[random.nextInt(SUPPLIER_WORDS.length)] + " "
+                    + SUPPLIER_KINDS[random.nextInt(SUPPLIER_KINDS.length)] + " " + s;
+            Category primary = CATEGORIES[random.nextInt(CATEGORIES.length)];
+            batch.add(doc("id", DatasetSpec.supplierId(org, s), "org_id", orgId, "name", name,
+                    "contact_email", "sales" + s + "@" + orgId + ".supplier.test", "phone", "+1-555-" + (1000 + s % 9000),
+                    "tags", List.of(primary.name().toLowerCase()), "created_at", timestamp(random), "updated_at", timestamp(random)));
+            if (batch.size() == BATCH) {
+                sink.documents("suppliers", batch);
+                batch = new ArrayList<>(BATCH);
+            }
+        }
+        if (!batch.isEmpty()) sink.documents("suppliers", batch);
+    }
+
+    private void products(int org, int from, int to, Sink sink) {
+        String orgId = DatasetSpec.orgId(org);
+        Random random = random(org, from);
+        List<Map<String, Object>> products = new ArrayList<>(to - from);
+        List<Map<String, Object>> pricePoints = new ArrayList<>(BATCH);
+        List<LatestPriceStore.LatestPrice> latest = new ArrayList<>();
+        long spanSeconds = spec.historyDays() * 86_400L;
+        for (int p = from; p < to; p++) {
+            Category category = category(p);
+            String productId = DatasetSpec.productId(org, p);
+            products.add(doc("id", productId, "org_id", orgId,
+                    "canonical_name", category.items()[p / CATEGORIES.length % category.items().length] + " #" + p,
+                    "category", category.name(), "base_uom", category.uom(),
+                    "attributes", doc("grade", "G" + (p % 7)), "created_at", timestamp(random)));
+
+            double base = category.basePrice() * Math.exp(random.nextGaussian() * 0.35);
+            int supplierCount = Math.max(1, Math.min(spec.suppliersPerProduct(), spec.suppliers()));
+            int pointsPerSupplier = Math.max(1, spec.pricePointsPerProduct() / supplierCount);
+            for (int s = 0; s < supplierCount; s++) {
+                int supplier = Math.floorMod(p * 31 + s * 7919, spec.suppliers());
+                String supplierId = DatasetSpec.supplierId(org, supplier);
+                double price = base * (0.9 + random.nextDouble() * 0.25);
+                Map<String, Object> last = null;
+                for (int i = 0; i < pointsPerSupplier; i++) {
+                    price = walk(price, random);
+                    long offset = spanSeconds * (i + 1) / (pointsPerSupplier + 1) + random.nextInt(3_600);
+                    String observedAt = historyEnd.minusSeconds(spanSeconds - Math.min(spanSeconds, offset)).toString();
+                    last = doc("id", productId + "-pp-" + s + "-" + i, "org_id", orgId,
+                            "normalized_product_id", productId, "source_type", i % 4 == 0 ? "manual" : "quote",
+                            "source_id", null, "observed_at", observedAt, "currency", "USD",
+                            "unit_price_normalized", round2(price), "uom_normalized", category.uom(),
+                            "supplier_id", supplierId, "meta", new LinkedHashMap<>());
+                    pricePoints.add(last);
+                    if (pricePoints.size() == BATCH) {
+                        sink.documents("price_points", pricePoints);
+                        pricePoints = new ArrayList<>(BATCH);
+                    }
+                }
+                latest.add(new LatestPriceStore.LatestPrice(productId, supplierId, (Double) last.get("unit_price_normalized"),
+                        "USD", category.uom(), (String) last.get("observed_at"), (String) last.get("id")));
+            }
+        }
+        sink.documents("normalized_products", products);
+        if (!pricePoints.isEmpty()) sink.documents("price_points", pricePoints);
+        for (int i = 0; i < latest.size(); i += BATCH) {
+            sink.latestPrices(orgId, latest.subList(i, Math.min(latest.size(), i + BATCH)));
+        }
+    }
+
+    private void quotes(int org, int from, int to, Sink sink) {
+        String orgId = DatasetSpec.orgId(org);
+        Random random = random(org, 1_000_000 + from);
+        List<Map<String, Object>> quotes = new ArrayList<>(to - from);
+        for (int q = from; q < to; q++) {
+            int lines = Math.max(1, spec.linesPerQuote() / 2 + random.nextInt(Math.max(1, spec.linesPerQuote())));
+            List<Map<String, Object>> items = new ArrayList<>(lines);
+            double total = 0;
+            for (int l = 0; l < lines; l++) {
+                int product = random.nextInt(spec.products());
+                Category category = category(product);
+                double qty = 1 + random.nextInt(400);
+                double unitPrice = round2(category.basePrice() * Math.exp(random.nextGaussian() * 0.35));
+                items.add(doc("id", DatasetSpec.quoteId(org, q) + "-line-" + l,
+                        "raw_line_text", category.items()[product % category.items().length] + " x" + (int) qty,
+                        "normalized_product_id", DatasetSpec.productId(org, product), "qty", qty,
+                        "uom", category.uom(), "unit_price", unitPrice, "total_price", round2(qty * unitPrice)));
+                total += qty * unitPrice;
+            }
+            String created = timestamp(random);
+            quotes.add(doc("id", DatasetSpec.quoteId(org, q), "org_id", orgId,
+                    "supplier_id", DatasetSpec.supplierId(org, random.nextInt(spec.suppliers())),
+                    "rfq_id", orgId + "-proj-" + random.nextInt(20) + "-rfq-" + random.nextInt(10),
+                    "status", QUOTE_STATUSES[random.nextInt(QUOTE_STATUSES.length)], "currency", "USD",
+                    "attachments", new ArrayList<>(), "items", items, "total_amount", round2(total),
+                    "received_at", created, "created_at", created, "updated_at", created));
+        }
+        sink.documents("quotes", quotes);
+    }
+
+    /** Geometric random walk with mild upward drift and occasional supply shocks. */
+    static double walk(double price, Random random) {
+        double step = 0.002 + random.nextGaussian() * 0.03;
+        if (random.nextInt(100) == 0) step += (random.nextBoolean() ? 1 : -1) * (0.08 + random.nextDouble() * 0.12);
+        return Math.max(0.01, price * Math.exp(step));
+    }
+
+    private Random random(int org, int unit) {
+        return new Random(new SplittableRandom(spec.seed() * 1_000_003L + org * 7_919L + unit).nextLong());
+    }
+
+    private String timestamp(Random random) {
+        return historyEnd.minusSeconds((long) (random.nextDouble() * spec.historyDays() * 86_400L)).toString();
+    }
+
+    private static double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private static Map<String, Object> doc(Object... pairs) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (int i = 0; i < pairs.length; i += 2) out.put((String) pairs[i], pairs[i + 1]);
+        return out;
+    }
+}
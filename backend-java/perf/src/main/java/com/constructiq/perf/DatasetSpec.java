@@ -0,0 +1,64 @@
+package com.constructiq.perf;
+
+/**
+ * Shape of a synthetic dataset. Counts are per organization; every document id is derived from the
+ * org index and a sequence number, so the same spec and seed always produce the same data.
+ */
+public record DatasetSpec(int orgs,
+                          int suppliers,
+                          int products,
+                          int suppliersPerProduct,
+                          int pricePointsPerProduct,
+                          int quotes,
+                          int linesPerQuote,
+                          int historyDays,
+                          long seed) {
+
+    /** Production-scale default: 100k products and ~2.4M price points per org. */
+    public static DatasetSpec large() {
+        return new DatasetSpec(2, 2_000, 100_000, 4, 24, 5_000, 200, 365, 20240601L);
+    }
+
+    /** Fixed, mid-sized dataset used by the regression suite; changing it invalidates the baselines. */
+    public static DatasetSpec regression() {
+        return new DatasetSpec(2, 200, 5_000, 3, 12, 500, 100, 180, 42L);
+    }
+
+    public static DatasetSpec fromSystemProperties() {
+        DatasetSpec d = large();
+        return new DatasetSpec(
+                Integer.getInteger("perf.orgs", d.orgs()),
+                Integer.getInteger("perf.suppliers", d.suppliers()),
+                Integer.getInteger("perf.products", d.products()),
+                Integer.getInteger("perf.suppliersPerProduct", d.suppliersPerProduct()),
+                Integer.getInteger("perf.pricePointsPerProduct", d.pricePointsPerProduct()),
+                Integer.getInteger("perf.quotes", d.quotes()),
+                Integer.getInteger("perf.linesPerQuote", d.linesPerQuote()),
+                Integer.getInteger("perf.historyDays", d.historyDays()),
+                Long.getLong("perf.seed", d.seed()));
+    }
+
+    public static String orgId(int org) {
+        return "perf-org-" + org;
+    }
+
+    public static String adminEmail(int org) {
+        return "admin@perf-org-" + org + ".test";
+    }
+
+    public static String supplierId(int org, int supplier) {
+        return orgId(org) + "-sup-" + supplier;
+    }
+
+    public static String productId(int org, int product) {
+        return orgId(org) + "-prod-" + product;
+    }
+
+    public static String quoteId(int org, int quote) {
+        return orgId(org) + "-quote-" + quote;
+    }
+
+    public long totalPricePoints() {
+        return (long) orgs * products * pricePointsPerProduct;
+    }
+}
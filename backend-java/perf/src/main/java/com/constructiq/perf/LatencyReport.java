@@ -0,0 +1,53 @@
+package com.constructiq.perf;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+public final class LatencyReport {
+
+    public record Summary(long count, long errors, double throughput, double p50Ms, double p95Ms, double p99Ms, double maxMs) {}
+
+    private static final long MAX_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(2);
+
+    private final Map<String, Histogram> histograms = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> errors = new ConcurrentHashMap<>();
+
+    public void record(String operation, long nanos, boolean ok) {
+        histograms.computeIfAbsent(operation, k -> new ConcurrentHistogram(MAX_TRACKABLE_MICROS, 3))
+                .recordValue(Math.min(MAX_TRACKABLE_MICROS, Math.max(1, TimeUnit.NANOSECONDS.toMicros(nanos))));
+        if (!ok) errors.computeIfAbsent(operation, k -> new LongAdder()).increment();
+    }
+
+    public Map<String, Summary> summaries(double elapsedSeconds) {
+        Map<String, Summary> out = new TreeMap<>();
+        histograms.forEach((operation, h) -> out.put(operation, new Summary(
+                h.getTotalCount(),
+                errors.containsKey(operation) ? errors.get(operation).sum() : 0,
+                elapsedSeconds > 0 ? h.getTotalCount() / elapsedSeconds : 0,
+                h.getValueAtPercentile(50) / 1000.0,
+                h.getValueAtPercentile(95) / 1000.0,
+                h.getValueAtPercentile(99) / 1000.0,
+                h.getMaxValue() / 1000.0)));
+        return out;
+    }
+
+    public String format(double elapsedSeconds) {
+        StringBuilder out = new StringBuilder(String.format("%-26s %8s %7s %9s %9s %9s %9s %9s%n",
+                "operation", "count", "errors", "req/s", "p50 ms", "p95 ms", "p99 ms", "max ms"));
+        long total = 0;
+        for (Map.Entry<String, Summary> e : summaries(elapsedSeconds).entrySet()) {
+            Summary s = e.getValue();
+            total += s.count();
+            out.append(String.format("%-26s %8d %7d %9.1f %9.2f %9.2f %9.2f %9.2f%n", e.getKey(), s.count(), s.errors(),
+                    s.throughput(), s.p50Ms(), s.p95Ms(), s.p99Ms(), s.maxMs()));
+        }
+        out.append(String.format("%-26s %8d %7s %9.1f%n", "total", total, "", elapsedSeconds > 0 ? total / elapsedSeconds : 0));
+        return out.toString();
+    }
+}
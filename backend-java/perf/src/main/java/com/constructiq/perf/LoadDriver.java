@@ -0,0 +1,83 @@
+package com.constructiq.perf;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Seeds a {@link DatasetSpec} into a fresh MySQL Testcontainer, then replays {@link TrafficMix} from
+ * {@code perf.concurrency} virtual-thread clients and prints per-endpoint throughput and latency
+ * percentiles. All knobs are system properties (see DatasetSpec and the constants below).
+ */
+public final class LoadDriver {
+    private static final Logger log = LoggerFactory.getLogger(LoadDriver.class);
+
+    private LoadDriver() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        DatasetSpec spec = DatasetSpec.fromSystemProperties();
+        int loadThreads = Integer.getInteger("perf.loadThreads", Runtime.getRuntime().availableProcessors());
+        int concurrency = Integer.getInteger("perf.concurrency", 32);
+        int warmupSeconds = Integer.getInteger("perf.warmupSeconds", 15);
+        int durationSeconds = Integer.getInteger("perf.durationSeconds", 60);
+
+        try (PerfEnvironment env = PerfEnvironment.start(Map.of())) {
+            log.info("Seeding {} ({} price points)", spec, spec.totalPricePoints());
+            BulkLoader.Result loaded = env.seed(spec, loadThreads);
+            log.info("Seeded {} documents and {} latest prices in {} s: {}", loaded.totalDocuments(),
+                    loaded.latestPrices(), loaded.elapsed().toSeconds(), loaded.documents());
+
+            ApiClient client = new ApiClient(env.baseUrl());
+            List<String> tokens = new ArrayList<>();
+            for (int org = 0; org < spec.orgs(); org++) {
+                tokens.add(client.login(DatasetSpec.adminEmail(org), DatasetGenerator.PASSWORD));
+            }
+            TrafficMix mix = new TrafficMix(spec, client);
+
+            run(client, mix, tokens, concurrency, warmupSeconds, new LatencyReport());
+            LatencyReport report = new LatencyReport();
+            double elapsed = run(client, mix, tokens, concurrency, durationSeconds, report);
+            System.out.println();
+            System.out.printf("%d clients, %d s measured after %d s warm-up%n", concurrency, durationSeconds, warmupSeconds);
+            System.out.print(report.format(elapsed));
+        }
+    }
+
+    static double run(ApiClient client, TrafficMix mix, List<String> tokens, int concurrency,
+                      int seconds, LatencyReport report) throws Exception {
+        long start = System.nanoTime();
+        long deadline = start + seconds * 1_000_000_000L;
+        try (ExecutorService clients = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int c = 0; c < concurrency; c++) {
+                long seed = c;
+                futures.add(clients.submit(() -> {
+                    Random random = new Random(seed);
+                    while (System.nanoTime() < deadline) {
+                        int org = random.nextInt(tokens.size());
+                        TrafficMix.Operation operation = mix.pick(random);
+                        TrafficMix.Request request = operation.factory().create(org, random);
+                        long sent = System.nanoTime();
+                        try {
+                            ApiClient.Response response = client.send(request.method(), request.path(), tokens.get(org), request.body());
+                            report.record(operation.name(), response.nanos(), response.ok());
+                        } catch (Exception e) {
+                            report.record(operation.name(), System.nanoTime() - sent, false);
+                        }
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        }
+        return (System.nanoTime() - start) / 1e9;
+    }
+}
@@ -0,0 +1,93 @@
+package com.constructiq.perf;
+
+import com.constructiq.backendjava.BackendJavaApplication;
+import com.constructiq.backendjava.security.PasswordService;
+import com.constructiq.backendjava.store.LatestPriceStore;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.testcontainers.containers.MySQLContainer;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * A MySQL Testcontainer (or an external database given by {@code perf.jdbcUrl}) with the application
+ * booted against it on a random port. Rate and concurrency limiting are off so they don't shape results.
+ */
+public final class PerfEnvironment implements AutoCloseable {
+
+    static final String TOKEN_SECRET = "perf-environment-token-secret-0123456789";
+    static final String ADMIN_PASSWORD_HASH = "$2a$10$N9qo8uLOickgx2ZMRZoMyeIjZAgcfl7p92ldGxad68LJZdL17lh7y";
+
+    private final MySQLContainer<?> mysql;
+    private final ConfigurableApplicationContext context;
+
+    private PerfEnvironment(MySQLContainer<?> mysql, ConfigurableApplicationContext context) {
+        this.mysql = mysql;
+        this.context = context;
+    }
+
+    @SuppressWarnings("resource")
+    public static PerfEnvironment start(Map<String, Object> overrides) {
+        String jdbcUrl = System.getProperty("perf.jdbcUrl");
+        String user = System.getProperty("perf.jdbcUser", "root");
+        String password = System.getProperty("perf.jdbcPassword", "root");
+        MySQLContainer<?> mysql = null;
+        if (jdbcUrl == null) {
+            mysql = new MySQLContainer<>("mysql:8.0")
+                    .withDatabaseName("perfdb")
+                    .withUsername("perf")
+                    .withPassword("perf")
+                    .withCommand("--innodb-buffer-pool-size=1G", "--max-connections=500");
+            mysql.start();
+            jdbcUrl = mysql.getJdbcUrl();
+            user = mysql.getUsername();
+            password = mysql.getPassword();
+        }
+
+        Map<String, Object> props = new LinkedHashMap<>();
+        props.put("server.port", 0);
+        props.put("spring.datasource.url", jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true");
+        props.put("spring.datasource.username", user);
+        props.put("spring.datasource.password", password);
+        props.put("spring.datasource.hikari.maximum-pool-size", Integer.getInteger("perf.poolSize", 20));
+        props.put("logging.level.com.constructiq.backendjava", "WARN");
+        props.put("constructiq.demo-mode", false);
+        props.put("constructiq.auth-token-secret", TOKEN_SECRET);
+        props.put("constructiq.admin-password", ADMIN_PASSWORD_HASH);
+        props.put("constructiq.rate-limit-enabled", false);
+        props.put("constructiq.concurrency-limit-enabled", false);
+        props.putAll(overrides);
+
+        try {
+            ConfigurableApplicationContext context = new SpringApplicationBuilder(BackendJavaApplication.class)
+                    .properties(props)
+                    .run();
+            return new PerfEnvironment(mysql, context);
+        } catch (RuntimeException e) {
+            if (mysql != null) mysql.stop();
+            throw e;
+        }
+    }
+
+    public String baseUrl() {
+        return "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+    }
+
+    public ConfigurableApplicationContext context() {
+        return context;
+    }
+
+    public BulkLoader.Result seed(DatasetSpec spec, int threads) throws Exception {
+        String hash = context.getBean(PasswordService.class).hashIfPlaintext(DatasetGenerator.PASSWORD);
+        BulkLoader loader = new BulkLoader(context.getBean(SqlDocumentStore.class), context.getBean(LatestPriceStore.class), threads);
+        return loader.load(new DatasetGenerator(spec, hash));
+    }
+
+    @Override
+    public void close() {
+        context.close();
+        if (mysql != null) mysql.stop();
+    }
+}
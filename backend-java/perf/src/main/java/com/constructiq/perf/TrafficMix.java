@@ -0,0 +1,90 @@
+package com.constructiq.perf;
+
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Weighted mix of read-heavy endpoint traffic with a trickle of quote creation, roughly matching how
+ * the frontend drives the API.
+ */
+public final class TrafficMix {
+
+    public record Request(String method, String path, String body) {}
+
+    public interface RequestFactory {
+        Request create(int org, Random random);
+    }
+
+    public record Operation(String name, int weight, RequestFactory factory) {}
+
+    private final List<Operation> operations = new ArrayList<>();
+    private final int totalWeight;
+
+    public TrafficMix(DatasetSpec spec, ApiClient client) {
+        add("dashboard.stats", 15, (org, r) -> get("/api/dashboard/stats"));
+        add("catalog.search", 20, (org, r) -> {
+            DatasetGenerator.Category category = DatasetGenerator.CATEGORIES[r.nextInt(DatasetGenerator.CATEGORIES.length)];
+            String term = category.items()[r.nextInt(category.items().length)].split(" ")[0];
+            return get("/api/catalog/products?page_size=20&search=" + URLEncoder.encode(term, StandardCharsets.UTF_8));
+        });
+        add("catalog.best_prices", 8, (org, r) -> get("/api/catalog/best-prices?page_size=50&category="
+                + DatasetGenerator.CATEGORIES[r.nextInt(DatasetGenerator.CATEGORIES.length)].name()));
+        add("catalog.product_prices", 10, (org, r) ->
+                get("/api/catalog/products/" + DatasetSpec.productId(org, r.nextInt(spec.products())) + "/prices"));
+        add("price_history.product", 15, (org, r) ->
+                get("/api/price-history/product/" + DatasetSpec.productId(org, r.nextInt(spec.products())) + "?days=90"));
+        add("quotes.list", 12, (org, r) -> get("/api/quotes?page=" + (1 + r.nextInt(5)) + "&page_size=20"
+                + (r.nextBoolean() ? "&status=received" : "")));
+        add("quotes.detail", 8, (org, r) -> get("/api/quotes/" + DatasetSpec.quoteId(org, r.nextInt(spec.quotes()))));
+        add("suppliers.scorecard", 5, (org, r) ->
+                get("/api/suppliers/" + DatasetSpec.supplierId(org, r.nextInt(spec.suppliers())) + "/scorecard"));
+        add("analytics.spend", 2, (org, r) -> get("/api/analytics/spend"));
+        add("quotes.create", 5, (org, r) -> new Request("POST", "/api/quotes", client.json(newQuote(spec, org, r))));
+        this.totalWeight = operations.stream().mapToInt(Operation::weight).sum();
+    }
+
+    public List<Operation> operations() {
+        return operations;
+    }
+
+    public Operation pick(Random random) {
+        int ticket = random.nextInt(totalWeight);
+        for (Operation operation : operations) {
+            ticket -= operation.weight();
+            if (ticket < 0) return operation;
+        }
+        return operations.get(operations.size() - 1);
+    }
+
+    static Map<String, Object> newQuote(DatasetSpec spec, int org, Random random) {
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (int i = 0; i < 20; i++) {
+            int product = random.nextInt(spec.products());
+            DatasetGenerator.Category category = DatasetGenerator.category(product);
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("raw_line_text", category.items()[product % category.items().length]);
+            item.put("normalized_product_id", DatasetSpec.productId(org, product));
+            item.put("qty", 1 + random.nextInt(200));
+            item.put("uom", category.uom());
+            item.put("unit_price", Math.round(category.basePrice() * Math.exp(random.nextGaussian() * 0.35) * 100) / 100.0);
+            items.add(item);
+        }
+        Map<String, Object> quote = new LinkedHashMap<>();
+        quote.put("supplier_id", DatasetSpec.supplierId(org, random.nextInt(spec.suppliers())));
+        quote.put("items", items);
+        return quote;
+    }
+
+    private void add(String name, int weight, RequestFactory factory) {
+        operations.add(new Operation(name, weight, factory));
+    }
+
+    private static Request get(String path) {
+        return new Request("GET", path, null);
+    }
+}
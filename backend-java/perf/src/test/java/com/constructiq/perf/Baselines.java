@@ -0,0 +1,96 @@
+package com.constructiq.perf;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+
+final class Baselines {
+
+    record Measurement(double queries, double p50Ms, double p95Ms) {}
+
+    /**
+     * {@code maxQueries} is a hand-maintained hard upper bound on queries per request, derived from the code path;
+     * query counts are deterministic, so exceeding it always fails. Latencies are recorded with
+     * -Dperf.updateBaselines=true; p95 may then exceed its baseline by {@code perf.latencyTolerance} (default 0.5,
+     * i.e. 50%) plus {@code perf.latencySlackMs} (default 5 ms) to absorb run-to-run noise. A scenario without a
+     * recorded p95 fails unless baselines are being recorded.
+     */
+    record Baseline(double maxQueries, Double p50Ms, Double p95Ms) {}
+
+    static final Path SOURCE = Path.of("src/test/resources/perf-baselines.json");
+    static final Path RESULTS = Path.of("target/perf-results.json");
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    private final Map<String, Baseline> entries;
+    private final boolean recording;
+    private final double latencyTolerance = Double.parseDouble(System.getProperty("perf.latencyTolerance", "0.5"));
+    private final double latencySlackMs = Double.parseDouble(System.getProperty("perf.latencySlackMs", "5"));
+
+    private Baselines(Map<String, Baseline> entries, boolean recording) {
+        this.entries = entries;
+        this.recording = recording;
+    }
+
+    static Baselines of(Map<String, Baseline> entries, boolean recording) {
+        return new Baselines(new TreeMap<>(entries), recording);
+    }
+
+    static Baselines load() throws IOException {
+        try (InputStream in = Baselines.class.getResourceAsStream("/perf-baselines.json")) {
+            if (in == null) throw new IllegalStateException("perf-baselines.json is missing from the test classpath");
+            return of(MAPPER.readValue(in, new TypeReference<Map<String, Baseline>>() {}),
+                    Boolean.getBoolean("perf.updateBaselines"));
+        }
+    }
+
+    Optional<Baseline> get(String scenario) {
+        return Optional.ofNullable(entries.get(scenario));
+    }
+
+    /** Returns a description of every regression of {@code actual} against the baseline, or empty. */
+    Optional<String> regression(String scenario, Measurement actual) {
+        Baseline baseline = entries.get(scenario);
+        if (baseline == null) return Optional.of(scenario + ": no baseline checked in");
+        StringBuilder out = new StringBuilder();
+        if (actual.queries() > baseline.maxQueries()) {
+            out.append(String.format("queries/request %.1f > max %.0f; ", actual.queries(), baseline.maxQueries()));
+        }
+        // While recording, this run's latencies become the baseline, so there is nothing to compare them with.
+        if (!recording && baseline.p95Ms() == null) {
+            out.append("no p95 baseline recorded, run with -Dperf.updateBaselines=true; ");
+        } else if (!recording && actual.p95Ms() > p95Limit(baseline)) {
+            out.append(String.format("p95 %.2f ms > limit %.2f ms (baseline %.2f ms); ",
+                    actual.p95Ms(), p95Limit(baseline), baseline.p95Ms()));
+        }
+        return out.isEmpty() ? Optional.empty() : Optional.of(scenario + ": " + out.toString().trim());
+    }
+
+    private double p95Limit(Baseline baseline) {
+        return baseline.p95Ms() * (1 + latencyTolerance) + latencySlackMs;
+    }
+
+    /** Re-records latencies from {@code measurements}, keeping the checked-in query bounds. */
+    Map<String, Baseline> withLatencies(Map<String, Measurement> measurements) {
+        Map<String, Baseline> updated = new TreeMap<>(entries);
+        measurements.forEach((scenario, m) -> {
+            Baseline existing = entries.get(scenario);
+            double maxQueries = existing != null ? existing.maxQueries() : Math.ceil(m.queries());
+            updated.put(scenario, new Baseline(maxQueries, m.p50Ms(), m.p95Ms()));
+        });
+        return updated;
+    }
+
+    static void write(Path path, Map<String, ?> entries) throws IOException {
+        Files.createDirectories(path.toAbsolutePath().getParent());
+        MAPPER.writeValue(path.toFile(), new TreeMap<>(entries));
+    }
+}
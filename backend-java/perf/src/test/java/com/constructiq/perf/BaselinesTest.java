@@ -0,0 +1,58 @@
+package com.constructiq.perf;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BaselinesTest {
+
+    @Test
+    void everyScenarioHasAQueryBound() throws Exception {
+        Baselines baselines = Baselines.load();
+        for (String scenario : PerformanceRegressionTest.SCENARIOS) {
+            Baselines.Baseline baseline = baselines.get(scenario).orElse(null);
+            assertNotNull(baseline, "No baseline checked in for " + scenario);
+            assertTrue(baseline.maxQueries() > 0, scenario);
+        }
+    }
+
+    @Test
+    void regression_failsOnQueriesAboveBound() throws Exception {
+        Baselines baselines = Baselines.of(Map.of("dashboard.stats", new Baselines.Baseline(2, 2.0, 4.0)), false);
+
+        assertTrue(baselines.regression("dashboard.stats", new Baselines.Measurement(2, 1, 1)).isEmpty());
+        assertTrue(baselines.regression("dashboard.stats", new Baselines.Measurement(3, 1, 1)).isPresent());
+        assertTrue(baselines.regression("unknown.scenario", new Baselines.Measurement(0, 1, 1)).isPresent());
+    }
+
+    @Test
+    void regression_allowsLatencyWithinToleranceOnly() {
+        Baselines baselines = Baselines.of(Map.of("dashboard.stats", new Baselines.Baseline(2, 2.0, 4.0)), false);
+
+        assertTrue(baselines.regression("dashboard.stats", new Baselines.Measurement(2, 3.0, 11.0)).isEmpty());
+        assertTrue(baselines.regression("dashboard.stats", new Baselines.Measurement(2, 3.0, 11.5)).isPresent());
+    }
+
+    @Test
+    void regression_failsWhenNoLatencyIsRecordedUnlessRecording() {
+        Map<String, Baselines.Baseline> unrecorded = Map.of("dashboard.stats", new Baselines.Baseline(2, null, null));
+
+        assertTrue(Baselines.of(unrecorded, false)
+                .regression("dashboard.stats", new Baselines.Measurement(2, 1, 1)).isPresent());
+        assertTrue(Baselines.of(unrecorded, true)
+                .regression("dashboard.stats", new Baselines.Measurement(2, 500, 900)).isEmpty());
+    }
+
+    @Test
+    void withLatencies_keepsQueryBounds() throws Exception {
+        Baselines baselines = Baselines.load();
+
+        Baselines.Baseline updated = baselines.withLatencies(
+                Map.of("dashboard.stats", new Baselines.Measurement(0.4, 2.0, 4.0))).get("dashboard.stats");
+
+        assertEquals(2, updated.maxQueries());
+        assertEquals(4.0, updated.p95Ms());
+    }
+}
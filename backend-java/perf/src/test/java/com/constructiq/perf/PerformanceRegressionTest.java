@@ -0,0 +1,161 @@
+package com.constructiq.perf;
+
+import com.constructiq.backendjava.observability.RequestTrace;
+import com.constructiq.backendjava.service.AlertService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.AopTestUtils;
+import org.testcontainers.DockerClientFactory;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+/**
+ * Seeds {@link DatasetSpec#regression()} into MySQL and checks queries per request and p95 latency of
+ * the key endpoints against perf-baselines.json. Query bounds are maintained by hand; run with
+ * -Dperf.updateBaselines=true on a quiet machine to record the latency baselines, which the suite requires.
+ */
+class PerformanceRegressionTest {
+
+    static final List<String> SCENARIOS = List.of(
+            "dashboard.stats", "catalog.search", "price_history.product", "quotes.create", "alerts.evaluate");
+
+    private static final int WARMUP = 10;
+    private static final int ITERATIONS = Integer.getInteger("perf.iterations", 50);
+    private static final DatasetSpec SPEC = DatasetSpec.regression();
+
+    private static PerfEnvironment env;
+    private static ApiClient client;
+    private static String token;
+    private static MeterRegistry registry;
+    private static Baselines baselines;
+    private static final Map<String, Baselines.Measurement> results = new TreeMap<>();
+
+    @BeforeAll
+    static void seed() throws Exception {
+        assumeTrue(System.getProperty("perf.jdbcUrl") != null || DockerClientFactory.instance().isDockerAvailable(),
+                "Docker is required for the performance regression suite");
+        env = PerfEnvironment.start(Map.of());
+        env.seed(SPEC, Runtime.getRuntime().availableProcessors());
+        client = new ApiClient(env.baseUrl());
+        token = client.login(DatasetSpec.adminEmail(0), DatasetGenerator.PASSWORD);
+        registry = env.context().getBean(MeterRegistry.class);
+        baselines = Baselines.load();
+    }
+
+    @AfterAll
+    static void report() throws Exception {
+        if (env == null) return;
+        try {
+            Baselines.write(Baselines.RESULTS, results);
+            if (Boolean.getBoolean("perf.updateBaselines")) Baselines.write(Baselines.SOURCE, baselines.withLatencies(results));
+        } finally {
+            env.close();
+        }
+    }
+
+    @Test
+    void dashboardStats() throws Exception {
+        measureHttp("dashboard.stats", "GET", "/api/dashboard/stats", r -> "/api/dashboard/stats", null);
+    }
+
+    @Test
+    void catalogSearch() throws Exception {
+        measureHttp("catalog.search", "GET", "/api/catalog/products",
+                r -> "/api/catalog/products?page_size=20&search=Rebar", null);
+    }
+
+    @Test
+    void priceHistory() throws Exception {
+        measureHttp("price_history.product", "GET", "/api/price-history/product/{productId}",
+                r -> "/api/price-history/product/" + DatasetSpec.productId(0, r.nextInt(SPEC.products())) + "?days=90", null);
+    }
+
+    @Test
+    void quoteCreate() throws Exception {
+        measureHttp("quotes.create", "POST", "/api/quotes", r -> "/api/quotes",
+                r -> client.json(TrafficMix.newQuote(SPEC, 0, r)));
+    }
+
+    @Test
+    void alertEvaluation() throws Exception {
+        AlertService alerts = AopTestUtils.getUltimateTargetObject(env.context().getBean(AlertService.class));
+        Random random = new Random(7);
+        Histogram latency = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+        long queries = 0;
+        for (int i = 0; i < WARMUP + ITERATIONS; i++) {
+            String productId = DatasetSpec.productId(0, random.nextInt(SPEC.products()));
+            RequestTrace trace = RequestTrace.begin();
+            try {
+                alerts.evaluateForProduct(DatasetSpec.orgId(0), productId, 100.0, null);
+                if (i >= WARMUP) {
+                    latency.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - trace.startNanos())));
+                    queries += trace.queryCount();
+                }
+            } finally {
+                RequestTrace.end();
+            }
+        }
+        verify("alerts.evaluate", (double) queries / ITERATIONS, latency);
+    }
+
+    private interface PathFactory {
+        String path(Random random);
+    }
+
+    private interface BodyFactory {
+        String body(Random random);
+    }
+
+    private void measureHttp(String scenario, String method, String route, PathFactory paths, BodyFactory bodies) throws Exception {
+        Random random = new Random(scenario.hashCode());
+        for (int i = 0; i < WARMUP; i++) send(method, paths, bodies, random);
+
+        Supplier<DistributionSummary> summary = () -> registry.find("constructiq_http_request_queries")
+                .tags("method", method, "route", route).summary();
+        long countBefore = summary.get() == null ? 0 : summary.get().count();
+        double totalBefore = summary.get() == null ? 0 : summary.get().totalAmount();
+
+        Histogram latency = new Histogram(TimeUnit.MINUTES.toMicros(1), 3);
+        for (int i = 0; i < ITERATIONS; i++) {
+            latency.recordValue(Math.max(1, TimeUnit.NANOSECONDS.toMicros(send(method, paths, bodies, random))));
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (summary.get().count() - countBefore < ITERATIONS && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        long requests = summary.get().count() - countBefore;
+        assertTrue(requests > 0, "No query metrics recorded for " + route);
+        verify(scenario, (summary.get().totalAmount() - totalBefore) / requests, latency);
+    }
+
+    private long send(String method, PathFactory paths, BodyFactory bodies, Random random) throws Exception {
+        ApiClient.Response response = client.send(method, paths.path(random), token,
+                bodies == null ? null : bodies.body(random));
+        assertTrue(response.ok(), "HTTP " + response.status() + ": " + response.body());
+        return response.nanos();
+    }
+
+    private void verify(String scenario, double queriesPerRequest, Histogram latency) {
+        Baselines.Measurement actual = new Baselines.Measurement(
+                Math.round(queriesPerRequest * 10) / 10.0,
+                latency.getValueAtPercentile(50) / 1000.0,
+                latency.getValueAtPercentile(95) / 1000.0);
+        synchronized (results) {
+            results.put(scenario, actual);
+        }
+        baselines.regression(scenario, actual).ifPresent(message -> fail(message + " (measured " + actual + ")"));
+    }
+}
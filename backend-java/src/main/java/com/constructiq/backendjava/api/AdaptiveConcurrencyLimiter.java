@@ -0,0 +1,157 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Component
+public class AdaptiveConcurrencyLimiter {
+
+    public enum EndpointClass { AUTH, READ, WRITE, ANALYTICS }
+
+    public enum Rejection { NONE, CLASS_LIMIT, ORG_LIMIT }
+
+    /** {@code inflightAtStart} is the class's in-flight count including this request, taken when it was admitted. */
+    public record Permit(EndpointClass endpointClass, String orgId, Rejection rejection, int inflightAtStart) {
+        public boolean acquired() {
+            return rejection == Rejection.NONE;
+        }
+    }
+
+    private static final double SHORT_RTT_ALPHA = 0.2;
+    private static final double LONG_RTT_ALPHA = 0.02;
+    private static final double RTT_TOLERANCE = 1.5;
+    private static final double SMOOTHING = 0.2;
+
+    public final class ClassLimit {
+        private final AtomicInteger inflight = new AtomicInteger();
+        private final AtomicBoolean sampling = new AtomicBoolean();
+        private volatile double limit;
+        private double shortRtt;
+        private double longRtt;
+
+        ClassLimit(double initial) {
+            this.limit = initial;
+        }
+
+        /** Returns the in-flight count including this request, or 0 when the class is full. */
+        int tryAcquire() {
+            while (true) {
+                int current = inflight.get();
+                if (current >= (int) limit) return 0;
+                if (inflight.compareAndSet(current, current + 1)) return current + 1;
+            }
+        }
+
+        void release() {
+            inflight.decrementAndGet();
+        }
+
+        /**
+         * Folds one request's latency into the limit. Samples that arrive while another thread is updating are
+         * dropped rather than queued behind it; the averages only need a representative share of requests.
+         */
+        void onSample(long rttNanos, int inflightAtStart) {
+            if (!sampling.compareAndSet(false, true)) return;
+            try {
+                update(rttNanos, inflightAtStart);
+            } finally {
+                sampling.set(false);
+            }
+        }
+
+        private void update(long rttNanos, int inflightAtStart) {
+            double rtt = Math.max(1.0, rttNanos);
+            if (longRtt == 0) {
+                shortRtt = rtt;
+                longRtt = rtt;
+            } else {
+                shortRtt += SHORT_RTT_ALPHA * (rtt - shortRtt);
+                longRtt += LONG_RTT_ALPHA * (rtt - longRtt);
+                if (longRtt / shortRtt > 2) longRtt *= 0.95;
+            }
+
+            double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRtt / shortRtt));
+            if (gradient >= 1.0 && inflightAtStart < limit / 2) return;
+            double target = limit * gradient + Math.sqrt(limit);
+            double next = limit * (1 - SMOOTHING) + target * SMOOTHING;
+            limit = Math.max(minLimit, Math.min(maxLimit, next));
+        }
+
+        public int limit() {
+            return (int) limit;
+        }
+
+        public int inflight() {
+            return inflight.get();
+        }
+    }
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double orgShare;
+    private final Map<EndpointClass, ClassLimit> limits = new ConcurrentHashMap<>();
+    private final Map<String, AtomicInteger> orgInflight = new ConcurrentHashMap<>();
+
+    public AdaptiveConcurrencyLimiter(ConstructIQProperties properties) {
+        this.minLimit = Math.max(1, properties.getConcurrencyLimitMin());
+        this.maxLimit = Math.max(minLimit, properties.getConcurrencyLimitMax());
+        this.orgShare = Math.max(0.0, Math.min(1.0, properties.getConcurrencyLimitOrgShare()));
+        double initial = Math.max(minLimit, Math.min(maxLimit, properties.getConcurrencyLimitInitial()));
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            limits.put(endpointClass, new ClassLimit(initial));
+        }
+    }
+
+    public static EndpointClass classify(String method, String path) {
+        if (path.startsWith("/api/auth")) return EndpointClass.AUTH;
+        if (path.startsWith("/api/analytics") || path.startsWith("/api/dashboard")) return EndpointClass.ANALYTICS;
+        if ("GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method)) return EndpointClass.READ;
+        return EndpointClass.WRITE;
+    }
+
+    public Permit tryAcquire(EndpointClass endpointClass, String orgId) {
+        ClassLimit classLimit = limits.get(endpointClass);
+        int inflightAtStart = classLimit.tryAcquire();
+        if (inflightAtStart == 0) {
+            return new Permit(endpointClass, orgId, Rejection.CLASS_LIMIT, 0);
+        }
+        AtomicInteger org = orgInflight.computeIfAbsent(orgKey(endpointClass, orgId), k -> new AtomicInteger());
+        int orgLimit = Math.max(minLimit, (int) Math.ceil(classLimit.limit() * orgShare));
+        while (true) {
+            int current = org.get();
+            if (current >= orgLimit) {
+                classLimit.release();
+                return new Permit(endpointClass, orgId, Rejection.ORG_LIMIT, 0);
+            }
+            if (org.compareAndSet(current, current + 1)) {
+                return new Permit(endpointClass, orgId, Rejection.NONE, inflightAtStart);
+            }
+        }
+    }
+
+    public void release(Permit permit, long rttNanos) {
+        if (!permit.acquired()) return;
+        ClassLimit classLimit = limits.get(permit.endpointClass());
+        classLimit.release();
+        orgInflight.get(orgKey(permit.endpointClass(), permit.orgId())).decrementAndGet();
+        classLimit.onSample(rttNanos, permit.inflightAtStart());
+    }
+
+    public ClassLimit limit(EndpointClass endpointClass) {
+        return limits.get(endpointClass);
+    }
+
+    public int orgInflight(EndpointClass endpointClass, String orgId) {
+        AtomicInteger org = orgInflight.get(orgKey(endpointClass, orgId));
+        return org == null ? 0 : org.get();
+    }
+
+    private String orgKey(EndpointClass endpointClass, String orgId) {
+        return endpointClass.name() + "|" + orgId;
+    }
+}
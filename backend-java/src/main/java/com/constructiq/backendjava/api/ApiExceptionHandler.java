@@ -1,5 +1,6 @@
 package com.constructiq.backendjava.api;
 
+import com.constructiq.backendjava.security.PasswordHashingBusyException;
 import jakarta.servlet.http.HttpServletRequest;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -25,6 +26,13 @@ public class ApiExceptionHandler {
         return ResponseEntity.status(status).body(errorBody(status.value(), ex.getReason(), request.getRequestURI()));
     }
 
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<Map<String, Object>> handlePasswordHashingBusy(PasswordHashingBusyException ex, HttpServletRequest request) {
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header("Retry-After", "1")
+                .body(errorBody(503, ex.getMessage(), request.getRequestURI()));
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<Map<String, Object>> handleValidation(MethodArgumentNotValidException ex, HttpServletRequest request) {
         return ResponseEntity.badRequest().body(errorBody(400, "Validation failed", request.getRequestURI()));
@@ -0,0 +1,512 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.security.AuthContext;
+import com.constructiq.backendjava.security.AuthContextHolder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.DispatcherType;
+import jakarta.servlet.Filter;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.ServletOutputStream;
+import jakarta.servlet.WriteListener;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServlet;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpServletResponseWrapper;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.util.LinkedCaseInsensitiveMap;
+import org.springframework.util.MultiValueMap;
+import org.springframework.web.filter.CompositeFilter;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.util.UriComponents;
+import org.springframework.web.util.UriComponentsBuilder;
+import org.springframework.web.util.UriUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+/**
+ * Runs the sub-requests of {@code /api/batch} through the DispatcherServlet on virtual threads. Each sub-request
+ * goes through request logging, rate limiting and concurrency admission like a standalone request, so a batch is
+ * charged per item and holds at most {@code batchConcurrency} admission permits. Authentication is not re-run: the
+ * batch's auth context is handed to every sub-request. Only GETs are dispatched, so sub-requests never race on writes.
+ */
+@Component
+public class BatchDispatcher {
+    private static final Logger log = LoggerFactory.getLogger(BatchDispatcher.class);
+
+    public record SubRequest(String method, String path) {}
+
+    public record Result(int status, String contentType, byte[] body) {
+        public boolean isJson() {
+            return contentType != null && MediaType.APPLICATION_JSON.isCompatibleWith(MediaType.parseMediaType(contentType));
+        }
+    }
+
+    private final HttpServlet servlet;
+    private final CompositeFilter filters = new CompositeFilter();
+    private final ObjectMapper mapper;
+    private final int concurrency;
+
+    @Autowired
+    public BatchDispatcher(DispatcherServlet servlet, ObjectMapper mapper, ConstructIQProperties properties,
+                           RequestLoggingFilter requestLogging, RateLimitFilter rateLimit,
+                           ConcurrencyLimitFilter concurrencyLimit) {
+        this((HttpServlet) servlet, mapper, properties, List.of(requestLogging, rateLimit, concurrencyLimit));
+    }
+
+    BatchDispatcher(HttpServlet servlet, ObjectMapper mapper, ConstructIQProperties properties, List<? extends Filter> filters) {
+        this.servlet = servlet;
+        this.filters.setFilters(filters);
+        this.mapper = mapper;
+        this.concurrency = Math.max(1, properties.getBatchConcurrency());
+    }
+
+    public List<Result> execute(HttpServletRequest request, HttpServletResponse response, List<SubRequest> subRequests) {
+        AuthContext auth = AuthContextHolder.get();
+        Semaphore permits = new Semaphore(concurrency);
+        List<Future<Result>> futures = new ArrayList<>(subRequests.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (SubRequest sub : subRequests) {
+                Result rejected = validate(sub);
+                if (rejected != null) {
+                    futures.add(CompletableFuture.completedFuture(rejected));
+                    continue;
+                }
+                futures.add(executor.submit(() -> {
+                    permits.acquire();
+                    try {
+                        return AuthContextHolder.callWith(auth, () -> dispatch(request, response, sub.path()));
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+        }
+        List<Result> results = new ArrayList<>(futures.size());
+        for (int i = 0; i < futures.size(); i++) {
+            try {
+                results.add(futures.get(i).get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                results.add(error(HttpStatus.SERVICE_UNAVAILABLE, "Batch interrupted"));
+            } catch (ExecutionException e) {
+                log.error("Batch sub-request {} failed", subRequests.get(i).path(), e.getCause());
+                results.add(error(HttpStatus.INTERNAL_SERVER_ERROR, "Internal server error"));
+            }
+        }
+        return results;
+    }
+
+    private Result validate(SubRequest sub) {
+        if (!"GET".equalsIgnoreCase(sub.method())) {
+            return error(HttpStatus.METHOD_NOT_ALLOWED, "Only GET sub-requests can be batched");
+        }
+        String path = sub.path();
+        if (path == null || !path.startsWith("/api/") || path.startsWith("/api/batch")) {
+            return error(HttpStatus.BAD_REQUEST, "Sub-request path must be an /api/ endpoint");
+        }
+        return null;
+    }
+
+    private Result dispatch(HttpServletRequest request, HttpServletResponse batchResponse, String path) throws Exception {
+        SubResponse response = new SubResponse(batchResponse);
+        filters.doFilter(new SubServletRequest(request, path), response, servlet::service);
+        return new Result(response.getStatus(), response.getContentType(), response.bodyBytes());
+    }
+
+    private Result error(HttpStatus status, String detail) {
+        Map<String, Object> body = new LinkedHashMap<>();
+        body.put("status", status.value());
+        body.put("detail", detail);
+        try {
+            return new Result(status.value(), MediaType.APPLICATION_JSON_VALUE, mapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /** A GET for {@code path} that shares the batch request's headers but owns its URI, parameters and attributes. */
+    static final class SubServletRequest extends HttpServletRequestWrapper {
+        private static final Set<String> CONDITIONAL_HEADERS = Set.of("if-none-match", "if-modified-since");
+
+        private final String requestUri;
+        private final String query;
+        private final Map<String, String[]> parameters = new LinkedHashMap<>();
+        private final Map<String, Object> attributes = new ConcurrentHashMap<>();
+
+        SubServletRequest(HttpServletRequest request, String path) {
+            super(request);
+            UriComponents uri = UriComponentsBuilder.fromUriString(path).build();
+            this.requestUri = request.getContextPath() + uri.getPath();
+            this.query = uri.getQuery();
+            MultiValueMap<String, String> params = uri.getQueryParams();
+            params.forEach((name, values) -> parameters.put(decode(name), values.stream()
+                    .map(v -> v == null ? "" : decode(v)).toArray(String[]::new)));
+        }
+
+        private static String decode(String value) {
+            return UriUtils.decode(value, StandardCharsets.UTF_8);
+        }
+
+        @Override
+        public String getMethod() {
+            return "GET";
+        }
+
+        @Override
+        public DispatcherType getDispatcherType() {
+            return DispatcherType.REQUEST;
+        }
+
+        @Override
+        public String getRequestURI() {
+            return requestUri;
+        }
+
+        @Override
+        public StringBuffer getRequestURL() {
+            StringBuffer url = new StringBuffer()
+                    .append(getScheme()).append("://").append(getServerName()).append(':').append(getServerPort());
+            return url.append(requestUri);
+        }
+
+        @Override
+        public String getServletPath() {
+            return requestUri.substring(getContextPath().length());
+        }
+
+        @Override
+        public String getPathInfo() {
+            return null;
+        }
+
+        @Override
+        public String getQueryString() {
+            return query;
+        }
+
+        @Override
+        public String getParameter(String name) {
+            String[] values = parameters.get(name);
+            return values == null || values.length == 0 ? null : values[0];
+        }
+
+        @Override
+        public Map<String, String[]> getParameterMap() {
+            return Collections.unmodifiableMap(parameters);
+        }
+
+        @Override
+        public Enumeration<String> getParameterNames() {
+            return Collections.enumeration(parameters.keySet());
+        }
+
+        @Override
+        public String[] getParameterValues(String name) {
+            return parameters.get(name);
+        }
+
+        @Override
+        public Object getAttribute(String name) {
+            return attributes.get(name);
+        }
+
+        @Override
+        public Enumeration<String> getAttributeNames() {
+            return Collections.enumeration(attributes.keySet());
+        }
+
+        @Override
+        public void setAttribute(String name, Object value) {
+            if (value == null) attributes.remove(name);
+            else attributes.put(name, value);
+        }
+
+        @Override
+        public void removeAttribute(String name) {
+            attributes.remove(name);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            return CONDITIONAL_HEADERS.contains(name.toLowerCase(Locale.ROOT)) ? null : super.getHeader(name);
+        }
+
+        @Override
+        public Enumeration<String> getHeaders(String name) {
+            return CONDITIONAL_HEADERS.contains(name.toLowerCase(Locale.ROOT))
+                    ? Collections.emptyEnumeration() : super.getHeaders(name);
+        }
+
+        @Override
+        public String getContentType() {
+            return null;
+        }
+
+        @Override
+        public int getContentLength() {
+            return -1;
+        }
+
+        @Override
+        public long getContentLengthLong() {
+            return -1;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            return new ServletInputStream() {
+                @Override
+                public boolean isFinished() {
+                    return true;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener readListener) {
+                    throw new UnsupportedOperationException();
+                }
+
+                @Override
+                public int read() {
+                    return -1;
+                }
+            };
+        }
+
+        @Override
+        public boolean isAsyncSupported() {
+            return false;
+        }
+    }
+
+    /** Buffers status, headers and body in memory; nothing written here reaches the batch response. */
+    static final class SubResponse extends HttpServletResponseWrapper {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream();
+        private final Map<String, List<String>> headers = new LinkedCaseInsensitiveMap<>();
+        private int status = HttpStatus.OK.value();
+        private String contentType;
+        private String characterEncoding = StandardCharsets.UTF_8.name();
+        private ServletOutputStream outputStream;
+        private PrintWriter writer;
+
+        SubResponse(HttpServletResponse batchResponse) {
+            super(batchResponse);
+        }
+
+        @Override
+        public void setStatus(int sc) {
+            status = sc;
+        }
+
+        @Override
+        public int getStatus() {
+            return status;
+        }
+
+        @Override
+        public void sendError(int sc) {
+            status = sc;
+        }
+
+        @Override
+        public void sendError(int sc, String msg) {
+            status = sc;
+        }
+
+        @Override
+        public void sendRedirect(String location) {
+            status = HttpStatus.FOUND.value();
+            setHeader(HttpHeaders.LOCATION, location);
+        }
+
+        @Override
+        public void setHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                setContentType(value);
+                return;
+            }
+            headers.put(name, new ArrayList<>(List.of(value)));
+        }
+
+        @Override
+        public void addHeader(String name, String value) {
+            if (HttpHeaders.CONTENT_TYPE.equalsIgnoreCase(name)) {
+                setContentType(value);
+                return;
+            }
+            headers.computeIfAbsent(name, k -> new ArrayList<>()).add(value);
+        }
+
+        @Override
+        public void setIntHeader(String name, int value) {
+            setHeader(name, Integer.toString(value));
+        }
+
+        @Override
+        public void addIntHeader(String name, int value) {
+            addHeader(name, Integer.toString(value));
+        }
+
+        @Override
+        public void setDateHeader(String name, long date) {
+            setHeader(name, Long.toString(date));
+        }
+
+        @Override
+        public void addDateHeader(String name, long date) {
+            addHeader(name, Long.toString(date));
+        }
+
+        @Override
+        public boolean containsHeader(String name) {
+            return headers.containsKey(name);
+        }
+
+        @Override
+        public String getHeader(String name) {
+            List<String> values = headers.get(name);
+            return values == null || values.isEmpty() ? null : values.get(0);
+        }
+
+        @Override
+        public Collection<String> getHeaders(String name) {
+            return headers.getOrDefault(name, List.of());
+        }
+
+        @Override
+        public Collection<String> getHeaderNames() {
+            return headers.keySet();
+        }
+
+        @Override
+        public void setContentType(String type) {
+            contentType = type;
+        }
+
+        @Override
+        public String getContentType() {
+            return contentType;
+        }
+
+        @Override
+        public void setCharacterEncoding(String charset) {
+            characterEncoding = charset;
+        }
+
+        @Override
+        public String getCharacterEncoding() {
+            return characterEncoding;
+        }
+
+        @Override
+        public void setContentLength(int len) {
+        }
+
+        @Override
+        public void setContentLengthLong(long len) {
+        }
+
+        @Override
+        public void setLocale(Locale loc) {
+        }
+
+        @Override
+        public void addCookie(Cookie cookie) {
+        }
+
+        @Override
+        public void setBufferSize(int size) {
+        }
+
+        @Override
+        public void flushBuffer() throws IOException {
+            if (writer != null) writer.flush();
+        }
+
+        @Override
+        public boolean isCommitted() {
+            return false;
+        }
+
+        @Override
+        public void reset() {
+            resetBuffer();
+            headers.clear();
+            status = HttpStatus.OK.value();
+            contentType = null;
+        }
+
+        @Override
+        public void resetBuffer() {
+            body.reset();
+        }
+
+        @Override
+        public ServletOutputStream getOutputStream() {
+            if (outputStream == null) {
+                outputStream = new ServletOutputStream() {
+                    @Override
+                    public boolean isReady() {
+                        return true;
+                    }
+
+                    @Override
+                    public void setWriteListener(WriteListener writeListener) {
+                        throw new UnsupportedOperationException();
+                    }
+
+                    @Override
+                    public void write(int b) {
+                        body.write(b);
+                    }
+
+                    @Override
+                    public void write(byte[] b, int off, int len) {
+                        body.write(b, off, len);
+                    }
+                };
+            }
+            return outputStream;
+        }
+
+        @Override
+        public PrintWriter getWriter() {
+            if (writer == null) {
+                writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), StandardCharsets.UTF_8));
+            }
+            return writer;
+        }
+
+        byte[] bodyBytes() {
+            if (writer != null) writer.flush();
+            return body.toByteArray();
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.constructiq.backendjava.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read endpoint whose JSON body may be served from {@link ResponseCache}. Entries are keyed by org,
+ * role, path and query string and dropped as soon as any of {@link #collections()} is written for that org.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CachedResponse {
+    String[] collections();
+}
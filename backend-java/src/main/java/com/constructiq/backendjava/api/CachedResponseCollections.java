@@ -0,0 +1,40 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.stereotype.Component;
+import org.springframework.stereotype.Controller;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Registers the collections behind every {@link CachedResponse} endpoint with the store before the first request,
+ * so writes to them bump the shared version row on whichever node handles the write.
+ */
+@Component
+public class CachedResponseCollections implements SmartInitializingSingleton {
+
+    private final ApplicationContext context;
+    private final SqlDocumentStore store;
+
+    public CachedResponseCollections(ApplicationContext context, SqlDocumentStore store) {
+        this.context = context;
+        this.store = store;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (String name : context.getBeanNamesForAnnotation(Controller.class)) {
+            Class<?> type = context.getType(name);
+            if (type == null) continue;
+            for (Method method : ClassUtils.getUserClass(type).getMethods()) {
+                CachedResponse cached = AnnotatedElementUtils.findMergedAnnotation(method, CachedResponse.class);
+                if (cached != null) store.shareWriteVersions(List.of(cached.collections()));
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.security.AuthContext;
+import com.constructiq.backendjava.security.AuthContextHolder;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+@Component
+@Order(4)
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+    private static final String ANONYMOUS_ORG = "anonymous";
+
+    private final ConstructIQProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final AdaptiveConcurrencyLimiter limiter;
+
+    public ConcurrencyLimitFilter(ConstructIQProperties properties, MeterRegistry meterRegistry,
+                                  AdaptiveConcurrencyLimiter limiter) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+        this.limiter = limiter;
+        for (AdaptiveConcurrencyLimiter.EndpointClass endpointClass : AdaptiveConcurrencyLimiter.EndpointClass.values()) {
+            AdaptiveConcurrencyLimiter.ClassLimit limit = limiter.limit(endpointClass);
+            String tag = endpointClass.name().toLowerCase();
+            Gauge.builder("constructiq_concurrency_limit", limit, AdaptiveConcurrencyLimiter.ClassLimit::limit)
+                    .tag("class", tag).register(meterRegistry);
+            Gauge.builder("constructiq_concurrency_inflight", limit, AdaptiveConcurrencyLimiter.ClassLimit::inflight)
+                    .tag("class", tag).register(meterRegistry);
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        // Batch items are admitted one by one by BatchDispatcher.
+        return !properties.isConcurrencyLimitEnabled() || !request.getRequestURI().startsWith("/api/")
+                || request.getRequestURI().startsWith("/api/batch");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter.EndpointClass endpointClass =
+                AdaptiveConcurrencyLimiter.classify(request.getMethod(), request.getRequestURI());
+        AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire(endpointClass, orgId());
+
+        if (!permit.acquired()) {
+            meterRegistry.counter("constructiq_concurrency_rejected_total",
+                    "class", endpointClass.name().toLowerCase(),
+                    "reason", permit.rejection().name().toLowerCase()).increment();
+            response.setStatus(503);
+            response.setHeader("Retry-After", "1");
+            response.setContentType("application/json");
+            response.getWriter().write("{\"detail\":\"Server busy, retry shortly\",\"status\":503}");
+            return;
+        }
+
+        long start = System.nanoTime();
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            limiter.release(permit, System.nanoTime() - start);
+        }
+    }
+
+    private String orgId() {
+        AuthContext auth = AuthContextHolder.get();
+        if (auth != null && auth.orgId() != null) return auth.orgId();
+        return properties.isDemoMode() ? properties.getDemoOrgId() : ANONYMOUS_ORG;
+    }
+}
@@ -0,0 +1,18 @@
+package com.constructiq.backendjava.api;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a detail endpoint that returns the document named by {@link #pathVariable()} unchanged. Its strong ETag
+ * comes from the document's row id and version, so {@code If-None-Match} is answered without reading json_data.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface DocumentETag {
+    String collection();
+
+    String pathVariable();
+}
@@ -0,0 +1,35 @@
+package com.constructiq.backendjava.api;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.MediaType;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writes a JSON response straight to the servlet output stream, for endpoints that stream documents from
+ * the store instead of building the whole payload first. Validate and throw before calling {@link #write}:
+ * once the first bytes are flushed the status can no longer change. If the body fails midway the generator is
+ * left unclosed, so the client sees a truncated response instead of JSON that looks complete.
+ */
+public final class JsonStreamWriter {
+
+    @FunctionalInterface
+    public interface Body {
+        void write(JsonGenerator json) throws IOException;
+    }
+
+    private JsonStreamWriter() {
+    }
+
+    public static void write(HttpServletResponse response, ObjectMapper mapper, Body body) throws IOException {
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        JsonGenerator json = mapper.getFactory().createGenerator(response.getOutputStream())
+                .disable(JsonGenerator.Feature.AUTO_CLOSE_JSON_CONTENT);
+        body.write(json);
+        json.close();
+    }
+}
@@ -0,0 +1,300 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Queue;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.LongSupplier;
+
+@Component
+public class QuotaLeaser {
+    private static final Logger log = LoggerFactory.getLogger(QuotaLeaser.class);
+
+    static final long WINDOW_MILLIS = 60_000L;
+    static final long IDLE_RETURN_MILLIS = 5_000L;
+    private static final long EXHAUSTED_RECHECK_MILLIS = 1_000L;
+    static final long REFILL_WAIT_MILLIS = 200L;
+    static final long FAILURE_BACKOFF_MILLIS = 5_000L;
+    private static final int GRANT_TIMEOUT_SECONDS = 2;
+    private static final int MAX_KEY_LENGTH = 255;
+    private static final int EVICTION_SAMPLE = 16;
+
+    /** Thrown instead of waiting when no lease can be had promptly; callers fall back to local limits. */
+    static final class LeaseUnavailableException extends IllegalStateException {
+        LeaseUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+
+    private static final class Lease {
+        final AtomicInteger remaining = new AtomicInteger();
+        // Guards window resets and claiming a refill; never held across the grant round-trip.
+        final ReentrantLock lock = new ReentrantLock();
+        CompletableFuture<Integer> refill;
+        volatile long window = -1;
+        volatile long lastUsedMillis;
+        volatile long exhaustedAtMillis = -1;
+    }
+
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate tx;
+    private final int leaseSize;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final Map<String, Lease> leases = new ConcurrentHashMap<>();
+    // Leases evicted while still holding quota; the flusher hands their tokens back.
+    private final Queue<Map.Entry<String, Lease>> evicted = new ConcurrentLinkedQueue<>();
+    private final Counter leasesGranted;
+    private final Counter quotaReturned;
+    private final Counter grantFailures;
+    private volatile long grantRetryAtMillis;
+    private final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(
+            r -> { Thread t = new Thread(r, "rate-limit-lease-flusher"); t.setDaemon(true); return t; });
+
+    public QuotaLeaser(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                       ConstructIQProperties properties, MeterRegistry meterRegistry) {
+        this(jdbc, transactionManager, properties, meterRegistry, System::currentTimeMillis);
+        if (properties.isRateLimitClusterEnabled()) {
+            flusher.scheduleAtFixedRate(this::flush, IDLE_RETURN_MILLIS, IDLE_RETURN_MILLIS, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    QuotaLeaser(JdbcTemplate jdbc, PlatformTransactionManager transactionManager,
+                ConstructIQProperties properties, MeterRegistry meterRegistry, LongSupplier clock) {
+        this.jdbc = jdbc;
+        this.tx = new TransactionTemplate(transactionManager);
+        this.tx.setTimeout(GRANT_TIMEOUT_SECONDS);
+        this.leaseSize = Math.max(1, properties.getRateLimitLeaseSize());
+        this.maxKeys = Math.max(1, properties.getRateLimitMaxKeys());
+        this.clock = clock;
+        this.leasesGranted = meterRegistry.counter("constructiq_rate_limit_leases_total");
+        this.quotaReturned = meterRegistry.counter("constructiq_rate_limit_quota_returned_total");
+        this.grantFailures = meterRegistry.counter("constructiq_rate_limit_lease_failures_total");
+    }
+
+    public long tryConsume(String key, int perMinute) {
+        long now = clock.getAsLong();
+        long window = now / WINDOW_MILLIS;
+        Lease lease = leases.get(key);
+        if (lease == null) {
+            if (leases.size() >= maxKeys) evict(window);
+            lease = leases.computeIfAbsent(key, k -> new Lease());
+        }
+        lease.lastUsedMillis = now;
+
+        while (true) {
+            if (lease.window == window) {
+                int left = lease.remaining.get();
+                if (left > 0) {
+                    if (lease.remaining.compareAndSet(left, left - 1)) return 0;
+                    continue;
+                }
+                if (lease.exhaustedAtMillis >= 0 && now - lease.exhaustedAtMillis < EXHAUSTED_RECHECK_MILLIS) {
+                    return retryAfterSeconds(now, window);
+                }
+            }
+            if (now < grantRetryAtMillis) {
+                throw new LeaseUnavailableException("Rate limit leasing backing off after a failed grant", null);
+            }
+
+            CompletableFuture<Integer> refill;
+            boolean leader = false;
+            lease.lock.lock();
+            try {
+                if (lease.window != window) {
+                    lease.window = window;
+                    lease.remaining.set(0);
+                    lease.exhaustedAtMillis = -1;
+                    lease.refill = null;
+                }
+                if (lease.remaining.get() > 0) continue;
+                refill = lease.refill;
+                if (refill == null) {
+                    refill = new CompletableFuture<>();
+                    lease.refill = refill;
+                    leader = true;
+                }
+            } finally {
+                lease.lock.unlock();
+            }
+
+            if (!leader) {
+                awaitRefill(refill);
+                continue;
+            }
+            return refill(key, lease, refill, now, window, perMinute);
+        }
+    }
+
+    private long refill(String key, Lease lease, CompletableFuture<Integer> refill, long now, long window, int perMinute) {
+        int granted;
+        try {
+            granted = grant(dbKey(key), window, perMinute, leaseSizeFor(perMinute));
+        } catch (RuntimeException e) {
+            grantFailures.increment();
+            grantRetryAtMillis = clock.getAsLong() + FAILURE_BACKOFF_MILLIS;
+            finishRefill(lease, refill);
+            refill.completeExceptionally(e);
+            throw e;
+        }
+        lease.lock.lock();
+        try {
+            if (lease.window == window) {
+                if (granted <= 0) {
+                    lease.exhaustedAtMillis = now;
+                } else {
+                    lease.exhaustedAtMillis = -1;
+                    lease.remaining.addAndGet(granted - 1);
+                }
+            }
+            if (lease.refill == refill) lease.refill = null;
+        } finally {
+            lease.lock.unlock();
+        }
+        refill.complete(granted);
+        if (granted <= 0) return retryAfterSeconds(now, window);
+        leasesGranted.increment();
+        return 0;
+    }
+
+    private void finishRefill(Lease lease, CompletableFuture<Integer> refill) {
+        lease.lock.lock();
+        try {
+            if (lease.refill == refill) lease.refill = null;
+        } finally {
+            lease.lock.unlock();
+        }
+    }
+
+    private void awaitRefill(CompletableFuture<Integer> refill) {
+        try {
+            refill.get(REFILL_WAIT_MILLIS, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new LeaseUnavailableException("Rate limit lease refill still in flight", e);
+        } catch (ExecutionException e) {
+            throw new LeaseUnavailableException("Rate limit lease refill failed", e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new LeaseUnavailableException("Interrupted waiting for rate limit lease", e);
+        }
+    }
+
+    private void evict(long window) {
+        String oldestKey = null;
+        Lease oldestLease = null;
+        int sampled = 0;
+        for (Map.Entry<String, Lease> e : leases.entrySet()) {
+            Lease lease = e.getValue();
+            if (lease.window < window) {
+                leases.remove(e.getKey(), lease);
+                return;
+            }
+            if (oldestLease == null || lease.lastUsedMillis < oldestLease.lastUsedMillis) {
+                oldestKey = e.getKey();
+                oldestLease = lease;
+            }
+            if (++sampled >= EVICTION_SAMPLE) break;
+        }
+        if (oldestLease != null && leases.remove(oldestKey, oldestLease) && oldestLease.remaining.get() > 0) {
+            evicted.add(Map.entry(oldestKey, oldestLease));
+        }
+    }
+
+    public void flush() {
+        long now = clock.getAsLong();
+        long window = now / WINDOW_MILLIS;
+        for (Map.Entry<String, Lease> e; (e = evicted.poll()) != null; ) {
+            if (e.getValue().window == window) returnUnused(e.getKey(), e.getValue());
+        }
+        for (Map.Entry<String, Lease> e : leases.entrySet()) {
+            Lease lease = e.getValue();
+            if (lease.window < window) {
+                leases.remove(e.getKey(), lease);
+            } else if (now - lease.lastUsedMillis >= IDLE_RETURN_MILLIS) {
+                returnUnused(e.getKey(), lease);
+                leases.remove(e.getKey(), lease);
+            }
+        }
+        try {
+            jdbc.update("DELETE FROM rate_limit_windows WHERE window_start < ?", window - 1);
+        } catch (Exception ex) {
+            log.warn("Failed to purge expired rate limit windows: {}", ex.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        flusher.shutdownNow();
+        long window = clock.getAsLong() / WINDOW_MILLIS;
+        for (Map.Entry<String, Lease> e : leases.entrySet()) {
+            if (e.getValue().window == window) returnUnused(e.getKey(), e.getValue());
+        }
+        leases.clear();
+    }
+
+    int leaseSizeFor(int perMinute) {
+        return Math.max(1, Math.min(leaseSize, perMinute / 4));
+    }
+
+    int grant(String key, long window, int limit, int amount) {
+        Integer granted = tx.execute(status -> {
+            jdbc.update("INSERT IGNORE INTO rate_limit_windows(limit_key, window_start, consumed) VALUES (?, ?, 0)", key, window);
+            Integer consumed = jdbc.queryForObject(
+                    "SELECT consumed FROM rate_limit_windows WHERE limit_key=? AND window_start=? FOR UPDATE",
+                    Integer.class, key, window);
+            int available = Math.min(amount, limit - (consumed == null ? 0 : consumed));
+            if (available <= 0) return 0;
+            jdbc.update("UPDATE rate_limit_windows SET consumed = consumed + ? WHERE limit_key=? AND window_start=?",
+                    available, key, window);
+            return available;
+        });
+        return granted == null ? 0 : granted;
+    }
+
+    void release(String key, long window, int amount) {
+        jdbc.update("UPDATE rate_limit_windows SET consumed = GREATEST(0, consumed - ?) WHERE limit_key=? AND window_start=?",
+                amount, key, window);
+    }
+
+    private void returnUnused(String key, Lease lease) {
+        int unused = lease.remaining.getAndSet(0);
+        if (unused <= 0) return;
+        try {
+            release(dbKey(key), lease.window, unused);
+            quotaReturned.increment(unused);
+        } catch (Exception ex) {
+            log.warn("Failed to return {} unused rate limit tokens for {}: {}", unused, key, ex.getMessage());
+        }
+    }
+
+    private long retryAfterSeconds(long now, long window) {
+        long windowEnd = (window + 1) * WINDOW_MILLIS;
+        return Math.max(1, (windowEnd - now + 999) / 1000);
+    }
+
+    private String dbKey(String key) {
+        if (key.length() <= MAX_KEY_LENGTH) return key;
+        return "h:" + UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8));
+    }
+}
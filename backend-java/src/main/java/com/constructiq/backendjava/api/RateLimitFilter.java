@@ -1,6 +1,7 @@
 package com.constructiq.backendjava.api;
 
 import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.observability.RateLimitDecisionEvent;
 import io.micrometer.core.instrument.MeterRegistry;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
@@ -9,11 +10,9 @@ import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
-import java.time.Instant;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -21,23 +20,20 @@ import java.util.concurrent.TimeUnit;
 @Component
 @Order(2)
 public class RateLimitFilter extends OncePerRequestFilter {
-    private record Bucket(long minuteEpoch, int count) {}
+    private static final String UNMATCHED_ROUTE = "unmatched";
 
     private final ConstructIQProperties properties;
     private final MeterRegistry meterRegistry;
-    private final Map<String, Bucket> counters = new ConcurrentHashMap<>();
+    private final RateLimiter limiter;
     private final ScheduledExecutorService cleaner = Executors.newSingleThreadScheduledExecutor(
             r -> { Thread t = new Thread(r, "rate-limit-cleaner"); t.setDaemon(true); return t; });
 
-    public RateLimitFilter(ConstructIQProperties properties, MeterRegistry meterRegistry) {
+    public RateLimitFilter(ConstructIQProperties properties, MeterRegistry meterRegistry, RateLimiter limiter) {
         this.properties = properties;
         this.meterRegistry = meterRegistry;
-        cleaner.scheduleAtFixedRate(this::evictExpiredBuckets, 1, 1, TimeUnit.MINUTES);
-    }
-
-    private void evictExpiredBuckets() {
-        long currentMinute = Instant.now().getEpochSecond() / 60;
-        counters.entrySet().removeIf(entry -> entry.getValue().minuteEpoch() < currentMinute);
+        this.limiter = limiter;
+        meterRegistry.gauge("constructiq_rate_limit_tracked_keys", limiter, RateLimiter::trackedKeys);
+        cleaner.scheduleAtFixedRate(limiter::evictIdle, 1, 1, TimeUnit.MINUTES);
     }
 
     @Override
@@ -48,30 +44,38 @@ public class RateLimitFilter extends OncePerRequestFilter {
             return;
         }
 
-        String ip = request.getRemoteAddr();
-        String path = request.getRequestURI();
-        long minute = Instant.now().getEpochSecond() / 60;
-
-        int threshold = path.startsWith("/api/auth/login")
-                ? properties.getAuthLoginRateLimitPerMinute()
-                : properties.getRateLimitPerMinute();
-
-        String key = ip + "|" + path;
-        Bucket current = counters.get(key);
-        if (current == null || current.minuteEpoch != minute) {
-            current = new Bucket(minute, 0);
+        RateLimitDecisionEvent event = new RateLimitDecisionEvent();
+        event.begin();
+        RateLimiter.Decision decision = limiter.tryAcquire(request.getRemoteAddr(), request.getRequestURI());
+        event.end();
+        if (event.shouldCommit()) {
+            event.policy = decision.policy().pattern();
+            event.allowed = decision.allowed();
+            event.retryAfterSeconds = decision.retryAfterSeconds();
+            event.commit();
         }
 
-        if (current.count >= threshold) {
-            meterRegistry.counter("constructiq_rate_limit_blocked_total", "path", path).increment();
+        if (!decision.allowed()) {
+            // Blocked requests never reach a handler, so only the policy that blocked them identifies the route.
+            meterRegistry.counter("constructiq_rate_limit_blocked_total",
+                    "route", UNMATCHED_ROUTE, "policy", decision.policy().pattern()).increment();
             response.setStatus(429);
+            response.setHeader("Retry-After", String.valueOf(decision.retryAfterSeconds()));
             response.setContentType("application/json");
             response.getWriter().write("{\"detail\":\"Too many requests\",\"status\":429}");
             return;
         }
 
-        counters.put(key, new Bucket(minute, current.count + 1));
-        meterRegistry.counter("constructiq_rate_limit_allowed_total", "path", path).increment();
-        filterChain.doFilter(request, response);
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            meterRegistry.counter("constructiq_rate_limit_allowed_total",
+                    "route", route(request), "policy", decision.policy().pattern()).increment();
+        }
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNMATCHED_ROUTE : pattern.toString();
     }
 }
@@ -0,0 +1,173 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+import java.util.regex.Pattern;
+
+@Component
+public class RateLimiter {
+    private static final Logger log = LoggerFactory.getLogger(RateLimiter.class);
+
+    public record Policy(String pattern, int perMinute) {
+        long intervalNanos() {
+            return TimeUnit.MINUTES.toNanos(1) / Math.max(1, perMinute);
+        }
+
+        long burstNanos() {
+            return TimeUnit.MINUTES.toNanos(1);
+        }
+    }
+
+    public record Decision(boolean allowed, String route, Policy policy, long retryAfterSeconds) {}
+
+    static final String LOGIN_ROUTE = "/api/auth/login";
+    private static final Pattern ID_SEGMENT = Pattern.compile(
+            "[0-9a-fA-F]{8}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{4}-[0-9a-fA-F]{12}|[0-9a-fA-F]{16,}|.*\\d.*");
+    private static final int EVICTION_SAMPLE = 16;
+    private static final int MAX_CACHED_ROUTES = 1024;
+
+    private final AntPathMatcher matcher = new AntPathMatcher();
+    private final List<Policy> policies;
+    private final Policy defaultPolicy;
+    private final int maxKeys;
+    private final LongSupplier clock;
+    private final QuotaLeaser leaser;
+    private volatile long lastLeaseFailureNanos;
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, Policy> routePolicies = new ConcurrentHashMap<>();
+
+    @Autowired
+    public RateLimiter(ConstructIQProperties properties, QuotaLeaser leaser) {
+        this(properties, properties.isRateLimitClusterEnabled() ? leaser : null, System::nanoTime);
+    }
+
+    RateLimiter(ConstructIQProperties properties, LongSupplier clock) {
+        this(properties, null, clock);
+    }
+
+    RateLimiter(ConstructIQProperties properties, QuotaLeaser leaser, LongSupplier clock) {
+        this.clock = clock;
+        this.leaser = leaser;
+        this.maxKeys = Math.max(EVICTION_SAMPLE, properties.getRateLimitMaxKeys());
+        this.defaultPolicy = new Policy("/**", properties.getRateLimitPerMinute());
+        this.policies = parsePolicies(properties);
+    }
+
+    public Decision tryAcquire(String client, String path) {
+        String route = routeTemplate(path);
+        Policy policy = policyFor(route);
+        String key = client + "|" + route;
+        if (leaser != null) {
+            try {
+                long retryAfter = leaser.tryConsume(key, policy.perMinute());
+                return new Decision(retryAfter == 0, route, policy, retryAfter);
+            } catch (RuntimeException e) {
+                long now = clock.getAsLong();
+                if (now - lastLeaseFailureNanos > TimeUnit.MINUTES.toNanos(1)) {
+                    lastLeaseFailureNanos = now;
+                    log.warn("Cluster rate limit lease failed, falling back to local limits: {}", e.getMessage());
+                }
+            }
+        }
+        AtomicLong tat = buckets.get(key);
+        if (tat == null) {
+            if (buckets.size() >= maxKeys) evict();
+            tat = buckets.computeIfAbsent(key, k -> new AtomicLong(Long.MIN_VALUE));
+        }
+
+        long interval = policy.intervalNanos();
+        long limit = policy.burstNanos();
+        while (true) {
+            long now = clock.getAsLong();
+            long current = tat.get();
+            long base = current == Long.MIN_VALUE || current - now < 0 ? now : current;
+            long next = base + interval;
+            if (next - now > limit) {
+                long waitNanos = next - now - limit;
+                return new Decision(false, route, policy, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + 999_999_999L)));
+            }
+            if (tat.compareAndSet(current, next)) {
+                return new Decision(true, route, policy, 0);
+            }
+        }
+    }
+
+    public int trackedKeys() {
+        return buckets.size();
+    }
+
+    public void evictIdle() {
+        long now = clock.getAsLong();
+        buckets.entrySet().removeIf(e -> e.getValue().get() - now <= 0);
+    }
+
+    private void evict() {
+        long now = clock.getAsLong();
+        String oldestKey = null;
+        long oldest = Long.MAX_VALUE;
+        int sampled = 0;
+        for (Map.Entry<String, AtomicLong> e : buckets.entrySet()) {
+            long tat = e.getValue().get();
+            if (tat - now <= 0) {
+                buckets.remove(e.getKey(), e.getValue());
+                return;
+            }
+            if (tat < oldest) {
+                oldest = tat;
+                oldestKey = e.getKey();
+            }
+            if (++sampled >= EVICTION_SAMPLE) break;
+        }
+        if (oldestKey != null) buckets.remove(oldestKey);
+    }
+
+    Policy policyFor(String route) {
+        Policy cached = routePolicies.get(route);
+        if (cached != null) return cached;
+        Policy resolved = defaultPolicy;
+        Comparator<String> specificity = matcher.getPatternComparator(route);
+        for (Policy policy : policies) {
+            if (matcher.match(policy.pattern(), route)
+                    && (resolved == defaultPolicy || specificity.compare(policy.pattern(), resolved.pattern()) < 0)) {
+                resolved = policy;
+            }
+        }
+        if (routePolicies.size() < MAX_CACHED_ROUTES) routePolicies.put(route, resolved);
+        return resolved;
+    }
+
+    public static String routeTemplate(String path) {
+        if (path == null || path.isEmpty()) return "/";
+        StringBuilder out = new StringBuilder(path.length());
+        for (String segment : path.split("/")) {
+            if (segment.isEmpty()) continue;
+            out.append('/').append(ID_SEGMENT.matcher(segment).matches() ? "{id}" : segment);
+        }
+        return out.isEmpty() ? "/" : out.toString();
+    }
+
+    private List<Policy> parsePolicies(ConstructIQProperties properties) {
+        List<Policy> parsed = new ArrayList<>();
+        parsed.add(new Policy(LOGIN_ROUTE + "/**", properties.getAuthLoginRateLimitPerMinute()));
+        String raw = properties.getRateLimitRoutePolicies();
+        if (raw == null || raw.isBlank()) return parsed;
+        for (String entry : raw.split(",")) {
+            String[] parts = entry.trim().split("=");
+            if (parts.length != 2 || parts[0].isBlank()) {
+                throw new IllegalStateException("Invalid rate limit route policy: " + entry);
+            }
+            parsed.add(new Policy(parts[0].trim(), Integer.parseInt(parts[1].trim())));
+        }
+        return parsed;
+    }
+}
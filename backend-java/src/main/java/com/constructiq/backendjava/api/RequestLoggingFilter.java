@@ -1,5 +1,10 @@
 package com.constructiq.backendjava.api;
 
+import com.constructiq.backendjava.observability.RequestTrace;
+import com.constructiq.backendjava.observability.SlowRequestLog;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -10,20 +15,32 @@ import org.slf4j.MDC;
 import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
 
 import java.io.IOException;
+import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.TimeUnit;
 
 @Component
 @Order(1)
 public class RequestLoggingFilter extends OncePerRequestFilter {
     private static final Logger log = LoggerFactory.getLogger(RequestLoggingFilter.class);
+    private static final String UNMATCHED_ROUTE = "unmatched";
+
+    private final MeterRegistry meterRegistry;
+    private final SlowRequestLog slowRequests;
+
+    public RequestLoggingFilter(MeterRegistry meterRegistry, SlowRequestLog slowRequests) {
+        this.meterRegistry = meterRegistry;
+        this.slowRequests = slowRequests;
+    }
 
     @Override
     protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
             throws ServletException, IOException {
         String requestId = UUID.randomUUID().toString();
-        long start = System.currentTimeMillis();
+        RequestTrace trace = RequestTrace.begin();
 
         MDC.put("requestId", requestId);
         response.setHeader("X-Request-Id", requestId);
@@ -31,9 +48,45 @@ public class RequestLoggingFilter extends OncePerRequestFilter {
         try {
             filterChain.doFilter(request, response);
         } finally {
-            long elapsed = System.currentTimeMillis() - start;
-            log.info("{} {} -> {} ({} ms)", request.getMethod(), request.getRequestURI(), response.getStatus(), elapsed);
+            long elapsed = System.nanoTime() - trace.startNanos();
+            long dbNanos = Math.min(trace.dbNanos(), elapsed);
+            String route = route(request);
+            int status = response.getStatus();
+            record(request.getMethod(), route, status, elapsed, dbNanos, trace.queryCount());
+            if (slowRequests.isSlow(elapsed)) {
+                slowRequests.add(new SlowRequestLog.SlowRequest(Instant.now().toString(), requestId, request.getMethod(),
+                        route, request.getRequestURI(), status, elapsed / 1e6, dbNanos / 1e6,
+                        trace.queryCount(), trace.queries()));
+            }
+            log.info("{} {} -> {} ({} ms, db {} ms)", request.getMethod(), request.getRequestURI(), status,
+                    TimeUnit.NANOSECONDS.toMillis(elapsed), TimeUnit.NANOSECONDS.toMillis(dbNanos));
+            RequestTrace.end();
             MDC.clear();
         }
     }
+
+    private void record(String method, String route, int status, long elapsedNanos, long dbNanos, int queries) {
+        Timer.builder("constructiq_http_request_seconds")
+                .tags("method", method, "route", route, "status", String.valueOf(status))
+                .publishPercentileHistogram()
+                .register(meterRegistry)
+                .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("constructiq_http_request_phase_seconds")
+                .tags("route", route, "phase", "db")
+                .register(meterRegistry)
+                .record(dbNanos, TimeUnit.NANOSECONDS);
+        Timer.builder("constructiq_http_request_phase_seconds")
+                .tags("route", route, "phase", "app")
+                .register(meterRegistry)
+                .record(elapsedNanos - dbNanos, TimeUnit.NANOSECONDS);
+        DistributionSummary.builder("constructiq_http_request_queries")
+                .tags("method", method, "route", route)
+                .register(meterRegistry)
+                .record(queries);
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern == null ? UNMATCHED_ROUTE : pattern.toString();
+    }
 }
@@ -0,0 +1,88 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.stereotype.Component;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Component
+public class ResponseCache {
+    private static final int ENTRY_OVERHEAD_BYTES = 96;
+
+    private record Entry(long version, String json, long expiresAtMillis, long bytes) {}
+
+    private final boolean enabled;
+    private final long maxBytes;
+    private final long ttlMillis;
+    private final Map<String, Entry> entries = new LinkedHashMap<>(256, 0.75f, true);
+    private final Counter hits;
+    private final Counter misses;
+    private final Counter evictions;
+    private long bytes;
+
+    public ResponseCache(ConstructIQProperties properties, MeterRegistry meterRegistry) {
+        this.maxBytes = Math.max(0, properties.getResponseCacheMaxBytes());
+        this.enabled = properties.isResponseCacheEnabled() && maxBytes > 0;
+        this.ttlMillis = Math.max(1, properties.getResponseCacheTtlSeconds()) * 1000L;
+        this.hits = meterRegistry.counter("constructiq_response_cache_requests_total", "result", "hit");
+        this.misses = meterRegistry.counter("constructiq_response_cache_requests_total", "result", "miss");
+        this.evictions = meterRegistry.counter("constructiq_response_cache_evictions_total");
+        meterRegistry.gauge("constructiq_response_cache_bytes", this, ResponseCache::bytes);
+        meterRegistry.gauge("constructiq_response_cache_entries", this, ResponseCache::size);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public long ttlMillis() {
+        return ttlMillis;
+    }
+
+    public String get(String key, long version) {
+        Entry entry;
+        synchronized (this) {
+            entry = entries.get(key);
+            if (entry != null && (entry.version() != version || entry.expiresAtMillis() <= System.currentTimeMillis())) {
+                remove(key);
+                entry = null;
+            }
+        }
+        (entry == null ? misses : hits).increment();
+        return entry == null ? null : entry.json();
+    }
+
+    public void put(String key, long version, String json) {
+        long size = ENTRY_OVERHEAD_BYTES + 2L * (key.length() + json.length());
+        if (!enabled || size > maxBytes / 4) return;
+        Entry entry = new Entry(version, json, System.currentTimeMillis() + ttlMillis, size);
+        synchronized (this) {
+            remove(key);
+            entries.put(key, entry);
+            bytes += size;
+            Iterator<Entry> eldest = entries.values().iterator();
+            while (bytes > maxBytes && eldest.hasNext()) {
+                bytes -= eldest.next().bytes();
+                eldest.remove();
+                evictions.increment();
+            }
+        }
+    }
+
+    synchronized long bytes() {
+        return bytes;
+    }
+
+    synchronized int size() {
+        return entries.size();
+    }
+
+    private void remove(String key) {
+        Entry previous = entries.remove(key);
+        if (previous != null) bytes -= previous.bytes();
+    }
+}
@@ -0,0 +1,205 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.security.AuthContext;
+import com.constructiq.backendjava.security.AuthContextHolder;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonSerializable;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Serves {@link CachedResponse} endpoints from {@link ResponseCache} under a weak ETag, and answers conditional
+ * GETs on {@link DocumentETag} endpoints with a strong one. Versions are read before the handler runs, so a write
+ * racing with the handler leaves an entry and a tag that are already stale. Collection versions come from the shared
+ * {@code collection_versions} rows (see {@link CachedResponseCollections}), so a write on any node invalidates them.
+ */
+@ControllerAdvice
+public class ResponseCacheInterceptor implements HandlerInterceptor, ResponseBodyAdvice<Object> {
+    private static final String PENDING_ATTRIBUTE = ResponseCacheInterceptor.class.getName() + ".pending";
+
+    private record Pending(String key, long version, String etag) {}
+
+    private record Principal(String orgId, String role) {}
+
+    private record RawJson(String json) implements JsonSerializable {
+        @Override
+        public void serialize(JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeRawValue(json);
+        }
+
+        @Override
+        public void serializeWithType(JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+                throws IOException {
+            serialize(gen, serializers);
+        }
+    }
+
+    private final ResponseCache cache;
+    private final SqlDocumentStore store;
+    private final ConstructIQProperties properties;
+    private final ObjectMapper mapper;
+
+    public ResponseCacheInterceptor(ResponseCache cache, SqlDocumentStore store, ConstructIQProperties properties,
+                                    ObjectMapper mapper) {
+        this.cache = cache;
+        this.store = store;
+        this.properties = properties;
+        this.mapper = mapper;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) throws IOException {
+        if (!"GET".equals(request.getMethod()) || !(handler instanceof HandlerMethod method)) {
+            return true;
+        }
+        CachedResponse cached = method.getMethodAnnotation(CachedResponse.class);
+        DocumentETag document = method.getMethodAnnotation(DocumentETag.class);
+        if (cached == null && document == null) return true;
+        Principal principal = principal();
+        if (principal == null) return true;
+
+        if (document != null) {
+            String docId = pathVariable(request, document.pathVariable());
+            String tag = docId == null ? null
+                    : store.documentTag(document.collection(), docId, principal.orgId()).orElse(null);
+            String projection = projection(request);
+            if (tag == null || projection == null) return true;
+            String etag = "\"" + tag + projection + "\"";
+            if (notModified(request, response, etag)) return false;
+            request.setAttribute(PENDING_ATTRIBUTE, new Pending(null, 0, etag));
+            return true;
+        }
+
+        long version = store.writeVersion(principal.orgId(), Arrays.asList(cached.collections()));
+        String key = key(principal, request);
+        String etag = "W/\"" + Long.toString(version, 36) + "-"
+                + Long.toString(System.currentTimeMillis() / cache.ttlMillis(), 36) + "-"
+                + Integer.toHexString(key.hashCode()) + "\"";
+        if (notModified(request, response, etag)) return false;
+        String json = cache.isEnabled() ? cache.get(key, version) : null;
+        if (json == null) {
+            request.setAttribute(PENDING_ATTRIBUTE, new Pending(cache.isEnabled() ? key : null, version, etag));
+            return true;
+        }
+        response.setStatus(HttpStatus.OK.value());
+        response.setHeader(HttpHeaders.ETAG, etag);
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        byte[] body = json.getBytes(StandardCharsets.UTF_8);
+        response.setContentLength(body.length);
+        response.getOutputStream().write(body);
+        return false;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return MappingJackson2HttpMessageConverter.class.isAssignableFrom(converterType)
+                && (returnType.hasMethodAnnotation(CachedResponse.class) || returnType.hasMethodAnnotation(DocumentETag.class));
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (body == null || !(request instanceof ServletServerHttpRequest servletRequest)
+                || !(response instanceof ServletServerHttpResponse servletResponse)) {
+            return body;
+        }
+        Object pending = servletRequest.getServletRequest().getAttribute(PENDING_ATTRIBUTE);
+        if (!(pending instanceof Pending entry) || servletResponse.getServletResponse().getStatus() != HttpStatus.OK.value()) {
+            return body;
+        }
+        response.getHeaders().setETag(entry.etag());
+        if (entry.key() == null) return body;
+        try {
+            String json = mapper.writeValueAsString(body);
+            cache.put(entry.key(), entry.version(), json);
+            return new RawJson(json);
+        } catch (JsonProcessingException e) {
+            return body;
+        }
+    }
+
+    static boolean matches(String ifNoneMatch, String etag) {
+        if (ifNoneMatch == null || ifNoneMatch.isBlank()) return false;
+        String opaque = etag.startsWith("W/") ? etag.substring(2) : etag;
+        for (String candidate : ifNoneMatch.split(",")) {
+            String value = candidate.trim();
+            if (value.equals("*")) return true;
+            if (value.startsWith("W/")) value = value.substring(2);
+            if (value.equals(opaque)) return true;
+        }
+        return false;
+    }
+
+    private static boolean notModified(HttpServletRequest request, HttpServletResponse response, String etag) {
+        if (!matches(request.getHeader(HttpHeaders.IF_NONE_MATCH), etag)) return false;
+        response.setStatus(HttpStatus.NOT_MODIFIED.value());
+        response.setHeader(HttpHeaders.ETAG, etag);
+        return true;
+    }
+
+    /**
+     * A projected document is a different representation, so its strong tag names the normalized field list.
+     * Null for an invalid list, which the handler rejects.
+     */
+    private static String projection(HttpServletRequest request) {
+        try {
+            List<String> fields = SqlDocumentStore.parseFields(request.getParameter("fields"));
+            return fields.isEmpty() ? "" : ";" + String.join("+", fields);
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static String pathVariable(HttpServletRequest request, String name) {
+        Object variables = request.getAttribute(HandlerMapping.URI_TEMPLATE_VARIABLES_ATTRIBUTE);
+        return variables instanceof Map<?, ?> map ? ((Map<String, String>) map).get(name) : null;
+    }
+
+    private Principal principal() {
+        if (properties.isDemoMode()) {
+            return new Principal(properties.getDemoOrgId(), "admin");
+        }
+        AuthContext auth = AuthContextHolder.get();
+        return auth == null ? null : new Principal(auth.orgId(), auth.role());
+    }
+
+    private static String key(Principal principal, HttpServletRequest request) {
+        StringBuilder key = new StringBuilder()
+                .append(principal.orgId()).append('|').append(principal.role()).append('|').append(request.getRequestURI());
+        Map<String, String[]> params = new TreeMap<>(request.getParameterMap());
+        for (Map.Entry<String, String[]> param : params.entrySet()) {
+            key.append('|').append(param.getKey()).append('=').append(String.join(",", List.of(param.getValue())));
+        }
+        return key.toString();
+    }
+}
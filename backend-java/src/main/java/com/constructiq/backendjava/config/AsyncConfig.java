@@ -0,0 +1,58 @@
+package com.constructiq.backendjava.config;
+
+import com.constructiq.backendjava.security.AuthContextHolder;
+import org.slf4j.MDC;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+
+@Configuration
+public class AsyncConfig {
+
+    /**
+     * Applied by Spring Boot to the {@code @Async} executor, whether it runs platform or virtual threads: the
+     * submitting request's auth context and logging MDC (request id) travel with the task. At most
+     * {@code asyncConcurrencyLimit} task bodies run at once; the permit is taken inside the task, so a request that
+     * submits work never waits for it.
+     */
+    @Bean
+    public TaskDecorator contextPropagatingTaskDecorator(ConstructIQProperties properties) {
+        Semaphore permits = new Semaphore(Math.max(1, properties.getAsyncConcurrencyLimit()));
+        return task -> propagate(limit(permits, task));
+    }
+
+    static Runnable limit(Semaphore permits, Runnable task) {
+        return () -> {
+            try {
+                permits.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+            try {
+                task.run();
+            } finally {
+                permits.release();
+            }
+        };
+    }
+
+    static Runnable propagate(Runnable task) {
+        Map<String, String> mdc = MDC.getCopyOfContextMap();
+        Runnable withAuth = AuthContextHolder.propagate(task);
+        return () -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            if (mdc == null) MDC.clear();
+            else MDC.setContextMap(mdc);
+            try {
+                withAuth.run();
+            } finally {
+                if (previous == null) MDC.clear();
+                else MDC.setContextMap(previous);
+            }
+        };
+    }
+}
@@ -18,6 +18,38 @@ public class ConstructIQProperties {
     private boolean rateLimitEnabled = true;
     private int rateLimitPerMinute = 120;
     private int authLoginRateLimitPerMinute = 20;
+    private double anomalyEwmaAlpha = 0.2;
+    private long anomalyCheckpointSeconds = 30;
+    private int anomalyMaxTrackedSeries = 100_000;
+    private int rateLimitMaxKeys = 100_000;
+    private String rateLimitRoutePolicies = "";
+    private boolean rateLimitClusterEnabled = false;
+    private int rateLimitLeaseSize = 20;
+    private boolean concurrencyLimitEnabled = false;
+    private int concurrencyLimitInitial = 20;
+    private int concurrencyLimitMin = 4;
+    private int concurrencyLimitMax = 200;
+    private double concurrencyLimitOrgShare = 0.75;
+    private int authTokenCacheSize = 10_000;
+    private int passwordHashCost = 12;
+    private int passwordHashThreads = 2;
+    private int passwordHashQueueSize = 32;
+    private long authRevocationPollSeconds = 5;
+    private int authRevocationExpectedTokens = 100_000;
+    private long slowRequestThresholdMs = 500;
+    private int slowRequestBufferSize = 100;
+    private long storeSlowQueryMs = 200;
+    private boolean jfrRecordingEnabled = false;
+    private int jfrMaxAgeMinutes = 60;
+    private String jfrDumpPath = "";
+    private boolean responseCacheEnabled = true;
+    private long responseCacheMaxBytes = 32L * 1024 * 1024;
+    private int responseCacheTtlSeconds = 60;
+    private int batchMaxRequests = 20;
+    private int batchConcurrency = 4;
+    private boolean storeSingleFlightEnabled = true;
+    private int asyncConcurrencyLimit = 16;
+    private int spendCacheTtlSeconds = 60;
 
     public boolean isDemoMode() {
         return demoMode;
@@ -130,4 +162,260 @@ public class ConstructIQProperties {
     public void setAuthLoginRateLimitPerMinute(int authLoginRateLimitPerMinute) {
         this.authLoginRateLimitPerMinute = authLoginRateLimitPerMinute;
     }
+
+    public double getAnomalyEwmaAlpha() {
+        return anomalyEwmaAlpha;
+    }
+
+    public void setAnomalyEwmaAlpha(double anomalyEwmaAlpha) {
+        this.anomalyEwmaAlpha = anomalyEwmaAlpha;
+    }
+
+    public long getAnomalyCheckpointSeconds() {
+        return anomalyCheckpointSeconds;
+    }
+
+    public void setAnomalyCheckpointSeconds(long anomalyCheckpointSeconds) {
+        this.anomalyCheckpointSeconds = anomalyCheckpointSeconds;
+    }
+
+    public int getAnomalyMaxTrackedSeries() {
+        return anomalyMaxTrackedSeries;
+    }
+
+    public void setAnomalyMaxTrackedSeries(int anomalyMaxTrackedSeries) {
+        this.anomalyMaxTrackedSeries = anomalyMaxTrackedSeries;
+    }
+
+    public int getRateLimitMaxKeys() {
+        return rateLimitMaxKeys;
+    }
+
+    public void setRateLimitMaxKeys(int rateLimitMaxKeys) {
+        this.rateLimitMaxKeys = rateLimitMaxKeys;
+    }
+
+    public String getRateLimitRoutePolicies() {
+        return rateLimitRoutePolicies;
+    }
+
+    public void setRateLimitRoutePolicies(String rateLimitRoutePolicies) {
+        this.rateLimitRoutePolicies = rateLimitRoutePolicies;
+    }
+
+    public boolean isRateLimitClusterEnabled() {
+        return rateLimitClusterEnabled;
+    }
+
+    public void setRateLimitClusterEnabled(boolean rateLimitClusterEnabled) {
+        this.rateLimitClusterEnabled = rateLimitClusterEnabled;
+    }
+
+    public int getRateLimitLeaseSize() {
+        return rateLimitLeaseSize;
+    }
+
+    public void setRateLimitLeaseSize(int rateLimitLeaseSize) {
+        this.rateLimitLeaseSize = rateLimitLeaseSize;
+    }
+
+    public boolean isConcurrencyLimitEnabled() {
+        return concurrencyLimitEnabled;
+    }
+
+    public void setConcurrencyLimitEnabled(boolean concurrencyLimitEnabled) {
+        this.concurrencyLimitEnabled = concurrencyLimitEnabled;
+    }
+
+    public int getConcurrencyLimitInitial() {
+        return concurrencyLimitInitial;
+    }
+
+    public void setConcurrencyLimitInitial(int concurrencyLimitInitial) {
+        this.concurrencyLimitInitial = concurrencyLimitInitial;
+    }
+
+    public int getConcurrencyLimitMin() {
+        return concurrencyLimitMin;
+    }
+
+    public void setConcurrencyLimitMin(int concurrencyLimitMin) {
+        this.concurrencyLimitMin = concurrencyLimitMin;
+    }
+
+    public int getConcurrencyLimitMax() {
+        return concurrencyLimitMax;
+    }
+
+    public void setConcurrencyLimitMax(int concurrencyLimitMax) {
+        this.concurrencyLimitMax = concurrencyLimitMax;
+    }
+
+    public double getConcurrencyLimitOrgShare() {
+        return concurrencyLimitOrgShare;
+    }
+
+    public void setConcurrencyLimitOrgShare(double concurrencyLimitOrgShare) {
+        this.concurrencyLimitOrgShare = concurrencyLimitOrgShare;
+    }
+
+    public int getAuthTokenCacheSize() {
+        return authTokenCacheSize;
+    }
+
+    public void setAuthTokenCacheSize(int authTokenCacheSize) {
+        this.authTokenCacheSize = authTokenCacheSize;
+    }
+
+    public int getPasswordHashCost() {
+        return passwordHashCost;
+    }
+
+    public void setPasswordHashCost(int passwordHashCost) {
+        this.passwordHashCost = passwordHashCost;
+    }
+
+    public int getPasswordHashThreads() {
+        return passwordHashThreads;
+    }
+
+    public void setPasswordHashThreads(int passwordHashThreads) {
+        this.passwordHashThreads = passwordHashThreads;
+    }
+
+    public int getPasswordHashQueueSize() {
+        return passwordHashQueueSize;
+    }
+
+    public void setPasswordHashQueueSize(int passwordHashQueueSize) {
+        this.passwordHashQueueSize = passwordHashQueueSize;
+    }
+
+    public long getAuthRevocationPollSeconds() {
+        return authRevocationPollSeconds;
+    }
+
+    public void setAuthRevocationPollSeconds(long authRevocationPollSeconds) {
+        this.authRevocationPollSeconds = authRevocationPollSeconds;
+    }
+
+    public int getAuthRevocationExpectedTokens() {
+        return authRevocationExpectedTokens;
+    }
+
+    public void setAuthRevocationExpectedTokens(int authRevocationExpectedTokens) {
+        this.authRevocationExpectedTokens = authRevocationExpectedTokens;
+    }
+
+    public long getSlowRequestThresholdMs() {
+        return slowRequestThresholdMs;
+    }
+
+    public void setSlowRequestThresholdMs(long slowRequestThresholdMs) {
+        this.slowRequestThresholdMs = slowRequestThresholdMs;
+    }
+
+    public int getSlowRequestBufferSize() {
+        return slowRequestBufferSize;
+    }
+
+    public void setSlowRequestBufferSize(int slowRequestBufferSize) {
+        this.slowRequestBufferSize = slowRequestBufferSize;
+    }
+
+    public long getStoreSlowQueryMs() {
+        return storeSlowQueryMs;
+    }
+
+    public void setStoreSlowQueryMs(long storeSlowQueryMs) {
+        this.storeSlowQueryMs = storeSlowQueryMs;
+    }
+
+    public boolean isJfrRecordingEnabled() {
+        return jfrRecordingEnabled;
+    }
+
+    public void setJfrRecordingEnabled(boolean jfrRecordingEnabled) {
+        this.jfrRecordingEnabled = jfrRecordingEnabled;
+    }
+
+    public int getJfrMaxAgeMinutes() {
+        return jfrMaxAgeMinutes;
+    }
+
+    public void setJfrMaxAgeMinutes(int jfrMaxAgeMinutes) {
+        this.jfrMaxAgeMinutes = jfrMaxAgeMinutes;
+    }
+
+    public String getJfrDumpPath() {
+        return jfrDumpPath;
+    }
+
+    public void setJfrDumpPath(String jfrDumpPath) {
+        this.jfrDumpPath = jfrDumpPath;
+    }
+
+    public boolean isResponseCacheEnabled() {
+        return responseCacheEnabled;
+    }
+
+    public void setResponseCacheEnabled(boolean responseCacheEnabled) {
+        this.responseCacheEnabled = responseCacheEnabled;
+    }
+
+    public long getResponseCacheMaxBytes() {
+        return responseCacheMaxBytes;
+    }
+
+    public void setResponseCacheMaxBytes(long responseCacheMaxBytes) {
+        this.responseCacheMaxBytes = responseCacheMaxBytes;
+    }
+
+    public int getResponseCacheTtlSeconds() {
+        return responseCacheTtlSeconds;
+    }
+
+    public void setResponseCacheTtlSeconds(int responseCacheTtlSeconds) {
+        this.responseCacheTtlSeconds = responseCacheTtlSeconds;
+    }
+
+    public int getBatchMaxRequests() {
+        return batchMaxRequests;
+    }
+
+    public void setBatchMaxRequests(int batchMaxRequests) {
+        this.batchMaxRequests = batchMaxRequests;
+    }
+
+    public int getBatchConcurrency() {
+        return batchConcurrency;
+    }
+
+    public void setBatchConcurrency(int batchConcurrency) {
+        this.batchConcurrency = batchConcurrency;
+    }
+
+    public boolean isStoreSingleFlightEnabled() {
+        return storeSingleFlightEnabled;
+    }
+
+    public void setStoreSingleFlightEnabled(boolean storeSingleFlightEnabled) {
+        this.storeSingleFlightEnabled = storeSingleFlightEnabled;
+    }
+
+    public int getAsyncConcurrencyLimit() {
+        return asyncConcurrencyLimit;
+    }
+
+    public void setAsyncConcurrencyLimit(int asyncConcurrencyLimit) {
+        this.asyncConcurrencyLimit = asyncConcurrencyLimit;
+    }
+
+    public int getSpendCacheTtlSeconds() {
+        return spendCacheTtlSeconds;
+    }
+
+    public void setSpendCacheTtlSeconds(int spendCacheTtlSeconds) {
+        this.spendCacheTtlSeconds = spendCacheTtlSeconds;
+    }
 }
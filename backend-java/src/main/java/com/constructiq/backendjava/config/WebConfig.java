@@ -1,15 +1,19 @@
 package com.constructiq.backendjava.config;
 
+import com.constructiq.backendjava.api.ResponseCacheInterceptor;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.servlet.config.annotation.CorsRegistry;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     private final ConstructIQProperties properties;
+    private final ResponseCacheInterceptor responseCache;
 
-    public WebConfig(ConstructIQProperties properties) {
+    public WebConfig(ConstructIQProperties properties, ResponseCacheInterceptor responseCache) {
         this.properties = properties;
+        this.responseCache = responseCache;
     }
 
     @Override
@@ -21,4 +25,9 @@ public class WebConfig implements WebMvcConfigurer {
                 .allowedHeaders("*")
                 .allowCredentials(true);
     }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(responseCache).addPathPatterns("/api/**");
+    }
 }
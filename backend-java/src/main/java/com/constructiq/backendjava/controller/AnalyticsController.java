@@ -0,0 +1,34 @@
+package com.constructiq.backendjava.controller;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.model.DemoContext;
+import com.constructiq.backendjava.service.SpendAnalyticsService;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/analytics")
+public class AnalyticsController extends ControllerBase {
+
+    private final SpendAnalyticsService spendAnalytics;
+
+    public AnalyticsController(SqlDocumentStore store,
+                               ConstructIQProperties properties,
+                               SpendAnalyticsService spendAnalytics) {
+        super(store, properties);
+        this.spendAnalytics = spendAnalytics;
+    }
+
+    @GetMapping("/spend")
+    public Map<String, Object> spend(@RequestParam(required = false) String from,
+                                     @RequestParam(required = false) String to,
+                                     @RequestParam(defaultValue = "true") boolean cache) {
+        DemoContext ctx = requireContext();
+        return spendAnalytics.spend(ctx.orgId(), from, to, cache);
+    }
+}
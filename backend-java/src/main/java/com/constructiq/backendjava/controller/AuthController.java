@@ -1,17 +1,21 @@
 package com.constructiq.backendjava.controller;
 
 import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.model.DemoContext;
+import com.constructiq.backendjava.security.AuthContext;
+import com.constructiq.backendjava.security.AuthContextHolder;
 import com.constructiq.backendjava.security.AuthTokenService;
 import com.constructiq.backendjava.security.PasswordService;
+import com.constructiq.backendjava.security.TokenRevocationRegistry;
+import com.constructiq.backendjava.store.AuthSessionStore;
 import com.constructiq.backendjava.store.SqlDocumentStore;
 import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.List;
-import java.util.Locale;
-import java.util.Map;
+import java.util.*;
 
 @RestController
 @RequestMapping("/api/auth")
@@ -19,21 +23,27 @@ public class AuthController extends ControllerBase {
 
     private final AuthTokenService tokenService;
     private final PasswordService passwordService;
+    private final AuthSessionStore sessions;
+    private final TokenRevocationRegistry revocations;
     private final MeterRegistry meterRegistry;
 
     public AuthController(SqlDocumentStore store,
                           ConstructIQProperties properties,
                           AuthTokenService tokenService,
                           PasswordService passwordService,
+                          AuthSessionStore sessions,
+                          TokenRevocationRegistry revocations,
                           MeterRegistry meterRegistry) {
         super(store, properties);
         this.tokenService = tokenService;
         this.passwordService = passwordService;
+        this.sessions = sessions;
+        this.revocations = revocations;
         this.meterRegistry = meterRegistry;
     }
 
     @PostMapping("/login")
-    public Map<String, Object> login(@RequestBody Map<String, Object> data) {
+    public Map<String, Object> login(@RequestBody Map<String, Object> data, HttpServletRequest request) {
         String email = asString(data.get("email"), "").trim().toLowerCase(Locale.ROOT);
         String password = asString(data.get("password"), "");
         if (email.isBlank() || password.isBlank()) {
@@ -64,13 +74,20 @@ public class AuthController extends ControllerBase {
             }
             orgId = asString(user.get("org_id"), orgId);
             userId = asString(user.get("id"), userId);
+            if (passwordService.needsRehash(storedPassword)) {
+                String id = userId;
+                passwordService.rehashInBackground(password, hash ->
+                        store.updateFields("users", id, Map.of("password", hash, "updated_at", nowIso())));
+            }
             role = asString(user.get("role"), "buyer");
         }
 
-        String token = tokenService.createToken(userId, orgId, role, email);
+        AuthTokenService.IssuedToken issued = tokenService.issueToken(userId, orgId, role, email);
+        sessions.register(new AuthSessionStore.Session(issued.tokenId(), orgId, userId, email,
+                request.getRemoteAddr(), request.getHeader("User-Agent"), issued.issuedAt(), issued.expiresAt(), null));
         metric("success");
         return Map.of(
-                "access_token", token,
+                "access_token", issued.token(),
                 "token_type", "bearer",
                 "user", Map.of("id", userId, "org_id", orgId, "role", role, "email", email),
                 "demo_mode", properties.isDemoMode()
@@ -88,6 +105,54 @@ public class AuthController extends ControllerBase {
         );
     }
 
+    @PostMapping("/logout")
+    public Map<String, Object> logout() {
+        AuthContext auth = AuthContextHolder.get();
+        if (auth == null || auth.tokenId() == null) {
+            return Map.of("message", "No active session");
+        }
+        revocations.revoke(auth.tokenId(), auth.orgId(), auth.userId(), auth.expiresAt());
+        return Map.of("message", "Logged out");
+    }
+
+    @GetMapping("/sessions")
+    public Map<String, Object> listSessions() {
+        DemoContext ctx = requireContext();
+        AuthContext auth = AuthContextHolder.get();
+        String currentId = auth == null ? null : auth.tokenId();
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (AuthSessionStore.Session session : sessions.activeSessions(ctx.orgId(), ctx.userId())) {
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("id", session.jti());
+            row.put("ip", session.ip());
+            row.put("user_agent", session.userAgent());
+            row.put("issued_at", String.valueOf(session.issuedAt()));
+            row.put("expires_at", String.valueOf(session.expiresAt()));
+            row.put("current", session.jti().equals(currentId));
+            items.add(row);
+        }
+        return Map.of("items", items);
+    }
+
+    @DeleteMapping("/sessions/{sessionId}")
+    public Map<String, Object> revokeSession(@PathVariable String sessionId) {
+        DemoContext ctx = requireContext();
+        AuthSessionStore.Session session = sessions.find(sessionId)
+                .filter(s -> s.orgId().equals(ctx.orgId()))
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Session not found"));
+        if (!session.userId().equals(ctx.userId())) requireAdmin(ctx);
+        revocations.revoke(session.jti(), session.orgId(), session.userId(), session.expiresAt());
+        return Map.of("message", "Session revoked");
+    }
+
+    @PostMapping("/users/{userId}/revoke-sessions")
+    public Map<String, Object> revokeUserSessions(@PathVariable String userId) {
+        DemoContext ctx = requireContext();
+        requireAdmin(ctx);
+        int revoked = revocations.revokeAll(ctx.orgId(), userId);
+        return Map.of("message", "Sessions revoked", "revoked", revoked);
+    }
+
     private void metric(String outcome) {
         meterRegistry.counter("constructiq_auth_login_total", "outcome", outcome).increment();
     }
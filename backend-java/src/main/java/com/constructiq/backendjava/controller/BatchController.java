@@ -0,0 +1,68 @@
+package com.constructiq.backendjava.controller;
+
+import com.constructiq.backendjava.api.BatchDispatcher;
+import com.constructiq.backendjava.api.JsonStreamWriter;
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+@RestController
+@RequestMapping("/api/batch")
+public class BatchController extends ControllerBase {
+
+    private final BatchDispatcher dispatcher;
+    private final ObjectMapper mapper;
+
+    public BatchController(SqlDocumentStore store, ConstructIQProperties properties, BatchDispatcher dispatcher,
+                           ObjectMapper mapper) {
+        super(store, properties);
+        this.dispatcher = dispatcher;
+        this.mapper = mapper;
+    }
+
+    @PostMapping
+    public void batch(@RequestBody Map<String, Object> data, HttpServletRequest request, HttpServletResponse response)
+            throws IOException {
+        requireContext();
+        List<Object> items = requireNonEmptyList(data, "requests", "Batch requests are required");
+        if (items.size() > properties.getBatchMaxRequests()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    "Cannot batch more than " + properties.getBatchMaxRequests() + " requests");
+        }
+        List<BatchDispatcher.SubRequest> subRequests = items.stream()
+                .map(this::asMap)
+                .map(item -> new BatchDispatcher.SubRequest(asString(item.get("method"), "GET"), asString(item.get("path"), "")))
+                .toList();
+
+        List<BatchDispatcher.Result> results = dispatcher.execute(request, response, subRequests);
+
+        JsonStreamWriter.write(response, mapper, json -> {
+            json.writeStartObject();
+            json.writeArrayFieldStart("responses");
+            for (BatchDispatcher.Result result : results) {
+                json.writeStartObject();
+                json.writeNumberField("status", result.status());
+                json.writeFieldName("body");
+                if (result.body().length == 0) {
+                    json.writeNull();
+                } else if (result.isJson()) {
+                    json.writeRawValue(new String(result.body(), StandardCharsets.UTF_8));
+                } else {
+                    json.writeString(new String(result.body(), StandardCharsets.UTF_8));
+                }
+                json.writeEndObject();
+            }
+            json.writeEndArray();
+            json.writeEndObject();
+        });
+    }
+}
@@ -1,42 +1,51 @@
 package com.constructiq.backendjava.controller;
 
+import com.constructiq.backendjava.api.CachedResponse;
+import com.constructiq.backendjava.api.DocumentETag;
 import com.constructiq.backendjava.config.ConstructIQProperties;
 import com.constructiq.backendjava.model.DemoContext;
+import com.constructiq.backendjava.store.LatestPriceStore;
 import com.constructiq.backendjava.store.SqlDocumentStore;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 @RestController
 @RequestMapping("/api/catalog")
 public class CatalogController extends ControllerBase {
 
-    public CatalogController(SqlDocumentStore store, ConstructIQProperties properties) {
+    private static final int MAX_BULK_PRODUCTS = 1000;
+
+    private final LatestPriceStore latestPrices;
+
+    public CatalogController(SqlDocumentStore store, ConstructIQProperties properties, LatestPriceStore latestPrices) {
         super(store, properties);
+        this.latestPrices = latestPrices;
     }
 
     @GetMapping("/products")
+    @CachedResponse(collections = "normalized_products")
     public Map<String, Object> listProducts(@RequestParam(defaultValue = "1") int page,
                                             @RequestParam(name = "page_size", defaultValue = "10") int pageSize,
                                             @RequestParam(required = false) String category,
-                                            @RequestParam(required = false) String search) {
+                                            @RequestParam(required = false) String search,
+                                            @RequestParam(required = false) String fields) {
         DemoContext ctx = requireContext();
         Map<String, Object> query = baseOrgQuery(ctx);
         if (category != null && !category.isBlank()) query.put("category", category);
         if (search != null && !search.isBlank()) query.put("canonical_name", Map.of("$regex", search, "$options", "i"));
         long total = store.count("normalized_products", query);
-        List<Map<String, Object>> items = store.find("normalized_products", query, "canonical_name", false, (page - 1) * pageSize, pageSize);
+        List<Map<String, Object>> items = store.find("normalized_products", query, "canonical_name", false, (page - 1) * pageSize, pageSize, fields(fields));
         return paginate(items, total, page, pageSize);
     }
 
     @GetMapping("/products/{productId}")
-    public Map<String, Object> getProduct(@PathVariable String productId) {
+    @DocumentETag(collection = "normalized_products", pathVariable = "productId")
+    public Map<String, Object> getProduct(@PathVariable String productId, @RequestParam(required = false) String fields) {
         DemoContext ctx = requireContext();
-        return getOr404("normalized_products", productId, ctx.orgId(), "Product not found");
+        return getOr404("normalized_products", productId, ctx.orgId(), "Product not found", fields(fields));
     }
 
     @PostMapping("/products")
@@ -76,13 +85,92 @@ public class CatalogController extends ControllerBase {
         requireAdmin(ctx);
         long deleted = store.deleteOne("normalized_products", productId, ctx.orgId());
         if (deleted == 0) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Product not found");
+        latestPrices.deleteForProduct(ctx.orgId(), productId);
         return Map.of("message", "Product deleted");
     }
 
     @GetMapping("/categories")
+    @CachedResponse(collections = "normalized_products")
     public Map<String, Object> listCategories() {
         DemoContext ctx = requireContext();
         List<String> categories = store.distinct("normalized_products", "category", Map.of("org_id", ctx.orgId()));
         return Map.of("categories", categories);
     }
+
+    @GetMapping("/best-prices")
+    public Map<String, Object> bestPrices(@RequestParam(defaultValue = "1") int page,
+                                          @RequestParam(name = "page_size", defaultValue = "50") int pageSize,
+                                          @RequestParam(required = false) String category) {
+        DemoContext ctx = requireContext();
+        Map<String, Object> query = baseOrgQuery(ctx);
+        if (category != null && !category.isBlank()) query.put("category", category);
+        long total = store.count("normalized_products", query);
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (LatestPriceStore.BestPrice row : latestPrices.bestPrices(ctx.orgId(), category, (page - 1) * pageSize, pageSize)) {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("product_id", row.productId());
+            item.put("canonical_name", row.productName());
+            item.put("category", row.category());
+            item.put("base_uom", row.baseUom());
+            item.put("supplier_count", row.supplierCount());
+            if (row.best() == null) {
+                item.put("best_price", null);
+            } else {
+                Map<String, Object> best = priceRow(row.best());
+                best.put("supplier_name", row.supplierName() == null ? "Unknown" : row.supplierName());
+                item.put("best_price", best);
+            }
+            items.add(item);
+        }
+        return paginate(items, total, page, pageSize);
+    }
+
+    @GetMapping("/products/{productId}/prices")
+    public Map<String, Object> productPrices(@PathVariable String productId) {
+        DemoContext ctx = requireContext();
+        getOr404("normalized_products", productId, ctx.orgId(), "Product not found");
+        List<LatestPriceStore.LatestPrice> prices = latestPrices.forProduct(ctx.orgId(), productId);
+        Map<String, String> names = supplierNames(ctx, prices);
+        List<Map<String, Object>> items = new ArrayList<>();
+        for (LatestPriceStore.LatestPrice price : prices) {
+            Map<String, Object> row = priceRow(price);
+            row.put("supplier_name", names.getOrDefault(price.supplierId(), "Unknown"));
+            items.add(row);
+        }
+        return Map.of("product_id", productId, "prices", items);
+    }
+
+    @GetMapping("/latest-prices")
+    public Map<String, Object> latestPrices(@RequestParam(name = "product_ids") List<String> productIds) {
+        DemoContext ctx = requireContext();
+        if (productIds.size() > MAX_BULK_PRODUCTS) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "At most " + MAX_BULK_PRODUCTS + " product_ids are allowed");
+        }
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (Map.Entry<String, List<LatestPriceStore.LatestPrice>> e : latestPrices.forProducts(ctx.orgId(), productIds).entrySet()) {
+            out.put(e.getKey(), e.getValue().stream().map(this::priceRow).toList());
+        }
+        return Map.of("prices", out);
+    }
+
+    private Map<String, String> supplierNames(DemoContext ctx, List<LatestPriceStore.LatestPrice> prices) {
+        if (prices.isEmpty()) return Map.of();
+        List<String> ids = prices.stream().map(LatestPriceStore.LatestPrice::supplierId).distinct().toList();
+        Map<String, String> names = new HashMap<>();
+        for (Map<String, Object> s : store.find("suppliers", Map.of("org_id", ctx.orgId(), "id", Map.of("$in", ids)), null, false, 0, 0)) {
+            names.put(asString(s.get("id"), ""), asString(s.get("name"), "Unknown"));
+        }
+        return names;
+    }
+
+    private Map<String, Object> priceRow(LatestPriceStore.LatestPrice price) {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("supplier_id", price.supplierId());
+        row.put("unit_price", price.unitPrice());
+        row.put("currency", price.currency());
+        row.put("uom", price.uom());
+        row.put("observed_at", price.observedAt());
+        row.put("price_point_id", price.pricePointId());
+        return row;
+    }
 }
@@ -58,11 +58,25 @@ public abstract class ControllerBase {
     }
 
     protected Map<String, Object> getOr404(String collection, String id, String orgId, String detail) {
-        return store.findOne(collection, id, orgId)
-                .map(this::sanitize)
+        return getOr404(collection, id, orgId, detail, List.of());
+    }
+
+    protected Map<String, Object> getOr404(String collection, String id, String orgId, String detail, List<String> fields) {
+        Optional<Map<String, Object>> doc = fields.isEmpty()
+                ? store.findOne(collection, id, orgId)
+                : store.findOne(collection, id, orgId, fields);
+        return doc.map(this::sanitize)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, detail));
     }
 
+    protected List<String> fields(String fields) {
+        try {
+            return SqlDocumentStore.parseFields(fields);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage());
+        }
+    }
+
     protected String requireNonBlank(Map<String, Object> data, String key, String message) {
         String value = asString(data.get(key), "").trim();
         if (value.isBlank()) {
@@ -1,5 +1,6 @@
 package com.constructiq.backendjava.controller;
 
+import com.constructiq.backendjava.api.CachedResponse;
 import com.constructiq.backendjava.config.ConstructIQProperties;
 import com.constructiq.backendjava.model.DemoContext;
 import com.constructiq.backendjava.store.SqlDocumentStore;
@@ -20,29 +21,24 @@ public class DashboardController extends ControllerBase {
     }
 
     @GetMapping("/stats")
+    @CachedResponse(collections = {"projects", "suppliers", "rfqs", "quotes", "alert_events"})
     public Map<String, Object> dashboardStats() {
         DemoContext ctx = requireContext();
-        Map<String, Object> query = baseOrgQuery(ctx);
-
-        long projectsCount = store.count("projects", query);
-        long suppliersCount = store.count("suppliers", query);
-        long rfqsCount = store.count("rfqs", query);
-        long quotesCount = store.count("quotes", query);
-        long activeAlerts = store.count("alert_events", Map.of("org_id", ctx.orgId(), "status", "new"));
-
-        List<Map<String, Object>> recentRfqs = store.find("rfqs", query, "created_at", true, 0, 5);
-        List<Map<String, Object>> recentQuotes = store.find("quotes", query, "created_at", true, 0, 5);
-        List<Map<String, Object>> recentAlerts = store.find("alert_events", query, "triggered_at", true, 0, 5);
+        SqlDocumentStore.Summary summary = store.summarize(ctx.orgId(),
+                List.of(new SqlDocumentStore.CountSpec("projects_count", "projects", null),
+                        new SqlDocumentStore.CountSpec("suppliers_count", "suppliers", null),
+                        new SqlDocumentStore.CountSpec("rfqs_count", "rfqs", null),
+                        new SqlDocumentStore.CountSpec("quotes_count", "quotes", null),
+                        new SqlDocumentStore.CountSpec("active_alerts", "alert_events", "new")),
+                List.of(new SqlDocumentStore.RecentSpec("rfqs", "created_at", 5),
+                        new SqlDocumentStore.RecentSpec("quotes", "created_at", 5),
+                        new SqlDocumentStore.RecentSpec("alert_events", "triggered_at", 5)));
 
         Map<String, Object> out = new LinkedHashMap<>();
-        out.put("projects_count", projectsCount);
-        out.put("suppliers_count", suppliersCount);
-        out.put("rfqs_count", rfqsCount);
-        out.put("quotes_count", quotesCount);
-        out.put("active_alerts", activeAlerts);
-        out.put("recent_rfqs", recentRfqs);
-        out.put("recent_quotes", recentQuotes);
-        out.put("recent_alerts", recentAlerts);
+        out.putAll(summary.counts());
+        out.put("recent_rfqs", summary.recent().get("rfqs"));
+        out.put("recent_quotes", summary.recent().get("quotes"));
+        out.put("recent_alerts", summary.recent().get("alert_events"));
         return out;
     }
 }
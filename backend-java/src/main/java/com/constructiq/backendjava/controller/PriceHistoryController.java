@@ -1,10 +1,14 @@
 package com.constructiq.backendjava.controller;
 
+import com.constructiq.backendjava.api.JsonStreamWriter;
 import com.constructiq.backendjava.config.ConstructIQProperties;
 import com.constructiq.backendjava.model.DemoContext;
 import com.constructiq.backendjava.store.SqlDocumentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.http.HttpServletResponse;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
 import java.util.*;
@@ -13,14 +17,22 @@ import java.util.*;
 @RequestMapping("/api/price-history")
 public class PriceHistoryController extends ControllerBase {
 
-    public PriceHistoryController(SqlDocumentStore store, ConstructIQProperties properties) {
+    private static final int MAX_PRICE_POINTS = 1000;
+    private static final SqlDocumentStore.Lookup SUPPLIER_NAME =
+            new SqlDocumentStore.Lookup("suppliers", "supplier_id", "name", "supplier_name");
+
+    private final ObjectMapper mapper;
+
+    public PriceHistoryController(SqlDocumentStore store, ConstructIQProperties properties, ObjectMapper mapper) {
         super(store, properties);
+        this.mapper = mapper;
     }
 
     @GetMapping
-    public Map<String, Object> getPriceHistory(@RequestParam(required = false) String product_id,
-                                               @RequestParam(required = false) String supplier_id,
-                                               @RequestParam(defaultValue = "90") int days) {
+    public void getPriceHistory(@RequestParam(required = false) String product_id,
+                                @RequestParam(required = false) String supplier_id,
+                                @RequestParam(defaultValue = "90") int days,
+                                HttpServletResponse response) throws IOException {
         DemoContext ctx = requireContext();
         Instant cutoff = Instant.now().minus(days, ChronoUnit.DAYS);
 
@@ -30,13 +42,19 @@ public class PriceHistoryController extends ControllerBase {
         if (product_id != null && !product_id.isBlank()) query.put("normalized_product_id", product_id);
         if (supplier_id != null && !supplier_id.isBlank()) query.put("supplier_id", supplier_id);
 
-        List<Map<String, Object>> pricePoints = store.find("price_points", query, "observed_at", false, 0, 1000);
-        return Map.of("price_points", pricePoints);
+        JsonStreamWriter.write(response, mapper, json -> {
+            json.writeStartObject();
+            json.writeArrayFieldStart("price_points");
+            store.streamRaw("price_points", query, "observed_at", false, MAX_PRICE_POINTS, json::writeRawValue);
+            json.writeEndArray();
+            json.writeEndObject();
+        });
     }
 
     @GetMapping("/product/{productId}")
-    public Map<String, Object> getProductPriceHistory(@PathVariable String productId,
-                                                      @RequestParam(defaultValue = "90") int days) {
+    public void getProductPriceHistory(@PathVariable String productId,
+                                       @RequestParam(defaultValue = "90") int days,
+                                       HttpServletResponse response) throws IOException {
         DemoContext ctx = requireContext();
         Map<String, Object> product = getOr404("normalized_products", productId, ctx.orgId(), "Product not found");
 
@@ -46,30 +64,18 @@ public class PriceHistoryController extends ControllerBase {
         query.put("normalized_product_id", productId);
         query.put("observed_at", Map.of("$gte", cutoff.toString()));
 
-        List<Map<String, Object>> pricePoints = store.find("price_points", query, "observed_at", false, 0, 1000);
-
-        Set<String> supplierIds = new HashSet<>();
-        for (Map<String, Object> pp : pricePoints) {
-            String sid = asString(pp.get("supplier_id"), "");
-            if (!sid.isBlank()) supplierIds.add(sid);
-        }
-
-        Map<String, String> supplierMap = new HashMap<>();
-        if (!supplierIds.isEmpty()) {
-            List<Map<String, Object>> suppliers = store.find(
-                    "suppliers",
-                    Map.of("org_id", ctx.orgId(), "id", Map.of("$in", new ArrayList<>(supplierIds))),
-                    null, false, 0, 100);
-            for (Map<String, Object> s : suppliers) {
-                supplierMap.put(asString(s.get("id"), ""), asString(s.get("name"), "Unknown"));
-            }
-        }
-
-        for (Map<String, Object> pp : pricePoints) {
-            String sid = asString(pp.get("supplier_id"), "");
-            if (!sid.isBlank()) pp.put("supplier_name", supplierMap.getOrDefault(sid, "Unknown"));
-        }
-
-        return Map.of("product", product, "price_points", pricePoints);
+        JsonStreamWriter.write(response, mapper, json -> {
+            json.writeStartObject();
+            json.writeObjectField("product", product);
+            json.writeArrayFieldStart("price_points");
+            store.stream("price_points", query, "observed_at", false, MAX_PRICE_POINTS, SUPPLIER_NAME, pp -> {
+                if (pp.containsKey("supplier_name") && pp.get("supplier_name") == null) {
+                    pp.put("supplier_name", "Unknown");
+                }
+                json.writeObject(pp);
+            });
+            json.writeEndArray();
+            json.writeEndObject();
+        });
     }
 }
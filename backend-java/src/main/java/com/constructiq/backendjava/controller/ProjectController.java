@@ -1,5 +1,7 @@
 package com.constructiq.backendjava.controller;
 
+import com.constructiq.backendjava.api.CachedResponse;
+import com.constructiq.backendjava.api.DocumentETag;
 import com.constructiq.backendjava.config.ConstructIQProperties;
 import com.constructiq.backendjava.model.DemoContext;
 import com.constructiq.backendjava.store.SqlDocumentStore;
@@ -20,21 +22,24 @@ public class ProjectController extends ControllerBase {
     }
 
     @GetMapping
+    @CachedResponse(collections = "projects")
     public Map<String, Object> listProjects(@RequestParam(defaultValue = "1") int page,
                                             @RequestParam(name = "page_size", defaultValue = "10") int pageSize,
-                                            @RequestParam(required = false) String status) {
+                                            @RequestParam(required = false) String status,
+                                            @RequestParam(required = false) String fields) {
         DemoContext ctx = requireContext();
         Map<String, Object> query = baseOrgQuery(ctx);
         if (status != null && !status.isBlank()) query.put("status", status);
         long total = store.count("projects", query);
-        List<Map<String, Object>> items = store.find("projects", query, "created_at", true, (page - 1) * pageSize, pageSize);
+        List<Map<String, Object>> items = store.find("projects", query, "created_at", true, (page - 1) * pageSize, pageSize, fields(fields));
         return paginate(items, total, page, pageSize);
     }
 
     @GetMapping("/{projectId}")
-    public Map<String, Object> getProject(@PathVariable String projectId) {
+    @DocumentETag(collection = "projects", pathVariable = "projectId")
+    public Map<String, Object> getProject(@PathVariable String projectId, @RequestParam(required = false) String fields) {
         DemoContext ctx = requireContext();
-        return getOr404("projects", projectId, ctx.orgId(), "Project not found");
+        return getOr404("projects", projectId, ctx.orgId(), "Project not found", fields(fields));
     }
 
     @PostMapping
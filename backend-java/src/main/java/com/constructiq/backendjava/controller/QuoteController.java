@@ -1,9 +1,13 @@
 package com.constructiq.backendjava.controller;
 
+import com.constructiq.backendjava.api.CachedResponse;
+import com.constructiq.backendjava.api.DocumentETag;
 import com.constructiq.backendjava.config.ConstructIQProperties;
 import com.constructiq.backendjava.model.DemoContext;
 import com.constructiq.backendjava.service.AlertService;
+import com.constructiq.backendjava.service.PriceAnomalyDetector;
 import com.constructiq.backendjava.service.PricePointService;
+import com.constructiq.backendjava.service.QuoteComparisonService;
 import com.constructiq.backendjava.service.QuoteService;
 import com.constructiq.backendjava.store.SqlDocumentStore;
 import org.springframework.http.HttpStatus;
@@ -16,34 +20,41 @@ import java.util.*;
 @RequestMapping("/api/quotes")
 public class QuoteController extends ControllerBase {
 
+    static final int MAX_COMPARE_QUOTES = 100;
+
     private final QuoteService quoteService;
     private final PricePointService pricePointService;
     private final AlertService alertService;
+    private final QuoteComparisonService comparisonService;
 
     public QuoteController(SqlDocumentStore store,
                            ConstructIQProperties properties,
                            QuoteService quoteService,
                            PricePointService pricePointService,
-                           AlertService alertService) {
+                           AlertService alertService,
+                           QuoteComparisonService comparisonService) {
         super(store, properties);
         this.quoteService = quoteService;
         this.pricePointService = pricePointService;
         this.alertService = alertService;
+        this.comparisonService = comparisonService;
     }
 
     @GetMapping
+    @CachedResponse(collections = "quotes")
     public Map<String, Object> listQuotes(@RequestParam(defaultValue = "1") int page,
                                           @RequestParam(name = "page_size", defaultValue = "10") int pageSize,
                                           @RequestParam(required = false) String status,
                                           @RequestParam(required = false) String supplier_id,
-                                          @RequestParam(required = false) String rfq_id) {
+                                          @RequestParam(required = false) String rfq_id,
+                                          @RequestParam(required = false) String fields) {
         DemoContext ctx = requireContext();
         Map<String, Object> query = baseOrgQuery(ctx);
         if (status != null && !status.isBlank()) query.put("status", status);
         if (supplier_id != null && !supplier_id.isBlank()) query.put("supplier_id", supplier_id);
         if (rfq_id != null && !rfq_id.isBlank()) query.put("rfq_id", rfq_id);
         long total = store.count("quotes", query);
-        List<Map<String, Object>> items = store.find("quotes", query, "created_at", true, (page - 1) * pageSize, pageSize);
+        List<Map<String, Object>> items = store.find("quotes", query, "created_at", true, (page - 1) * pageSize, pageSize, fields(fields));
         return paginate(items, total, page, pageSize);
     }
 
@@ -51,10 +62,13 @@ public class QuoteController extends ControllerBase {
     public Map<String, Object> compareQuotes(@RequestParam("quote_ids") String quoteIds) {
         DemoContext ctx = requireContext();
         List<String> ids = Arrays.stream(quoteIds.split(","))
-                .map(String::trim).filter(s -> !s.isBlank()).toList();
+                .map(String::trim).filter(s -> !s.isBlank()).distinct().toList();
+        if (ids.size() > MAX_COMPARE_QUOTES) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Cannot compare more than " + MAX_COMPARE_QUOTES + " quotes");
+        }
         List<Map<String, Object>> quotes = store.find(
                 "quotes", Map.of("id", Map.of("$in", ids), "org_id", ctx.orgId()),
-                null, false, 0, 10);
+                null, false, 0, MAX_COMPARE_QUOTES);
         if (quotes.size() < 2) {
             throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Need at least 2 quotes to compare");
         }
@@ -68,7 +82,7 @@ public class QuoteController extends ControllerBase {
             List<Map<String, Object>> suppliers = store.find(
                     "suppliers",
                     Map.of("org_id", ctx.orgId(), "id", Map.of("$in", new ArrayList<>(supplierIds))),
-                    null, false, 0, 100);
+                    null, false, 0, MAX_COMPARE_QUOTES);
             for (Map<String, Object> s : suppliers) {
                 supplierMap.put(asString(s.get("id"), ""), asString(s.get("name"), "Unknown"));
             }
@@ -77,13 +91,14 @@ public class QuoteController extends ControllerBase {
             String sid = asString(q.get("supplier_id"), "");
             q.put("supplier_name", supplierMap.getOrDefault(sid, "Unknown"));
         }
-        return Map.of("quotes", quotes);
+        return Map.of("quotes", quotes, "comparison", comparisonService.compare(quotes, supplierMap));
     }
 
     @GetMapping("/{quoteId}")
-    public Map<String, Object> getQuote(@PathVariable String quoteId) {
+    @DocumentETag(collection = "quotes", pathVariable = "quoteId")
+    public Map<String, Object> getQuote(@PathVariable String quoteId, @RequestParam(required = false) String fields) {
         DemoContext ctx = requireContext();
-        return getOr404("quotes", quoteId, ctx.orgId(), "Quote not found");
+        return getOr404("quotes", quoteId, ctx.orgId(), "Quote not found", fields(fields));
     }
 
     @PostMapping
@@ -145,8 +160,8 @@ public class QuoteController extends ControllerBase {
             if (itemId.equals(asString(item.get("id"), ""))) {
                 item.put("normalized_product_id", productId);
                 found = true;
-                pricePointService.createFromQuoteItem(ctx, quote, item, productId);
-                alertService.evaluateForProduct(ctx.orgId(), productId, asDouble(item.get("unit_price"), 0.0));
+                PriceAnomalyDetector.Observation observation = pricePointService.createFromQuoteItem(ctx, quote, item, productId);
+                alertService.evaluateForProduct(ctx.orgId(), productId, asDouble(item.get("unit_price"), 0.0), observation);
             }
             items.add(item);
         }
@@ -1,7 +1,10 @@
 package com.constructiq.backendjava.controller;
 
+import com.constructiq.backendjava.api.CachedResponse;
+import com.constructiq.backendjava.api.DocumentETag;
 import com.constructiq.backendjava.config.ConstructIQProperties;
 import com.constructiq.backendjava.model.DemoContext;
+import com.constructiq.backendjava.service.SupplierScorecardService;
 import com.constructiq.backendjava.store.SqlDocumentStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -9,6 +12,8 @@ import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.time.Instant;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
@@ -20,28 +25,36 @@ public class RfqController extends ControllerBase {
 
     private static final Logger log = LoggerFactory.getLogger(RfqController.class);
 
-    public RfqController(SqlDocumentStore store, ConstructIQProperties properties) {
+    private final SupplierScorecardService scorecards;
+
+    public RfqController(SqlDocumentStore store,
+                         ConstructIQProperties properties,
+                         SupplierScorecardService scorecards) {
         super(store, properties);
+        this.scorecards = scorecards;
     }
 
     @GetMapping
+    @CachedResponse(collections = "rfqs")
     public Map<String, Object> listRfqs(@RequestParam(defaultValue = "1") int page,
                                         @RequestParam(name = "page_size", defaultValue = "10") int pageSize,
                                         @RequestParam(required = false) String status,
-                                        @RequestParam(required = false) String project_id) {
+                                        @RequestParam(required = false) String project_id,
+                                        @RequestParam(required = false) String fields) {
         DemoContext ctx = requireContext();
         Map<String, Object> query = baseOrgQuery(ctx);
         if (status != null && !status.isBlank()) query.put("status", status);
         if (project_id != null && !project_id.isBlank()) query.put("project_id", project_id);
         long total = store.count("rfqs", query);
-        List<Map<String, Object>> items = store.find("rfqs", query, "created_at", true, (page - 1) * pageSize, pageSize);
+        List<Map<String, Object>> items = store.find("rfqs", query, "created_at", true, (page - 1) * pageSize, pageSize, fields(fields));
         return paginate(items, total, page, pageSize);
     }
 
     @GetMapping("/{rfqId}")
-    public Map<String, Object> getRfq(@PathVariable String rfqId) {
+    @DocumentETag(collection = "rfqs", pathVariable = "rfqId")
+    public Map<String, Object> getRfq(@PathVariable String rfqId, @RequestParam(required = false) String fields) {
         DemoContext ctx = requireContext();
-        return getOr404("rfqs", rfqId, ctx.orgId(), "RFQ not found");
+        return getOr404("rfqs", rfqId, ctx.orgId(), "RFQ not found", fields(fields));
     }
 
     @PostMapping
@@ -116,14 +129,19 @@ public class RfqController extends ControllerBase {
                 null, false, 0, 100);
 
         int sentCount = 0;
+        List<String> invited = new ArrayList<>();
         for (Map<String, Object> supplier : suppliers) {
+            invited.add(asString(supplier.get("id"), ""));
             String email = asString(supplier.get("contact_email"), "");
             if (!email.isBlank()) {
                 sentCount++;
                 log.info("RFQ {} email prepared for {} from {}", rfqId, email, properties.getSenderEmail());
             }
         }
-        store.updateByQuery("rfqs", Map.of("id", rfqId), Map.of("status", "sent", "updated_at", nowIso()), true);
+        Instant sentAt = Instant.now();
+        String now = sentAt.atOffset(ZoneOffset.UTC).toString();
+        store.updateByQuery("rfqs", Map.of("id", rfqId), Map.of("status", "sent", "sent_at", now, "updated_at", now), true);
+        scorecards.onRfqSent(ctx.orgId(), rfqId, invited, sentAt);
         return Map.of("message", "RFQ sent to " + sentCount + " suppliers", "status", "sent");
     }
 
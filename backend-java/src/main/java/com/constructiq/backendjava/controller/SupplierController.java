@@ -1,43 +1,77 @@
 package com.constructiq.backendjava.controller;
 
+import com.constructiq.backendjava.api.CachedResponse;
+import com.constructiq.backendjava.api.DocumentETag;
 import com.constructiq.backendjava.config.ConstructIQProperties;
 import com.constructiq.backendjava.model.DemoContext;
+import com.constructiq.backendjava.service.SupplierScorecardService;
 import com.constructiq.backendjava.store.SqlDocumentStore;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.server.ResponseStatusException;
 
-import java.util.ArrayList;
-import java.util.LinkedHashMap;
-import java.util.List;
-import java.util.Map;
+import java.util.*;
 
 @RestController
 @RequestMapping("/api/suppliers")
 public class SupplierController extends ControllerBase {
 
-    public SupplierController(SqlDocumentStore store, ConstructIQProperties properties) {
+    private static final Set<String> DOCUMENT_SORT_FIELDS = Set.of("name", "created_at");
+
+    private final SupplierScorecardService scorecards;
+
+    public SupplierController(SqlDocumentStore store,
+                              ConstructIQProperties properties,
+                              SupplierScorecardService scorecards) {
         super(store, properties);
+        this.scorecards = scorecards;
     }
 
     @GetMapping
+    @CachedResponse(collections = {"suppliers", SupplierScorecardService.COLLECTION})
     public Map<String, Object> listSuppliers(@RequestParam(defaultValue = "1") int page,
                                              @RequestParam(name = "page_size", defaultValue = "10") int pageSize,
-                                             @RequestParam(required = false) String search) {
+                                             @RequestParam(required = false) String search,
+                                             @RequestParam(defaultValue = "name") String sort,
+                                             @RequestParam(defaultValue = "asc") String order,
+                                             @RequestParam(required = false) String fields) {
         DemoContext ctx = requireContext();
         Map<String, Object> query = baseOrgQuery(ctx);
         if (search != null && !search.isBlank()) {
             query.put("name", Map.of("$regex", search, "$options", "i"));
         }
+        boolean desc = "desc".equalsIgnoreCase(order);
+
+        if (SupplierScorecardService.SORTABLE_METRICS.contains(sort)) {
+            List<Map<String, Object>> all = store.find("suppliers", query, "name", false, 0, 0, fields(fields));
+            attachScorecards(ctx, all, null);
+            Comparator<Map<String, Object>> byMetric = Comparator.comparing(
+                    s -> metric(s, sort), Comparator.nullsLast(desc ? Comparator.<Double>reverseOrder() : Comparator.<Double>naturalOrder()));
+            all.sort(byMetric);
+            int from = Math.min(all.size(), Math.max(0, (page - 1) * pageSize));
+            int to = Math.min(all.size(), from + pageSize);
+            return paginate(new ArrayList<>(all.subList(from, to)), all.size(), page, pageSize);
+        }
+
+        String sortField = DOCUMENT_SORT_FIELDS.contains(sort) ? sort : "name";
         long total = store.count("suppliers", query);
-        List<Map<String, Object>> items = store.find("suppliers", query, "name", false, (page - 1) * pageSize, pageSize);
+        List<Map<String, Object>> items = store.find("suppliers", query, sortField, desc, (page - 1) * pageSize, pageSize, fields(fields));
+        attachScorecards(ctx, items, items.stream().map(s -> asString(s.get("id"), "")).toList());
         return paginate(items, total, page, pageSize);
     }
 
     @GetMapping("/{supplierId}")
-    public Map<String, Object> getSupplier(@PathVariable String supplierId) {
+    @DocumentETag(collection = "suppliers", pathVariable = "supplierId")
+    public Map<String, Object> getSupplier(@PathVariable String supplierId, @RequestParam(required = false) String fields) {
         DemoContext ctx = requireContext();
-        return getOr404("suppliers", supplierId, ctx.orgId(), "Supplier not found");
+        return getOr404("suppliers", supplierId, ctx.orgId(), "Supplier not found", fields(fields));
+    }
+
+    @GetMapping("/{supplierId}/scorecard")
+    public Map<String, Object> getSupplierScorecard(@PathVariable String supplierId) {
+        DemoContext ctx = requireContext();
+        getOr404("suppliers", supplierId, ctx.orgId(), "Supplier not found");
+        return sanitize(scorecards.get(ctx.orgId(), supplierId));
     }
 
     @PostMapping
@@ -77,4 +111,25 @@ public class SupplierController extends ControllerBase {
         if (deleted == 0) throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Supplier not found");
         return Map.of("message", "Supplier deleted");
     }
+
+    private void attachScorecards(DemoContext ctx, List<Map<String, Object>> suppliers, List<String> supplierIds) {
+        Map<String, Map<String, Object>> cards = scorecards.forOrg(ctx.orgId(), supplierIds);
+        for (Map<String, Object> supplier : suppliers) {
+            Map<String, Object> card = cards.get(asString(supplier.get("id"), ""));
+            supplier.put("scorecard", card == null ? null : scorecardSummary(card));
+        }
+    }
+
+    private Map<String, Object> scorecardSummary(Map<String, Object> card) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (String key : List.of("quote_count", "avg_price_rank", "response_rate", "avg_response_hours", "price_volatility")) {
+            out.put(key, card.get(key));
+        }
+        return out;
+    }
+
+    private Double metric(Map<String, Object> supplier, String key) {
+        Object value = asMap(supplier.get("scorecard")).get(key);
+        return value == null ? null : asDouble(value, 0.0);
+    }
 }
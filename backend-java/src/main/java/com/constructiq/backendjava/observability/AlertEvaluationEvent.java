@@ -0,0 +1,26 @@
+package com.constructiq.backendjava.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("constructiq.AlertEvaluation")
+@Label("Alert Rule Evaluation")
+@Category({"ConstructIQ", "Alerts"})
+@StackTrace(false)
+public class AlertEvaluationEvent extends Event {
+
+    @Label("Organization")
+    public String orgId;
+
+    @Label("Product")
+    public String productId;
+
+    @Label("Rules Evaluated")
+    public int rulesEvaluated;
+
+    @Label("Events Fired")
+    public int eventsFired;
+}
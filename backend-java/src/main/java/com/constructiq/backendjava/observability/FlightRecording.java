@@ -0,0 +1,74 @@
+package com.constructiq.backendjava.observability;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Component
+public class FlightRecording {
+    private static final Logger log = LoggerFactory.getLogger(FlightRecording.class);
+    private static final String PROFILE = "/jfr/constructiq.jfc";
+
+    private final ConstructIQProperties properties;
+    private Recording recording;
+
+    public FlightRecording(ConstructIQProperties properties) {
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.isJfrRecordingEnabled()) return;
+        try {
+            Recording started = new Recording(settings());
+            started.setName("constructiq-continuous");
+            started.setToDisk(true);
+            started.setMaxAge(Duration.ofMinutes(Math.max(1, properties.getJfrMaxAgeMinutes())));
+            String dumpPath = properties.getJfrDumpPath();
+            if (dumpPath != null && !dumpPath.isBlank()) {
+                started.setDestination(Path.of(dumpPath));
+                started.setDumpOnExit(true);
+            }
+            started.start();
+            recording = started;
+            log.info("Started continuous JFR recording with ConstructIQ profile");
+        } catch (Exception e) {
+            log.warn("Failed to start JFR recording: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (recording == null) return;
+        try {
+            if (recording.getDestination() != null) recording.stop();
+        } finally {
+            recording.close();
+        }
+    }
+
+    static Map<String, String> settings() throws Exception {
+        Map<String, String> settings = new HashMap<>(Configuration.getConfiguration("default").getSettings());
+        try (InputStream in = FlightRecording.class.getResourceAsStream(PROFILE)) {
+            if (in == null) throw new IllegalStateException("Missing JFR profile " + PROFILE);
+            try (Reader reader = new InputStreamReader(in, StandardCharsets.UTF_8)) {
+                settings.putAll(Configuration.create(reader).getSettings());
+            }
+        }
+        return settings;
+    }
+}
@@ -0,0 +1,25 @@
+package com.constructiq.backendjava.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("constructiq.JsonDecode")
+@Label("JSON Document Decode")
+@Category({"ConstructIQ", "Store"})
+@StackTrace(false)
+public class JsonDecodeEvent extends Event {
+
+    @Label("Collection")
+    public String collection;
+
+    @Label("Size")
+    @DataAmount
+    public long bytes;
+
+    @Label("Failed")
+    public boolean failed;
+}
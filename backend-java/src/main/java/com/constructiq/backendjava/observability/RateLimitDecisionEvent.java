@@ -0,0 +1,25 @@
+package com.constructiq.backendjava.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+@Name("constructiq.RateLimitDecision")
+@Label("Rate Limit Decision")
+@Category({"ConstructIQ", "API"})
+@StackTrace(false)
+public class RateLimitDecisionEvent extends Event {
+
+    @Label("Policy")
+    public String policy;
+
+    @Label("Allowed")
+    public boolean allowed;
+
+    @Label("Retry After")
+    @Timespan(Timespan.SECONDS)
+    public long retryAfterSeconds;
+}
@@ -0,0 +1,62 @@
+package com.constructiq.backendjava.observability;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class RequestTrace {
+
+    public record QuerySample(String shape, long durationNanos, long rows) {}
+
+    private static final ThreadLocal<RequestTrace> CURRENT = new ThreadLocal<>();
+    private static final int MAX_SAMPLES = 50;
+
+    private final long startNanos = System.nanoTime();
+    private final List<QuerySample> queries = new ArrayList<>();
+    private long dbNanos;
+    private int queryCount;
+
+    private RequestTrace() {
+    }
+
+    public static RequestTrace begin() {
+        RequestTrace trace = new RequestTrace();
+        CURRENT.set(trace);
+        return trace;
+    }
+
+    public static RequestTrace current() {
+        return CURRENT.get();
+    }
+
+    public static void end() {
+        CURRENT.remove();
+    }
+
+    public static void recordQuery(String shape, long durationNanos, long rows) {
+        RequestTrace trace = CURRENT.get();
+        if (trace != null) trace.add(shape, durationNanos, rows);
+    }
+
+    private synchronized void add(String shape, long durationNanos, long rows) {
+        dbNanos += durationNanos;
+        queryCount++;
+        if (queries.size() < MAX_SAMPLES) queries.add(new QuerySample(shape, durationNanos, rows));
+    }
+
+    public long startNanos() {
+        return startNanos;
+    }
+
+    public synchronized long dbNanos() {
+        return dbNanos;
+    }
+
+    public synchronized int queryCount() {
+        return queryCount;
+    }
+
+    public synchronized List<QuerySample> queries() {
+        return Collections.unmodifiableList(new ArrayList<>(queries));
+    }
+}
@@ -0,0 +1,45 @@
+package com.constructiq.backendjava.observability;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+@Component
+public class SlowRequestLog {
+
+    public record SlowRequest(String timestamp, String requestId, String method, String route, String uri, int status,
+                              double totalMs, double dbMs, int queryCount, List<RequestTrace.QuerySample> queries) {}
+
+    private final long thresholdNanos;
+    private final AtomicReferenceArray<SlowRequest> ring;
+    private final AtomicLong next = new AtomicLong();
+
+    public SlowRequestLog(ConstructIQProperties properties) {
+        this.thresholdNanos = Math.max(0, properties.getSlowRequestThresholdMs()) * 1_000_000L;
+        this.ring = new AtomicReferenceArray<>(Math.max(1, properties.getSlowRequestBufferSize()));
+    }
+
+    public boolean isSlow(long durationNanos) {
+        return durationNanos >= thresholdNanos;
+    }
+
+    public void add(SlowRequest request) {
+        int slot = (int) (next.getAndIncrement() % ring.length());
+        ring.set(slot, request);
+    }
+
+    public List<SlowRequest> recent() {
+        long end = next.get();
+        long start = Math.max(0, end - ring.length());
+        List<SlowRequest> out = new ArrayList<>();
+        for (long i = end - 1; i >= start; i--) {
+            SlowRequest request = ring.get((int) (i % ring.length()));
+            if (request != null) out.add(request);
+        }
+        return out;
+    }
+}
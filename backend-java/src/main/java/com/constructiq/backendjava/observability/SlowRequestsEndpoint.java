@@ -0,0 +1,30 @@
+package com.constructiq.backendjava.observability;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Recent slow requests with their URIs and SQL shapes. Not in the default web exposure because actuator endpoints
+ * are unauthenticated; read it over JMX or add it to {@code management.endpoints.web.exposure.include} on a
+ * management port that is not publicly reachable.
+ */
+@Component
+@Endpoint(id = "slowrequests")
+public class SlowRequestsEndpoint {
+
+    private final SlowRequestLog log;
+
+    public SlowRequestsEndpoint(SlowRequestLog log) {
+        this.log = log;
+    }
+
+    @ReadOperation
+    public Map<String, Object> slowRequests() {
+        List<SlowRequestLog.SlowRequest> recent = log.recent();
+        return Map.of("count", recent.size(), "requests", recent);
+    }
+}
@@ -0,0 +1,39 @@
+package com.constructiq.backendjava.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("constructiq.StoreQuery")
+@Label("Document Store Query")
+@Description("A SqlDocumentStore operation, including any in-memory filtering")
+@Category({"ConstructIQ", "Store"})
+@StackTrace(false)
+public class StoreQueryEvent extends Event {
+
+    @Label("Operation")
+    public String operation;
+
+    @Label("Collection")
+    public String collection;
+
+    @Label("Path")
+    public String path;
+
+    @Label("SQL Shape")
+    public String shape;
+
+    @Label("Rows Scanned")
+    public long rowsScanned;
+
+    @Label("Rows Returned")
+    public long rowsReturned;
+
+    @Label("JSON Decoded")
+    @DataAmount
+    public long decodedBytes;
+}
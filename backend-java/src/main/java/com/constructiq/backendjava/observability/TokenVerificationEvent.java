@@ -0,0 +1,23 @@
+package com.constructiq.backendjava.observability;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+@Name("constructiq.TokenVerification")
+@Label("Auth Token Verification")
+@Category({"ConstructIQ", "Auth"})
+@StackTrace(false)
+public class TokenVerificationEvent extends Event {
+
+    @Label("Cache Hit")
+    public boolean cacheHit;
+
+    @Label("Valid")
+    public boolean valid;
+
+    @Label("Legacy Key Trial")
+    public boolean legacyKeyTrial;
+}
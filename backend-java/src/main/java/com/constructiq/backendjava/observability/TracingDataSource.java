@@ -0,0 +1,81 @@
+package com.constructiq.backendjava.observability;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.util.ClassUtils;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Arrays;
+
+public class TracingDataSource extends DelegatingDataSource {
+
+    private static final int MAX_SHAPE_LENGTH = 300;
+
+    public TracingDataSource(DataSource target) {
+        super(target);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrapConnection(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrapConnection(super.getConnection(username, password));
+    }
+
+    static String shape(String sql) {
+        if (sql == null) return "";
+        String compact = sql.replaceAll("\\s+", " ").trim();
+        return compact.length() > MAX_SHAPE_LENGTH ? compact.substring(0, MAX_SHAPE_LENGTH) + "..." : compact;
+    }
+
+    private Connection wrapConnection(Connection connection) {
+        InvocationHandler handler = (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (result instanceof Statement statement && method.getName().startsWith("prepare")) {
+                return wrapStatement(statement, args != null && args.length > 0 ? String.valueOf(args[0]) : null);
+            }
+            if (result instanceof Statement statement && "createStatement".equals(method.getName())) {
+                return wrapStatement(statement, null);
+            }
+            return result;
+        };
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, handler);
+    }
+
+    /** The proxy implements every public interface of the driver's statement, so CallableStatement still casts. */
+    private Statement wrapStatement(Statement statement, String preparedSql) {
+        Class<?>[] interfaces = Arrays.stream(ClassUtils.getAllInterfaces(statement))
+                .filter(type -> Modifier.isPublic(type.getModifiers()))
+                .toArray(Class<?>[]::new);
+        InvocationHandler handler = (proxy, method, args) -> {
+            if (!method.getName().startsWith("execute") || RequestTrace.current() == null) {
+                return invoke(statement, method, args);
+            }
+            String sql = preparedSql != null ? preparedSql : (args != null && args.length > 0 ? String.valueOf(args[0]) : "");
+            long start = System.nanoTime();
+            Object result = invoke(statement, method, args);
+            long rows = result instanceof Integer count ? count : result instanceof Long count ? count : -1;
+            RequestTrace.recordQuery(shape(sql), System.nanoTime() - start, rows);
+            return result;
+        };
+        return (Statement) Proxy.newProxyInstance(statement.getClass().getClassLoader(), interfaces, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.constructiq.backendjava.observability;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordedFrame;
+import jdk.jfr.consumer.RecordedStackTrace;
+import jdk.jfr.consumer.RecordingStream;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Streams {@code jdk.VirtualThreadPinned} events while virtual threads are enabled. A pinned virtual thread holds
+ * its carrier while blocked (typically inside a {@code synchronized} block in the JDBC driver), so pinning is what
+ * caps concurrency once requests stop mapping one-to-one onto platform threads.
+ */
+@Component
+@ConditionalOnThreading(Threading.VIRTUAL)
+public class VirtualThreadPinningMonitor {
+    private static final Logger log = LoggerFactory.getLogger(VirtualThreadPinningMonitor.class);
+    private static final Duration THRESHOLD = Duration.ofMillis(20);
+    private static final int MAX_REPORTED_SITES = 100;
+
+    private final Timer pinned;
+    private final Set<String> reportedSites = ConcurrentHashMap.newKeySet();
+    private RecordingStream stream;
+
+    public VirtualThreadPinningMonitor(MeterRegistry meterRegistry) {
+        this.pinned = Timer.builder("constructiq_virtual_thread_pinned_seconds")
+                .description("Time virtual threads spent pinned to their carrier while blocked")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        try {
+            RecordingStream started = new RecordingStream();
+            started.enable("jdk.VirtualThreadPinned").withThreshold(THRESHOLD).withStackTrace();
+            started.onEvent("jdk.VirtualThreadPinned", this::record);
+            started.startAsync();
+            stream = started;
+        } catch (Exception e) {
+            log.warn("Failed to start virtual thread pinning monitor: {}", e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (stream != null) stream.close();
+    }
+
+    void record(RecordedEvent event) {
+        pinned.record(event.getDuration());
+        String site = site(event.getStackTrace());
+        if (reportedSites.size() < MAX_REPORTED_SITES && reportedSites.add(site)) {
+            log.warn("Virtual thread pinned for {} ms at {}", event.getDuration().toMillis(), site);
+        }
+    }
+
+    static String site(RecordedStackTrace stackTrace) {
+        if (stackTrace == null) return "unknown";
+        for (RecordedFrame frame : stackTrace.getFrames()) {
+            if (!frame.isJavaFrame()) continue;
+            String type = frame.getMethod().getType().getName();
+            if (type.startsWith("java.") || type.startsWith("jdk.") || type.startsWith("sun.")) continue;
+            return type + "." + frame.getMethod().getName() + ":" + frame.getLineNumber();
+        }
+        return "unknown";
+    }
+}
@@ -1,4 +1,6 @@
 package com.constructiq.backendjava.security;
 
-public record AuthContext(String orgId, String userId, String role, String email) {
+import java.time.Instant;
+
+public record AuthContext(String orgId, String userId, String role, String email, String tokenId, Instant expiresAt) {
 }
@@ -1,5 +1,7 @@
 package com.constructiq.backendjava.security;
 
+import java.util.concurrent.Callable;
+
 public final class AuthContextHolder {
     private static final ThreadLocal<AuthContext> HOLDER = new ThreadLocal<>();
 
@@ -17,4 +19,34 @@ public final class AuthContextHolder {
     public static void clear() {
         HOLDER.remove();
     }
+
+    /**
+     * Runs {@code task} with {@code context} bound for its duration only and restores whatever was bound before,
+     * so work handed to another thread never leaks a user into the next task on that thread.
+     */
+    public static <T> T callWith(AuthContext context, Callable<T> task) throws Exception {
+        AuthContext previous = HOLDER.get();
+        set(context);
+        try {
+            return task.call();
+        } finally {
+            if (previous == null) clear();
+            else set(previous);
+        }
+    }
+
+    /** Captures the calling thread's context so {@code task} runs as the same user wherever it executes. */
+    public static Runnable propagate(Runnable task) {
+        AuthContext captured = HOLDER.get();
+        return () -> {
+            AuthContext previous = HOLDER.get();
+            set(captured);
+            try {
+                task.run();
+            } finally {
+                if (previous == null) clear();
+                else set(previous);
+            }
+        };
+    }
 }
@@ -5,18 +5,22 @@ import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
 import jakarta.servlet.http.HttpServletResponse;
 import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.core.annotation.Order;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
 
 import java.io.IOException;
 
 @Component
+@Order(3)
 public class AuthFilter extends OncePerRequestFilter {
     private final AuthTokenService tokenService;
+    private final TokenRevocationRegistry revocations;
     private final MeterRegistry meterRegistry;
 
-    public AuthFilter(AuthTokenService tokenService, MeterRegistry meterRegistry) {
+    public AuthFilter(AuthTokenService tokenService, TokenRevocationRegistry revocations, MeterRegistry meterRegistry) {
         this.tokenService = tokenService;
+        this.revocations = revocations;
         this.meterRegistry = meterRegistry;
     }
 
@@ -29,6 +33,10 @@ public class AuthFilter extends OncePerRequestFilter {
                 String token = authHeader.substring("Bearer ".length()).trim();
                 tokenService.parseToken(token).ifPresentOrElse(
                         ctx -> {
+                            if (revocations.isRevoked(ctx.tokenId())) {
+                                meterRegistry.counter("constructiq_auth_token_total", "outcome", "revoked").increment();
+                                return;
+                            }
                             meterRegistry.counter("constructiq_auth_token_total", "outcome", "valid").increment();
                             AuthContextHolder.set(ctx);
                         },
@@ -1,64 +1,214 @@
 package com.constructiq.backendjava.security;
 
 import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.observability.TokenVerificationEvent;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwsHeader;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.LocatorAdapter;
 import io.jsonwebtoken.security.Keys;
 import org.springframework.stereotype.Service;
 
+import javax.crypto.Mac;
 import javax.crypto.SecretKey;
 import java.nio.charset.StandardCharsets;
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
-import java.util.Optional;
+import java.security.GeneralSecurityException;
+import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class AuthTokenService {
 
+    private record SigningKey(String kid, SecretKey key, JwtParser parser) {}
+
+    private static final class CachedToken {
+        final AuthContext context;
+        final long expiresAtMillis;
+        volatile long lastUsedNanos = System.nanoTime();
+
+        CachedToken(AuthContext context, long expiresAtMillis) {
+            this.context = context;
+            this.expiresAtMillis = expiresAtMillis;
+        }
+    }
+
+    /** Entries looked at per eviction; the least recently used of them goes. */
+    private static final int EVICTION_SAMPLE = 8;
+
+    private static final class UnknownKeyIdException extends JwtException {
+        UnknownKeyIdException() {
+            super("Unknown key id");
+        }
+    }
+
+    private static final byte[] KEY_ID_LABEL = "constructiq-jwt-kid".getBytes(StandardCharsets.UTF_8);
+
+    public record IssuedToken(String token, String tokenId, Instant issuedAt, Instant expiresAt) {}
+
     private final ConstructIQProperties properties;
+    private final SigningKey currentKey;
+    private final Map<String, SigningKey> keysById = new LinkedHashMap<>();
+    private final JwtParser kidParser;
+    private final int cacheSize;
+    private final Map<String, CachedToken> verified;
 
     public AuthTokenService(ConstructIQProperties properties) {
         this.properties = properties;
+        for (String secret : allValidSecrets()) {
+            SecretKey key = signingKey(secret);
+            String kid = keyId(key);
+            keysById.putIfAbsent(kid, new SigningKey(kid, key, Jwts.parser().verifyWith(key).build()));
+        }
+        this.currentKey = keysById.get(keyId(signingKey(properties.getAuthTokenSecret())));
+        this.kidParser = Jwts.parser().keyLocator(new LocatorAdapter<Key>() {
+            @Override
+            protected Key locate(JwsHeader header) {
+                if (header.getKeyId() == null) throw new JwtException("Missing key id");
+                SigningKey signingKey = keysById.get(header.getKeyId());
+                if (signingKey == null) throw new UnknownKeyIdException();
+                return signingKey.key();
+            }
+        }).build();
+        this.cacheSize = Math.max(0, properties.getAuthTokenCacheSize());
+        this.verified = new ConcurrentHashMap<>(Math.min(cacheSize, 1024));
     }
 
     public String createToken(String userId, String orgId, String role, String email) {
+        return issueToken(userId, orgId, role, email).token();
+    }
+
+    public IssuedToken issueToken(String userId, String orgId, String role, String email) {
         long ttlMs = (long) properties.getAuthTokenTtlMinutes() * 60 * 1000;
-        return Jwts.builder()
+        String tokenId = UUID.randomUUID().toString();
+        Instant issuedAt = Instant.ofEpochSecond(Instant.now().getEpochSecond());
+        Instant expiresAt = issuedAt.plusMillis(ttlMs);
+        String token = Jwts.builder()
+                .header().keyId(currentKey.kid()).and()
+                .id(tokenId)
                 .subject(userId)
                 .claim("org", orgId)
                 .claim("role", role)
                 .claim("email", email)
-                .issuedAt(new Date())
-                .expiration(new Date(System.currentTimeMillis() + ttlMs))
-                .signWith(signingKey(properties.getAuthTokenSecret()), Jwts.SIG.HS256)
+                .issuedAt(Date.from(issuedAt))
+                .expiration(Date.from(expiresAt))
+                .signWith(currentKey.key(), Jwts.SIG.HS256)
                 .compact();
+        return new IssuedToken(token, tokenId, issuedAt, expiresAt);
     }
 
     public Optional<AuthContext> parseToken(String token) {
-        for (String secret : allValidSecrets()) {
-            try {
-                Claims claims = Jwts.parser()
-                        .verifyWith(signingKey(secret))
-                        .build()
-                        .parseSignedClaims(token)
-                        .getPayload();
-
-                String userId = claims.getSubject();
-                String orgId = claims.get("org", String.class);
-                String role = claims.getOrDefault("role", "buyer").toString();
-                String email = claims.getOrDefault("email", "").toString();
-
-                if (userId == null || userId.isBlank() || orgId == null || orgId.isBlank()) {
-                    return Optional.empty();
+        TokenVerificationEvent event = new TokenVerificationEvent();
+        event.begin();
+        Optional<AuthContext> context = parse(token, event);
+        event.end();
+        if (event.shouldCommit()) {
+            event.valid = context.isPresent();
+            event.commit();
+        }
+        return context;
+    }
+
+    private Optional<AuthContext> parse(String token, TokenVerificationEvent event) {
+        if (token == null || token.isBlank()) return Optional.empty();
+        String cacheKey = cacheSize > 0 ? sha256(token) : null;
+        long now = System.currentTimeMillis();
+        if (cacheKey != null) {
+            CachedToken cached = verified.get(cacheKey);
+            if (cached != null && cached.expiresAtMillis <= now) {
+                verified.remove(cacheKey, cached);
+                cached = null;
+            }
+            if (cached != null) {
+                cached.lastUsedNanos = System.nanoTime();
+                event.cacheHit = true;
+                return Optional.of(cached.context);
+            }
+        }
+
+        Claims claims = verify(token, event);
+        if (claims == null) return Optional.empty();
+
+        String userId = claims.getSubject();
+        String orgId = claims.get("org", String.class);
+        String role = claims.getOrDefault("role", "buyer").toString();
+        String email = claims.getOrDefault("email", "").toString();
+        if (userId == null || userId.isBlank() || orgId == null || orgId.isBlank()) {
+            return Optional.empty();
+        }
+
+        Instant expiresAt = claims.getExpiration() == null ? null : claims.getExpiration().toInstant();
+        AuthContext context = new AuthContext(orgId, userId, role, email, claims.getId(), expiresAt);
+        if (cacheKey != null && claims.getExpiration() != null) {
+            verified.put(cacheKey, new CachedToken(context, claims.getExpiration().getTime()));
+            evictIfFull(now);
+        }
+        return Optional.of(context);
+    }
+
+    /**
+     * Approximate LRU: drops expired entries from a small sample, or else the least recently used of it, so
+     * reads never take a lock and the cache stays at its configured size.
+     */
+    private void evictIfFull(long now) {
+        while (verified.size() > cacheSize) {
+            Map.Entry<String, CachedToken> victim = null;
+            int sampled = 0;
+            for (Iterator<Map.Entry<String, CachedToken>> it = verified.entrySet().iterator();
+                 it.hasNext() && sampled < EVICTION_SAMPLE; sampled++) {
+                Map.Entry<String, CachedToken> entry = it.next();
+                if (entry.getValue().expiresAtMillis <= now) {
+                    victim = entry;
+                    break;
                 }
-                return Optional.of(new AuthContext(orgId, userId, role, email));
+                if (victim == null || entry.getValue().lastUsedNanos < victim.getValue().lastUsedNanos) victim = entry;
+            }
+            if (victim == null) return;
+            verified.remove(victim.getKey(), victim.getValue());
+        }
+    }
+
+    int cachedTokens() {
+        return verified.size();
+    }
+
+    boolean isCached(String token) {
+        return verified.containsKey(sha256(token));
+    }
+
+    private Claims verify(String token, TokenVerificationEvent event) {
+        try {
+            return kidParser.parseSignedClaims(token).getPayload();
+        } catch (UnknownKeyIdException e) {
+            return null;
+        } catch (JwtException | IllegalArgumentException e) {
+            if (!missingKeyId(token)) return null;
+        }
+        event.legacyKeyTrial = true;
+        for (SigningKey key : keysById.values()) {
+            try {
+                return key.parser().parseSignedClaims(token).getPayload();
             } catch (JwtException | IllegalArgumentException ignored) {
-                // try next secret
+                // legacy token without kid: try next secret
             }
         }
-        return Optional.empty();
+        return null;
+    }
+
+    private boolean missingKeyId(String token) {
+        int dot = token.indexOf('.');
+        if (dot <= 0) return false;
+        try {
+            String header = new String(Base64.getUrlDecoder().decode(token.substring(0, dot)), StandardCharsets.UTF_8);
+            return !header.contains("\"kid\"");
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
     }
 
     private SecretKey signingKey(String secret) {
@@ -71,6 +221,26 @@ public class AuthTokenService {
         return Keys.hmacShaKeyFor(keyBytes);
     }
 
+    /** Opaque key id: an HMAC under the key itself, so it reveals no more about the secret than a signature does. */
+    private static String keyId(SecretKey key) {
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(key);
+            return HexFormat.of().formatHex(mac.doFinal(KEY_ID_LABEL)).substring(0, 16);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 not available", e);
+        }
+    }
+
+    private static String sha256(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return HexFormat.of().formatHex(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
     private List<String> allValidSecrets() {
         List<String> secrets = new ArrayList<>();
         secrets.add(properties.getAuthTokenSecret());
@@ -0,0 +1,7 @@
+package com.constructiq.backendjava.security;
+
+public class PasswordHashingBusyException extends RuntimeException {
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
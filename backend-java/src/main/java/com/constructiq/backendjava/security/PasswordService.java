@@ -1,11 +1,63 @@
 package com.constructiq.backendjava.security;
 
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.stereotype.Service;
 
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
 @Service
 public class PasswordService {
-    private final BCryptPasswordEncoder encoder = new BCryptPasswordEncoder(12);
+    private static final Logger log = LoggerFactory.getLogger(PasswordService.class);
+    private static final long HASH_TIMEOUT_SECONDS = 10;
+
+    private final int cost;
+    private final BCryptPasswordEncoder encoder;
+    private final ThreadPoolExecutor executor;
+    private final Timer hashTimer;
+    private final Timer verifyTimer;
+    private final Counter rejected;
+
+    public PasswordService() {
+        this(new ConstructIQProperties(), new SimpleMeterRegistry());
+    }
+
+    @Autowired
+    public PasswordService(ConstructIQProperties properties, MeterRegistry meterRegistry) {
+        this.cost = properties.getPasswordHashCost();
+        this.encoder = new BCryptPasswordEncoder(cost);
+        int threads = Math.max(1, properties.getPasswordHashThreads());
+        AtomicInteger sequence = new AtomicInteger();
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(1, properties.getPasswordHashQueueSize())),
+                r -> {
+                    Thread t = new Thread(r, "password-hash-" + sequence.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        this.hashTimer = meterRegistry.timer("constructiq_password_hash_seconds", "op", "hash");
+        this.verifyTimer = meterRegistry.timer("constructiq_password_hash_seconds", "op", "verify");
+        this.rejected = meterRegistry.counter("constructiq_password_hash_rejected_total");
+        Gauge.builder("constructiq_password_hash_queue_size", executor, e -> e.getQueue().size()).register(meterRegistry);
+        Gauge.builder("constructiq_password_hash_active", executor, ThreadPoolExecutor::getActiveCount).register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdown();
+    }
 
     public String hashIfPlaintext(String value) {
         if (value == null || value.isBlank()) {
@@ -14,7 +66,7 @@ public class PasswordService {
         if (isBcrypt(value)) {
             return value;
         }
-        return encoder.encode(value);
+        return run(() -> hashTimer.record(() -> encoder.encode(value)));
     }
 
     public boolean matches(String raw, String stored) {
@@ -24,10 +76,61 @@ public class PasswordService {
         if (!isBcrypt(stored)) {
             throw new IllegalStateException("Stored password is not bcrypt-hashed. Rehash all passwords before use.");
         }
-        return encoder.matches(raw, stored);
+        Boolean result = run(() -> verifyTimer.record(() -> encoder.matches(raw, stored)));
+        return Boolean.TRUE.equals(result);
+    }
+
+    public boolean needsRehash(String stored) {
+        return isBcrypt(stored) && costOf(stored) != cost;
+    }
+
+    public void rehashInBackground(String raw, Consumer<String> onRehashed) {
+        try {
+            executor.execute(() -> {
+                try {
+                    onRehashed.accept(hashTimer.record(() -> encoder.encode(raw)));
+                } catch (Exception e) {
+                    log.warn("Password rehash failed: {}", e.getMessage());
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+        }
     }
 
     public boolean isBcrypt(String value) {
         return value != null && (value.startsWith("$2a$") || value.startsWith("$2b$") || value.startsWith("$2y$"));
     }
+
+    int costOf(String hash) {
+        try {
+            return Integer.parseInt(hash.substring(4, 6));
+        } catch (RuntimeException e) {
+            return -1;
+        }
+    }
+
+    private <T> T run(Callable<T> task) {
+        Future<T> future;
+        try {
+            future = executor.submit(task);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new PasswordHashingBusyException("Too many concurrent sign-in attempts, retry shortly");
+        }
+        try {
+            return future.get(HASH_TIMEOUT_SECONDS, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PasswordHashingBusyException("Password hashing interrupted");
+        } catch (TimeoutException e) {
+            future.cancel(true);
+            rejected.increment();
+            throw new PasswordHashingBusyException("Password hashing timed out, retry shortly");
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException re) throw re;
+            throw new IllegalStateException(e.getCause());
+        }
+    }
 }
@@ -0,0 +1,176 @@
+package com.constructiq.backendjava.security;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.store.AuthSessionStore;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+@Component
+public class TokenRevocationRegistry {
+    private static final Logger log = LoggerFactory.getLogger(TokenRevocationRegistry.class);
+
+    private static final int POLL_BATCH = 1000;
+    private static final long SEQUENCE_OVERLAP = 256;
+    private static final Duration PURGE_GRACE = Duration.ofDays(1);
+
+    static final class BloomFilter {
+        private final AtomicLongArray bits;
+        private final int bitCount;
+        private final int hashes;
+
+        BloomFilter(int expectedInsertions, double falsePositiveRate) {
+            int n = Math.max(1, expectedInsertions);
+            long m = (long) Math.ceil(-n * Math.log(falsePositiveRate) / (Math.log(2) * Math.log(2)));
+            this.bitCount = (int) Math.max(64, Math.min(Integer.MAX_VALUE - 63, m));
+            this.hashes = Math.max(1, (int) Math.round((double) bitCount / n * Math.log(2)));
+            this.bits = new AtomicLongArray((bitCount + 63) / 64);
+        }
+
+        void add(String value) {
+            long h = hash(value);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                int word = bit >>> 6;
+                long mask = 1L << bit;
+                long current;
+                do {
+                    current = bits.get(word);
+                    if ((current & mask) != 0) break;
+                } while (!bits.compareAndSet(word, current, current | mask));
+            }
+        }
+
+        boolean mightContain(String value) {
+            long h = hash(value);
+            int h1 = (int) h;
+            int h2 = (int) (h >>> 32);
+            for (int i = 0; i < hashes; i++) {
+                int bit = Math.floorMod(h1 + i * h2, bitCount);
+                if ((bits.get(bit >>> 6) & (1L << bit)) == 0) return false;
+            }
+            return true;
+        }
+
+        private static long hash(String value) {
+            long h = 0xcbf29ce484222325L;
+            for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+                h ^= b;
+                h *= 0x100000001b3L;
+            }
+            h ^= h >>> 33;
+            h *= 0xff51afd7ed558ccdL;
+            h ^= h >>> 33;
+            return h;
+        }
+    }
+
+    private final AuthSessionStore sessions;
+    private final int expectedTokens;
+    private final Map<String, Instant> revoked = new ConcurrentHashMap<>();
+    private volatile BloomFilter bloom;
+    private volatile long lastSeq;
+    private final ScheduledExecutorService poller = Executors.newSingleThreadScheduledExecutor(
+            r -> { Thread t = new Thread(r, "token-revocation-poller"); t.setDaemon(true); return t; });
+
+    public TokenRevocationRegistry(AuthSessionStore sessions, ConstructIQProperties properties, MeterRegistry meterRegistry) {
+        this(sessions, properties);
+        meterRegistry.gauge("constructiq_auth_revoked_tokens", revoked, Map::size);
+        long pollSeconds = Math.max(1, properties.getAuthRevocationPollSeconds());
+        poller.scheduleWithFixedDelay(this::refresh, 0, pollSeconds, TimeUnit.SECONDS);
+        poller.scheduleWithFixedDelay(this::purge, 1, 60, TimeUnit.MINUTES);
+    }
+
+    TokenRevocationRegistry(AuthSessionStore sessions, ConstructIQProperties properties) {
+        this.sessions = sessions;
+        this.expectedTokens = Math.max(1024, properties.getAuthRevocationExpectedTokens());
+        this.bloom = new BloomFilter(expectedTokens, 0.01);
+    }
+
+    public boolean isRevoked(String tokenId) {
+        if (tokenId == null) return false;
+        if (!bloom.mightContain(tokenId)) return false;
+        return revoked.containsKey(tokenId);
+    }
+
+    public boolean revoke(String tokenId, String orgId, String userId, Instant expiresAt) {
+        boolean inserted = sessions.revoke(tokenId, orgId, userId, expiresAt);
+        remember(tokenId, expiresAt);
+        return inserted;
+    }
+
+    public int revokeAll(String orgId, String userId) {
+        int count = 0;
+        for (AuthSessionStore.Session session : sessions.activeSessions(orgId, userId)) {
+            revoke(session.jti(), orgId, userId, session.expiresAt());
+            count++;
+        }
+        return count;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        poller.shutdownNow();
+    }
+
+    void refresh() {
+        try {
+            while (true) {
+                List<AuthSessionStore.Revocation> batch =
+                        sessions.revocationsAfter(Math.max(0, lastSeq - SEQUENCE_OVERLAP), POLL_BATCH);
+                long maxSeq = lastSeq;
+                for (AuthSessionStore.Revocation revocation : batch) {
+                    remember(revocation.jti(), revocation.expiresAt());
+                    maxSeq = Math.max(maxSeq, revocation.seq());
+                }
+                boolean advanced = maxSeq > lastSeq;
+                lastSeq = maxSeq;
+                if (batch.size() < POLL_BATCH || !advanced) return;
+            }
+        } catch (Exception e) {
+            log.warn("Failed to refresh token revocations: {}", e.getMessage());
+        }
+    }
+
+    void purge() {
+        Instant now = Instant.now();
+        int before = revoked.size();
+        revoked.entrySet().removeIf(e -> e.getValue().isBefore(now));
+        if (revoked.size() < before) {
+            BloomFilter rebuilt = new BloomFilter(Math.max(expectedTokens, revoked.size() * 2), 0.01);
+            revoked.keySet().forEach(rebuilt::add);
+            bloom = rebuilt;
+            revoked.keySet().forEach(rebuilt::add);
+        }
+        try {
+            sessions.purgeExpired(now.minus(PURGE_GRACE));
+        } catch (Exception e) {
+            log.warn("Failed to purge expired sessions: {}", e.getMessage());
+        }
+    }
+
+    private void remember(String tokenId, Instant expiresAt) {
+        if (expiresAt != null && expiresAt.isBefore(Instant.now())) return;
+        revoked.put(tokenId, expiresAt == null ? Instant.MAX : expiresAt);
+        BloomFilter target;
+        do {
+            target = bloom;
+            target.add(tokenId);
+        } while (target != bloom);
+    }
+}
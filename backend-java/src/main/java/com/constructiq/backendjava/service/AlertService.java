@@ -1,5 +1,6 @@
 package com.constructiq.backendjava.service;
 
+import com.constructiq.backendjava.observability.AlertEvaluationEvent;
 import com.constructiq.backendjava.store.SqlDocumentStore;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -17,6 +18,7 @@ import java.util.UUID;
 public class AlertService {
 
     private static final Logger log = LoggerFactory.getLogger(AlertService.class);
+    public static final String PRICE_ANOMALY_TYPE = "price_anomaly";
 
     private final SqlDocumentStore store;
 
@@ -25,7 +27,12 @@ public class AlertService {
     }
 
     @Async
-    public void evaluateForProduct(String orgId, String productId, double newPrice) {
+    public void evaluateForProduct(String orgId, String productId, double newPrice,
+                                   PriceAnomalyDetector.Observation observation) {
+        AlertEvaluationEvent event = new AlertEvaluationEvent();
+        event.begin();
+        int evaluated = 0;
+        int fired = 0;
         try {
             List<Map<String, Object>> rules = store.find(
                     "alert_rules",
@@ -33,7 +40,12 @@ public class AlertService {
                     null, false, 0, 100);
 
             for (Map<String, Object> rule : rules) {
+                evaluated++;
                 Map<String, Object> params = asMap(rule.get("params"));
+                if (PRICE_ANOMALY_TYPE.equals(asString(rule.get("type"), ""))) {
+                    if (evaluateAnomaly(orgId, productId, rule, params, observation)) fired++;
+                    continue;
+                }
                 double thresholdPercent = asDouble(params.get("threshold_percent"), 10.0);
                 int compareLastN = asInt(params.get("compare_last_n"), 3);
 
@@ -54,26 +66,67 @@ public class AlertService {
                     Map<String, Object> payload = new LinkedHashMap<>();
                     payload.put("new_price", newPrice);
                     payload.put("last_price", lastPrice);
-                    payload.put("change_percent", Math.round(changePercent * 100.0) / 100.0);
+                    payload.put("change_percent", round2(changePercent));
                     payload.put("rule_name", asString(rule.get("name"), ""));
-
-                    Map<String, Object> event = new LinkedHashMap<>();
-                    event.put("id", UUID.randomUUID().toString());
-                    event.put("org_id", orgId);
-                    event.put("rule_id", rule.get("id"));
-                    event.put("normalized_product_id", productId);
-                    event.put("triggered_at", OffsetDateTime.now(ZoneOffset.UTC).toString());
-                    event.put("severity", severity);
-                    event.put("payload", payload);
-                    event.put("status", "new");
-                    store.upsert("alert_events", event);
+                    raiseEvent(orgId, productId, rule, severity, payload);
+                    fired++;
                 }
             }
         } catch (Exception e) {
             log.error("Failed to evaluate alerts for product {}: {}", productId, e.getMessage());
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.orgId = orgId;
+                event.productId = productId;
+                event.rulesEvaluated = evaluated;
+                event.eventsFired = fired;
+                event.commit();
+            }
         }
     }
 
+    private boolean evaluateAnomaly(String orgId, String productId, Map<String, Object> rule,
+                                    Map<String, Object> params, PriceAnomalyDetector.Observation observation) {
+        if (observation == null) return false;
+        double zThreshold = asDouble(params.get("z_threshold"), 3.0);
+        int minSamples = asInt(params.get("min_samples"), 5);
+        if (observation.samples() < minSamples || Math.abs(observation.zScore()) < zThreshold) return false;
+
+        String severity = Math.abs(observation.zScore()) >= zThreshold * 2 ? "high" : "medium";
+        Map<String, Object> payload = new LinkedHashMap<>();
+        payload.put("new_price", observation.price());
+        payload.put("expected_price", round2(observation.expectedPrice()));
+        payload.put("std_dev", round2(observation.stdDev()));
+        payload.put("z_score", round2(observation.zScore()));
+        payload.put("change_percent", observation.expectedPrice() > 0
+                ? round2((observation.price() - observation.expectedPrice()) / observation.expectedPrice() * 100.0)
+                : 0.0);
+        payload.put("samples", observation.samples());
+        payload.put("supplier_id", observation.supplierId());
+        payload.put("rule_name", asString(rule.get("name"), ""));
+        raiseEvent(orgId, productId, rule, severity, payload);
+        return true;
+    }
+
+    private void raiseEvent(String orgId, String productId, Map<String, Object> rule,
+                            String severity, Map<String, Object> payload) {
+        Map<String, Object> event = new LinkedHashMap<>();
+        event.put("id", UUID.randomUUID().toString());
+        event.put("org_id", orgId);
+        event.put("rule_id", rule.get("id"));
+        event.put("normalized_product_id", productId);
+        event.put("triggered_at", OffsetDateTime.now(ZoneOffset.UTC).toString());
+        event.put("severity", severity);
+        event.put("payload", payload);
+        event.put("status", "new");
+        store.upsert("alert_events", event);
+    }
+
+    private double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
     private String asString(Object v, String fallback) {
         return v == null ? fallback : String.valueOf(v);
     }
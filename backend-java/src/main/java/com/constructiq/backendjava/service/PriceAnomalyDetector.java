@@ -0,0 +1,239 @@
+package com.constructiq.backendjava.service;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Keeps an EWMA of price per (org, product, supplier) in memory and checkpoints it to {@value #COLLECTION}.
+ * At most {@code anomaly-max-tracked-series} series stay in memory: each checkpoint drops the least recently
+ * observed ones that are already saved, and they are reloaded from their checkpoint when seen again.
+ */
+@Component
+public class PriceAnomalyDetector {
+
+    private static final Logger log = LoggerFactory.getLogger(PriceAnomalyDetector.class);
+
+    static final String COLLECTION = "price_anomaly_state";
+    private static final double MIN_RELATIVE_STDDEV = 0.01;
+
+    public record Observation(String supplierId, double price, double previousPrice, double expectedPrice,
+                              double stdDev, double zScore, long samples) {}
+
+    private record Candidate(String key, PriceStats stats, long lastObservedNanos) {}
+
+    private final SqlDocumentStore store;
+    private final double alpha;
+    private final int maxTrackedSeries;
+    private final Map<String, PriceStats> states = new ConcurrentHashMap<>();
+    private final Set<String> dirty = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService checkpointer = Executors.newSingleThreadScheduledExecutor(
+            r -> { Thread t = new Thread(r, "price-anomaly-checkpoint"); t.setDaemon(true); return t; });
+
+    public PriceAnomalyDetector(SqlDocumentStore store, ConstructIQProperties properties) {
+        this.store = store;
+        this.alpha = Math.min(1.0, Math.max(0.001, properties.getAnomalyEwmaAlpha()));
+        this.maxTrackedSeries = Math.max(1, properties.getAnomalyMaxTrackedSeries());
+        long interval = Math.max(1, properties.getAnomalyCheckpointSeconds());
+        checkpointer.scheduleAtFixedRate(this::checkpoint, interval, interval, TimeUnit.SECONDS);
+    }
+
+    public Observation observe(String orgId, String productId, String supplierId, double price, String observedAt) {
+        String key = key(orgId, productId, supplierId);
+        while (true) {
+            PriceStats stats = states.get(key);
+            if (stats == null) {
+                PriceStats loaded = load(key).orElseGet(() -> new PriceStats(orgId, productId, supplierId));
+                stats = Objects.requireNonNullElse(states.putIfAbsent(key, loaded), loaded);
+            }
+            Observation observation = stats.update(price, observedAt, alpha);
+            if (observation != null) {
+                dirty.add(key);
+                return observation;
+            }
+        }
+    }
+
+    /** Loads the saved state of every series not yet in memory with one query, so observing them reads nothing. */
+    public void preload(String orgId, String supplierId, Collection<String> productIds) {
+        Map<String, String> missing = new LinkedHashMap<>();
+        for (String productId : productIds) {
+            String key = key(orgId, productId, supplierId);
+            if (!states.containsKey(key)) missing.put(docId(key), productId);
+        }
+        if (missing.isEmpty()) return;
+        try {
+            for (Map.Entry<String, Map<String, Object>> doc : store.findByDocIds(COLLECTION, orgId, missing.keySet()).entrySet()) {
+                String productId = missing.remove(doc.getKey());
+                if (productId != null) states.putIfAbsent(key(orgId, productId, supplierId), PriceStats.fromDocument(doc.getValue()));
+            }
+        } catch (Exception e) {
+            log.warn("Failed to preload price anomaly state for {}: {}", orgId, e.getMessage());
+            return;
+        }
+        for (String productId : missing.values()) {
+            states.putIfAbsent(key(orgId, productId, supplierId), new PriceStats(orgId, productId, supplierId));
+        }
+    }
+
+    public void checkpoint() {
+        for (Iterator<String> it = dirty.iterator(); it.hasNext(); ) {
+            String key = it.next();
+            it.remove();
+            PriceStats stats = states.get(key);
+            if (stats == null) continue;
+            try {
+                store.upsert(COLLECTION, stats.toDocument(docId(key)));
+            } catch (Exception e) {
+                stats.markUnsaved();
+                dirty.add(key);
+                log.warn("Failed to checkpoint price anomaly state {}: {}", key, e.getMessage());
+            }
+        }
+        evictLeastRecentlyObserved();
+    }
+
+    private void evictLeastRecentlyObserved() {
+        int excess = states.size() - maxTrackedSeries;
+        if (excess <= 0) return;
+        List<Candidate> candidates = new ArrayList<>(states.size());
+        states.forEach((key, stats) -> candidates.add(new Candidate(key, stats, stats.lastObservedNanos())));
+        candidates.sort(Comparator.comparingLong(Candidate::lastObservedNanos));
+        for (Candidate candidate : candidates) {
+            if (excess <= 0) break;
+            if (candidate.stats().evictIfSaved() && states.remove(candidate.key(), candidate.stats())) excess--;
+        }
+    }
+
+    int trackedSeries() {
+        return states.size();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        checkpointer.shutdown();
+        checkpoint();
+    }
+
+    private Optional<PriceStats> load(String key) {
+        try {
+            return store.findOne(COLLECTION, docId(key)).map(PriceStats::fromDocument);
+        } catch (Exception e) {
+            log.warn("Failed to load price anomaly state {}: {}", key, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private static String key(String orgId, String productId, String supplierId) {
+        return orgId + "|" + productId + "|" + (supplierId == null ? "" : supplierId);
+    }
+
+    private static String docId(String key) {
+        return UUID.nameUUIDFromBytes(key.getBytes(StandardCharsets.UTF_8)).toString();
+    }
+
+    static final class PriceStats {
+        private final String orgId;
+        private final String productId;
+        private final String supplierId;
+        private double mean;
+        private double variance;
+        private long count;
+        private double lastPrice;
+        private String lastSeenAt;
+        private volatile long lastObservedNanos = System.nanoTime();
+        private boolean unsaved;
+        private boolean evicted;
+
+        PriceStats(String orgId, String productId, String supplierId) {
+            this.orgId = orgId;
+            this.productId = productId;
+            this.supplierId = supplierId;
+        }
+
+        /** Returns null once the state has been evicted; the caller then starts again from the checkpoint. */
+        synchronized Observation update(double price, String observedAt, double alpha) {
+            if (evicted) return null;
+            double stdDev = Math.max(Math.sqrt(variance), Math.abs(mean) * MIN_RELATIVE_STDDEV);
+            double zScore = count == 0 || stdDev == 0 ? 0.0 : (price - mean) / stdDev;
+            Observation observation = new Observation(supplierId, price, lastPrice, mean, stdDev, zScore, count);
+
+            if (count == 0) {
+                mean = price;
+                variance = 0.0;
+            } else {
+                double diff = price - mean;
+                double increment = alpha * diff;
+                mean += increment;
+                variance = (1 - alpha) * (variance + diff * increment);
+            }
+            count++;
+            lastPrice = price;
+            lastSeenAt = observedAt;
+            lastObservedNanos = System.nanoTime();
+            unsaved = true;
+            return observation;
+        }
+
+        long lastObservedNanos() {
+            return lastObservedNanos;
+        }
+
+        synchronized void markUnsaved() {
+            unsaved = true;
+        }
+
+        synchronized boolean evictIfSaved() {
+            if (!unsaved) evicted = true;
+            return evicted;
+        }
+
+        synchronized Map<String, Object> toDocument(String docId) {
+            unsaved = false;
+            Map<String, Object> doc = new LinkedHashMap<>();
+            doc.put("id", docId);
+            doc.put("org_id", orgId);
+            doc.put("normalized_product_id", productId);
+            doc.put("supplier_id", supplierId);
+            doc.put("ewma_mean", mean);
+            doc.put("ewma_variance", variance);
+            doc.put("samples", count);
+            doc.put("last_price", lastPrice);
+            doc.put("last_seen_at", lastSeenAt);
+            doc.put("updated_at", OffsetDateTime.now(ZoneOffset.UTC).toString());
+            return doc;
+        }
+
+        static PriceStats fromDocument(Map<String, Object> doc) {
+            PriceStats stats = new PriceStats(asString(doc.get("org_id")),
+                    asString(doc.get("normalized_product_id")), asString(doc.get("supplier_id")));
+            stats.mean = asDouble(doc.get("ewma_mean"));
+            stats.variance = asDouble(doc.get("ewma_variance"));
+            stats.count = (long) asDouble(doc.get("samples"));
+            stats.lastPrice = asDouble(doc.get("last_price"));
+            stats.lastSeenAt = asString(doc.get("last_seen_at"));
+            return stats;
+        }
+
+        private static String asString(Object v) {
+            return v == null ? null : String.valueOf(v);
+        }
+
+        private static double asDouble(Object v) {
+            if (v instanceof Number n) return n.doubleValue();
+            try { return v == null ? 0.0 : Double.parseDouble(String.valueOf(v)); } catch (Exception e) { return 0.0; }
+        }
+    }
+}
@@ -1,12 +1,17 @@
 package com.constructiq.backendjava.service;
 
 import com.constructiq.backendjava.model.DemoContext;
+import com.constructiq.backendjava.store.LatestPriceStore;
 import com.constructiq.backendjava.store.SqlDocumentStore;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -14,12 +19,90 @@ import java.util.UUID;
 public class PricePointService {
 
     private final SqlDocumentStore store;
+    private final LatestPriceStore latestPrices;
+    private final PriceAnomalyDetector anomalyDetector;
+    private final SupplierScorecardService scorecards;
+    private final TransactionTemplate tx;
 
-    public PricePointService(SqlDocumentStore store) {
+    public PricePointService(SqlDocumentStore store,
+                             LatestPriceStore latestPrices,
+                             PriceAnomalyDetector anomalyDetector,
+                             SupplierScorecardService scorecards,
+                             PlatformTransactionManager transactionManager) {
         this.store = store;
+        this.latestPrices = latestPrices;
+        this.anomalyDetector = anomalyDetector;
+        this.scorecards = scorecards;
+        this.tx = new TransactionTemplate(transactionManager);
     }
 
-    public void createFromQuoteItem(DemoContext ctx, Map<String, Object> quote, Map<String, Object> item, String productId) {
+    /**
+     * The price point and latest price are committed before the anomaly detector sees the price, so a rolled-back
+     * write never moves its in-memory averages.
+     */
+    public PriceAnomalyDetector.Observation createFromQuoteItem(DemoContext ctx, Map<String, Object> quote, Map<String, Object> item, String productId) {
+        Map<String, Object> pp = pricePoint(ctx, quote, item, productId);
+        String supplierId = asString(quote.get("supplier_id"), null);
+        tx.executeWithoutResult(status -> {
+            store.upsert("price_points", pp);
+            if (supplierId != null && !supplierId.isBlank()) {
+                latestPrices.upsert(ctx.orgId(), productId, supplierId, asDouble(pp.get("unit_price_normalized"), 0.0),
+                        String.valueOf(pp.get("currency")), String.valueOf(pp.get("uom_normalized")),
+                        String.valueOf(pp.get("observed_at")), String.valueOf(pp.get("id")));
+            }
+        });
+        PriceAnomalyDetector.Observation observation = anomalyDetector.observe(ctx.orgId(), productId, supplierId,
+                asDouble(pp.get("unit_price_normalized"), 0.0), String.valueOf(pp.get("observed_at")));
+        scorecards.onPricePoint(ctx.orgId(), productId, supplierId, observation);
+        return observation;
+    }
+
+    /**
+     * Same as {@link #createFromQuoteItem} for every line of a quote, keyed by {@code normalized_product_id}: the
+     * price points and latest prices are written as two batches and the supplier's scorecard is updated once.
+     * Returns one observation per item, in order.
+     */
+    public List<PriceAnomalyDetector.Observation> createFromQuoteItems(DemoContext ctx, Map<String, Object> quote,
+                                                                       List<Map<String, Object>> items) {
+        if (items.isEmpty()) return List.of();
+        String supplierId = asString(quote.get("supplier_id"), null);
+        List<String> productIds = new ArrayList<>(items.size());
+        List<Map<String, Object>> pricePoints = new ArrayList<>(items.size());
+        List<LatestPriceStore.LatestPrice> latest = new ArrayList<>(items.size());
+        for (Map<String, Object> item : items) {
+            String productId = asString(item.get("normalized_product_id"), "");
+            Map<String, Object> pp = pricePoint(ctx, quote, item, productId);
+            productIds.add(productId);
+            pricePoints.add(pp);
+            if (supplierId != null && !supplierId.isBlank()) {
+                latest.add(new LatestPriceStore.LatestPrice(productId, supplierId,
+                        asDouble(pp.get("unit_price_normalized"), 0.0), String.valueOf(pp.get("currency")),
+                        String.valueOf(pp.get("uom_normalized")), String.valueOf(pp.get("observed_at")),
+                        String.valueOf(pp.get("id"))));
+            }
+        }
+        tx.executeWithoutResult(status -> {
+            store.upsertAll("price_points", pricePoints);
+            latestPrices.upsertAll(ctx.orgId(), latest);
+        });
+
+        anomalyDetector.preload(ctx.orgId(), supplierId, productIds);
+
+        List<PriceAnomalyDetector.Observation> observations = new ArrayList<>(pricePoints.size());
+        List<SupplierScorecardService.PricedProduct> priced = new ArrayList<>(pricePoints.size());
+        for (int i = 0; i < pricePoints.size(); i++) {
+            Map<String, Object> pp = pricePoints.get(i);
+            String productId = productIds.get(i);
+            PriceAnomalyDetector.Observation observation = anomalyDetector.observe(ctx.orgId(), productId, supplierId,
+                    asDouble(pp.get("unit_price_normalized"), 0.0), String.valueOf(pp.get("observed_at")));
+            observations.add(observation);
+            priced.add(new SupplierScorecardService.PricedProduct(productId, observation));
+        }
+        scorecards.onPricePoints(ctx.orgId(), supplierId, priced);
+        return observations;
+    }
+
+    private Map<String, Object> pricePoint(DemoContext ctx, Map<String, Object> quote, Map<String, Object> item, String productId) {
         Map<String, Object> pp = new LinkedHashMap<>();
         pp.put("id", UUID.randomUUID().toString());
         pp.put("org_id", ctx.orgId());
@@ -32,7 +115,7 @@ public class PricePointService {
         pp.put("uom_normalized", asString(item.get("uom"), ""));
         pp.put("supplier_id", quote.get("supplier_id"));
         pp.put("meta", new LinkedHashMap<>());
-        store.upsert("price_points", pp);
+        return pp;
     }
 
     private String asString(Object v, String fallback) {
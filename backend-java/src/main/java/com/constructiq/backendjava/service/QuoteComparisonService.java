@@ -0,0 +1,345 @@
+package com.constructiq.backendjava.service;
+
+import org.springframework.stereotype.Service;
+
+import java.util.*;
+
+@Service
+public class QuoteComparisonService {
+
+    private static final double FUZZY_MATCH_THRESHOLD = 0.6;
+    private static final int MAX_POSTING_LIST = 64;
+
+    private record Unit(String canonical, double factor) {}
+
+    private static final Map<String, Unit> UNITS = new HashMap<>();
+
+    static {
+        registerUnit(new Unit("ea", 1.0), "ea", "each", "pc", "pcs", "piece", "pieces", "unit", "units", "buc", "bucata");
+        registerUnit(new Unit("kg", 1.0), "kg", "kgs", "kilogram", "kilograms");
+        registerUnit(new Unit("kg", 0.001), "g", "gram", "grams");
+        registerUnit(new Unit("kg", 0.45359237), "lb", "lbs", "pound", "pounds");
+        registerUnit(new Unit("kg", 1000.0), "t", "ton", "tons", "tonne", "tonnes", "mt");
+        registerUnit(new Unit("m", 1.0), "m", "meter", "meters", "metre", "metres", "ml");
+        registerUnit(new Unit("m", 0.001), "mm");
+        registerUnit(new Unit("m", 0.01), "cm");
+        registerUnit(new Unit("m", 0.0254), "in", "inch", "inches");
+        registerUnit(new Unit("m", 0.3048), "ft", "foot", "feet", "lf");
+        registerUnit(new Unit("m", 0.9144), "yd", "yard", "yards");
+        registerUnit(new Unit("m2", 1.0), "m2", "sqm", "sq_m", "square_meter");
+        registerUnit(new Unit("m2", 0.09290304), "sqft", "sq_ft", "ft2", "square_foot", "square_feet");
+        registerUnit(new Unit("m3", 1.0), "m3", "cbm", "cubic_meter", "cubic_meters");
+        registerUnit(new Unit("m3", 0.764554857984), "cy", "yd3", "cubic_yard", "cubic_yards");
+        registerUnit(new Unit("m3", 0.001), "l", "liter", "liters", "litre", "litres");
+        registerUnit(new Unit("m3", 0.003785411784), "gal", "gallon", "gallons");
+    }
+
+    private static void registerUnit(Unit unit, String... aliases) {
+        for (String alias : aliases) UNITS.put(alias, unit);
+    }
+
+    /**
+     * Prices are only compared within one currency: quotes in a currency other than the one most quotes use are
+     * listed, but marked {@code currency_mismatch} and left out of best prices and deltas.
+     */
+    public Map<String, Object> compare(List<Map<String, Object>> quotes, Map<String, String> supplierNames) {
+        int n = quotes.size();
+        String currency = dominantCurrency(quotes);
+        boolean[] sameCurrency = new boolean[n];
+        for (int qi = 0; qi < n; qi++) sameCurrency[qi] = currency(quotes.get(qi)).equals(currency);
+        LineAligner aligner = new LineAligner();
+        List<Line> lines = new ArrayList<>();
+
+        for (int qi = 0; qi < n; qi++) {
+            for (Object raw : asList(quotes.get(qi).get("items"))) {
+                if (!(raw instanceof Map<?, ?> item)) continue;
+                double qty = asDouble(item.get("qty"), 0.0);
+                double unitPrice = asDouble(item.get("unit_price"), -1.0);
+                if (qty <= 0 || unitPrice < 0) continue;
+
+                String productId = asString(item.get("normalized_product_id"), "");
+                String text = asString(item.get("raw_line_text"), "");
+                int li = aligner.align(productId, text);
+                if (li == lines.size()) {
+                    lines.add(new Line(n, productId.isBlank() ? null : productId, text));
+                }
+                Unit unit = unit(asString(item.get("uom"), ""));
+                lines.get(li).add(qi, unit.canonical(), qty * unit.factor(), qty * unitPrice);
+            }
+        }
+
+        double[] quotedTotal = new double[n];
+        double[] bestOnQuoted = new double[n];
+        int[] linesQuoted = new int[n];
+        int[] wins = new int[n];
+        double bestMixTotal = 0.0;
+
+        List<Map<String, Object>> lineRows = new ArrayList<>(lines.size());
+        for (Line line : lines) {
+            String uom = line.dominantUnit(sameCurrency);
+            double lineQty = 0.0;
+            double best = Double.POSITIVE_INFINITY;
+            int bestQuote = -1;
+            for (int qi = 0; qi < n; qi++) {
+                if (!sameCurrency[qi] || !line.comparable(qi, uom)) continue;
+                lineQty = Math.max(lineQty, line.qty[qi]);
+                double price = line.unitPrice(qi);
+                if (price < best) {
+                    best = price;
+                    bestQuote = qi;
+                }
+            }
+
+            List<Map<String, Object>> cells = new ArrayList<>(n);
+            for (int qi = 0; qi < n; qi++) {
+                if (line.qty[qi] <= 0) {
+                    cells.add(null);
+                    continue;
+                }
+                Map<String, Object> cell = new LinkedHashMap<>();
+                if (line.mixed[qi]) {
+                    cell.put("unit_price", null);
+                    cell.put("qty", null);
+                    cell.put("uom", null);
+                    cell.put("line_amount", round2(line.amount[qi]));
+                    cell.put("mixed_uom", true);
+                    cell.put("uom_mismatch", true);
+                    if (!sameCurrency[qi]) cell.put("currency_mismatch", true);
+                    cells.add(cell);
+                    continue;
+                }
+                double price = line.unitPrice(qi);
+                cell.put("unit_price", round4(price));
+                cell.put("qty", round4(line.qty[qi]));
+                cell.put("uom", line.unit[qi]);
+                if (!sameCurrency[qi]) {
+                    cell.put("currency_mismatch", true);
+                } else if (line.comparable(qi, uom)) {
+                    cell.put("delta_from_best", round4(price - best));
+                    cell.put("delta_percent", best > 0 ? round2((price - best) / best * 100.0) : 0.0);
+                    linesQuoted[qi]++;
+                    quotedTotal[qi] += price * lineQty;
+                    bestOnQuoted[qi] += best * lineQty;
+                    if (qi == bestQuote) wins[qi]++;
+                } else {
+                    cell.put("uom_mismatch", true);
+                }
+                cells.add(cell);
+            }
+
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("normalized_product_id", line.productId);
+            row.put("label", line.label);
+            row.put("uom", uom);
+            row.put("qty", round4(lineQty));
+            row.put("best_unit_price", bestQuote < 0 ? null : round4(best));
+            row.put("best_quote_id", bestQuote < 0 ? null : quotes.get(bestQuote).get("id"));
+            row.put("quotes_count", line.quoteCount());
+            row.put("cells", cells);
+            lineRows.add(row);
+            if (bestQuote >= 0) bestMixTotal += best * lineQty;
+        }
+
+        List<Map<String, Object>> quoteRows = new ArrayList<>(n);
+        for (int qi = 0; qi < n; qi++) {
+            Map<String, Object> quote = quotes.get(qi);
+            String supplierId = asString(quote.get("supplier_id"), "");
+            double delta = quotedTotal[qi] - bestOnQuoted[qi];
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("quote_id", quote.get("id"));
+            row.put("supplier_id", supplierId);
+            row.put("supplier_name", supplierNames.getOrDefault(supplierId, "Unknown"));
+            row.put("currency", quote.get("currency"));
+            row.put("currency_mismatch", !sameCurrency[qi]);
+            row.put("lines_quoted", linesQuoted[qi]);
+            row.put("coverage", lines.isEmpty() ? 0.0 : round4((double) linesQuoted[qi] / lines.size()));
+            row.put("best_line_count", wins[qi]);
+            row.put("total_on_quoted_lines", round2(quotedTotal[qi]));
+            row.put("best_on_quoted_lines", round2(bestOnQuoted[qi]));
+            row.put("delta_from_best", round2(delta));
+            row.put("delta_percent", bestOnQuoted[qi] > 0 ? round2(delta / bestOnQuoted[qi] * 100.0) : 0.0);
+            quoteRows.add(row);
+        }
+
+        Map<String, Object> out = new LinkedHashMap<>();
+        out.put("quote_count", n);
+        out.put("currency", currency.isEmpty() ? null : currency);
+        out.put("line_count", lines.size());
+        out.put("best_mix_total", round2(bestMixTotal));
+        out.put("quotes", quoteRows);
+        out.put("lines", lineRows);
+        return out;
+    }
+
+    private String dominantCurrency(List<Map<String, Object>> quotes) {
+        Map<String, Integer> counts = new LinkedHashMap<>();
+        for (Map<String, Object> quote : quotes) counts.merge(currency(quote), 1, Integer::sum);
+        String dominant = "";
+        int max = 0;
+        for (Map.Entry<String, Integer> e : counts.entrySet()) {
+            if (e.getValue() > max) {
+                max = e.getValue();
+                dominant = e.getKey();
+            }
+        }
+        return dominant;
+    }
+
+    private String currency(Map<String, Object> quote) {
+        return asString(quote.get("currency"), "").trim().toUpperCase(Locale.ROOT);
+    }
+
+    static String normalizeText(String text) {
+        String[] tokens = text.toLowerCase(Locale.ROOT).replaceAll("[^\\p{L}\\p{N}]+", " ").trim().split(" ");
+        Arrays.sort(tokens);
+        return String.join(" ", tokens);
+    }
+
+    private static Unit unit(String uom) {
+        String key = uom.trim().toLowerCase(Locale.ROOT).replace(' ', '_').replace(".", "");
+        Unit unit = UNITS.get(key);
+        if (unit == null && key.endsWith("s")) unit = UNITS.get(key.substring(0, key.length() - 1));
+        return unit != null ? unit : new Unit(key, 1.0);
+    }
+
+    private static final class Line {
+        final String productId;
+        final String label;
+        final double[] qty;
+        final double[] amount;
+        final String[] unit;
+        final boolean[] mixed;
+
+        Line(int quoteCount, String productId, String label) {
+            this.productId = productId;
+            this.label = label;
+            this.qty = new double[quoteCount];
+            this.amount = new double[quoteCount];
+            this.unit = new String[quoteCount];
+            this.mixed = new boolean[quoteCount];
+        }
+
+        /** Lines of one quote in units that do not convert into each other leave that quote without a unit price. */
+        void add(int qi, String canonicalUnit, double canonicalQty, double lineAmount) {
+            if (unit[qi] != null && !unit[qi].equals(canonicalUnit)) mixed[qi] = true;
+            if (unit[qi] == null) unit[qi] = canonicalUnit;
+            qty[qi] += canonicalQty;
+            amount[qi] += lineAmount;
+        }
+
+        double unitPrice(int qi) {
+            return amount[qi] / qty[qi];
+        }
+
+        boolean comparable(int qi, String uom) {
+            return qty[qi] > 0 && !mixed[qi] && Objects.equals(unit[qi], uom);
+        }
+
+        int quoteCount() {
+            int count = 0;
+            for (double q : qty) if (q > 0) count++;
+            return count;
+        }
+
+        String dominantUnit(boolean[] counted) {
+            Map<String, Integer> counts = new HashMap<>(4);
+            String dominant = null;
+            int max = 0;
+            for (int qi = 0; qi < unit.length; qi++) {
+                if (unit[qi] == null || mixed[qi] || !counted[qi]) continue;
+                int c = counts.merge(unit[qi], 1, Integer::sum);
+                if (c > max) {
+                    max = c;
+                    dominant = unit[qi];
+                }
+            }
+            return dominant;
+        }
+    }
+
+    static final class LineAligner {
+        private final Map<String, Integer> byKey = new HashMap<>();
+        private final Map<String, List<Integer>> postings = new HashMap<>();
+        private final List<Integer> trigramCounts = new ArrayList<>();
+        private final List<Integer> textGroupLine = new ArrayList<>();
+        private int nextLine;
+
+        int align(String productId, String text) {
+            if (productId != null && !productId.isBlank()) {
+                return byKey.computeIfAbsent("p:" + productId, k -> nextLine++);
+            }
+            String normalized = normalizeText(text);
+            Integer exact = byKey.get("t:" + normalized);
+            if (exact != null) return exact;
+
+            Set<String> trigrams = trigrams(normalized);
+            int line = fuzzyMatch(trigrams);
+            if (line < 0) {
+                line = nextLine++;
+                int group = textGroupLine.size();
+                textGroupLine.add(line);
+                trigramCounts.add(trigrams.size());
+                for (String gram : trigrams) {
+                    List<Integer> posting = postings.computeIfAbsent(gram, k -> new ArrayList<>());
+                    if (posting.size() < MAX_POSTING_LIST) posting.add(group);
+                }
+            }
+            byKey.put("t:" + normalized, line);
+            return line;
+        }
+
+        private int fuzzyMatch(Set<String> trigrams) {
+            if (trigrams.isEmpty()) return -1;
+            Map<Integer, Integer> shared = new HashMap<>();
+            for (String gram : trigrams) {
+                List<Integer> posting = postings.get(gram);
+                if (posting == null) continue;
+                for (int group : posting) shared.merge(group, 1, Integer::sum);
+            }
+            int bestGroup = -1;
+            double bestScore = FUZZY_MATCH_THRESHOLD;
+            for (Map.Entry<Integer, Integer> e : shared.entrySet()) {
+                int common = e.getValue();
+                double jaccard = (double) common / (trigrams.size() + trigramCounts.get(e.getKey()) - common);
+                if (jaccard >= bestScore) {
+                    bestScore = jaccard;
+                    bestGroup = e.getKey();
+                }
+            }
+            return bestGroup < 0 ? -1 : textGroupLine.get(bestGroup);
+        }
+
+        private static Set<String> trigrams(String normalized) {
+            String padded = "  " + normalized + " ";
+            Set<String> grams = new HashSet<>();
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                grams.add(padded.substring(i, i + 3));
+            }
+            return grams;
+        }
+    }
+
+    private double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private double round4(double value) {
+        return Math.round(value * 10000.0) / 10000.0;
+    }
+
+    private String asString(Object v, String fallback) {
+        return v == null ? fallback : String.valueOf(v);
+    }
+
+    private double asDouble(Object v, double fallback) {
+        if (v == null) return fallback;
+        if (v instanceof Number n) return n.doubleValue();
+        try { return Double.parseDouble(String.valueOf(v)); } catch (Exception e) { return fallback; }
+    }
+
+    @SuppressWarnings("unchecked")
+    private List<Object> asList(Object v) {
+        if (v instanceof List<?> list) return (List<Object>) list;
+        return new ArrayList<>();
+    }
+}
@@ -16,13 +16,16 @@ public class QuoteService {
     private final SqlDocumentStore store;
     private final PricePointService pricePointService;
     private final AlertService alertService;
+    private final SupplierScorecardService scorecards;
 
     public QuoteService(SqlDocumentStore store,
                         PricePointService pricePointService,
-                        AlertService alertService) {
+                        AlertService alertService,
+                        SupplierScorecardService scorecards) {
         this.store = store;
         this.pricePointService = pricePointService;
         this.alertService = alertService;
+        this.scorecards = scorecards;
     }
 
     public Map<String, Object> buildAndPersist(DemoContext ctx, Map<String, Object> data) {
@@ -61,13 +64,18 @@ public class QuoteService {
         quote.put("updated_at", now);
 
         store.upsert("quotes", quote);
+        scorecards.onQuoteCreated(ctx.orgId(), quote);
 
+        List<Map<String, Object>> mapped = new ArrayList<>();
         for (Map<String, Object> item : items) {
             String productId = asString(item.get("normalized_product_id"), "");
-            if (!productId.isBlank() && !"null".equalsIgnoreCase(productId)) {
-                pricePointService.createFromQuoteItem(ctx, quote, item, productId);
-                alertService.evaluateForProduct(ctx.orgId(), productId, asDouble(item.get("unit_price"), 0.0));
-            }
+            if (!productId.isBlank() && !"null".equalsIgnoreCase(productId)) mapped.add(item);
+        }
+        List<PriceAnomalyDetector.Observation> observations = pricePointService.createFromQuoteItems(ctx, quote, mapped);
+        for (int i = 0; i < mapped.size(); i++) {
+            Map<String, Object> item = mapped.get(i);
+            alertService.evaluateForProduct(ctx.orgId(), asString(item.get("normalized_product_id"), ""),
+                    asDouble(item.get("unit_price"), 0.0), observations.get(i));
         }
 
         return sanitize(quote);
@@ -0,0 +1,274 @@
+package com.constructiq.backendjava.service;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Service;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+@Service
+public class SpendAnalyticsService {
+
+    static final int PARTITION_SIZE = 500;
+    private static final int MAX_CACHED_RESULTS = 256;
+    private static final String DEFAULT_CURRENCY = "USD";
+    private static final List<String> SOURCE_COLLECTIONS = List.of(
+            "quotes", "rfqs", "projects", "suppliers", "normalized_products");
+
+    private record Lookups(Map<String, String> productCategory, Map<String, String> rfqProject,
+                           Map<String, String> projectNames, Map<String, String> supplierNames) {}
+
+    private record CachedSpend(long version, long expiresAtMillis, Map<String, Object> result) {}
+
+    private final SqlDocumentStore store;
+    private final long cacheTtlMillis;
+    private final ForkJoinPool pool = new ForkJoinPool(Math.max(2, Runtime.getRuntime().availableProcessors()));
+    private final int maxPagesInFlight = 2 * pool.getParallelism();
+    private final Map<String, CachedSpend> cache = new LinkedHashMap<>(64, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, CachedSpend> eldest) {
+            return size() > MAX_CACHED_RESULTS;
+        }
+    };
+
+    public SpendAnalyticsService(SqlDocumentStore store, ConstructIQProperties properties) {
+        this.store = store;
+        store.shareWriteVersions(SOURCE_COLLECTIONS);
+        this.cacheTtlMillis = Math.max(1, properties.getSpendCacheTtlSeconds()) * 1000L;
+    }
+
+    public Map<String, Object> spend(String orgId, String from, String to, boolean useCache) {
+        String cacheKey = orgId + "|" + Objects.toString(from, "") + "|" + Objects.toString(to, "");
+        long version = store.writeVersion(orgId, SOURCE_COLLECTIONS);
+        if (useCache) {
+            CachedSpend cached;
+            synchronized (cache) {
+                cached = cache.get(cacheKey);
+            }
+            if (cached != null && cached.version() == version && cached.expiresAtMillis() > System.currentTimeMillis()) {
+                Map<String, Object> out = new LinkedHashMap<>(cached.result());
+                out.put("cached", true);
+                return out;
+            }
+        }
+
+        Lookups lookups = loadLookups(orgId);
+        // Pages are decoded and aggregated on the pool while the next page is read; once maxPagesInFlight pages are
+        // pending, the oldest is merged before reading on, so memory stays bounded however large the org is.
+        Map<String, SpendAccumulator> byCurrency = new HashMap<>();
+        Deque<ForkJoinTask<Map<String, SpendAccumulator>>> inFlight = new ArrayDeque<>();
+        store.scanJson("quotes", orgId, PARTITION_SIZE, page -> {
+            if (inFlight.size() >= maxPagesInFlight) merge(byCurrency, inFlight.removeFirst().join());
+            inFlight.addLast(pool.submit(() -> aggregate(store.decodeAll(page), lookups, from, to)));
+        });
+        while (!inFlight.isEmpty()) {
+            merge(byCurrency, inFlight.removeFirst().join());
+        }
+
+        Map<String, Object> result = toResult(byCurrency, lookups);
+        result.put("version", version);
+        result.put("generated_at", OffsetDateTime.now(ZoneOffset.UTC).toString());
+        result.put("cached", false);
+        if (useCache) {
+            CachedSpend entry = new CachedSpend(version, System.currentTimeMillis() + cacheTtlMillis, result);
+            synchronized (cache) {
+                cache.put(cacheKey, entry);
+            }
+        }
+        return result;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private Lookups loadLookups(String orgId) {
+        Map<String, Object> query = Map.of("org_id", orgId);
+        Map<String, String> productCategory = new HashMap<>();
+        for (Map<String, Object> p : store.find("normalized_products", query, null, false, 0, 0)) {
+            productCategory.put(asString(p.get("id"), ""), asString(p.get("category"), "Uncategorized"));
+        }
+        Map<String, String> rfqProject = new HashMap<>();
+        for (Map<String, Object> r : store.find("rfqs", query, null, false, 0, 0)) {
+            rfqProject.put(asString(r.get("id"), ""), asString(r.get("project_id"), ""));
+        }
+        Map<String, String> projectNames = new HashMap<>();
+        for (Map<String, Object> p : store.find("projects", query, null, false, 0, 0)) {
+            projectNames.put(asString(p.get("id"), ""), asString(p.get("name"), "Unknown"));
+        }
+        Map<String, String> supplierNames = new HashMap<>();
+        for (Map<String, Object> s : store.find("suppliers", query, null, false, 0, 0)) {
+            supplierNames.put(asString(s.get("id"), ""), asString(s.get("name"), "Unknown"));
+        }
+        return new Lookups(productCategory, rfqProject, projectNames, supplierNames);
+    }
+
+    /**
+     * Amounts are only added up within one currency. The report covers the currency most quotes use; quotes in
+     * other currencies are counted in {@code currency_mismatch} and summarised per currency in {@code by_currency}.
+     */
+    private Map<String, Object> toResult(Map<String, SpendAccumulator> byCurrency, Lookups lookups) {
+        String currency = null;
+        SpendAccumulator dominant = new SpendAccumulator();
+        for (Map.Entry<String, SpendAccumulator> e : byCurrency.entrySet()) {
+            SpendAccumulator acc = e.getValue();
+            if (currency == null || acc.quoteCount > dominant.quoteCount
+                    || (acc.quoteCount == dominant.quoteCount && e.getKey().compareTo(currency) < 0)) {
+                currency = e.getKey();
+                dominant = acc;
+            }
+        }
+
+        Map<String, Object> out = dominant.toResult(lookups);
+        out.put("currency", currency);
+        long mismatched = 0;
+        List<Map<String, Object>> totals = new ArrayList<>(byCurrency.size());
+        for (Map.Entry<String, SpendAccumulator> e : byCurrency.entrySet()) {
+            if (!e.getKey().equals(currency)) mismatched += e.getValue().quoteCount;
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("currency", e.getKey());
+            row.put("amount", SpendAccumulator.round2(e.getValue().totalSpend));
+            row.put("quote_count", e.getValue().quoteCount);
+            totals.add(row);
+        }
+        totals.sort(Comparator.comparing(r -> String.valueOf(r.get("currency"))));
+        out.put("currency_mismatch", mismatched);
+        out.put("by_currency", totals);
+        return out;
+    }
+
+    private static void merge(Map<String, SpendAccumulator> into, Map<String, SpendAccumulator> from) {
+        for (Map.Entry<String, SpendAccumulator> e : from.entrySet()) {
+            into.computeIfAbsent(e.getKey(), k -> new SpendAccumulator()).merge(e.getValue());
+        }
+    }
+
+    private Map<String, SpendAccumulator> aggregate(List<Map<String, Object>> quotes, Lookups lookups, String from, String to) {
+        Map<String, SpendAccumulator> byCurrency = new HashMap<>();
+        for (Map<String, Object> quote : quotes) {
+            String date = asString(quote.get("received_at"), asString(quote.get("created_at"), ""));
+            if (from != null && !from.isBlank() && date.compareTo(from) < 0) continue;
+            if (to != null && !to.isBlank() && date.substring(0, Math.min(date.length(), to.length())).compareTo(to) > 0) continue;
+
+            String currency = asString(quote.get("currency"), "").trim().toUpperCase(Locale.ROOT);
+            SpendAccumulator acc = byCurrency.computeIfAbsent(currency.isEmpty() ? DEFAULT_CURRENCY : currency,
+                    k -> new SpendAccumulator());
+
+            String supplier = asString(quote.get("supplier_id"), "");
+            String project = asString(quote.get("project_id"), "");
+            if (project.isBlank()) {
+                project = lookups.rfqProject().getOrDefault(asString(quote.get("rfq_id"), ""), "");
+            }
+            String month = date.length() >= 7 ? date.substring(0, 7) : "unknown";
+
+            acc.quoteCount++;
+            acc.add(acc.bySupplier, supplier.isBlank() ? SpendAccumulator.NONE : supplier, 0, 1);
+            acc.add(acc.byProject, project.isBlank() ? SpendAccumulator.NONE : project, 0, 1);
+            acc.add(acc.byMonth, month, 0, 1);
+
+            if (!(quote.get("items") instanceof List<?> items)) continue;
+            for (Object raw : items) {
+                if (!(raw instanceof Map<?, ?> item)) continue;
+                double amount = item.get("total_price") != null
+                        ? asDouble(item.get("total_price"), 0.0)
+                        : asDouble(item.get("qty"), 0.0) * asDouble(item.get("unit_price"), 0.0);
+                String productId = asString(item.get("normalized_product_id"), "");
+                String category = productId.isBlank() ? SpendAccumulator.UNMAPPED
+                        : lookups.productCategory().getOrDefault(productId, SpendAccumulator.UNMAPPED);
+
+                acc.totalSpend += amount;
+                acc.lineCount++;
+                acc.add(acc.byCategory, category, amount, 0);
+                acc.add(acc.bySupplier, supplier.isBlank() ? SpendAccumulator.NONE : supplier, amount, 0);
+                acc.add(acc.byProject, project.isBlank() ? SpendAccumulator.NONE : project, amount, 0);
+                acc.add(acc.byMonth, month, amount, 0);
+            }
+        }
+        return byCurrency;
+    }
+
+    static final class SpendAccumulator {
+        static final String NONE = "unassigned";
+        static final String UNMAPPED = "Unmapped";
+
+        double totalSpend;
+        long quoteCount;
+        long lineCount;
+        final Map<String, double[]> byCategory = new HashMap<>();
+        final Map<String, double[]> bySupplier = new HashMap<>();
+        final Map<String, double[]> byProject = new HashMap<>();
+        final Map<String, double[]> byMonth = new HashMap<>();
+
+        void add(Map<String, double[]> bucket, String key, double amount, long quotes) {
+            double[] slot = bucket.computeIfAbsent(key, k -> new double[2]);
+            slot[0] += amount;
+            slot[1] += quotes;
+        }
+
+        void merge(SpendAccumulator other) {
+            totalSpend += other.totalSpend;
+            quoteCount += other.quoteCount;
+            lineCount += other.lineCount;
+            mergeBucket(byCategory, other.byCategory);
+            mergeBucket(bySupplier, other.bySupplier);
+            mergeBucket(byProject, other.byProject);
+            mergeBucket(byMonth, other.byMonth);
+        }
+
+        private void mergeBucket(Map<String, double[]> into, Map<String, double[]> from) {
+            for (Map.Entry<String, double[]> e : from.entrySet()) {
+                add(into, e.getKey(), e.getValue()[0], (long) e.getValue()[1]);
+            }
+        }
+
+        Map<String, Object> toResult(Lookups lookups) {
+            Map<String, Object> out = new LinkedHashMap<>();
+            out.put("total_spend", round2(totalSpend));
+            out.put("quote_count", quoteCount);
+            out.put("line_count", lineCount);
+            out.put("by_category", rows(byCategory, null, false));
+            out.put("by_supplier", rows(bySupplier, lookups.supplierNames(), false));
+            out.put("by_project", rows(byProject, lookups.projectNames(), false));
+            out.put("by_month", rows(byMonth, null, true));
+            return out;
+        }
+
+        private List<Map<String, Object>> rows(Map<String, double[]> bucket, Map<String, String> names, boolean byKey) {
+            List<Map<String, Object>> rows = new ArrayList<>(bucket.size());
+            for (Map.Entry<String, double[]> e : bucket.entrySet()) {
+                Map<String, Object> row = new LinkedHashMap<>();
+                row.put("key", e.getKey());
+                row.put("name", names == null ? e.getKey() : names.getOrDefault(e.getKey(), e.getKey()));
+                row.put("amount", round2(e.getValue()[0]));
+                row.put("share", totalSpend > 0 ? round2(e.getValue()[0] / totalSpend * 100.0) : 0.0);
+                if (names != null || byKey) row.put("quote_count", (long) e.getValue()[1]);
+                rows.add(row);
+            }
+            Comparator<Map<String, Object>> order = byKey
+                    ? Comparator.comparing(r -> String.valueOf(r.get("key")))
+                    : Comparator.comparing((Map<String, Object> r) -> (Double) r.get("amount")).reversed();
+            rows.sort(order);
+            return rows;
+        }
+
+        static double round2(double value) {
+            return Math.round(value * 100.0) / 100.0;
+        }
+    }
+
+    private String asString(Object v, String fallback) {
+        return v == null ? fallback : String.valueOf(v);
+    }
+
+    private double asDouble(Object v, double fallback) {
+        if (v == null) return fallback;
+        if (v instanceof Number n) return n.doubleValue();
+        try { return Double.parseDouble(String.valueOf(v)); } catch (Exception e) { return fallback; }
+    }
+}
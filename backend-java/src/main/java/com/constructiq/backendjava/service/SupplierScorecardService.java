@@ -0,0 +1,205 @@
+package com.constructiq.backendjava.service;
+
+import com.constructiq.backendjava.store.LatestPriceStore;
+import com.constructiq.backendjava.store.RfqInvitationStore;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+@Service
+public class SupplierScorecardService {
+
+    public static final String COLLECTION = "supplier_scorecards";
+    public static final Set<String> SORTABLE_METRICS = Set.of(
+            "quote_count", "avg_price_rank", "response_rate", "avg_response_hours", "price_volatility");
+
+    private final SqlDocumentStore store;
+    private final LatestPriceStore latestPrices;
+    private final RfqInvitationStore invitations;
+
+    public SupplierScorecardService(SqlDocumentStore store, LatestPriceStore latestPrices, RfqInvitationStore invitations) {
+        this.store = store;
+        this.latestPrices = latestPrices;
+        this.invitations = invitations;
+    }
+
+    public Map<String, Object> get(String orgId, String supplierId) {
+        Map<String, Object> card = store.findOne(COLLECTION, supplierId, orgId).orElseGet(() -> empty(orgId, supplierId));
+        derive(card);
+        return card;
+    }
+
+    public Map<String, Map<String, Object>> forOrg(String orgId, Collection<String> supplierIds) {
+        Map<String, Object> query = new LinkedHashMap<>();
+        query.put("org_id", orgId);
+        if (supplierIds != null) {
+            if (supplierIds.isEmpty()) return new HashMap<>();
+            query.put("id", Map.of("$in", new ArrayList<>(supplierIds)));
+        }
+        Map<String, Map<String, Object>> out = new HashMap<>();
+        for (Map<String, Object> card : store.find(COLLECTION, query, null, false, 0, 0)) {
+            derive(card);
+            out.put(asString(card.get("id"), ""), card);
+        }
+        return out;
+    }
+
+    public void onRfqSent(String orgId, String rfqId, Collection<String> supplierIds, Instant sentAt) {
+        for (String supplierId : invitations.invite(orgId, rfqId, supplierIds, sentAt)) {
+            update(orgId, supplierId, Map.of("rfq_invited", 1L));
+        }
+    }
+
+    public void onQuoteCreated(String orgId, Map<String, Object> quote) {
+        String supplierId = asString(quote.get("supplier_id"), "");
+        if (supplierId.isBlank()) return;
+        String rfqId = asString(quote.get("rfq_id"), "");
+
+        Map<String, Number> deltas = new LinkedHashMap<>();
+        deltas.put("quote_count", 1L);
+        deltas.put("quoted_amount_total", asDouble(quote.get("total_amount"), 0.0));
+        if (!rfqId.isBlank()) {
+            Instant receivedAt = parseInstant(quote.get("received_at"));
+            invitations.markResponded(orgId, rfqId, supplierId, receivedAt == null ? Instant.now() : receivedAt)
+                    .ifPresent(invitedAt -> {
+                        deltas.put("rfq_responded", 1L);
+                        Double latency = hoursBetween(invitedAt, receivedAt);
+                        if (latency != null) {
+                            deltas.put("response_latency_samples", 1L);
+                            deltas.put("response_latency_hours_total", latency);
+                        }
+                    });
+        }
+        update(orgId, supplierId, deltas);
+    }
+
+    public void onPricePoint(String orgId, String productId, String supplierId,
+                             PriceAnomalyDetector.Observation observation) {
+        if (supplierId == null || supplierId.isBlank()) return;
+        Map<String, Number> deltas = new LinkedHashMap<>();
+        addPriceDeltas(deltas, supplierId, observation, latestPrices.forProduct(orgId, productId));
+        update(orgId, supplierId, deltas);
+    }
+
+    /** Records every priced line of one quote with a single competitor lookup and a single scorecard update. */
+    public void onPricePoints(String orgId, String supplierId, List<PricedProduct> prices) {
+        if (supplierId == null || supplierId.isBlank() || prices.isEmpty()) return;
+        List<String> productIds = new ArrayList<>(prices.size());
+        for (PricedProduct price : prices) productIds.add(price.productId());
+        Map<String, List<LatestPriceStore.LatestPrice>> latest = latestPrices.forProducts(orgId, productIds);
+
+        Map<String, Number> deltas = new LinkedHashMap<>();
+        for (PricedProduct price : prices) {
+            addPriceDeltas(deltas, supplierId, price.observation(), latest.getOrDefault(price.productId(), List.of()));
+        }
+        update(orgId, supplierId, deltas);
+    }
+
+    public record PricedProduct(String productId, PriceAnomalyDetector.Observation observation) {}
+
+    private void addPriceDeltas(Map<String, Number> deltas, String supplierId, PriceAnomalyDetector.Observation observation,
+                                List<LatestPriceStore.LatestPrice> latest) {
+        double price = observation.price();
+        Map<String, Double> competitorPrices = new HashMap<>();
+        for (LatestPriceStore.LatestPrice other : latest) {
+            if (!other.supplierId().equals(supplierId)) competitorPrices.put(other.supplierId(), other.unitPrice());
+        }
+        if (!competitorPrices.isEmpty()) {
+            long rank = 1;
+            for (double other : competitorPrices.values()) {
+                if (other < price) rank++;
+            }
+            deltas.merge("rank_samples", 1L, SupplierScorecardService::sum);
+            deltas.merge("rank_sum", rank, SupplierScorecardService::sum);
+        }
+        double previousPrice = observation.samples() > 0 ? observation.previousPrice() : 0.0;
+        if (previousPrice > 0) {
+            double change = (price - previousPrice) / previousPrice * 100.0;
+            deltas.merge("volatility_samples", 1L, SupplierScorecardService::sum);
+            deltas.merge("volatility_sum", change, SupplierScorecardService::sum);
+            deltas.merge("volatility_sum_sq", change * change, SupplierScorecardService::sum);
+        }
+    }
+
+    private static Number sum(Number a, Number b) {
+        if (a instanceof Double || b instanceof Double) return a.doubleValue() + b.doubleValue();
+        return a.longValue() + b.longValue();
+    }
+
+    private void update(String orgId, String supplierId, Map<String, ? extends Number> deltas) {
+        store.increment(COLLECTION, empty(orgId, supplierId), deltas, OffsetDateTime.now(ZoneOffset.UTC).toString());
+    }
+
+    private void derive(Map<String, Object> card) {
+        double invited = asDouble(card.get("rfq_invited"), 0.0);
+        double responded = asDouble(card.get("rfq_responded"), 0.0);
+        double rankSamples = asDouble(card.get("rank_samples"), 0.0);
+        double latencySamples = asDouble(card.get("response_latency_samples"), 0.0);
+        double volatilitySamples = asDouble(card.get("volatility_samples"), 0.0);
+
+        card.put("response_rate", invited > 0 ? round2(Math.min(1.0, responded / invited)) : null);
+        card.put("avg_response_hours", latencySamples > 0
+                ? round2(asDouble(card.get("response_latency_hours_total"), 0.0) / latencySamples) : null);
+        card.put("avg_price_rank", rankSamples > 0
+                ? round2(asDouble(card.get("rank_sum"), 0.0) / rankSamples) : null);
+        card.put("price_volatility", volatilitySamples > 1
+                ? round2(sampleStdDev(volatilitySamples, asDouble(card.get("volatility_sum"), 0.0),
+                        asDouble(card.get("volatility_sum_sq"), 0.0))) : null);
+    }
+
+    private Map<String, Object> empty(String orgId, String supplierId) {
+        Map<String, Object> card = new LinkedHashMap<>();
+        card.put("id", supplierId);
+        card.put("org_id", orgId);
+        card.put("supplier_id", supplierId);
+        card.put("quote_count", 0);
+        card.put("quoted_amount_total", 0.0);
+        card.put("rfq_invited", 0);
+        card.put("rfq_responded", 0);
+        card.put("response_latency_samples", 0);
+        card.put("response_latency_hours_total", 0.0);
+        card.put("rank_samples", 0);
+        card.put("rank_sum", 0);
+        card.put("volatility_samples", 0);
+        card.put("volatility_sum", 0.0);
+        card.put("volatility_sum_sq", 0.0);
+        return card;
+    }
+
+    private static double sampleStdDev(double n, double sum, double sumSq) {
+        return Math.sqrt(Math.max(0.0, (sumSq - sum * sum / n) / (n - 1)));
+    }
+
+    private Double hoursBetween(Instant from, Instant to) {
+        if (from == null || to == null) return null;
+        Duration d = Duration.between(from, to);
+        return d.isNegative() ? null : d.toMillis() / 3_600_000.0;
+    }
+
+    private Instant parseInstant(Object value) {
+        try {
+            return value == null ? null : OffsetDateTime.parse(String.valueOf(value)).toInstant();
+        } catch (Exception e) {
+            return null;
+        }
+    }
+
+    private double round2(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    private String asString(Object v, String fallback) {
+        return v == null ? fallback : String.valueOf(v);
+    }
+
+    private double asDouble(Object v, double fallback) {
+        if (v == null) return fallback;
+        if (v instanceof Number n) return n.doubleValue();
+        try { return Double.parseDouble(String.valueOf(v)); } catch (Exception e) { return fallback; }
+    }
+}
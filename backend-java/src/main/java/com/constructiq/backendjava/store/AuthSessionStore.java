@@ -0,0 +1,100 @@
+package com.constructiq.backendjava.store;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+@Component
+public class AuthSessionStore {
+
+    public record Session(String jti, String orgId, String userId, String email, String ip, String userAgent,
+                          Instant issuedAt, Instant expiresAt, Instant revokedAt) {}
+
+    public record Revocation(long seq, String jti, Instant expiresAt) {}
+
+    private static final RowMapper<Session> SESSION = (rs, rowNum) -> new Session(
+            rs.getString("jti"),
+            rs.getString("org_id"),
+            rs.getString("user_id"),
+            rs.getString("email"),
+            rs.getString("ip"),
+            rs.getString("user_agent"),
+            toInstant(rs.getObject("issued_at", LocalDateTime.class)),
+            toInstant(rs.getObject("expires_at", LocalDateTime.class)),
+            toInstant(rs.getObject("revoked_at", LocalDateTime.class)));
+
+    private final JdbcTemplate jdbc;
+
+    public AuthSessionStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void register(Session session) {
+        jdbc.update("""
+                INSERT INTO auth_sessions(jti, org_id, user_id, email, ip, user_agent, issued_at, expires_at)
+                VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+                """,
+                session.jti(), session.orgId(), session.userId(), session.email(), session.ip(),
+                truncate(session.userAgent(), 255), toDateTime(session.issuedAt()), toDateTime(session.expiresAt()));
+    }
+
+    public Optional<Session> find(String jti) {
+        return jdbc.query("SELECT * FROM auth_sessions WHERE jti=?", SESSION, jti).stream().findFirst();
+    }
+
+    public List<Session> activeSessions(String orgId, String userId) {
+        return jdbc.query("""
+                SELECT * FROM auth_sessions
+                WHERE org_id=? AND user_id=? AND expires_at > ? AND revoked_at IS NULL
+                ORDER BY issued_at DESC
+                """, SESSION, orgId, userId, toDateTime(Instant.now()));
+    }
+
+    @Transactional
+    public boolean revoke(String jti, String orgId, String userId, Instant expiresAt) {
+        int inserted = jdbc.update("""
+                INSERT IGNORE INTO token_revocations(jti, org_id, user_id, expires_at)
+                VALUES (?, ?, ?, ?)
+                """, jti, orgId, userId, toDateTime(expiresAt));
+        jdbc.update("UPDATE auth_sessions SET revoked_at = COALESCE(revoked_at, ?) WHERE jti=?",
+                toDateTime(Instant.now()), jti);
+        return inserted > 0;
+    }
+
+    public List<Revocation> revocationsAfter(long seq, int limit) {
+        return jdbc.query("""
+                SELECT seq, jti, expires_at FROM token_revocations
+                WHERE seq > ? AND expires_at > ?
+                ORDER BY seq LIMIT ?
+                """,
+                (rs, rowNum) -> new Revocation(rs.getLong("seq"), rs.getString("jti"),
+                        toInstant(rs.getObject("expires_at", LocalDateTime.class))),
+                seq, toDateTime(Instant.now()), limit);
+    }
+
+    public long purgeExpired(Instant before) {
+        LocalDateTime cutoff = toDateTime(before);
+        long purged = jdbc.update("DELETE FROM token_revocations WHERE expires_at < ?", cutoff);
+        purged += jdbc.update("DELETE FROM auth_sessions WHERE expires_at < ?", cutoff);
+        return purged;
+    }
+
+    private static LocalDateTime toDateTime(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static Instant toInstant(LocalDateTime value) {
+        return value == null ? null : value.toInstant(ZoneOffset.UTC);
+    }
+
+    private static String truncate(String value, int max) {
+        return value == null || value.length() <= max ? value : value.substring(0, max);
+    }
+}
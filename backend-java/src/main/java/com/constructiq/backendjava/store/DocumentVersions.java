@@ -0,0 +1,85 @@
+package com.constructiq.backendjava.store;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Write versions per (org, collection). Every write bumps an in-memory counter, which is enough for single-flight
+ * keys on this node. Collections registered with {@link #share} are also bumped in {@code collection_versions} by
+ * the writing statement's connection, inside its transaction when there is one, so caches on every node see the
+ * write through {@link #sharedVersion}.
+ */
+public final class DocumentVersions {
+
+    private static final String BUMP_SQL = """
+            INSERT INTO collection_versions(org_id, collection_name, version) VALUES (?, ?, 1)
+            ON DUPLICATE KEY UPDATE version = version + 1
+            """;
+
+    private final JdbcTemplate jdbc;
+    private final Map<String, AtomicLong> versions = new ConcurrentHashMap<>();
+    private final Set<String> shared = ConcurrentHashMap.newKeySet();
+
+    public DocumentVersions(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void share(Collection<String> collections) {
+        shared.addAll(collections);
+    }
+
+    public void bump(String orgId, String collection) {
+        versions.computeIfAbsent(key(orgId, collection), k -> new AtomicLong()).incrementAndGet();
+        if (orgId != null && shared.contains(collection)) {
+            jdbc.update(BUMP_SQL, orgId, collection);
+        }
+    }
+
+    public long version(String orgId, String collection) {
+        AtomicLong v = versions.get(key(orgId, collection));
+        return v == null ? 0 : v.get();
+    }
+
+    public long version(String orgId, Collection<String> collections) {
+        long sum = 0;
+        for (String collection : collections) {
+            sum += version(orgId, collection);
+        }
+        return sum;
+    }
+
+    /** Version of shared collections as stored in the database; collections not shared fall back to this node's. */
+    public long sharedVersion(String orgId, Collection<String> collections) {
+        List<String> fromDatabase = new ArrayList<>();
+        long sum = 0;
+        for (String collection : collections) {
+            if (orgId != null && shared.contains(collection)) fromDatabase.add(collection);
+            else sum += version(orgId, collection);
+        }
+        if (fromDatabase.isEmpty()) return sum;
+        Long stored = jdbc.queryForObject(
+                "SELECT COALESCE(SUM(version), 0) FROM collection_versions WHERE org_id=? AND collection_name IN ("
+                        + String.join(",", Collections.nCopies(fromDatabase.size(), "?")) + ")",
+                Long.class, concat(orgId, fromDatabase));
+        return sum + (stored == null ? 0 : stored);
+    }
+
+    private static Object[] concat(String orgId, List<String> collections) {
+        Object[] params = new Object[collections.size() + 1];
+        params[0] = orgId;
+        for (int i = 0; i < collections.size(); i++) params[i + 1] = collections.get(i);
+        return params;
+    }
+
+    private static String key(String orgId, String collection) {
+        return (orgId == null ? "" : orgId) + "|" + collection;
+    }
+}
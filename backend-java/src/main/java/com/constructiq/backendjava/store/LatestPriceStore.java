@@ -0,0 +1,175 @@
+package com.constructiq.backendjava.store;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.*;
+
+@Component
+public class LatestPriceStore {
+
+    private static final int IN_CHUNK = 500;
+    private static final String UPSERT_SQL = """
+            INSERT INTO latest_prices(org_id, product_id, supplier_id, unit_price, currency, uom, observed_at, price_point_id)
+            VALUES (?, ?, ?, ?, ?, ?, ?, ?)
+            ON DUPLICATE KEY UPDATE
+                unit_price     = IF(VALUES(observed_at) >= observed_at, VALUES(unit_price), unit_price),
+                currency       = IF(VALUES(observed_at) >= observed_at, VALUES(currency), currency),
+                uom            = IF(VALUES(observed_at) >= observed_at, VALUES(uom), uom),
+                price_point_id = IF(VALUES(observed_at) >= observed_at, VALUES(price_point_id), price_point_id),
+                observed_at    = GREATEST(observed_at, VALUES(observed_at))
+            """;
+
+    public record LatestPrice(String productId, String supplierId, double unitPrice, String currency,
+                              String uom, String observedAt, String pricePointId) {}
+
+    public record BestPrice(String productId, String productName, String category, String baseUom,
+                            LatestPrice best, String supplierName, int supplierCount) {}
+
+    private static final RowMapper<LatestPrice> LATEST_PRICE = (rs, rowNum) -> new LatestPrice(
+            rs.getString("product_id"),
+            rs.getString("supplier_id"),
+            rs.getDouble("unit_price"),
+            rs.getString("currency"),
+            rs.getString("uom"),
+            toIso(rs.getObject("observed_at", LocalDateTime.class)),
+            rs.getString("price_point_id"));
+
+    private final JdbcTemplate jdbc;
+
+    public LatestPriceStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    public void upsert(String orgId, String productId, String supplierId, double unitPrice,
+                       String currency, String uom, String observedAt, String pricePointId) {
+        jdbc.update(UPSERT_SQL, orgId, productId, supplierId, unitPrice, currency, uom, toDateTime(observedAt), pricePointId);
+    }
+
+    public void upsertAll(String orgId, List<LatestPrice> prices) {
+        if (prices.isEmpty()) return;
+        List<Object[]> rows = new ArrayList<>(prices.size());
+        for (LatestPrice price : prices) {
+            rows.add(new Object[]{orgId, price.productId(), price.supplierId(), price.unitPrice(), price.currency(),
+                    price.uom(), toDateTime(price.observedAt()), price.pricePointId()});
+        }
+        jdbc.batchUpdate(UPSERT_SQL, rows);
+    }
+
+    public List<LatestPrice> forProduct(String orgId, String productId) {
+        return jdbc.query(
+                "SELECT * FROM latest_prices WHERE org_id=? AND product_id=? ORDER BY unit_price, supplier_id",
+                LATEST_PRICE, orgId, productId);
+    }
+
+    public Map<String, List<LatestPrice>> forProducts(String orgId, Collection<String> productIds) {
+        Map<String, List<LatestPrice>> out = new LinkedHashMap<>();
+        List<String> ids = new ArrayList<>(new LinkedHashSet<>(productIds));
+        for (int from = 0; from < ids.size(); from += IN_CHUNK) {
+            List<String> chunk = ids.subList(from, Math.min(ids.size(), from + IN_CHUNK));
+            String placeholders = String.join(",", Collections.nCopies(chunk.size(), "?"));
+            List<Object> params = new ArrayList<>(chunk.size() + 1);
+            params.add(orgId);
+            params.addAll(chunk);
+            List<LatestPrice> rows = jdbc.query(
+                    "SELECT * FROM latest_prices WHERE org_id=? AND product_id IN (" + placeholders + ") ORDER BY product_id, unit_price, supplier_id",
+                    LATEST_PRICE, params.toArray());
+            for (LatestPrice row : rows) {
+                out.computeIfAbsent(row.productId(), k -> new ArrayList<>()).add(row);
+            }
+        }
+        return out;
+    }
+
+    /**
+     * One page of products with their cheapest current price. Prices are only compared within one currency and unit
+     * of measure: the group in the product's base UoM wins, then the group with the most suppliers. Paging uses the
+     * indexed name/category columns, and the window functions only see the latest prices of that page.
+     */
+    public List<BestPrice> bestPrices(String orgId, String category, int skip, int limit) {
+        StringBuilder sql = new StringBuilder("""
+                WITH page AS (
+                    SELECT doc_id, json_data, name_col
+                    FROM documents
+                    WHERE collection_name = 'normalized_products' AND org_id = ?
+                """);
+        List<Object> params = new ArrayList<>(List.of(orgId));
+        if (category != null && !category.isBlank()) {
+            sql.append("      AND category_col = ?\n");
+            params.add(category);
+        }
+        sql.append("    ORDER BY name_col, doc_id\n");
+        if (limit > 0) {
+            sql.append("    LIMIT ").append(limit).append(" OFFSET ").append(Math.max(0, skip)).append('\n');
+        }
+        sql.append("""
+                ),
+                ranked AS (
+                    SELECT lp.product_id, lp.supplier_id, lp.unit_price, lp.currency, lp.uom, lp.observed_at, lp.price_point_id,
+                           COUNT(*) OVER (PARTITION BY lp.product_id)                     AS supplier_count,
+                           COUNT(*) OVER (PARTITION BY lp.product_id, lp.currency, lp.uom) AS group_size,
+                           ROW_NUMBER() OVER (PARTITION BY lp.product_id, lp.currency, lp.uom
+                                              ORDER BY lp.unit_price, lp.observed_at DESC)  AS group_rank,
+                           lp.uom <=> JSON_UNQUOTE(JSON_EXTRACT(page.json_data, '$.base_uom')) AS base_uom_match
+                    FROM latest_prices lp
+                    JOIN page ON page.doc_id = lp.product_id
+                    WHERE lp.org_id = ?
+                ),
+                best AS (
+                    SELECT ranked.*,
+                           ROW_NUMBER() OVER (PARTITION BY product_id
+                                              ORDER BY base_uom_match DESC, group_size DESC, currency, uom) AS rn
+                    FROM ranked
+                    WHERE group_rank = 1
+                )
+                SELECT p.doc_id AS product_id,
+                       JSON_UNQUOTE(JSON_EXTRACT(p.json_data, '$.canonical_name')) AS product_name,
+                       JSON_UNQUOTE(JSON_EXTRACT(p.json_data, '$.category'))       AS category,
+                       JSON_UNQUOTE(JSON_EXTRACT(p.json_data, '$.base_uom'))       AS base_uom,
+                       b.supplier_id, b.unit_price, b.currency, b.uom, b.observed_at, b.price_point_id, b.supplier_count,
+                       JSON_UNQUOTE(JSON_EXTRACT(s.json_data, '$.name'))           AS supplier_name
+                FROM page p
+                LEFT JOIN best b ON b.product_id = p.doc_id AND b.rn = 1
+                LEFT JOIN documents s ON s.collection_name = 'suppliers' AND s.org_id = ? AND s.doc_id = b.supplier_id
+                ORDER BY p.name_col, p.doc_id
+                """);
+        params.add(orgId);
+        params.add(orgId);
+        return jdbc.query(sql.toString(), (rs, rowNum) -> {
+            String supplierId = rs.getString("supplier_id");
+            LatestPrice best = supplierId == null ? null : new LatestPrice(
+                    rs.getString("product_id"),
+                    supplierId,
+                    rs.getDouble("unit_price"),
+                    rs.getString("currency"),
+                    rs.getString("uom"),
+                    toIso(rs.getObject("observed_at", LocalDateTime.class)),
+                    rs.getString("price_point_id"));
+            return new BestPrice(
+                    rs.getString("product_id"),
+                    rs.getString("product_name"),
+                    rs.getString("category"),
+                    rs.getString("base_uom"),
+                    best,
+                    rs.getString("supplier_name"),
+                    rs.getInt("supplier_count"));
+        }, params.toArray());
+    }
+
+    public long deleteForProduct(String orgId, String productId) {
+        return jdbc.update("DELETE FROM latest_prices WHERE org_id=? AND product_id=?", orgId, productId);
+    }
+
+    private static LocalDateTime toDateTime(String iso) {
+        if (iso == null || iso.isBlank()) return LocalDateTime.now(ZoneOffset.UTC);
+        return OffsetDateTime.parse(iso).withOffsetSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+
+    private static String toIso(LocalDateTime value) {
+        return value == null ? null : value.atOffset(ZoneOffset.UTC).toString();
+    }
+}
@@ -0,0 +1,62 @@
+package com.constructiq.backendjava.store;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * One row per (rfq, supplier) invitation. Inserting and marking responses are single conditional statements,
+ * so re-sent RFQs and repeated quotes are counted once no matter which node handles them.
+ */
+@Component
+public class RfqInvitationStore {
+
+    private final JdbcTemplate jdbc;
+
+    public RfqInvitationStore(JdbcTemplate jdbc) {
+        this.jdbc = jdbc;
+    }
+
+    /** Records the invitations and returns the suppliers that had not been invited to this RFQ before. */
+    public List<String> invite(String orgId, String rfqId, Collection<String> supplierIds, Instant invitedAt) {
+        List<String> invited = new ArrayList<>();
+        for (String supplierId : supplierIds) {
+            int inserted = jdbc.update("""
+                    INSERT IGNORE INTO rfq_invitations(org_id, rfq_id, supplier_id, invited_at)
+                    VALUES (?, ?, ?, ?)
+                    """, orgId, rfqId, supplierId, toDateTime(invitedAt));
+            if (inserted > 0) invited.add(supplierId);
+        }
+        return invited;
+    }
+
+    /**
+     * Marks the supplier as having responded. Returns the invitation time only for the first response to an
+     * invitation; later quotes and quotes from suppliers that were never invited return empty.
+     */
+    public Optional<Instant> markResponded(String orgId, String rfqId, String supplierId, Instant respondedAt) {
+        int updated = jdbc.update("""
+                UPDATE rfq_invitations SET responded_at = ?
+                WHERE org_id=? AND rfq_id=? AND supplier_id=? AND responded_at IS NULL
+                """, toDateTime(respondedAt), orgId, rfqId, supplierId);
+        if (updated == 0) return Optional.empty();
+        return jdbc.query("SELECT invited_at FROM rfq_invitations WHERE org_id=? AND rfq_id=? AND supplier_id=?",
+                (rs, rowNum) -> toInstant(rs.getObject("invited_at", LocalDateTime.class)),
+                orgId, rfqId, supplierId).stream().findFirst();
+    }
+
+    private static LocalDateTime toDateTime(Instant instant) {
+        return instant == null ? null : LocalDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static Instant toInstant(LocalDateTime value) {
+        return value == null ? null : value.toInstant(ZoneOffset.UTC);
+    }
+}
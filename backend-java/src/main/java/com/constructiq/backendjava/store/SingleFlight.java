@@ -0,0 +1,93 @@
+package com.constructiq.backendjava.store;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Lets concurrent callers asking for the same key share one execution. The first caller runs the query;
+ * callers arriving while it is in flight wait for it and receive a deep copy of its result, since callers
+ * routinely decorate the returned documents in place.
+ */
+final class SingleFlight {
+
+    private final Map<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+
+    SingleFlight(MeterRegistry meterRegistry, boolean enabled) {
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+    }
+
+    @SuppressWarnings("unchecked")
+    <T> T execute(String operation, String key, Supplier<T> call) {
+        // Reads inside a transaction may see its uncommitted writes, so they are never shared.
+        if (!enabled || TransactionSynchronizationManager.isActualTransactionActive()) return call.get();
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> leader = inFlight.putIfAbsent(key, mine);
+        if (leader != null) {
+            counter(operation, "coalesced").increment();
+            try {
+                return (T) copy(leader.join());
+            } catch (CompletionException e) {
+                if (e.getCause() instanceof RuntimeException re) throw re;
+                if (e.getCause() instanceof Error err) throw err;
+                throw e;
+            }
+        }
+
+        counter(operation, "executed").increment();
+        try {
+            T result = call.get();
+            // Followers copy from a snapshot nobody else holds, so the leader's caller may mutate its result freely.
+            mine.complete(copy(result));
+            return result;
+        } catch (RuntimeException | Error e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, mine);
+        }
+    }
+
+    private Counter counter(String operation, String result) {
+        return Counter.builder("constructiq_store_single_flight_total")
+                .tag("operation", operation)
+                .tag("result", result)
+                .register(meterRegistry);
+    }
+
+    @SuppressWarnings("unchecked")
+    static Object copy(Object value) {
+        if (value instanceof Map<?, ?> map) {
+            Map<Object, Object> copied = new LinkedHashMap<>(map.size());
+            map.forEach((k, v) -> copied.put(k, copy(v)));
+            return copied;
+        }
+        if (value instanceof List<?> list) {
+            List<Object> copied = new ArrayList<>(list.size());
+            list.forEach(v -> copied.add(copy(v)));
+            return copied;
+        }
+        if (value instanceof Optional<?> optional) {
+            return optional.map(SingleFlight::copy);
+        }
+        if (value instanceof SqlDocumentStore.Summary summary) {
+            return new SqlDocumentStore.Summary(
+                    (Map<String, Long>) copy(summary.counts()),
+                    (Map<String, List<Map<String, Object>>>) copy(summary.recent()));
+        }
+        return value;
+    }
+}
@@ -1,146 +1,802 @@
 package com.constructiq.backendjava.store;
 
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.observability.JsonDecodeEvent;
+import com.constructiq.backendjava.observability.StoreQueryEvent;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.ArgumentPreparedStatementSetter;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
 import java.sql.Timestamp;
 import java.time.OffsetDateTime;
 import java.time.ZoneOffset;
 import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Component
 public class SqlDocumentStore {
     private static final Logger log = LoggerFactory.getLogger(SqlDocumentStore.class);
     private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {};
 
+    // Connector/J only streams a result set row by row when the fetch size is Integer.MIN_VALUE.
+    private static final int STREAM_FETCH_SIZE = Integer.MIN_VALUE;
+
+    private static final String UPSERT_SQL = """
+            INSERT INTO documents(collection_name, doc_id, org_id, json_data)
+            VALUES (?, ?, ?, CAST(? AS JSON))
+            ON DUPLICATE KEY UPDATE org_id = VALUES(org_id), json_data = VALUES(json_data), version = version + 1,
+                                    updated_at = CURRENT_TIMESTAMP
+            """;
+
     private final JdbcTemplate jdbc;
     private final ObjectMapper mapper;
+    private final MeterRegistry meterRegistry;
+    private final long slowQueryNanos;
+    private final DocumentVersions versions;
+    private final SingleFlight singleFlight;
 
     public SqlDocumentStore(JdbcTemplate jdbc, ObjectMapper mapper) {
+        this(jdbc, mapper, new SimpleMeterRegistry(), new ConstructIQProperties());
+    }
+
+    @Autowired
+    public SqlDocumentStore(JdbcTemplate jdbc, ObjectMapper mapper, MeterRegistry meterRegistry, ConstructIQProperties properties) {
         this.jdbc = jdbc;
+        this.versions = new DocumentVersions(jdbc);
         this.mapper = mapper;
+        this.meterRegistry = meterRegistry;
+        this.slowQueryNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, properties.getStoreSlowQueryMs()));
+        this.singleFlight = new SingleFlight(meterRegistry, properties.isStoreSingleFlightEnabled());
+    }
+
+    /**
+     * Identifies a read for single-flight sharing. The org's write version for the touched collections is part
+     * of the key, so a read issued after a write never joins a query that started before it.
+     */
+    private String flightKey(String operation, String orgId, Collection<String> collections, Object... args) {
+        return operation + "|" + orgId + "|" + collections + "@" + versions.version(orgId, collections)
+                + "|" + Arrays.deepToString(args);
+    }
+
+    private static String orgOf(Map<String, Object> query) {
+        return query != null && query.get("org_id") instanceof String orgId ? orgId : null;
+    }
+
+    private final class Observation {
+        private final String operation;
+        private final String collection;
+        private final long startNanos = System.nanoTime();
+        private final StoreQueryEvent event = new StoreQueryEvent();
+        private String sql;
+        private boolean inMemory;
+        private long scanned;
+        private long returned;
+        private long decodedBytes;
+
+        private Observation(String operation, String collection) {
+            this.operation = operation;
+            this.collection = collection;
+            event.begin();
+        }
+
+        private Map<String, Object> decode(String json) {
+            long bytes = utf8Length(json);
+            scanned++;
+            decodedBytes += bytes;
+            JsonDecodeEvent decodeEvent = new JsonDecodeEvent();
+            decodeEvent.begin();
+            Map<String, Object> doc = toMap(json);
+            decodeEvent.end();
+            if (decodeEvent.shouldCommit()) {
+                decodeEvent.collection = collection;
+                decodeEvent.bytes = bytes;
+                decodeEvent.failed = doc == null;
+                decodeEvent.commit();
+            }
+            return doc;
+        }
+
+        private <T extends Collection<?>> T returning(T result) {
+            returned = result.size();
+            return result;
+        }
+
+        private void finish() {
+            long elapsed = System.nanoTime() - startNanos;
+            String path = inMemory ? "in_memory" : "sql";
+            event.end();
+            if (event.shouldCommit()) {
+                event.operation = operation;
+                event.collection = collection;
+                event.path = path;
+                event.shape = sql;
+                event.rowsScanned = scanned;
+                event.rowsReturned = returned;
+                event.decodedBytes = decodedBytes;
+                event.commit();
+            }
+            Timer.builder("constructiq_store_operation_seconds")
+                    .tags("operation", operation, "collection", collection, "path", path)
+                    .register(meterRegistry)
+                    .record(elapsed, TimeUnit.NANOSECONDS);
+            if (scanned > 0 || returned > 0) {
+                summary("constructiq_store_rows_scanned", "rows").record(scanned);
+                summary("constructiq_store_rows_returned", "rows").record(returned);
+            }
+            if (decodedBytes > 0) {
+                summary("constructiq_store_json_decoded_bytes", "bytes").record(decodedBytes);
+            }
+            if (elapsed >= slowQueryNanos) {
+                log.warn("Slow store query: {} {} path={} {} ms scanned={} returned={} sql={}",
+                        operation, collection, path, TimeUnit.NANOSECONDS.toMillis(elapsed), scanned, returned,
+                        sql == null ? "" : sql.replaceAll("\\s+", " ").trim());
+            }
+        }
+
+        private DistributionSummary summary(String name, String unit) {
+            return DistributionSummary.builder(name)
+                    .baseUnit(unit)
+                    .tags("operation", operation, "collection", collection)
+                    .register(meterRegistry);
+        }
     }
 
     public void upsert(String collection, Map<String, Object> doc) {
-        String docId = String.valueOf(doc.get("id"));
-        String orgId = doc.get("org_id") == null ? null : String.valueOf(doc.get("org_id"));
-        String json = toJson(doc);
+        Observation obs = new Observation("upsert", collection);
+        try {
+            String docId = String.valueOf(doc.get("id"));
+            String orgId = doc.get("org_id") == null ? null : String.valueOf(doc.get("org_id"));
+            String json = toJson(doc);
+
+            obs.sql = UPSERT_SQL;
+            jdbc.update(UPSERT_SQL, collection, docId, orgId, json);
+            versions.bump(orgId, collection);
+        } finally {
+            obs.finish();
+        }
+    }
+
+    /**
+     * Adds {@code deltas} to top-level numeric fields of one document and sets {@code updatedAt} in a single
+     * statement, inserting {@code initial} with the deltas applied when the document does not exist yet.
+     * Concurrent increments from any node are therefore never lost. Integral deltas keep integer fields integral.
+     */
+    public void increment(String collection, Map<String, Object> initial, Map<String, ? extends Number> deltas, String updatedAt) {
+        if (deltas.isEmpty()) return;
+        Observation obs = new Observation("increment", collection);
+        try {
+            String docId = String.valueOf(initial.get("id"));
+            String orgId = initial.get("org_id") == null ? null : String.valueOf(initial.get("org_id"));
+            Map<String, Object> created = new LinkedHashMap<>(initial);
+            StringBuilder set = new StringBuilder("JSON_SET(json_data");
+            List<Object> params = new ArrayList<>();
+            for (Map.Entry<String, ? extends Number> delta : deltas.entrySet()) {
+                String field = delta.getKey();
+                if (!field.matches("[A-Za-z_][A-Za-z0-9_]*")) throw new IllegalArgumentException("Invalid field: " + field);
+                boolean integral = delta.getValue() instanceof Long || delta.getValue() instanceof Integer;
+                set.append(", '$.").append(field).append("', CAST(COALESCE(JSON_EXTRACT(json_data, '$.").append(field)
+                        .append("'), 0) AS ").append(integral ? "SIGNED" : "DOUBLE").append(") + ?");
+                params.add(integral ? (Object) delta.getValue().longValue() : (Object) delta.getValue().doubleValue());
+                Number current = created.get(field) instanceof Number n ? n : 0L;
+                if (integral && !(current instanceof Double)) {
+                    created.put(field, current.longValue() + delta.getValue().longValue());
+                } else {
+                    created.put(field, current.doubleValue() + delta.getValue().doubleValue());
+                }
+            }
+            set.append(", '$.updated_at', ?)");
+            params.add(updatedAt);
+            created.put("updated_at", updatedAt);
+
+            obs.sql = "INSERT INTO documents(collection_name, doc_id, org_id, json_data) VALUES (?, ?, ?, CAST(? AS JSON))"
+                    + " ON DUPLICATE KEY UPDATE json_data = " + set + ", version = version + 1, updated_at = CURRENT_TIMESTAMP";
+            List<Object> all = new ArrayList<>(List.of(collection, docId));
+            all.add(orgId);
+            all.add(toJson(created));
+            all.addAll(params);
+            jdbc.update(obs.sql, all.toArray());
+            versions.bump(orgId, collection);
+        } finally {
+            obs.finish();
+        }
+    }
 
-        jdbc.update("""
-                INSERT INTO documents(collection_name, doc_id, org_id, json_data)
-                VALUES (?, ?, ?, CAST(? AS JSON))
-                ON DUPLICATE KEY UPDATE org_id = VALUES(org_id), json_data = VALUES(json_data), updated_at = CURRENT_TIMESTAMP
-                """, collection, docId, orgId, json);
+    public void upsertAll(String collection, List<Map<String, Object>> docs) {
+        if (docs.isEmpty()) return;
+        Observation obs = new Observation("upsertAll", collection);
+        try {
+            List<Object[]> rows = new ArrayList<>(docs.size());
+            Set<String> orgIds = new HashSet<>();
+            for (Map<String, Object> doc : docs) {
+                String orgId = doc.get("org_id") == null ? null : String.valueOf(doc.get("org_id"));
+                rows.add(new Object[]{collection, String.valueOf(doc.get("id")), orgId, toJson(doc)});
+                orgIds.add(orgId);
+            }
+            obs.sql = UPSERT_SQL;
+            jdbc.batchUpdate(UPSERT_SQL, rows);
+            obs.returned = rows.size();
+            orgIds.forEach(orgId -> versions.bump(orgId, collection));
+        } finally {
+            obs.finish();
+        }
     }
 
     public Optional<Map<String, Object>> findOne(String collection, String docId) {
-        List<Map<String, Object>> rows = jdbc.query(
-                "SELECT json_data FROM documents WHERE collection_name=? AND doc_id=? LIMIT 1",
-                (rs, rowNum) -> toMap(rs.getString("json_data")),
-                collection, docId
-        );
-        return rows.stream().findFirst();
+        Observation obs = new Observation("findOne", collection);
+        try {
+            obs.sql = "SELECT json_data FROM documents WHERE collection_name=? AND doc_id=? LIMIT 1";
+            List<Map<String, Object>> rows = jdbc.query(obs.sql,
+                    (rs, rowNum) -> obs.decode(rs.getString("json_data")),
+                    collection, docId
+            );
+            return obs.returning(rows).stream().findFirst();
+        } finally {
+            obs.finish();
+        }
     }
 
     public Optional<Map<String, Object>> findOne(String collection, String docId, String orgId) {
-        Optional<Map<String, Object>> doc = findOne(collection, docId);
-        return doc.filter(d -> Objects.equals(value(d, "org_id"), orgId));
+        return singleFlight.execute("findOne", flightKey("findOne", orgId, List.of(collection), docId),
+                () -> findOne(collection, docId).filter(d -> Objects.equals(value(d, "org_id"), orgId)));
+    }
+
+    public Optional<String> documentTag(String collection, String docId, String orgId) {
+        Observation obs = new Observation("documentTag", collection);
+        try {
+            obs.sql = "SELECT id, version FROM documents WHERE collection_name=? AND doc_id=? AND (org_id <=> ?)";
+            List<String> tags = jdbc.query(obs.sql,
+                    (rs, rowNum) -> Long.toString(rs.getLong("id"), 36) + "." + rs.getLong("version"),
+                    collection, docId, orgId);
+            return obs.returning(tags).stream().findFirst();
+        } finally {
+            obs.finish();
+        }
     }
 
     public long deleteOne(String collection, String docId, String orgId) {
-        return jdbc.update("DELETE FROM documents WHERE collection_name=? AND doc_id=? AND (org_id <=> ?)", collection, docId, orgId);
+        Observation obs = new Observation("deleteOne", collection);
+        try {
+            obs.sql = "DELETE FROM documents WHERE collection_name=? AND doc_id=? AND (org_id <=> ?)";
+            long deleted = jdbc.update(obs.sql, collection, docId, orgId);
+            if (deleted > 0) versions.bump(orgId, collection);
+            return deleted;
+        } finally {
+            obs.finish();
+        }
     }
 
     public List<Map<String, Object>> findAll(String collection) {
-        List<Map<String, Object>> rows = jdbc.query(
-                "SELECT json_data FROM documents WHERE collection_name=?",
-                (rs, rowNum) -> toMap(rs.getString("json_data")),
-                collection
-        );
-        return rows.stream().filter(Objects::nonNull).collect(Collectors.toList());
+        Observation obs = new Observation("findAll", collection);
+        try {
+            obs.sql = "SELECT json_data FROM documents WHERE collection_name=?";
+            List<Map<String, Object>> rows = jdbc.query(obs.sql,
+                    (rs, rowNum) -> obs.decode(rs.getString("json_data")),
+                    collection
+            );
+            return obs.returning(rows.stream().filter(Objects::nonNull).collect(Collectors.toList()));
+        } finally {
+            obs.finish();
+        }
     }
 
     public long deleteByQuery(String collection, Map<String, Object> query, boolean single) {
-        List<Map<String, Object>> matched = filter(collection, query);
-        long deleted = 0;
-        for (Map<String, Object> doc : matched) {
-            Object idObj = doc.get("id");
-            if (idObj == null) {
-                continue;
-            }
-            deleted += jdbc.update("DELETE FROM documents WHERE collection_name=? AND doc_id=?", collection, String.valueOf(idObj));
-            if (single && deleted > 0) {
-                break;
+        Observation obs = new Observation("deleteByQuery", collection);
+        try {
+            List<Map<String, Object>> matched = filter(collection, query, obs);
+            long deleted = 0;
+            for (Map<String, Object> doc : matched) {
+                Object idObj = doc.get("id");
+                if (idObj == null) {
+                    continue;
+                }
+                int removed = jdbc.update("DELETE FROM documents WHERE collection_name=? AND doc_id=?", collection, String.valueOf(idObj));
+                if (removed > 0) versions.bump(value(doc, "org_id"), collection);
+                deleted += removed;
+                if (single && deleted > 0) {
+                    break;
+                }
             }
+            obs.returned = deleted;
+            return deleted;
+        } finally {
+            obs.finish();
         }
-        return deleted;
     }
 
     @Transactional
     public long updateByQuery(String collection, Map<String, Object> query, Map<String, Object> updates, boolean single) {
-        List<Map<String, Object>> matched = filter(collection, query);
-        long updated = 0;
-        for (Map<String, Object> doc : matched) {
-            Object idObj = doc.get("id");
-            if (idObj == null) {
-                continue;
-            }
-            Map<String, Object> merged = new LinkedHashMap<>(doc);
-            merged.putAll(updates);
-            upsert(collection, merged);
-            updated++;
-            if (single) {
-                break;
+        Observation obs = new Observation("updateByQuery", collection);
+        try {
+            List<Map<String, Object>> matched = filter(collection, query, obs);
+            long updated = 0;
+            for (Map<String, Object> doc : matched) {
+                Object idObj = doc.get("id");
+                if (idObj == null) {
+                    continue;
+                }
+                Map<String, Object> merged = new LinkedHashMap<>(doc);
+                merged.putAll(updates);
+                upsert(collection, merged);
+                updated++;
+                if (single) {
+                    break;
+                }
             }
+            obs.returned = updated;
+            return updated;
+        } finally {
+            obs.finish();
         }
-        return updated;
     }
 
     public long count(String collection, Map<String, Object> query) {
+        return singleFlight.execute("count", flightKey("count", orgOf(query), List.of(collection), query),
+                () -> countUncoalesced(collection, query));
+    }
+
+    private long countUncoalesced(String collection, Map<String, Object> query) {
+        Observation obs = new Observation("count", collection);
+        try {
+            SqlQuery built = buildSqlQuery(collection, query);
+            if (built.hasComplexFilters()) {
+                return obs.returning(filter(collection, query, obs)).size();
+            }
+            String sql = "SELECT COUNT(*) FROM documents WHERE collection_name=?" + built.whereClause();
+            List<Object> params = new ArrayList<>();
+            params.add(collection);
+            params.addAll(built.params());
+            obs.sql = sql;
+            Long result = jdbc.queryForObject(sql, Long.class, params.toArray());
+            return result == null ? 0 : result;
+        } finally {
+            obs.finish();
+        }
+    }
+
+    public List<Map<String, Object>> find(String collection, Map<String, Object> query, String sortField, boolean desc, int skip, int limit) {
+        return find(collection, query, sortField, desc, skip, limit, List.of());
+    }
+
+    /**
+     * Returns only {@code fields} of each matching document, built by MySQL with JSON_OBJECT so the rest of
+     * json_data is neither sent nor parsed. Dotted paths come back nested, as in the document, and fields missing
+     * from a document come back as null.
+     */
+    public List<Map<String, Object>> find(String collection, Map<String, Object> query, String sortField, boolean desc,
+                                          int skip, int limit, List<String> fields) {
+        String key = flightKey("find", orgOf(query), List.of(collection), query, sortField, desc, skip, limit, fields);
+        return singleFlight.execute("find", key, () -> {
+            Observation obs = new Observation("find", collection);
+            try {
+                return obs.returning(find(collection, query, sortField, desc, skip, limit, fields, obs));
+            } finally {
+                obs.finish();
+            }
+        });
+    }
+
+    private List<Map<String, Object>> find(String collection, Map<String, Object> query, String sortField, boolean desc,
+                                           int skip, int limit, List<String> fields, Observation obs) {
         SqlQuery built = buildSqlQuery(collection, query);
         if (built.hasComplexFilters()) {
-            return filter(collection, query).size();
+            List<Map<String, Object>> docs = sortAndPage(filter(collection, query, obs), sortField, desc, skip, limit);
+            return fields.isEmpty() ? docs : docs.stream().map(doc -> project(doc, fields)).collect(Collectors.toList());
         }
-        String sql = "SELECT COUNT(*) FROM documents WHERE collection_name=?" + built.whereClause();
-        List<Object> params = new ArrayList<>();
-        params.add(collection);
-        params.addAll(built.params());
-        Long result = jdbc.queryForObject(sql, Long.class, params.toArray());
-        return result == null ? 0 : result;
+
+        obs.sql = selectSql(selectColumn(fields), built, sortField, desc, skip, limit);
+        List<Map<String, Object>> rows = jdbc.query(obs.sql,
+                (rs, rowNum) -> obs.decode(rs.getString(1)),
+                params(collection, built));
+        Stream<Map<String, Object>> docs = rows.stream().filter(Objects::nonNull);
+        return (fields.isEmpty() ? docs : docs.map(SqlDocumentStore::nest)).collect(Collectors.toList());
     }
 
-    public List<Map<String, Object>> find(String collection, Map<String, Object> query, String sortField, boolean desc, int skip, int limit) {
+    public Optional<Map<String, Object>> findOne(String collection, String docId, String orgId, List<String> fields) {
+        if (fields.isEmpty()) return findOne(collection, docId, orgId);
+        return singleFlight.execute("findOne", flightKey("findOne", orgId, List.of(collection), docId, fields), () -> {
+            Observation obs = new Observation("findOne", collection);
+            try {
+                obs.sql = "SELECT " + selectColumn(fields)
+                        + " FROM documents WHERE collection_name=? AND doc_id=? AND (org_id <=> ?) LIMIT 1";
+                List<Map<String, Object>> rows = jdbc.query(obs.sql,
+                        (rs, rowNum) -> obs.decode(rs.getString(1)),
+                        collection, docId, orgId);
+                return obs.returning(rows).stream().filter(Objects::nonNull).map(SqlDocumentStore::nest).findFirst();
+            } finally {
+                obs.finish();
+            }
+        });
+    }
+
+    public static boolean isValidField(String field) {
+        return field != null && FIELD_PATH.matcher(field).matches();
+    }
+
+    /**
+     * Parses a comma-separated {@code fields} parameter into the projection list: {@code id} first, then each
+     * distinct path in request order. Empty when nothing was asked for.
+     */
+    public static List<String> parseFields(String fields) {
+        if (fields == null || fields.isBlank()) return List.of();
+        LinkedHashSet<String> out = new LinkedHashSet<>();
+        out.add("id");
+        for (String field : fields.split(",")) {
+            String value = field.trim();
+            if (value.isEmpty()) continue;
+            if (!isValidField(value)) throw new IllegalArgumentException("Invalid field: " + value);
+            out.add(value);
+        }
+        if (out.size() > MAX_FIELDS) {
+            throw new IllegalArgumentException("Cannot select more than " + MAX_FIELDS + " fields");
+        }
+        return List.copyOf(out);
+    }
+
+    private static String selectColumn(List<String> fields) {
+        if (fields.isEmpty()) return "json_data";
+        StringJoiner projection = new StringJoiner(", ", "JSON_OBJECT(", ") AS projected");
+        for (String field : fields) {
+            if (!isValidField(field)) throw new IllegalArgumentException("Invalid field: " + field);
+            projection.add("'" + field + "', JSON_EXTRACT(json_data, '$." + field + "')");
+        }
+        return projection.toString();
+    }
+
+    private static Map<String, Object> project(Map<String, Object> doc, List<String> fields) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (String field : fields) {
+            Object value = doc;
+            for (String part : field.split("\\.")) {
+                value = value instanceof Map<?, ?> map ? map.get(part) : null;
+            }
+            out.put(field, value);
+        }
+        return nest(out);
+    }
+
+    /**
+     * Turns flat {@code a.b} keys back into nested objects, so a projection has the same shape as the document.
+     * A path under another selected path is dropped, since the shorter one already holds the whole object.
+     */
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> nest(Map<String, Object> flat) {
+        Map<String, Object> out = new LinkedHashMap<>();
+        for (Map.Entry<String, Object> entry : flat.entrySet()) {
+            String[] parts = entry.getKey().split("\\.");
+            String prefix = parts[0];
+            boolean covered = false;
+            for (int i = 1; i < parts.length && !covered; i++) {
+                covered = flat.containsKey(prefix);
+                prefix += "." + parts[i];
+            }
+            if (covered) continue;
+            Map<String, Object> parent = out;
+            for (int i = 0; i < parts.length - 1; i++) {
+                parent = (Map<String, Object>) parent.computeIfAbsent(parts[i], k -> new LinkedHashMap<String, Object>());
+            }
+            parent.put(parts[parts.length - 1], entry.getValue());
+        }
+        return out;
+    }
+
+    /**
+     * Streams matching documents to {@code sink} as the raw json_data text, one row at a time, without decoding
+     * them. Queries that need in-memory filtering fall back to {@link #find} and re-serialize each document.
+     */
+    public void streamRaw(String collection, Map<String, Object> query, String sortField, boolean desc, int limit,
+                          RawDocumentSink sink) throws IOException {
+        Observation obs = new Observation("streamRaw", collection);
+        try {
+            stream(collection, query, sortField, desc, limit, obs, "json_data", List.of(), rs -> {
+                obs.scanned++;
+                obs.returned++;
+                sink.accept(rs.getString("json_data"));
+            }, docs -> {
+                for (Map<String, Object> doc : docs) {
+                    obs.returned++;
+                    sink.accept(toJson(doc));
+                }
+            });
+        } finally {
+            obs.finish();
+        }
+    }
+
+    /**
+     * Like {@link #streamRaw} but decodes each row, so callers can enrich documents while holding only one in memory.
+     */
+    public void stream(String collection, Map<String, Object> query, String sortField, boolean desc, int limit,
+                       DocumentSink sink) throws IOException {
+        stream(collection, query, sortField, desc, limit, null, sink);
+    }
+
+    /**
+     * Like {@link #stream} but also sets {@code lookup.as} on each document that has {@code lookup.keyField}:
+     * the {@code lookup.valueField} of the same org's document with that id in {@code lookup.collection}, or null.
+     * The lookup runs as a subquery of the streaming statement, so no second connection is taken while the
+     * stream holds its own.
+     */
+    public void stream(String collection, Map<String, Object> query, String sortField, boolean desc, int limit,
+                       Lookup lookup, DocumentSink sink) throws IOException {
+        Observation obs = new Observation("stream", collection);
+        try {
+            String column = "json_data";
+            List<Object> columnParams = List.of();
+            if (lookup != null) {
+                column += ", (SELECT JSON_UNQUOTE(JSON_EXTRACT(j.json_data, '$." + lookup.valueField() + "'))"
+                        + " FROM documents j WHERE j.collection_name=?"
+                        + " AND j.doc_id=JSON_UNQUOTE(JSON_EXTRACT(documents.json_data, '$." + lookup.keyField() + "'))"
+                        + " AND j.org_id <=> documents.org_id) AS looked_up";
+                columnParams = List.of(lookup.collection());
+            }
+            stream(collection, query, sortField, desc, limit, obs, column, columnParams, rs -> {
+                Map<String, Object> doc = obs.decode(rs.getString("json_data"));
+                if (doc == null) return;
+                if (lookup != null && !isBlank(doc.get(lookup.keyField()))) {
+                    doc.put(lookup.as(), rs.getString("looked_up"));
+                }
+                obs.returned++;
+                sink.accept(doc);
+            }, docs -> {
+                if (lookup != null) lookUp(docs, lookup);
+                for (Map<String, Object> doc : docs) {
+                    obs.returned++;
+                    sink.accept(doc);
+                }
+            });
+        } finally {
+            obs.finish();
+        }
+    }
+
+    private void lookUp(List<Map<String, Object>> docs, Lookup lookup) {
+        Map<String, Set<String>> keysByOrg = new HashMap<>();
+        for (Map<String, Object> doc : docs) {
+            if (isBlank(doc.get(lookup.keyField())) || value(doc, "org_id") == null) continue;
+            keysByOrg.computeIfAbsent(value(doc, "org_id"), k -> new HashSet<>()).add(value(doc, lookup.keyField()));
+        }
+        Map<String, Map<String, String>> found = new HashMap<>();
+        keysByOrg.forEach((orgId, keys) ->
+                found.put(orgId, fieldByDocId(lookup.collection(), orgId, lookup.valueField(), keys)));
+        for (Map<String, Object> doc : docs) {
+            if (isBlank(doc.get(lookup.keyField()))) continue;
+            Map<String, String> values = found.getOrDefault(value(doc, "org_id"), Map.of());
+            doc.put(lookup.as(), values.get(value(doc, lookup.keyField())));
+        }
+    }
+
+    private static boolean isBlank(Object value) {
+        return value == null || String.valueOf(value).isBlank();
+    }
+
+    @FunctionalInterface
+    private interface RowSink {
+        void accept(ResultSet rs) throws SQLException, IOException;
+    }
+
+    @FunctionalInterface
+    private interface FallbackSink {
+        void accept(List<Map<String, Object>> docs) throws IOException;
+    }
+
+    private void stream(String collection, Map<String, Object> query, String sortField, boolean desc, int limit,
+                        Observation obs, String column, List<Object> columnParams, RowSink rows,
+                        FallbackSink fallback) throws IOException {
         SqlQuery built = buildSqlQuery(collection, query);
         if (built.hasComplexFilters()) {
-            List<Map<String, Object>> docs = filter(collection, query);
-            return sortAndPage(docs, sortField, desc, skip, limit);
+            fallback.accept(sortAndPage(filter(collection, query, obs), sortField, desc, 0, limit));
+            return;
+        }
+        obs.sql = selectSql(column, built, sortField, desc, 0, limit);
+        List<Object> params = new ArrayList<>(columnParams);
+        params.addAll(List.of(params(collection, built)));
+        ArgumentPreparedStatementSetter setter = new ArgumentPreparedStatementSetter(params.toArray());
+        try {
+            jdbc.query(con -> {
+                PreparedStatement ps = con.prepareStatement(obs.sql, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+                ps.setFetchSize(STREAM_FETCH_SIZE);
+                setter.setValues(ps);
+                return ps;
+            }, (RowCallbackHandler) rs -> {
+                try {
+                    rows.accept(rs);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
         }
+    }
 
-        StringBuilder sql = new StringBuilder("SELECT json_data FROM documents WHERE collection_name=?");
+    private static String selectSql(String column, SqlQuery built, String sortField, boolean desc, int skip, int limit) {
+        StringBuilder sql = new StringBuilder("SELECT ").append(column).append(" FROM documents WHERE collection_name=?");
         sql.append(built.whereClause());
-
         if (sortField != null && !sortField.isBlank()) {
-            String direction = desc ? "DESC" : "ASC";
-            sql.append(" ORDER BY JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.").append(sortField).append("')) ").append(direction);
+            sql.append(" ORDER BY ").append(sortExpression(sortField)).append(desc ? " DESC" : " ASC");
         }
         if (limit > 0) {
             sql.append(" LIMIT ").append(limit).append(" OFFSET ").append(Math.max(0, skip));
         }
+        return sql.toString();
+    }
 
+    private static Object[] params(String collection, SqlQuery built) {
         List<Object> params = new ArrayList<>();
         params.add(collection);
         params.addAll(built.params());
+        return params.toArray();
+    }
 
-        List<Map<String, Object>> rows = jdbc.query(sql.toString(),
-                (rs, rowNum) -> toMap(rs.getString("json_data")),
-                params.toArray());
-        return rows.stream().filter(Objects::nonNull).collect(Collectors.toList());
+    public Summary summarize(String orgId, List<CountSpec> counts, List<RecentSpec> recent) {
+        Set<String> collections = new TreeSet<>();
+        counts.forEach(c -> collections.add(c.collection()));
+        recent.forEach(r -> collections.add(r.collection()));
+        return singleFlight.execute("summarize", flightKey("summarize", orgId, collections, counts, recent),
+                () -> summarizeUncoalesced(orgId, counts, recent));
+    }
+
+    private Summary summarizeUncoalesced(String orgId, List<CountSpec> counts, List<RecentSpec> recent) {
+        Observation obs = new Observation("summarize", "*");
+        try {
+            List<String> parts = new ArrayList<>();
+            List<Object> params = new ArrayList<>();
+            for (CountSpec count : counts) {
+                String part = "SELECT 'c' AS kind, ? AS k, NULL AS json_data, COUNT(*) AS n FROM documents"
+                        + " WHERE collection_name=? AND org_id=?";
+                params.addAll(List.of(count.key(), count.collection(), orgId));
+                if (count.status() != null) {
+                    part += " AND status_col=?";
+                    params.add(count.status());
+                }
+                parts.add(part);
+            }
+            for (RecentSpec spec : recent) {
+                parts.add("(SELECT 'r' AS kind, ? AS k, json_data, 0 AS n FROM documents"
+                        + " WHERE collection_name=? AND org_id=?"
+                        + " ORDER BY " + sortExpression(spec.sortField()) + " DESC LIMIT " + Math.max(1, spec.limit()) + ")");
+                params.addAll(List.of(spec.collection(), spec.collection(), orgId));
+            }
+
+            Map<String, Long> countValues = new LinkedHashMap<>();
+            counts.forEach(c -> countValues.put(c.key(), 0L));
+            Map<String, List<Map<String, Object>>> recentValues = new LinkedHashMap<>();
+            recent.forEach(r -> recentValues.put(r.collection(), new ArrayList<>()));
+
+            obs.sql = String.join(" UNION ALL ", parts);
+            jdbc.query(obs.sql, (RowCallbackHandler) rs -> {
+                String key = rs.getString("k");
+                if ("c".equals(rs.getString("kind"))) {
+                    countValues.put(key, rs.getLong("n"));
+                } else {
+                    Map<String, Object> doc = obs.decode(rs.getString("json_data"));
+                    if (doc != null) recentValues.get(key).add(doc);
+                }
+            }, params.toArray());
+            obs.returned = obs.scanned;
+            return new Summary(countValues, recentValues);
+        } finally {
+            obs.finish();
+        }
+    }
+
+    public void scan(String collection, String orgId, int pageSize, Consumer<List<Map<String, Object>>> pageConsumer) {
+        scanJson(collection, orgId, pageSize, page -> pageConsumer.accept(decodeAll(page)));
+    }
+
+    /**
+     * Like {@link #scan} but hands each page over as raw JSON, so callers can decode it with {@link #decodeAll}
+     * on another thread instead of on the one reading the result set.
+     */
+    public void scanJson(String collection, String orgId, int pageSize, Consumer<List<String>> pageConsumer) {
+        long lastId = 0;
+        while (true) {
+            List<Long> ids = new ArrayList<>(pageSize);
+            // One observation per page, so the consumer's work between pages is not timed as store time.
+            Observation obs = new Observation("scanJson", collection);
+            List<String> page;
+            try {
+                obs.sql = "SELECT id, json_data FROM documents WHERE collection_name=? AND org_id=? AND id>? ORDER BY id LIMIT ?";
+                page = obs.returning(jdbc.query(obs.sql,
+                        (rs, rowNum) -> {
+                            ids.add(rs.getLong("id"));
+                            return rs.getString("json_data");
+                        },
+                        collection, orgId, lastId, pageSize));
+                obs.scanned = page.size();
+            } finally {
+                obs.finish();
+            }
+            if (ids.isEmpty()) {
+                return;
+            }
+            lastId = ids.get(ids.size() - 1);
+            pageConsumer.accept(page);
+            if (ids.size() < pageSize) {
+                return;
+            }
+        }
+    }
+
+    public List<Map<String, Object>> decodeAll(List<String> json) {
+        List<Map<String, Object>> docs = new ArrayList<>(json.size());
+        for (String value : json) {
+            Map<String, Object> doc = toMap(value);
+            if (doc != null) docs.add(doc);
+        }
+        return docs;
+    }
+
+    public Map<String, String> fieldByDocId(String collection, String orgId, String field, Collection<String> docIds) {
+        if (docIds.isEmpty()) return new HashMap<>();
+        Observation obs = new Observation("fieldByDocId", collection);
+        try {
+            obs.sql = "SELECT doc_id, JSON_UNQUOTE(JSON_EXTRACT(json_data, '$." + field + "')) AS v"
+                    + " FROM documents WHERE collection_name=? AND org_id=? AND doc_id IN ("
+                    + String.join(",", Collections.nCopies(docIds.size(), "?")) + ")";
+            List<Object> params = new ArrayList<>(List.of(collection, orgId));
+            params.addAll(docIds);
+            Map<String, String> values = new HashMap<>();
+            jdbc.query(obs.sql, (RowCallbackHandler) rs -> values.put(rs.getString("doc_id"), rs.getString("v")),
+                    params.toArray());
+            obs.scanned = obs.returned = values.size();
+            return values;
+        } finally {
+            obs.finish();
+        }
+    }
+
+    public Map<String, Map<String, Object>> findByDocIds(String collection, String orgId, Collection<String> docIds) {
+        if (docIds.isEmpty()) return new HashMap<>();
+        Observation obs = new Observation("findByDocIds", collection);
+        try {
+            obs.sql = "SELECT doc_id, json_data FROM documents WHERE collection_name=? AND org_id=? AND doc_id IN ("
+                    + String.join(",", Collections.nCopies(docIds.size(), "?")) + ")";
+            List<Object> params = new ArrayList<>(List.of(collection, orgId));
+            params.addAll(docIds);
+            Map<String, Map<String, Object>> docs = new HashMap<>();
+            jdbc.query(obs.sql, (RowCallbackHandler) rs -> {
+                Map<String, Object> doc = obs.decode(rs.getString("json_data"));
+                if (doc != null) docs.put(rs.getString("doc_id"), doc);
+            }, params.toArray());
+            obs.scanned = obs.returned = docs.size();
+            return docs;
+        } finally {
+            obs.finish();
+        }
+    }
+
+    /**
+     * Version of the org's data in {@code collections} for cache keys. Collections registered through
+     * {@link #shareWriteVersions} are read from the database, so writes made by other nodes change it too.
+     */
+    public long writeVersion(String orgId, Collection<String> collections) {
+        return versions.sharedVersion(orgId, collections);
+    }
+
+    /** Registers collections whose cached reads must be invalidated by writes on any node. */
+    public void shareWriteVersions(Collection<String> collections) {
+        versions.share(collections);
     }
 
     private List<Map<String, Object>> sortAndPage(List<Map<String, Object>> docs, String sortField, boolean desc, int skip, int limit) {
@@ -160,12 +816,19 @@ public class SqlDocumentStore {
     }
 
     public List<String> distinct(String collection, String field, Map<String, Object> query) {
-        return filter(collection, query).stream()
-                .map(d -> d.get(field))
-                .filter(Objects::nonNull)
-                .map(String::valueOf)
-                .distinct()
-                .collect(Collectors.toList());
+        return singleFlight.execute("distinct", flightKey("distinct", orgOf(query), List.of(collection), field, query), () -> {
+            Observation obs = new Observation("distinct", collection);
+            try {
+                return obs.returning(filter(collection, query, obs).stream()
+                        .map(d -> d.get(field))
+                        .filter(Objects::nonNull)
+                        .map(String::valueOf)
+                        .distinct()
+                        .collect(Collectors.toList()));
+            } finally {
+                obs.finish();
+            }
+        });
     }
 
     public void updateFields(String collection, String docId, Map<String, Object> updates) {
@@ -180,10 +843,49 @@ public class SqlDocumentStore {
         upsert(collection, existing);
     }
 
+    @FunctionalInterface
+    public interface RawDocumentSink {
+        void accept(String json) throws IOException;
+    }
+
+    @FunctionalInterface
+    public interface DocumentSink {
+        void accept(Map<String, Object> doc) throws IOException;
+    }
+
+    public record Lookup(String collection, String keyField, String valueField, String as) {
+        public Lookup {
+            if (!isValidField(keyField) || !isValidField(valueField)) {
+                throw new IllegalArgumentException("Invalid lookup field");
+            }
+        }
+    }
+
+    public record CountSpec(String key, String collection, String status) {}
+
+    public record RecentSpec(String collection, String sortField, int limit) {}
+
+    public record Summary(Map<String, Long> counts, Map<String, List<Map<String, Object>>> recent) {}
+
+    private static final Map<String, String> FILTER_COLUMNS = Map.of("org_id", "org_id", "status", "status_col");
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "created_at", "created_at_col", "triggered_at", "triggered_at_col");
+
+    private static String sortExpression(String field) {
+        String column = SORT_COLUMNS.get(field);
+        return column != null ? column : "JSON_UNQUOTE(JSON_EXTRACT(json_data, '$." + field + "'))";
+    }
+
     private static final Set<String> SIMPLE_FIELDS = Set.of("org_id", "id", "status", "is_active",
             "collection_name", "source_type", "rule_id", "supplier_id", "rfq_id",
             "normalized_product_id", "project_id", "email", "role");
 
+    private static final int MAX_FIELDS = 50;
+    // JSON_UNQUOTE yields utf8mb4_bin, so >= matches the String.compareTo used by the in-memory filter.
+    private static final Pattern FIELD_PATH = Pattern.compile("[A-Za-z_][A-Za-z0-9_]*(\\.[A-Za-z_][A-Za-z0-9_]*)*");
+
+    private static final Set<String> RANGE_FIELDS = Set.of("created_at", "observed_at", "triggered_at");
+
     private record SqlQuery(String whereClause, List<Object> params, boolean hasComplexFilters) {}
 
     private SqlQuery buildSqlQuery(String collection, Map<String, Object> query) {
@@ -194,11 +896,19 @@ public class SqlDocumentStore {
         for (Map.Entry<String, Object> e : query.entrySet()) {
             String field = e.getKey();
             Object value = e.getValue();
-            if (value instanceof Map<?, ?>) {
-                hasComplex = true;
+            if (value instanceof Map<?, ?> op) {
+                if (RANGE_FIELDS.contains(field) && op.size() == 1 && op.get("$gte") != null) {
+                    where.append(" AND JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.").append(field).append("'))>=?");
+                    params.add(String.valueOf(op.get("$gte")));
+                } else {
+                    hasComplex = true;
+                }
                 continue;
             }
-            if (SIMPLE_FIELDS.contains(field)) {
+            if (FILTER_COLUMNS.containsKey(field)) {
+                where.append(" AND ").append(FILTER_COLUMNS.get(field)).append("=?");
+                params.add(String.valueOf(value));
+            } else if (SIMPLE_FIELDS.contains(field)) {
                 where.append(" AND JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.").append(field).append("'))=?");
                 params.add(String.valueOf(value));
             } else {
@@ -208,21 +918,23 @@ public class SqlDocumentStore {
         return new SqlQuery(where.toString(), params, hasComplex);
     }
 
-    private List<Map<String, Object>> filter(String collection, Map<String, Object> query) {
+    private List<Map<String, Object>> filter(String collection, Map<String, Object> query, Observation obs) {
         SqlQuery built = buildSqlQuery(collection, query);
         String sql = "SELECT json_data FROM documents WHERE collection_name=?" + built.whereClause();
         List<Object> params = new ArrayList<>();
         params.add(collection);
         params.addAll(built.params());
 
+        obs.sql = sql;
         List<Map<String, Object>> rows = jdbc.query(sql,
-                (rs, rowNum) -> toMap(rs.getString("json_data")),
+                (rs, rowNum) -> obs.decode(rs.getString("json_data")),
                 params.toArray());
         List<Map<String, Object>> clean = rows.stream().filter(Objects::nonNull).collect(Collectors.toList());
 
         if (!built.hasComplexFilters()) {
             return clean;
         }
+        obs.inMemory = true;
         return clean.stream().filter(doc -> matches(doc, query)).collect(Collectors.toList());
     }
 
@@ -291,6 +1003,19 @@ public class SqlDocumentStore {
         }
     }
 
+    private static long utf8Length(String value) {
+        if (value == null) return 0;
+        long bytes = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) bytes++;
+            else if (c < 0x800) bytes += 2;
+            else if (Character.isHighSurrogate(c)) { bytes += 4; i++; }
+            else bytes += 3;
+        }
+        return bytes;
+    }
+
     @SuppressWarnings("unchecked")
     private Comparable<Object> comparableValue(Object value) {
         if (value == null) {
@@ -0,0 +1,6 @@
+CREATE TABLE IF NOT EXISTS collection_versions (
+    org_id          VARCHAR(128) NOT NULL,
+    collection_name VARCHAR(128) NOT NULL,
+    version         BIGINT       NOT NULL,
+    PRIMARY KEY (org_id, collection_name)
+);
@@ -0,0 +1,38 @@
+CREATE TABLE IF NOT EXISTS latest_prices (
+    org_id         VARCHAR(128)  NOT NULL,
+    product_id     VARCHAR(128)  NOT NULL,
+    supplier_id    VARCHAR(128)  NOT NULL,
+    unit_price     DOUBLE        NOT NULL,
+    currency       VARCHAR(16)   NULL,
+    uom            VARCHAR(64)   NULL,
+    observed_at    DATETIME(6)   NOT NULL,
+    price_point_id VARCHAR(128)  NOT NULL,
+    updated_at     TIMESTAMP     NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (org_id, product_id, supplier_id),
+    INDEX idx_latest_prices_best (org_id, product_id, unit_price)
+);
+
+INSERT IGNORE INTO latest_prices (org_id, product_id, supplier_id, unit_price, currency, uom, observed_at, price_point_id)
+SELECT org_id, product_id, supplier_id, unit_price, currency, uom, observed_at, price_point_id
+FROM (
+    SELECT org_id,
+           JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.normalized_product_id'))                           AS product_id,
+           JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.supplier_id'))                                     AS supplier_id,
+           CAST(JSON_EXTRACT(json_data, '$.unit_price_normalized') AS DOUBLE)                         AS unit_price,
+           JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.currency'))                                        AS currency,
+           JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.uom_normalized'))                                  AS uom,
+           CAST(REPLACE(REPLACE(JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.observed_at')), 'T', ' '), 'Z', '') AS DATETIME(6)) AS observed_at,
+           doc_id                                                                                     AS price_point_id,
+           ROW_NUMBER() OVER (
+               PARTITION BY org_id,
+                            JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.normalized_product_id')),
+                            JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.supplier_id'))
+               ORDER BY JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.observed_at')) DESC
+           ) AS rn
+    FROM documents
+    WHERE collection_name = 'price_points'
+      AND org_id IS NOT NULL
+      AND JSON_TYPE(JSON_EXTRACT(json_data, '$.supplier_id')) = 'STRING'
+      AND JSON_TYPE(JSON_EXTRACT(json_data, '$.normalized_product_id')) = 'STRING'
+) ranked
+WHERE rn = 1;
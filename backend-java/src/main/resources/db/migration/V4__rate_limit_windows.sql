@@ -0,0 +1,8 @@
+CREATE TABLE IF NOT EXISTS rate_limit_windows (
+    limit_key    VARCHAR(255) NOT NULL,
+    window_start BIGINT       NOT NULL,
+    consumed     INT          NOT NULL DEFAULT 0,
+    updated_at   TIMESTAMP    NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+    PRIMARY KEY (limit_key, window_start),
+    INDEX idx_rate_limit_windows_start (window_start)
+);
@@ -0,0 +1,24 @@
+CREATE TABLE IF NOT EXISTS auth_sessions (
+    jti         VARCHAR(64)  NOT NULL PRIMARY KEY,
+    org_id      VARCHAR(128) NOT NULL,
+    user_id     VARCHAR(128) NOT NULL,
+    email       VARCHAR(255) NULL,
+    ip          VARCHAR(64)  NULL,
+    user_agent  VARCHAR(255) NULL,
+    issued_at   DATETIME(6)  NOT NULL,
+    expires_at  DATETIME(6)  NOT NULL,
+    revoked_at  DATETIME(6)  NULL,
+    INDEX idx_auth_sessions_user (org_id, user_id, expires_at),
+    INDEX idx_auth_sessions_expires (expires_at)
+);
+
+CREATE TABLE IF NOT EXISTS token_revocations (
+    seq         BIGINT AUTO_INCREMENT PRIMARY KEY,
+    jti         VARCHAR(64)  NOT NULL,
+    org_id      VARCHAR(128) NULL,
+    user_id     VARCHAR(128) NULL,
+    expires_at  DATETIME(6)  NOT NULL,
+    revoked_at  DATETIME(6)  NOT NULL DEFAULT CURRENT_TIMESTAMP(6),
+    UNIQUE KEY uk_token_revocations_jti (jti),
+    INDEX idx_token_revocations_expires (expires_at)
+);
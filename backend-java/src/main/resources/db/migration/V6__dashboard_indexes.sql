@@ -0,0 +1,5 @@
+ALTER TABLE documents
+    ADD COLUMN triggered_at_col VARCHAR(40) GENERATED ALWAYS AS (JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.triggered_at'))) VIRTUAL;
+
+CREATE INDEX idx_collection_org_triggered
+    ON documents (collection_name, org_id, triggered_at_col);
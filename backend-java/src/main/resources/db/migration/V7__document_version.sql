@@ -0,0 +1,2 @@
+ALTER TABLE documents
+    ADD COLUMN version BIGINT NOT NULL DEFAULT 1;
@@ -0,0 +1,56 @@
+CREATE TABLE IF NOT EXISTS rfq_invitations (
+    org_id       VARCHAR(128) NOT NULL,
+    rfq_id       VARCHAR(128) NOT NULL,
+    supplier_id  VARCHAR(128) NOT NULL,
+    invited_at   DATETIME(6)  NOT NULL,
+    responded_at DATETIME(6)  NULL,
+    PRIMARY KEY (org_id, rfq_id, supplier_id)
+);
+
+-- Invitations already counted on scorecards, so re-sends and late quotes are not counted twice.
+INSERT IGNORE INTO rfq_invitations (org_id, rfq_id, supplier_id, invited_at)
+SELECT d.org_id,
+       d.doc_id,
+       s.supplier_id,
+       COALESCE(CAST(REPLACE(REPLACE(JSON_UNQUOTE(JSON_EXTRACT(d.json_data, '$.sent_at')), 'T', ' '), 'Z', '') AS DATETIME(6)),
+                d.created_at)
+FROM documents d,
+     JSON_TABLE(d.json_data, '$.supplier_ids[*]' COLUMNS (supplier_id VARCHAR(128) PATH '$')) s
+WHERE d.collection_name = 'rfqs'
+  AND d.org_id IS NOT NULL
+  AND JSON_UNQUOTE(JSON_EXTRACT(d.json_data, '$.status')) = 'sent'
+  AND s.supplier_id IS NOT NULL;
+
+UPDATE rfq_invitations i
+JOIN (
+    SELECT org_id,
+           JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.rfq_id'))      AS rfq_id,
+           JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.supplier_id')) AS supplier_id,
+           MIN(created_at)                                        AS first_quote_at
+    FROM documents
+    WHERE collection_name = 'quotes'
+      AND JSON_TYPE(JSON_EXTRACT(json_data, '$.rfq_id')) = 'STRING'
+    GROUP BY org_id, rfq_id, supplier_id
+) q ON q.org_id = i.org_id AND q.rfq_id = i.rfq_id AND q.supplier_id = i.supplier_id
+SET i.responded_at = q.first_quote_at;
+
+-- Scorecards start from the backfilled invitations so response rates stay consistent with them.
+INSERT INTO documents (collection_name, doc_id, org_id, json_data)
+SELECT 'supplier_scorecards',
+       c.supplier_id,
+       c.org_id,
+       JSON_OBJECT('id', c.supplier_id, 'org_id', c.org_id, 'supplier_id', c.supplier_id,
+                   'quote_count', 0, 'quoted_amount_total', 0.0,
+                   'rfq_invited', c.invited, 'rfq_responded', c.responded,
+                   'response_latency_samples', 0, 'response_latency_hours_total', 0.0,
+                   'rank_samples', 0, 'rank_sum', 0,
+                   'volatility_samples', 0, 'volatility_sum', 0.0, 'volatility_sum_sq', 0.0,
+                   'updated_at', DATE_FORMAT(UTC_TIMESTAMP(6), '%Y-%m-%dT%H:%i:%s.%fZ'))
+FROM (
+    SELECT org_id, supplier_id, COUNT(*) AS invited, COUNT(responded_at) AS responded
+    FROM rfq_invitations
+    GROUP BY org_id, supplier_id
+) c
+ON DUPLICATE KEY UPDATE json_data = JSON_SET(documents.json_data,
+        '$.rfq_invited', c.invited,
+        '$.rfq_responded', c.responded);
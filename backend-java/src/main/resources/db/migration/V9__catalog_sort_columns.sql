@@ -0,0 +1,9 @@
+ALTER TABLE documents
+    ADD COLUMN name_col     VARCHAR(255) GENERATED ALWAYS AS (LEFT(JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.canonical_name')), 255)) VIRTUAL,
+    ADD COLUMN category_col VARCHAR(128) GENERATED ALWAYS AS (LEFT(JSON_UNQUOTE(JSON_EXTRACT(json_data, '$.category')), 128)) VIRTUAL;
+
+CREATE INDEX idx_collection_org_name
+    ON documents (collection_name, org_id, name_col, doc_id);
+
+CREATE INDEX idx_collection_org_category_name
+    ON documents (collection_name, org_id, category_col, name_col, doc_id);
@@ -0,0 +1,99 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.api.AdaptiveConcurrencyLimiter.EndpointClass;
+import com.constructiq.backendjava.api.AdaptiveConcurrencyLimiter.Permit;
+import com.constructiq.backendjava.api.AdaptiveConcurrencyLimiter.Rejection;
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveConcurrencyLimiterTest {
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, double orgShare) {
+        ConstructIQProperties props = new ConstructIQProperties();
+        props.setConcurrencyLimitInitial(initial);
+        props.setConcurrencyLimitMin(2);
+        props.setConcurrencyLimitMax(100);
+        props.setConcurrencyLimitOrgShare(orgShare);
+        return new AdaptiveConcurrencyLimiter(props);
+    }
+
+    @Test
+    void classify_groupsEndpoints() {
+        assertEquals(EndpointClass.AUTH, AdaptiveConcurrencyLimiter.classify("POST", "/api/auth/login"));
+        assertEquals(EndpointClass.ANALYTICS, AdaptiveConcurrencyLimiter.classify("GET", "/api/dashboard/stats"));
+        assertEquals(EndpointClass.READ, AdaptiveConcurrencyLimiter.classify("GET", "/api/projects"));
+        assertEquals(EndpointClass.WRITE, AdaptiveConcurrencyLimiter.classify("POST", "/api/quotes"));
+    }
+
+    @Test
+    void tryAcquire_capsSingleOrgAtShareOfClassLimit() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 0.5);
+        List<Permit> held = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            Permit permit = limiter.tryAcquire(EndpointClass.READ, "org-a");
+            assertTrue(permit.acquired());
+            held.add(permit);
+        }
+
+        Permit rejected = limiter.tryAcquire(EndpointClass.READ, "org-a");
+        assertEquals(Rejection.ORG_LIMIT, rejected.rejection());
+        assertTrue(limiter.tryAcquire(EndpointClass.READ, "org-b").acquired());
+        assertTrue(limiter.tryAcquire(EndpointClass.WRITE, "org-a").acquired());
+
+        limiter.release(held.get(0), 1_000_000);
+        assertEquals(4, limiter.orgInflight(EndpointClass.READ, "org-a"));
+        assertTrue(limiter.tryAcquire(EndpointClass.READ, "org-a").acquired());
+    }
+
+    @Test
+    void tryAcquire_rejectsWhenClassLimitIsFull() {
+        AdaptiveConcurrencyLimiter limiter = limiter(4, 1.0);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(limiter.tryAcquire(EndpointClass.WRITE, "org-" + i).acquired());
+        }
+        assertEquals(Rejection.CLASS_LIMIT, limiter.tryAcquire(EndpointClass.WRITE, "org-9").rejection());
+    }
+
+    @Test
+    void tryAcquire_recordsInflightAtAdmission() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 1.0);
+        Permit first = limiter.tryAcquire(EndpointClass.READ, "org-a");
+        Permit second = limiter.tryAcquire(EndpointClass.READ, "org-a");
+        limiter.release(first, 1_000_000);
+        Permit third = limiter.tryAcquire(EndpointClass.READ, "org-a");
+
+        assertEquals(1, first.inflightAtStart());
+        assertEquals(2, second.inflightAtStart());
+        assertEquals(2, third.inflightAtStart());
+    }
+
+    @Test
+    void release_shrinksLimitWhenLatencyRisesAndGrowsWhenSaturatedButFast() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 1.0);
+        AdaptiveConcurrencyLimiter.ClassLimit read = limiter.limit(EndpointClass.READ);
+
+        for (int i = 0; i < 50; i++) cycle(limiter, 30, 10_000_000L);
+        int steady = read.limit();
+
+        for (int i = 0; i < 50; i++) cycle(limiter, 30, 200_000_000L);
+        int congested = read.limit();
+        assertTrue(congested < steady, steady + " -> " + congested);
+
+        for (int i = 0; i < 300; i++) cycle(limiter, congested, 10_000_000L);
+        assertTrue(read.limit() > congested, congested + " -> " + read.limit());
+    }
+
+    private void cycle(AdaptiveConcurrencyLimiter limiter, int concurrency, long rttNanos) {
+        List<Permit> permits = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            Permit permit = limiter.tryAcquire(EndpointClass.READ, "org-a");
+            if (permit.acquired()) permits.add(permit);
+        }
+        for (Permit permit : permits) limiter.release(permit, rttNanos);
+    }
+}
@@ -0,0 +1,131 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.controller.ProjectController;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.constructiq.backendjava.observability.SlowRequestLog;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.annotation.AnnotationConfigUtils;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.mock.web.MockServletConfig;
+import org.springframework.mock.web.MockServletContext;
+import org.springframework.web.context.support.GenericWebApplicationContext;
+import org.springframework.web.servlet.DispatcherServlet;
+import org.springframework.web.servlet.config.annotation.EnableWebMvc;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class BatchDispatcherTest {
+
+    @Configuration
+    @EnableWebMvc
+    static class WebMvc {
+    }
+
+    @Mock
+    private SqlDocumentStore store;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private ConstructIQProperties props;
+    private GenericWebApplicationContext context;
+    private DispatcherServlet servlet;
+    private BatchDispatcher dispatcher;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        props = new ConstructIQProperties();
+        props.setDemoMode(true);
+        props.setDemoOrgId("org-1");
+        props.setBatchConcurrency(2);
+
+        context = new GenericWebApplicationContext(new MockServletContext());
+        AnnotationConfigUtils.registerAnnotationConfigProcessors(context);
+        context.registerBean(WebMvc.class);
+        context.registerBean(ProjectController.class, () -> new ProjectController(store, props));
+        context.registerBean(ApiExceptionHandler.class);
+        context.refresh();
+        servlet = new DispatcherServlet(context);
+        servlet.init(new MockServletConfig());
+        dispatcher = new BatchDispatcher(servlet, mapper, props, List.of());
+    }
+
+    @AfterEach
+    void tearDown() {
+        context.close();
+    }
+
+    @Test
+    void execute_returnsResultsInOrderWithPerItemStatus() throws Exception {
+        when(store.findOne("projects", "p1", "org-1")).thenReturn(Optional.of(Map.of("id", "p1", "org_id", "org-1")));
+        when(store.findOne("projects", "missing", "org-1")).thenReturn(Optional.empty());
+        when(store.count(eq("projects"), eq(Map.of("org_id", "org-1", "status", "on hold")))).thenReturn(0L);
+        when(store.find(eq("projects"), anyMap(), eq("created_at"), eq(true), eq(10), eq(10), eq(List.of())))
+                .thenReturn(List.of());
+
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/batch");
+        request.addHeader("If-None-Match", "*");
+        List<BatchDispatcher.Result> results = dispatcher.execute(request, new MockHttpServletResponse(), List.of(
+                new BatchDispatcher.SubRequest("GET", "/api/projects/p1"),
+                new BatchDispatcher.SubRequest("GET", "/api/projects?page=2&status=on%20hold"),
+                new BatchDispatcher.SubRequest("GET", "/api/projects/missing"),
+                new BatchDispatcher.SubRequest("DELETE", "/api/projects/p1"),
+                new BatchDispatcher.SubRequest("GET", "/api/batch")));
+
+        assertEquals(List.of(200, 200, 404, 405, 400), results.stream().map(BatchDispatcher.Result::status).toList());
+        assertTrue(results.get(0).isJson());
+        assertEquals("p1", mapper.readTree(results.get(0).body()).get("id").asText());
+        JsonNode page = mapper.readTree(results.get(1).body());
+        assertEquals(2, page.get("page").asInt());
+        assertEquals("Project not found", mapper.readTree(results.get(2).body()).get("detail").asText());
+        verify(store, never()).deleteOne(any(), any(), any());
+    }
+
+    @Test
+    void execute_chargesRateLimitAndRecordsMetricsPerItem() {
+        props.setRateLimitEnabled(true);
+        props.setRateLimitPerMinute(2);
+        props.setRateLimitRoutePolicies("");
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        RateLimiter limiter = new RateLimiter(props, () -> 0L);
+        dispatcher = new BatchDispatcher(servlet, mapper, props, List.of(
+                new RequestLoggingFilter(registry, new SlowRequestLog(props)),
+                new RateLimitFilter(props, registry, limiter)));
+        when(store.findOne(eq("projects"), anyString(), eq("org-1"))).thenReturn(Optional.of(Map.of("id", "p1")));
+
+        List<BatchDispatcher.Result> results = dispatcher.execute(new MockHttpServletRequest("POST", "/api/batch"),
+                new MockHttpServletResponse(), List.of(
+                        new BatchDispatcher.SubRequest("GET", "/api/projects/p1"),
+                        new BatchDispatcher.SubRequest("GET", "/api/projects/p2"),
+                        new BatchDispatcher.SubRequest("GET", "/api/projects/p3")));
+
+        assertEquals(List.of(200, 200, 429), results.stream().map(BatchDispatcher.Result::status).sorted().toList());
+        Timer timer = registry.find("constructiq_http_request_seconds").tag("route", "/api/projects/{projectId}").timer();
+        assertNotNull(timer);
+        assertEquals(3, registry.find("constructiq_http_request_seconds").timers().stream().mapToLong(Timer::count).sum());
+        assertEquals(3, registry.find("constructiq_http_request_queries").summaries().stream()
+                .mapToLong(DistributionSummary::count).sum());
+        assertEquals(2, registry.get("constructiq_rate_limit_allowed_total")
+                .tag("route", "/api/projects/{projectId}").counter().count());
+        assertEquals(1, registry.get("constructiq_rate_limit_blocked_total")
+                .tags("route", "unmatched", "policy", "/**").counter().count());
+    }
+}
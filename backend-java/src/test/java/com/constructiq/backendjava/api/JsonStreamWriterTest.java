@@ -0,0 +1,46 @@
+package com.constructiq.backendjava.api;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class JsonStreamWriterTest {
+
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Test
+    void write_closesJsonOnSuccess() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        JsonStreamWriter.write(response, mapper, json -> {
+            json.writeStartObject();
+            json.writeArrayFieldStart("price_points");
+            json.writeNumber(1);
+            json.writeEndArray();
+            json.writeEndObject();
+        });
+
+        assertEquals("{\"price_points\":[1]}", response.getContentAsString());
+    }
+
+    @Test
+    void write_failureMidStream_leavesResponseTruncated() throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(DataAccessResourceFailureException.class, () -> JsonStreamWriter.write(response, mapper, json -> {
+            json.writeStartObject();
+            json.writeArrayFieldStart("price_points");
+            json.writeNumber(1);
+            json.flush();
+            throw new DataAccessResourceFailureException("connection lost");
+        }));
+
+        String body = response.getContentAsString();
+        assertEquals("{\"price_points\":[1", body);
+        assertThrows(JsonProcessingException.class, () -> mapper.readTree(body));
+    }
+}
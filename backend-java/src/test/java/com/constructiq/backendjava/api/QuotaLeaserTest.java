@@ -0,0 +1,237 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class QuotaLeaserTest {
+
+    private final AtomicLong now = new AtomicLong(QuotaLeaser.WINDOW_MILLIS * 1000);
+    private final Map<String, Integer> consumed = new ConcurrentHashMap<>();
+    private final AtomicInteger grantCalls = new AtomicInteger();
+    private ConstructIQProperties props;
+
+    @BeforeEach
+    void setUp() {
+        props = new ConstructIQProperties();
+        props.setRateLimitLeaseSize(20);
+    }
+
+    private QuotaLeaser node() {
+        return new QuotaLeaser(null, null, props, new SimpleMeterRegistry(), now::get) {
+            @Override
+            int grant(String key, long window, int limit, int amount) {
+                grantCalls.incrementAndGet();
+                String slot = key + "@" + window;
+                int[] granted = new int[1];
+                consumed.compute(slot, (k, used) -> {
+                    int current = used == null ? 0 : used;
+                    granted[0] = Math.max(0, Math.min(amount, limit - current));
+                    return current + granted[0];
+                });
+                return granted[0];
+            }
+
+            @Override
+            void release(String key, long window, int amount) {
+                consumed.computeIfPresent(key + "@" + window, (k, used) -> Math.max(0, used - amount));
+            }
+        };
+    }
+
+    @Test
+    void tryConsume_spendsLeasesLocallyAndEnforcesGlobalLimit() {
+        QuotaLeaser a = node();
+        QuotaLeaser b = node();
+        int allowed = 0;
+        for (int i = 0; i < 100; i++) {
+            if (a.tryConsume("1.1.1.1|/api/projects", 60) == 0) allowed++;
+            if (b.tryConsume("1.1.1.1|/api/projects", 60) == 0) allowed++;
+        }
+
+        assertEquals(60, allowed);
+        assertTrue(grantCalls.get() <= 10, "grant calls " + grantCalls.get());
+        assertTrue(a.tryConsume("1.1.1.1|/api/projects", 60) > 0);
+    }
+
+    @Test
+    void flush_returnsIdleQuotaToSharedWindow() {
+        QuotaLeaser a = node();
+        QuotaLeaser b = node();
+        assertEquals(0, a.tryConsume("k", 60));
+
+        now.addAndGet(QuotaLeaser.IDLE_RETURN_MILLIS);
+        a.flush();
+
+        int allowed = 0;
+        for (int i = 0; i < 100; i++) {
+            if (b.tryConsume("k", 60) == 0) allowed++;
+        }
+        assertEquals(59, allowed);
+    }
+
+    @Test
+    void tryConsume_startsFreshQuotaInNextWindow() {
+        QuotaLeaser a = node();
+        for (int i = 0; i < 10; i++) a.tryConsume("k", 10);
+        assertTrue(a.tryConsume("k", 10) > 0);
+
+        now.addAndGet(QuotaLeaser.WINDOW_MILLIS);
+        assertEquals(0, a.tryConsume("k", 10));
+    }
+
+    @Test
+    void rateLimiter_fallsBackToLocalLimitsWhenLeasingFails() {
+        props.setRateLimitPerMinute(2);
+        QuotaLeaser broken = new QuotaLeaser(null, null, props, new SimpleMeterRegistry(), now::get) {
+            @Override
+            int grant(String key, long window, int limit, int amount) {
+                throw new IllegalStateException("database unavailable");
+            }
+        };
+        RateLimiter limiter = new RateLimiter(props, broken, () -> now.get() * 1_000_000L);
+
+        assertTrue(limiter.tryAcquire("1.1.1.1", "/api/projects").allowed());
+        assertTrue(limiter.tryAcquire("1.1.1.1", "/api/projects").allowed());
+        assertFalse(limiter.tryAcquire("1.1.1.1", "/api/projects").allowed());
+    }
+
+    @Test
+    void failedGrant_backsOffAndFailsFastUntilRetryTime() {
+        QuotaLeaser broken = new QuotaLeaser(null, null, props, new SimpleMeterRegistry(), now::get) {
+            @Override
+            int grant(String key, long window, int limit, int amount) {
+                grantCalls.incrementAndGet();
+                throw new IllegalStateException("database unavailable");
+            }
+        };
+
+        assertThrows(IllegalStateException.class, () -> broken.tryConsume("k", 60));
+        assertThrows(QuotaLeaser.LeaseUnavailableException.class, () -> broken.tryConsume("k", 60));
+        assertThrows(QuotaLeaser.LeaseUnavailableException.class, () -> broken.tryConsume("other", 60));
+        assertEquals(1, grantCalls.get());
+
+        now.addAndGet(QuotaLeaser.FAILURE_BACKOFF_MILLIS);
+        assertThrows(IllegalStateException.class, () -> broken.tryConsume("k", 60));
+        assertEquals(2, grantCalls.get());
+    }
+
+    @Test
+    void concurrentRefill_runsOneGrantOutsideAnyLockAndSharesIt() throws Exception {
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        QuotaLeaser slow = new QuotaLeaser(null, null, props, new SimpleMeterRegistry(), now::get) {
+            @Override
+            int grant(String key, long window, int limit, int amount) {
+                grantCalls.incrementAndGet();
+                entered.countDown();
+                try {
+                    assertTrue(release.await(5, TimeUnit.SECONDS));
+                } catch (InterruptedException e) {
+                    throw new IllegalStateException(e);
+                }
+                return amount;
+            }
+        };
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Long> leader = pool.submit(() -> slow.tryConsume("k", 60));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            assertThrows(QuotaLeaser.LeaseUnavailableException.class, () -> slow.tryConsume("k", 60),
+                    "a caller must not queue behind a refill for longer than the refill wait");
+
+            Future<Long> follower = pool.submit(() -> slow.tryConsume("k", 60));
+            Thread.sleep(QuotaLeaser.REFILL_WAIT_MILLIS / 4);
+            release.countDown();
+
+            assertEquals(0, leader.get(5, TimeUnit.SECONDS));
+            assertEquals(0, follower.get(5, TimeUnit.SECONDS));
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(1, grantCalls.get());
+    }
+
+    @Test
+    void grant_locksWindowRowAndConsumesAtMostTheRemainder() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbc.queryForObject(
+                "SELECT consumed FROM rate_limit_windows WHERE limit_key=? AND window_start=? FOR UPDATE",
+                Integer.class, "k", 7L)).thenReturn(50);
+        QuotaLeaser leaser = new QuotaLeaser(jdbc, txManager, props, new SimpleMeterRegistry(), now::get);
+
+        assertEquals(10, leaser.grant("k", 7, 60, 20));
+
+        verify(jdbc).update("INSERT IGNORE INTO rate_limit_windows(limit_key, window_start, consumed) VALUES (?, ?, 0)", "k", 7L);
+        verify(jdbc).update("UPDATE rate_limit_windows SET consumed = consumed + ? WHERE limit_key=? AND window_start=?",
+                10, "k", 7L);
+        verify(txManager).commit(any());
+    }
+
+    @Test
+    void tryConsume_evictsInMemoryWhenFullAndFlushReturnsEvictedQuota() {
+        props.setRateLimitMaxKeys(2);
+        QuotaLeaser a = node();
+        assertEquals(0, a.tryConsume("k1", 60));
+        now.addAndGet(10);
+        assertEquals(0, a.tryConsume("k2", 60));
+        now.addAndGet(10);
+        assertEquals(0, a.tryConsume("k3", 60));
+
+        long window = now.get() / QuotaLeaser.WINDOW_MILLIS;
+        assertEquals(15, consumed.get("k1@" + window), "evicted lease keeps its quota until the flusher runs");
+
+        a.flush();
+
+        assertEquals(1, consumed.get("k1@" + window), "only the spent token stays consumed");
+        assertEquals(15, consumed.get("k3@" + window));
+    }
+
+    @Test
+    void grant_returnsNothingOnceWindowIsExhausted() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        PlatformTransactionManager txManager = mock(PlatformTransactionManager.class);
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+        when(jdbc.queryForObject(anyString(), eq(Integer.class), eq("k"), eq(7L))).thenReturn(60);
+        QuotaLeaser leaser = new QuotaLeaser(jdbc, txManager, props, new SimpleMeterRegistry(), now::get);
+
+        assertEquals(0, leaser.grant("k", 7, 60, 20));
+
+        verify(jdbc, never()).update(startsWith("UPDATE"), any(Object[].class));
+    }
+
+    @Test
+    void release_returnsTokensWithoutGoingNegative() {
+        JdbcTemplate jdbc = mock(JdbcTemplate.class);
+        QuotaLeaser leaser = new QuotaLeaser(jdbc, mock(PlatformTransactionManager.class), props,
+                new SimpleMeterRegistry(), now::get);
+
+        leaser.release("k", 7, 5);
+
+        verify(jdbc).update(
+                "UPDATE rate_limit_windows SET consumed = GREATEST(0, consumed - ?) WHERE limit_key=? AND window_start=?",
+                5, "k", 7L);
+    }
+}
@@ -0,0 +1,100 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong now = new AtomicLong(1_000_000_000L);
+
+    private RateLimiter limiter(int perMinute, int loginPerMinute, String policies, int maxKeys) {
+        ConstructIQProperties props = new ConstructIQProperties();
+        props.setRateLimitPerMinute(perMinute);
+        props.setAuthLoginRateLimitPerMinute(loginPerMinute);
+        props.setRateLimitRoutePolicies(policies);
+        props.setRateLimitMaxKeys(maxKeys);
+        return new RateLimiter(props, now::get);
+    }
+
+    @Test
+    void routeTemplate_collapsesIdentifiers() {
+        assertEquals("/api/quotes/{id}/compare",
+                RateLimiter.routeTemplate("/api/quotes/3f0c7d8e-1b2a-4c5d-9e8f-0a1b2c3d4e5f/compare"));
+        assertEquals("/api/projects/{id}", RateLimiter.routeTemplate("/api/projects/42"));
+        assertEquals("/api/catalog/products", RateLimiter.routeTemplate("/api/catalog/products/"));
+        assertEquals("/", RateLimiter.routeTemplate(""));
+    }
+
+    @Test
+    void tryAcquire_sharesBucketAcrossIdsAndRefillsOverTime() {
+        RateLimiter limiter = limiter(3, 20, "", 1000);
+
+        assertTrue(limiter.tryAcquire("1.1.1.1", "/api/projects/1").allowed());
+        assertTrue(limiter.tryAcquire("1.1.1.1", "/api/projects/2").allowed());
+        assertTrue(limiter.tryAcquire("1.1.1.1", "/api/projects/3").allowed());
+        RateLimiter.Decision blocked = limiter.tryAcquire("1.1.1.1", "/api/projects/4");
+        assertFalse(blocked.allowed());
+        assertEquals("/api/projects/{id}", blocked.route());
+        assertEquals(20, blocked.retryAfterSeconds());
+        assertTrue(limiter.tryAcquire("2.2.2.2", "/api/projects/4").allowed());
+
+        now.addAndGet(TimeUnit.SECONDS.toNanos(20));
+        assertTrue(limiter.tryAcquire("1.1.1.1", "/api/projects/4").allowed());
+        assertFalse(limiter.tryAcquire("1.1.1.1", "/api/projects/4").allowed());
+    }
+
+    @Test
+    void policyFor_picksMostSpecificPattern() {
+        RateLimiter limiter = limiter(120, 20, "/api/quotes/**=60, /api/quotes/{id}/compare=10", 1000);
+
+        assertEquals(10, limiter.policyFor("/api/quotes/{id}/compare").perMinute());
+        assertEquals(60, limiter.policyFor("/api/quotes/{id}").perMinute());
+        assertEquals(20, limiter.policyFor("/api/auth/login").perMinute());
+        assertEquals(120, limiter.policyFor("/api/projects").perMinute());
+    }
+
+    @Test
+    void tryAcquire_neverOvershootsUnderContention() throws Exception {
+        RateLimiter limiter = limiter(100, 20, "", 1000);
+        AtomicInteger allowed = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            futures.add(pool.submit(() -> {
+                start.await();
+                for (int i = 0; i < 100; i++) {
+                    if (limiter.tryAcquire("1.1.1.1", "/api/projects").allowed()) allowed.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(10, TimeUnit.SECONDS);
+        pool.shutdown();
+
+        assertEquals(100, allowed.get());
+    }
+
+    @Test
+    void tryAcquire_boundsTrackedKeys() {
+        RateLimiter limiter = limiter(10, 20, "", 100);
+
+        for (int i = 0; i < 1000; i++) {
+            limiter.tryAcquire("client-" + i, "/api/projects");
+        }
+
+        assertTrue(limiter.trackedKeys() <= 100, "tracked " + limiter.trackedKeys());
+        now.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        limiter.evictIdle();
+        assertEquals(0, limiter.trackedKeys());
+    }
+}
@@ -0,0 +1,160 @@
+package com.constructiq.backendjava.api;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.controller.DashboardController;
+import com.constructiq.backendjava.controller.ProjectController;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@ExtendWith(MockitoExtension.class)
+class ResponseCacheTest {
+
+    @Mock
+    private SqlDocumentStore store;
+
+    private ConstructIQProperties props;
+    private SimpleMeterRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        props = new ConstructIQProperties();
+        props.setDemoMode(true);
+        props.setDemoOrgId("org-1");
+        registry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void get_missesWhenVersionChanges() {
+        ResponseCache cache = new ResponseCache(props, registry);
+        cache.put("k", 1, "{\"a\":1}");
+
+        assertEquals("{\"a\":1}", cache.get("k", 1));
+        assertNull(cache.get("k", 2));
+        assertNull(cache.get("k", 1));
+        assertEquals(1, registry.counter("constructiq_response_cache_requests_total", "result", "hit").count());
+        assertEquals(2, registry.counter("constructiq_response_cache_requests_total", "result", "miss").count());
+    }
+
+    @Test
+    void put_evictsLeastRecentlyUsedOverBudget() {
+        props.setResponseCacheMaxBytes(4096);
+        ResponseCache cache = new ResponseCache(props, registry);
+        String body = "x".repeat(300);
+        for (int i = 0; i < 10; i++) cache.put("k" + i, 0, body);
+
+        assertTrue(cache.bytes() <= 4096);
+        assertNull(cache.get("k0", 0));
+        assertNotNull(cache.get("k9", 0));
+        assertTrue(registry.counter("constructiq_response_cache_evictions_total").count() > 0);
+    }
+
+    @Test
+    void interceptor_servesRepeatedReadsUntilWrite() throws Exception {
+        ResponseCacheInterceptor interceptor = new ResponseCacheInterceptor(
+                new ResponseCache(props, registry), store, props, new ObjectMapper());
+        MockMvc mvc = MockMvcBuilders.standaloneSetup(new DashboardController(store, props))
+                .addInterceptors(interceptor)
+                .setControllerAdvice(interceptor)
+                .build();
+        when(store.writeVersion(eq("org-1"), anyCollection())).thenReturn(1L, 1L, 2L);
+        when(store.summarize(eq("org-1"), anyList(), anyList()))
+                .thenReturn(new SqlDocumentStore.Summary(Map.of("projects_count", 3L), Map.of("rfqs", List.of())));
+
+        for (int i = 0; i < 3; i++) {
+            mvc.perform(get("/api/dashboard/stats"))
+                    .andExpect(status().isOk())
+                    .andExpect(jsonPath("$.projects_count").value(3));
+        }
+
+        verify(store, times(2)).summarize(eq("org-1"), anyList(), anyList());
+    }
+
+    @Test
+    void detail_returnsNotModifiedWithoutReadingDocument() throws Exception {
+        MockMvc mvc = projectMvc();
+        when(store.documentTag("projects", "p1", "org-1")).thenReturn(Optional.of("a.3"));
+        when(store.findOne("projects", "p1", "org-1")).thenReturn(Optional.of(Map.of("id", "p1", "org_id", "org-1")));
+
+        mvc.perform(get("/api/projects/p1"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"a.3\""));
+        mvc.perform(get("/api/projects/p1").header("If-None-Match", "\"a.3\""))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/api/projects/p1").header("If-None-Match", "\"a.2\""))
+                .andExpect(status().isOk());
+
+        verify(store, times(2)).findOne("projects", "p1", "org-1");
+    }
+
+    @Test
+    void detail_projectionGetsItsOwnStrongTag() throws Exception {
+        MockMvc mvc = projectMvc();
+        when(store.documentTag("projects", "p1", "org-1")).thenReturn(Optional.of("a.3"));
+        when(store.findOne("projects", "p1", "org-1", List.of("id", "name")))
+                .thenReturn(Optional.of(Map.of("id", "p1", "name", "Tower")));
+
+        mvc.perform(get("/api/projects/p1").param("fields", "name"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"a.3;id+name\""));
+        mvc.perform(get("/api/projects/p1").param("fields", "name").header("If-None-Match", "\"a.3\""))
+                .andExpect(status().isOk());
+        mvc.perform(get("/api/projects/p1").param("fields", "name,id").header("If-None-Match", "\"a.3;id+name\""))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    void list_returnsNotModifiedForCurrentWeakTag() throws Exception {
+        MockMvc mvc = projectMvc();
+        when(store.writeVersion(eq("org-1"), anyCollection())).thenReturn(4L);
+        when(store.count(eq("projects"), anyMap())).thenReturn(0L);
+        when(store.find(eq("projects"), anyMap(), any(), anyBoolean(), anyInt(), anyInt(), anyList())).thenReturn(List.of());
+
+        String etag = mvc.perform(get("/api/projects").param("page", "1"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader("ETag");
+        assertTrue(etag.startsWith("W/\""), etag);
+
+        mvc.perform(get("/api/projects").param("page", "1").header("If-None-Match", etag))
+                .andExpect(status().isNotModified());
+        mvc.perform(get("/api/projects").param("page", "2").header("If-None-Match", etag))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    void matches_usesWeakComparison() {
+        assertTrue(ResponseCacheInterceptor.matches("W/\"x\"", "\"x\""));
+        assertTrue(ResponseCacheInterceptor.matches("\"y\", W/\"x\"", "W/\"x\""));
+        assertTrue(ResponseCacheInterceptor.matches("*", "\"x\""));
+        assertFalse(ResponseCacheInterceptor.matches("\"y\"", "\"x\""));
+        assertFalse(ResponseCacheInterceptor.matches(null, "\"x\""));
+    }
+
+    private MockMvc projectMvc() {
+        ResponseCacheInterceptor interceptor = new ResponseCacheInterceptor(
+                new ResponseCache(props, registry), store, props, new ObjectMapper());
+        return MockMvcBuilders.standaloneSetup(new ProjectController(store, props))
+                .addInterceptors(interceptor)
+                .setControllerAdvice(interceptor)
+                .build();
+    }
+}
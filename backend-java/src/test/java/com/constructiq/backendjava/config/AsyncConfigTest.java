@@ -0,0 +1,106 @@
+package com.constructiq.backendjava.config;
+
+import com.constructiq.backendjava.security.AuthContext;
+import com.constructiq.backendjava.security.AuthContextHolder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.core.task.TaskDecorator;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AsyncConfigTest {
+
+    @AfterEach
+    void tearDown() {
+        AuthContextHolder.clear();
+        MDC.clear();
+    }
+
+    @Test
+    void decoratedTask_seesSubmittersAuthAndRequestIdOnVirtualThread() throws Exception {
+        AuthContext auth = new AuthContext("org-1", "user-1", "buyer", "a@b.c", "jti-1", null);
+        AuthContextHolder.set(auth);
+        MDC.put("requestId", "req-1");
+        AtomicReference<AuthContext> seenAuth = new AtomicReference<>();
+        AtomicReference<String> seenRequestId = new AtomicReference<>();
+
+        Runnable task = new AsyncConfig().contextPropagatingTaskDecorator(new ConstructIQProperties()).decorate(() -> {
+            seenAuth.set(AuthContextHolder.get());
+            seenRequestId.set(MDC.get("requestId"));
+        });
+        AuthContextHolder.clear();
+        MDC.clear();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            executor.submit(task).get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertSame(auth, seenAuth.get());
+        assertEquals("req-1", seenRequestId.get());
+    }
+
+    @Test
+    void decoratedTask_restoresRunningThreadsContextAfterwards() {
+        AuthContext submitter = new AuthContext("org-1", "user-1", "buyer", "a@b.c", "jti-1", null);
+        AuthContext runner = new AuthContext("org-2", "user-2", "admin", "x@y.z", "jti-2", null);
+        AuthContextHolder.set(submitter);
+        Runnable task = AsyncConfig.propagate(() -> assertSame(submitter, AuthContextHolder.get()));
+
+        AuthContextHolder.set(runner);
+        MDC.put("requestId", "req-2");
+        task.run();
+
+        assertSame(runner, AuthContextHolder.get());
+        assertEquals("req-2", MDC.get("requestId"));
+    }
+
+    @Test
+    void decoratedTasks_limitConcurrencyWithoutBlockingTheSubmitter() throws Exception {
+        ConstructIQProperties props = new ConstructIQProperties();
+        props.setAsyncConcurrencyLimit(2);
+        TaskDecorator decorator = new AsyncConfig().contextPropagatingTaskDecorator(props);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        try {
+            List<Future<?>> tasks = new ArrayList<>();
+            for (int i = 0; i < 10; i++) {
+                tasks.add(executor.submit(decorator.decorate(() -> {
+                    maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                    try {
+                        release.await(5, TimeUnit.SECONDS);
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                    running.decrementAndGet();
+                })));
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (running.get() < 2 && System.currentTimeMillis() < deadline) Thread.sleep(5);
+            Thread.sleep(50);
+            assertEquals(2, running.get());
+            release.countDown();
+            for (Future<?> task : tasks) task.get(5, TimeUnit.SECONDS);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(2, maxRunning.get());
+    }
+}
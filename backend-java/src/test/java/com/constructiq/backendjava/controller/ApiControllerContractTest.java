@@ -3,14 +3,20 @@ package com.constructiq.backendjava.controller;
 import com.constructiq.backendjava.config.ConstructIQProperties;
 import com.constructiq.backendjava.security.PasswordService;
 import com.constructiq.backendjava.service.AlertService;
+import com.constructiq.backendjava.service.PriceAnomalyDetector;
 import com.constructiq.backendjava.service.PricePointService;
+import com.constructiq.backendjava.service.QuoteComparisonService;
 import com.constructiq.backendjava.service.QuoteService;
+import com.constructiq.backendjava.service.SupplierScorecardService;
+import com.constructiq.backendjava.store.LatestPriceStore;
+import com.constructiq.backendjava.store.RfqInvitationStore;
 import com.constructiq.backendjava.store.SqlDocumentStore;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.util.LinkedHashMap;
@@ -28,6 +34,12 @@ class ApiControllerContractTest {
     @Mock
     private SqlDocumentStore store;
 
+    @Mock
+    private LatestPriceStore latestPrices;
+
+    @Mock
+    private RfqInvitationStore invitations;
+
     private DemoController demoController;
     private ProjectController projectController;
     private RfqController rfqController;
@@ -43,14 +55,16 @@ class ApiControllerContractTest {
 
         PasswordService passwordService = new PasswordService();
 
-        PricePointService pricePointService = new PricePointService(store);
+        SupplierScorecardService scorecards = new SupplierScorecardService(store, latestPrices, invitations);
+        PricePointService pricePointService = new PricePointService(store, latestPrices, new PriceAnomalyDetector(store, props), scorecards,
+                mock(PlatformTransactionManager.class));
         AlertService alertService = new AlertService(store);
-        QuoteService quoteService = new QuoteService(store, pricePointService, alertService);
+        QuoteService quoteService = new QuoteService(store, pricePointService, alertService, scorecards);
 
         demoController = new DemoController(store, props, passwordService);
         projectController = new ProjectController(store, props);
-        rfqController = new RfqController(store, props);
-        quoteController = new QuoteController(store, props, quoteService, pricePointService, alertService);
+        rfqController = new RfqController(store, props, scorecards);
+        quoteController = new QuoteController(store, props, quoteService, pricePointService, alertService, new QuoteComparisonService());
         alertController = new AlertController(store, props);
     }
 
@@ -67,13 +81,13 @@ class ApiControllerContractTest {
     @Test
     void listProjects_returnsPaginatedShape() {
         when(store.count(eq("projects"), anyMap())).thenReturn(2L);
-        when(store.find(eq("projects"), anyMap(), eq("created_at"), eq(true), eq(0), eq(10)))
+        when(store.find(eq("projects"), anyMap(), eq("created_at"), eq(true), eq(0), eq(10), eq(List.of())))
                 .thenReturn(List.of(
                         new LinkedHashMap<>(Map.of("id", "p1", "name", "A")),
                         new LinkedHashMap<>(Map.of("id", "p2", "name", "B"))
                 ));
 
-        Map<String, Object> result = projectController.listProjects(1, 10, "");
+        Map<String, Object> result = projectController.listProjects(1, 10, "", null);
 
         assertTrue(result.containsKey("items"));
         assertTrue(result.containsKey("total"));
@@ -131,10 +145,10 @@ class ApiControllerContractTest {
     @Test
     void listRfqs_returnsPaginatedShape() {
         when(store.count(eq("rfqs"), anyMap())).thenReturn(1L);
-        when(store.find(eq("rfqs"), anyMap(), eq("created_at"), eq(true), eq(0), eq(10)))
+        when(store.find(eq("rfqs"), anyMap(), eq("created_at"), eq(true), eq(0), eq(10), eq(List.of())))
                 .thenReturn(List.of(new LinkedHashMap<>(Map.of("id", "r1", "title", "RFQ 1", "status", "draft"))));
 
-        Map<String, Object> result = rfqController.listRfqs(1, 10, "draft", "");
+        Map<String, Object> result = rfqController.listRfqs(1, 10, "draft", "", null);
 
         assertEquals(1L, result.get("total"));
         assertEquals(1, result.get("page"));
@@ -168,7 +182,7 @@ class ApiControllerContractTest {
 
     @Test
     void compareQuotes_requiresAtLeastTwoQuotes() {
-        when(store.find(eq("quotes"), anyMap(), isNull(), eq(false), eq(0), eq(10)))
+        when(store.find(eq("quotes"), anyMap(), isNull(), eq(false), eq(0), eq(100)))
                 .thenReturn(List.of(new LinkedHashMap<>(Map.of("id", "q1", "supplier_id", "s1"))));
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class,
@@ -201,7 +215,7 @@ class ApiControllerContractTest {
         ProjectController prodController = new ProjectController(store, prodProps);
 
         ResponseStatusException ex = assertThrows(ResponseStatusException.class,
-                () -> prodController.listProjects(1, 10, null));
+                () -> prodController.listProjects(1, 10, null, null));
         assertEquals(401, ex.getStatusCode().value());
     }
 }
@@ -0,0 +1,56 @@
+package com.constructiq.backendjava.observability;
+
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.Test;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FlightRecordingTest {
+
+    @Test
+    void settings_layerDomainEventsOverDefaultProfile() throws Exception {
+        Map<String, String> settings = FlightRecording.settings();
+
+        assertEquals("true", settings.get("constructiq.StoreQuery#enabled"));
+        assertEquals("1 ms", settings.get("constructiq.StoreQuery#threshold"));
+        assertEquals("0 ms", settings.get("constructiq.TokenVerification#threshold"));
+        assertEquals("0 ms", settings.get("constructiq.RateLimitDecision#threshold"));
+        assertEquals("true", settings.get("jdk.GarbageCollection#enabled"));
+    }
+
+    @Test
+    void alertEvaluationEvent_isRecordedWithFields() throws Exception {
+        Path file = Files.createTempFile("constructiq", ".jfr");
+        try (Recording recording = new Recording()) {
+            recording.enable(AlertEvaluationEvent.class).withThreshold(Duration.ZERO);
+            recording.start();
+
+            AlertEvaluationEvent event = new AlertEvaluationEvent();
+            event.begin();
+            event.orgId = "org-1";
+            event.productId = "prod-1";
+            event.rulesEvaluated = 3;
+            event.eventsFired = 1;
+            event.commit();
+
+            recording.stop();
+            recording.dump(file);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(e -> e.getEventType().getName().equals("constructiq.AlertEvaluation"))
+                    .toList();
+            assertEquals(1, events.size());
+            assertEquals("org-1", events.get(0).getString("orgId"));
+            assertEquals(3, events.get(0).getInt("rulesEvaluated"));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.constructiq.backendjava.observability;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.Types;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class SlowRequestLogTest {
+
+    @Test
+    void ring_keepsMostRecentRequestsNewestFirst() {
+        ConstructIQProperties props = new ConstructIQProperties();
+        props.setSlowRequestBufferSize(3);
+        SlowRequestLog log = new SlowRequestLog(props);
+
+        for (int i = 0; i < 5; i++) {
+            log.add(new SlowRequestLog.SlowRequest("t", "req-" + i, "GET", "/api/x", "/api/x", 200, 600, 10, 1, List.of()));
+        }
+
+        List<SlowRequestLog.SlowRequest> recent = log.recent();
+        assertEquals(List.of("req-4", "req-3", "req-2"), recent.stream().map(SlowRequestLog.SlowRequest::requestId).toList());
+    }
+
+    @Test
+    void isSlow_usesConfiguredThreshold() {
+        ConstructIQProperties props = new ConstructIQProperties();
+        props.setSlowRequestThresholdMs(500);
+        SlowRequestLog log = new SlowRequestLog(props);
+
+        assertFalse(log.isSlow(499_000_000L));
+        assertTrue(log.isSlow(500_000_000L));
+    }
+
+    @Test
+    void trace_collectsQueriesOnlyWhileActive() {
+        RequestTrace.recordQuery("SELECT 1", 1_000, 1);
+        RequestTrace trace = RequestTrace.begin();
+        try {
+            RequestTrace.recordQuery(TracingDataSource.shape("SELECT *\n  FROM documents   WHERE id=?"), 2_000, 1);
+            assertEquals(1, trace.queryCount());
+            assertEquals(2_000, trace.dbNanos());
+            assertEquals("SELECT * FROM documents WHERE id=?", trace.queries().get(0).shape());
+        } finally {
+            RequestTrace.end();
+        }
+        assertNull(RequestTrace.current());
+    }
+
+    @Test
+    void tracingDataSource_keepsCallableStatementsCallableAndTracesThem() throws Exception {
+        DataSource target = mock(DataSource.class);
+        Connection connection = mock(Connection.class);
+        CallableStatement call = mock(CallableStatement.class);
+        when(target.getConnection()).thenReturn(connection);
+        when(connection.prepareCall("{call refresh_stats(?)}")).thenReturn(call);
+        when(call.executeUpdate()).thenReturn(3);
+
+        RequestTrace trace = RequestTrace.begin();
+        try {
+            Object statement = new TracingDataSource(target).getConnection().prepareCall("{call refresh_stats(?)}");
+            assertInstanceOf(CallableStatement.class, statement);
+            ((CallableStatement) statement).registerOutParameter(1, Types.INTEGER);
+            ((CallableStatement) statement).executeUpdate();
+
+            verify(call).registerOutParameter(1, Types.INTEGER);
+            assertEquals("{call refresh_stats(?)}", trace.queries().get(0).shape());
+            assertEquals(3, trace.queries().get(0).rows());
+        } finally {
+            RequestTrace.end();
+        }
+    }
+}
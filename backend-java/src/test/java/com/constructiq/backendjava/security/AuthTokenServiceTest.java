@@ -1,9 +1,16 @@
 package com.constructiq.backendjava.security;
 
 import com.constructiq.backendjava.config.ConstructIQProperties;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.Base64;
+import java.util.Date;
+import java.util.HexFormat;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -89,4 +96,74 @@ class AuthTokenServiceTest {
         assertTrue(service.parseToken("abc").isEmpty());
         assertTrue(service.parseToken("a.b.c").isEmpty());
     }
+
+    @Test
+    void createToken_setsKeyIdHeader() {
+        String token = service.createToken("user-1", "org-1", "admin", "test@test.com");
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+        assertTrue(header.contains("\"kid\""), header);
+    }
+
+    @Test
+    void parseToken_cachesVerifiedTokens() {
+        String token = service.createToken("user-1", "org-1", "admin", "test@test.com");
+        assertTrue(service.parseToken(token).isPresent());
+        assertTrue(service.parseToken(token).isPresent());
+        assertEquals(1, service.cachedTokens());
+    }
+
+    @Test
+    void parseToken_legacyTokenWithoutKeyIdStillValid() {
+        String legacy = Jwts.builder()
+                .subject("u1")
+                .claim("org", "o1")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(props.getAuthTokenSecret().getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+
+        Optional<AuthContext> ctx = service.parseToken(legacy);
+        assertTrue(ctx.isPresent());
+        assertEquals("buyer", ctx.get().role());
+    }
+
+    @Test
+    void createToken_keyIdIsNotAPlainHashOfTheSecret() throws Exception {
+        String token = service.createToken("user-1", "org-1", "admin", "test@test.com");
+        String header = new String(Base64.getUrlDecoder().decode(token.split("\\.")[0]), StandardCharsets.UTF_8);
+        String secretHash = HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256")
+                .digest(props.getAuthTokenSecret().getBytes(StandardCharsets.UTF_8)));
+        assertFalse(header.contains(secretHash.substring(0, 16)), header);
+    }
+
+    @Test
+    void parseToken_unknownKeyIdIsRejectedWithoutTryingEachKey() {
+        String token = Jwts.builder()
+                .header().keyId("0123456789abcdef").and()
+                .subject("u1")
+                .claim("org", "o1")
+                .expiration(new Date(System.currentTimeMillis() + 60_000))
+                .signWith(Keys.hmacShaKeyFor(props.getAuthTokenSecret().getBytes(StandardCharsets.UTF_8)), Jwts.SIG.HS256)
+                .compact();
+
+        assertTrue(service.parseToken(token).isEmpty());
+    }
+
+    @Test
+    void parseToken_fullCache_evictsLeastRecentlyUsed() {
+        props.setAuthTokenCacheSize(2);
+        AuthTokenService small = new AuthTokenService(props);
+        String first = small.createToken("user-1", "org-1", "admin", "a@test.com");
+        String second = small.createToken("user-2", "org-1", "admin", "b@test.com");
+        String third = small.createToken("user-3", "org-1", "admin", "c@test.com");
+
+        small.parseToken(first);
+        small.parseToken(second);
+        small.parseToken(first);
+        small.parseToken(third);
+
+        assertEquals(2, small.cachedTokens());
+        assertTrue(small.isCached(first));
+        assertFalse(small.isCached(second));
+        assertTrue(small.isCached(third));
+    }
 }
@@ -1,7 +1,14 @@
 package com.constructiq.backendjava.security;
 
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PasswordServiceTest {
@@ -61,4 +68,54 @@ class PasswordServiceTest {
         assertFalse(service.isBcrypt("plaintext"));
         assertFalse(service.isBcrypt(null));
     }
+
+    @Test
+    void needsRehash_andRehashInBackground_upgradeToConfiguredCost() throws Exception {
+        PasswordService cheap = service(4, 1, 4);
+        PasswordService tuned = service(5, 1, 4);
+        String oldHash = cheap.hashIfPlaintext("secret");
+
+        assertFalse(cheap.needsRehash(oldHash));
+        assertTrue(tuned.needsRehash(oldHash));
+
+        CompletableFuture<String> rehashed = new CompletableFuture<>();
+        tuned.rehashInBackground("secret", rehashed::complete);
+        String newHash = rehashed.get(5, TimeUnit.SECONDS);
+        assertTrue(newHash.startsWith("$2a$05$"));
+        assertTrue(tuned.matches("secret", newHash));
+    }
+
+    @Test
+    void matches_rejectsFastWhenQueueIsFull() throws Exception {
+        PasswordService bounded = service(12, 1, 1);
+        String hash = bounded.hashIfPlaintext("secret");
+        AtomicInteger busy = new AtomicInteger();
+        ExecutorService callers = Executors.newFixedThreadPool(6);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            futures.add(callers.submit(() -> {
+                start.await();
+                try {
+                    bounded.matches("secret", hash);
+                } catch (PasswordHashingBusyException e) {
+                    busy.incrementAndGet();
+                }
+                return null;
+            }));
+        }
+        start.countDown();
+        for (Future<?> f : futures) f.get(30, TimeUnit.SECONDS);
+        callers.shutdown();
+
+        assertTrue(busy.get() > 0);
+    }
+
+    private PasswordService service(int cost, int threads, int queue) {
+        ConstructIQProperties props = new ConstructIQProperties();
+        props.setPasswordHashCost(cost);
+        props.setPasswordHashThreads(threads);
+        props.setPasswordHashQueueSize(queue);
+        return new PasswordService(props, new SimpleMeterRegistry());
+    }
 }
@@ -0,0 +1,78 @@
+package com.constructiq.backendjava.security;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.store.AuthSessionStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class TokenRevocationRegistryTest {
+
+    @Mock
+    private AuthSessionStore sessions;
+
+    private TokenRevocationRegistry registry;
+    private final Instant later = Instant.now().plusSeconds(3600);
+
+    @BeforeEach
+    void setUp() {
+        registry = new TokenRevocationRegistry(sessions, new ConstructIQProperties());
+    }
+
+    @Test
+    void revoke_isVisibleImmediatelyOnThisNode() {
+        when(sessions.revoke("jti-1", "org-1", "user-1", later)).thenReturn(true);
+
+        assertFalse(registry.isRevoked("jti-1"));
+        assertTrue(registry.revoke("jti-1", "org-1", "user-1", later));
+        assertTrue(registry.isRevoked("jti-1"));
+        assertFalse(registry.isRevoked("jti-2"));
+        assertFalse(registry.isRevoked(null));
+    }
+
+    @Test
+    void refresh_appliesRevocationsFromOtherNodesIncrementally() {
+        when(sessions.revocationsAfter(eq(0L), anyInt())).thenReturn(List.of(
+                new AuthSessionStore.Revocation(1, "jti-a", later),
+                new AuthSessionStore.Revocation(2, "jti-b", later)));
+
+        registry.refresh();
+
+        assertTrue(registry.isRevoked("jti-a"));
+        assertTrue(registry.isRevoked("jti-b"));
+        verify(sessions).revocationsAfter(eq(0L), anyInt());
+    }
+
+    @Test
+    void bloomFilter_hasNoFalseNegativesAndFewFalsePositives() {
+        TokenRevocationRegistry.BloomFilter bloom = new TokenRevocationRegistry.BloomFilter(10_000, 0.01);
+        for (int i = 0; i < 10_000; i++) bloom.add("revoked-" + i);
+
+        for (int i = 0; i < 10_000; i++) assertTrue(bloom.mightContain("revoked-" + i));
+        int falsePositives = 0;
+        for (int i = 0; i < 10_000; i++) if (bloom.mightContain("active-" + i)) falsePositives++;
+        assertTrue(falsePositives < 300, "false positives: " + falsePositives);
+    }
+
+    @Test
+    void purge_dropsExpiredRevocations() {
+        when(sessions.revocationsAfter(eq(0L), anyInt())).thenReturn(List.of(
+                new AuthSessionStore.Revocation(1, "jti-live", later)));
+        registry.refresh();
+
+        registry.purge();
+
+        assertTrue(registry.isRevoked("jti-live"));
+        verify(sessions).purgeExpired(any());
+    }
+}
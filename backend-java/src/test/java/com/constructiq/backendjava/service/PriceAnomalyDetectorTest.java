@@ -0,0 +1,164 @@
+package com.constructiq.backendjava.service;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class PriceAnomalyDetectorTest {
+
+    @Mock
+    private SqlDocumentStore store;
+
+    private PriceAnomalyDetector detector;
+
+    @BeforeEach
+    void setUp() {
+        ConstructIQProperties props = new ConstructIQProperties();
+        props.setAnomalyEwmaAlpha(0.2);
+        props.setAnomalyCheckpointSeconds(3600);
+        detector = new PriceAnomalyDetector(store, props);
+    }
+
+    @Test
+    void observe_firstPrice_hasNoHistoryAndZeroScore() {
+        when(store.findOne(eq(PriceAnomalyDetector.COLLECTION), anyString())).thenReturn(Optional.empty());
+
+        PriceAnomalyDetector.Observation obs = detector.observe("org-1", "p1", "s1", 100.0, "2024-01-01T00:00:00Z");
+
+        assertEquals(0, obs.samples());
+        assertEquals(0.0, obs.zScore(), 0.0001);
+    }
+
+    @Test
+    void preload_readsAllMissingSeriesInOneQuery() {
+        Map<String, Object> saved = new LinkedHashMap<>();
+        saved.put("org_id", "org-1");
+        saved.put("normalized_product_id", "p1");
+        saved.put("supplier_id", "s1");
+        saved.put("ewma_mean", 100.0);
+        saved.put("ewma_variance", 4.0);
+        saved.put("samples", 5);
+        saved.put("last_price", 100.0);
+        when(store.findByDocIds(eq(PriceAnomalyDetector.COLLECTION), eq("org-1"), anyCollection()))
+                .thenAnswer(inv -> {
+                    List<String> ids = List.copyOf((Collection<String>) inv.getArgument(2));
+                    assertEquals(2, ids.size());
+                    return Map.of(ids.get(0), saved);
+                });
+
+        detector.preload("org-1", "s1", List.of("p1", "p2"));
+
+        assertEquals(5, detector.observe("org-1", "p1", "s1", 101.0, "2024-01-01T00:00:00Z").samples());
+        assertEquals(0, detector.observe("org-1", "p2", "s1", 50.0, "2024-01-01T00:00:00Z").samples());
+        verify(store, never()).findOne(anyString(), anyString());
+    }
+
+    @Test
+    void observe_stablePricesThenSpike_flagsLargeZScore() {
+        when(store.findOne(eq(PriceAnomalyDetector.COLLECTION), anyString())).thenReturn(Optional.empty());
+        double[] prices = {100, 101, 99, 100, 102, 98, 100, 101};
+        for (double price : prices) {
+            detector.observe("org-1", "p1", "s1", price, "2024-01-01T00:00:00Z");
+        }
+
+        PriceAnomalyDetector.Observation normal = detector.observe("org-1", "p1", "s1", 101.0, "2024-01-02T00:00:00Z");
+        PriceAnomalyDetector.Observation spike = detector.observe("org-1", "p1", "s1", 140.0, "2024-01-03T00:00:00Z");
+
+        assertTrue(Math.abs(normal.zScore()) < 2.0);
+        assertTrue(spike.zScore() > 3.0);
+        assertEquals(prices.length + 1, spike.samples());
+        verify(store, times(1)).findOne(eq(PriceAnomalyDetector.COLLECTION), anyString());
+    }
+
+    @Test
+    void observe_keepsSeparateStatePerSupplier() {
+        when(store.findOne(eq(PriceAnomalyDetector.COLLECTION), anyString())).thenReturn(Optional.empty());
+        detector.observe("org-1", "p1", "s1", 100.0, "2024-01-01T00:00:00Z");
+
+        PriceAnomalyDetector.Observation other = detector.observe("org-1", "p1", "s2", 500.0, "2024-01-01T00:00:00Z");
+
+        assertEquals(0, other.samples());
+    }
+
+    @Test
+    void observe_resumesFromCheckpoint() {
+        Map<String, Object> checkpoint = new LinkedHashMap<>();
+        checkpoint.put("org_id", "org-1");
+        checkpoint.put("normalized_product_id", "p1");
+        checkpoint.put("supplier_id", "s1");
+        checkpoint.put("ewma_mean", 50.0);
+        checkpoint.put("ewma_variance", 4.0);
+        checkpoint.put("samples", 20);
+        when(store.findOne(eq(PriceAnomalyDetector.COLLECTION), anyString())).thenReturn(Optional.of(checkpoint));
+
+        PriceAnomalyDetector.Observation obs = detector.observe("org-1", "p1", "s1", 60.0, "2024-01-01T00:00:00Z");
+
+        assertEquals(20, obs.samples());
+        assertEquals(50.0, obs.expectedPrice(), 0.0001);
+        assertEquals(5.0, obs.zScore(), 0.0001);
+    }
+
+    @Test
+    void checkpoint_writesOnlyDirtyStates() {
+        when(store.findOne(eq(PriceAnomalyDetector.COLLECTION), anyString())).thenReturn(Optional.empty());
+        detector.observe("org-1", "p1", "s1", 100.0, "2024-01-01T00:00:00Z");
+
+        detector.checkpoint();
+        detector.checkpoint();
+
+        verify(store, times(1)).upsert(eq(PriceAnomalyDetector.COLLECTION), anyMap());
+    }
+
+    @Test
+    void checkpoint_evictsLeastRecentlyObservedSavedStates() {
+        ConstructIQProperties props = new ConstructIQProperties();
+        props.setAnomalyCheckpointSeconds(3600);
+        props.setAnomalyMaxTrackedSeries(2);
+        PriceAnomalyDetector bounded = new PriceAnomalyDetector(store, props);
+        when(store.findOne(eq(PriceAnomalyDetector.COLLECTION), anyString())).thenReturn(Optional.empty());
+        bounded.observe("org-1", "p1", "s1", 100.0, "2024-01-01T00:00:00Z");
+        bounded.observe("org-1", "p1", "s2", 100.0, "2024-01-01T00:00:00Z");
+        bounded.observe("org-1", "p1", "s3", 100.0, "2024-01-01T00:00:00Z");
+        bounded.observe("org-1", "p1", "s2", 100.0, "2024-01-02T00:00:00Z");
+
+        bounded.checkpoint();
+
+        assertEquals(2, bounded.trackedSeries());
+        bounded.observe("org-1", "p1", "s2", 100.0, "2024-01-03T00:00:00Z");
+        bounded.observe("org-1", "p1", "s1", 100.0, "2024-01-03T00:00:00Z");
+        verify(store, times(4)).findOne(eq(PriceAnomalyDetector.COLLECTION), anyString());
+        bounded.shutdown();
+    }
+
+    @Test
+    void checkpoint_keepsStatesThatFailedToSave() {
+        ConstructIQProperties props = new ConstructIQProperties();
+        props.setAnomalyCheckpointSeconds(3600);
+        props.setAnomalyMaxTrackedSeries(1);
+        PriceAnomalyDetector bounded = new PriceAnomalyDetector(store, props);
+        when(store.findOne(eq(PriceAnomalyDetector.COLLECTION), anyString())).thenReturn(Optional.empty());
+        doThrow(new IllegalStateException("down")).when(store).upsert(eq(PriceAnomalyDetector.COLLECTION), anyMap());
+        bounded.observe("org-1", "p1", "s1", 100.0, "2024-01-01T00:00:00Z");
+        bounded.observe("org-1", "p1", "s2", 100.0, "2024-01-01T00:00:00Z");
+
+        bounded.checkpoint();
+
+        assertEquals(2, bounded.trackedSeries());
+    }
+}
@@ -0,0 +1,91 @@
+package com.constructiq.backendjava.service;
+
+import com.constructiq.backendjava.model.DemoContext;
+import com.constructiq.backendjava.store.LatestPriceStore;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class PricePointServiceTest {
+
+    @Mock
+    private SqlDocumentStore store;
+    @Mock
+    private LatestPriceStore latestPrices;
+    @Mock
+    private PriceAnomalyDetector anomalyDetector;
+    @Mock
+    private SupplierScorecardService scorecards;
+    @Mock
+    private PlatformTransactionManager txManager;
+
+    private PricePointService service;
+    private final DemoContext ctx = new DemoContext("org-1", "user-1", "admin", false);
+    private final Map<String, Object> quote = Map.of("id", "q1", "supplier_id", "s1", "currency", "USD");
+    private final Map<String, Object> item = Map.of("unit_price", 12.5, "uom", "ea");
+
+    @BeforeEach
+    void setUp() {
+        service = new PricePointService(store, latestPrices, anomalyDetector, scorecards, txManager);
+        when(txManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+    }
+
+    @Test
+    void createFromQuoteItem_observesPriceOnlyAfterCommit() {
+        PriceAnomalyDetector.Observation observation =
+                new PriceAnomalyDetector.Observation("s1", 12.5, 0, 12.5, 0, 0, 0);
+        when(anomalyDetector.observe(eq("org-1"), eq("np-1"), eq("s1"), eq(12.5), anyString())).thenReturn(observation);
+
+        assertSame(observation, service.createFromQuoteItem(ctx, quote, item, "np-1"));
+
+        InOrder order = inOrder(store, txManager, anomalyDetector, scorecards);
+        order.verify(store).upsert(eq("price_points"), anyMap());
+        order.verify(txManager).commit(any());
+        order.verify(anomalyDetector).observe(eq("org-1"), eq("np-1"), eq("s1"), eq(12.5), anyString());
+        order.verify(scorecards).onPricePoint("org-1", "np-1", "s1", observation);
+    }
+
+    @Test
+    void createFromQuoteItems_writesLinesAsBatchesAndUpdatesScorecardOnce() {
+        PriceAnomalyDetector.Observation observation =
+                new PriceAnomalyDetector.Observation("s1", 12.5, 0, 12.5, 0, 0, 0);
+        when(anomalyDetector.observe(eq("org-1"), anyString(), eq("s1"), anyDouble(), anyString())).thenReturn(observation);
+        List<Map<String, Object>> items = List.of(
+                Map.of("normalized_product_id", "np-1", "unit_price", 12.5),
+                Map.of("normalized_product_id", "np-2", "unit_price", 3.0));
+
+        assertEquals(List.of(observation, observation), service.createFromQuoteItems(ctx, quote, items));
+
+        InOrder order = inOrder(store, latestPrices, txManager, anomalyDetector, scorecards);
+        order.verify(store).upsertAll(eq("price_points"), argThat(docs -> docs.size() == 2));
+        order.verify(latestPrices).upsertAll(eq("org-1"), argThat(prices -> prices.size() == 2));
+        order.verify(txManager).commit(any());
+        order.verify(anomalyDetector).preload("org-1", "s1", List.of("np-1", "np-2"));
+        order.verify(scorecards).onPricePoints(eq("org-1"), eq("s1"), argThat(priced -> priced.size() == 2));
+        verify(store, never()).upsert(anyString(), anyMap());
+    }
+
+    @Test
+    void createFromQuoteItem_failedCommitLeavesDetectorUntouched() {
+        doThrow(new TransactionSystemException("commit failed")).when(txManager).commit(any());
+
+        assertThrows(TransactionSystemException.class, () -> service.createFromQuoteItem(ctx, quote, item, "np-1"));
+
+        verifyNoInteractions(anomalyDetector, scorecards);
+    }
+}
@@ -0,0 +1,160 @@
+package com.constructiq.backendjava.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SuppressWarnings("unchecked")
+class QuoteComparisonServiceTest {
+
+    private final QuoteComparisonService service = new QuoteComparisonService();
+
+    @Test
+    void compare_alignsByProductIdAndComputesBestPerLine() {
+        List<Map<String, Object>> quotes = List.of(
+                quote("q1", "s1", item("np-1", "Rebar #4", 10, "ton", 900.0)),
+                quote("q2", "s2", item("np-1", "Rebar 4 grade 60", 10, "ton", 850.0)));
+
+        Map<String, Object> result = service.compare(quotes, Map.of("s1", "Steel Co", "s2", "Metal Co"));
+
+        assertEquals(1, result.get("line_count"));
+        Map<String, Object> line = lines(result).get(0);
+        assertEquals("q2", line.get("best_quote_id"));
+        assertEquals(0.85, (Double) line.get("best_unit_price"), 0.0001);
+
+        Map<String, Object> first = quoteRows(result).get(0);
+        assertEquals("Steel Co", first.get("supplier_name"));
+        assertEquals(500.0, (Double) first.get("delta_from_best"), 0.0001);
+        assertEquals(8500.0, (Double) result.get("best_mix_total"), 0.0001);
+    }
+
+    @Test
+    void compare_fuzzyMatchesUnmappedLinesAndNormalizesUom() {
+        List<Map<String, Object>> quotes = List.of(
+                quote("q1", "s1", item("", "Copper pipe 3/4\" type L", 100, "ft", 3.0)),
+                quote("q2", "s2", item("", "copper pipe type L 3/4", 30.48, "m", 9.0)),
+                quote("q3", "s3", item("", "PVC conduit 1 inch", 10, "ea", 2.0)));
+
+        Map<String, Object> result = service.compare(quotes, Map.of());
+
+        assertEquals(2, result.get("line_count"));
+        Map<String, Object> pipe = lines(result).get(0);
+        assertEquals("m", pipe.get("uom"));
+        assertEquals("q2", pipe.get("best_quote_id"));
+        assertEquals(2, pipe.get("quotes_count"));
+
+        List<Map<String, Object>> cells = (List<Map<String, Object>>) pipe.get("cells");
+        assertEquals(9.8425, (Double) cells.get(0).get("unit_price"), 0.001);
+        assertNull(cells.get(2));
+    }
+
+    @Test
+    void compare_reportsCoverageAndBestMix() {
+        List<Map<String, Object>> quotes = List.of(
+                quote("q1", "s1", item("np-1", "A", 1, "ea", 10.0), item("np-2", "B", 1, "ea", 20.0)),
+                quote("q2", "s2", item("np-1", "A", 1, "ea", 12.0)));
+
+        Map<String, Object> result = service.compare(quotes, Map.of());
+
+        List<Map<String, Object>> rows = quoteRows(result);
+        assertEquals(1.0, (Double) rows.get(0).get("coverage"), 0.0001);
+        assertEquals(0.5, (Double) rows.get(1).get("coverage"), 0.0001);
+        assertEquals(2, rows.get(0).get("best_line_count"));
+        assertEquals(30.0, (Double) result.get("best_mix_total"), 0.0001);
+    }
+
+    @Test
+    void compare_handlesFiftyQuotesOfAThousandLines() {
+        Random random = new Random(42);
+        List<Map<String, Object>> quotes = new ArrayList<>();
+        for (int q = 0; q < 50; q++) {
+            List<Map<String, Object>> items = new ArrayList<>();
+            for (int l = 0; l < 1000; l++) {
+                String productId = l % 4 == 0 ? "" : "np-" + l;
+                String text = UUID.nameUUIDFromBytes(("line-" + l).getBytes()).toString();
+                items.add(item(productId, text, 1 + l % 9, "ea",
+                        10 + random.nextDouble() * 5));
+            }
+            quotes.add(quote("q" + q, "s" + q, items.toArray(Map[]::new)));
+        }
+
+        Map<String, Object> result = service.compare(quotes, Map.of());
+
+        assertEquals(1000, result.get("line_count"));
+        for (Map<String, Object> line : lines(result)) {
+            assertEquals(50, line.get("quotes_count"));
+        }
+    }
+
+    @Test
+    void compare_leavesQuotesInAnotherCurrencyOutOfBestPrices() {
+        Map<String, Object> euro = quote("q3", "s3", item("np-1", "A", 1, "ea", 1.0));
+        euro.put("currency", "EUR");
+        List<Map<String, Object>> quotes = List.of(
+                quote("q1", "s1", item("np-1", "A", 1, "ea", 10.0)),
+                quote("q2", "s2", item("np-1", "A", 1, "ea", 12.0)),
+                euro);
+
+        Map<String, Object> result = service.compare(quotes, Map.of());
+
+        assertEquals("USD", result.get("currency"));
+        Map<String, Object> line = lines(result).get(0);
+        assertEquals("q1", line.get("best_quote_id"));
+        List<Map<String, Object>> cells = (List<Map<String, Object>>) line.get("cells");
+        assertEquals(true, cells.get(2).get("currency_mismatch"));
+        assertNull(cells.get(2).get("delta_from_best"));
+
+        Map<String, Object> row = quoteRows(result).get(2);
+        assertEquals(true, row.get("currency_mismatch"));
+        assertEquals(0, row.get("lines_quoted"));
+        assertEquals(10.0, (Double) result.get("best_mix_total"), 0.0001);
+    }
+
+    @Test
+    void compare_marksQuoteWithSameProductInUnrelatedUnitsAsNotComparable() {
+        List<Map<String, Object>> quotes = List.of(
+                quote("q1", "s1", item("np-1", "Cement", 10, "ea", 5.0), item("np-1", "Cement", 100, "kg", 0.4)),
+                quote("q2", "s2", item("np-1", "Cement", 10, "ea", 6.0)));
+
+        Map<String, Object> result = service.compare(quotes, Map.of());
+
+        Map<String, Object> line = lines(result).get(0);
+        assertEquals("ea", line.get("uom"));
+        assertEquals("q2", line.get("best_quote_id"));
+        List<Map<String, Object>> cells = (List<Map<String, Object>>) line.get("cells");
+        assertEquals(true, cells.get(0).get("mixed_uom"));
+        assertEquals(true, cells.get(0).get("uom_mismatch"));
+        assertNull(cells.get(0).get("unit_price"));
+        assertEquals(90.0, (Double) cells.get(0).get("line_amount"), 0.0001);
+        assertEquals(0, quoteRows(result).get(0).get("lines_quoted"));
+    }
+
+    private List<Map<String, Object>> lines(Map<String, Object> result) {
+        return (List<Map<String, Object>>) result.get("lines");
+    }
+
+    private List<Map<String, Object>> quoteRows(Map<String, Object> result) {
+        return (List<Map<String, Object>>) result.get("quotes");
+    }
+
+    private Map<String, Object> quote(String id, String supplierId, Map<String, Object>... items) {
+        Map<String, Object> quote = new LinkedHashMap<>();
+        quote.put("id", id);
+        quote.put("supplier_id", supplierId);
+        quote.put("currency", "USD");
+        quote.put("items", List.of(items));
+        return quote;
+    }
+
+    private Map<String, Object> item(String productId, String text, double qty, String uom, double unitPrice) {
+        Map<String, Object> item = new LinkedHashMap<>();
+        item.put("normalized_product_id", productId);
+        item.put("raw_line_text", text);
+        item.put("qty", qty);
+        item.put("uom", uom);
+        item.put("unit_price", unitPrice);
+        return item;
+    }
+}
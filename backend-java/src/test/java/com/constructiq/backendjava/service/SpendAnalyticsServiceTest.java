@@ -0,0 +1,172 @@
+package com.constructiq.backendjava.service;
+
+import com.constructiq.backendjava.config.ConstructIQProperties;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class SpendAnalyticsServiceTest {
+
+    @Mock
+    private SqlDocumentStore store;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private SpendAnalyticsService service;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        service = new SpendAnalyticsService(store, new ConstructIQProperties());
+        when(store.find(eq("normalized_products"), anyMap(), isNull(), eq(false), eq(0), eq(0)))
+                .thenReturn(List.of(Map.of("id", "np-1", "category", "Steel")));
+        when(store.find(eq("rfqs"), anyMap(), isNull(), eq(false), eq(0), eq(0)))
+                .thenReturn(List.of(Map.of("id", "rfq-1", "project_id", "prj-1")));
+        when(store.find(eq("projects"), anyMap(), isNull(), eq(false), eq(0), eq(0)))
+                .thenReturn(List.of(Map.of("id", "prj-1", "name", "Tower")));
+        when(store.find(eq("suppliers"), anyMap(), isNull(), eq(false), eq(0), eq(0)))
+                .thenReturn(List.of(Map.of("id", "s1", "name", "Steel Co"), Map.of("id", "s2", "name", "Mix Co")));
+        lenient().doAnswer(inv -> {
+            Consumer<List<String>> consumer = inv.getArgument(3);
+            consumer.accept(List.of(json(quote("q1", "s1", "rfq-1", "2024-01-15T10:00:00Z",
+                    item("np-1", 100.0), item("", 50.0)))));
+            consumer.accept(List.of(json(quote("q2", "s2", null, "2024-02-03T10:00:00Z", item("np-1", 25.0)))));
+            return null;
+        }).when(store).scanJson(eq("quotes"), eq("org-1"), anyInt(), any());
+        lenient().when(store.decodeAll(anyList())).thenAnswer(inv -> {
+            List<Map<String, Object>> docs = new ArrayList<>();
+            for (String json : (List<String>) inv.getArgument(0)) docs.add(mapper.readValue(json, Map.class));
+            return docs;
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        service.shutdown();
+    }
+
+    @Test
+    void spend_aggregatesAcrossPartitions() {
+        Map<String, Object> result = service.spend("org-1", null, null, false);
+
+        assertEquals(175.0, (Double) result.get("total_spend"), 0.0001);
+        assertEquals(2L, result.get("quote_count"));
+        assertEquals(3L, result.get("line_count"));
+
+        List<Map<String, Object>> byCategory = (List<Map<String, Object>>) result.get("by_category");
+        assertEquals("Steel", byCategory.get(0).get("key"));
+        assertEquals(125.0, (Double) byCategory.get(0).get("amount"), 0.0001);
+
+        List<Map<String, Object>> byProject = (List<Map<String, Object>>) result.get("by_project");
+        Map<String, Object> tower = byProject.stream().filter(r -> "prj-1".equals(r.get("key"))).findFirst().orElseThrow();
+        assertEquals("Tower", tower.get("name"));
+        assertEquals(150.0, (Double) tower.get("amount"), 0.0001);
+
+        List<Map<String, Object>> byMonth = (List<Map<String, Object>>) result.get("by_month");
+        assertEquals("2024-01", byMonth.get(0).get("key"));
+        assertEquals("2024-02", byMonth.get(1).get("key"));
+    }
+
+    @Test
+    void spend_respectsDateRange() {
+        Map<String, Object> result = service.spend("org-1", "2024-02-01", "2024-02-28", false);
+
+        assertEquals(25.0, (Double) result.get("total_spend"), 0.0001);
+        assertEquals(1L, result.get("quote_count"));
+    }
+
+    @Test
+    void spend_totalsOnlyTheDominantCurrencyAndCountsTheRest() throws Exception {
+        Map<String, Object> euro = quote("q3", "s2", null, "2024-02-10T10:00:00Z", item("np-1", 1000.0));
+        euro.put("currency", "eur");
+        doAnswer(inv -> {
+            Consumer<List<String>> consumer = inv.getArgument(3);
+            consumer.accept(List.of(json(quote("q1", "s1", "rfq-1", "2024-01-15T10:00:00Z", item("np-1", 100.0))),
+                    json(quote("q2", "s2", null, "2024-02-03T10:00:00Z", item("np-1", 25.0))), json(euro)));
+            return null;
+        }).when(store).scanJson(eq("quotes"), eq("org-1"), anyInt(), any());
+
+        Map<String, Object> result = service.spend("org-1", null, null, false);
+
+        assertEquals("USD", result.get("currency"));
+        assertEquals(125.0, (Double) result.get("total_spend"), 0.0001);
+        assertEquals(2L, result.get("quote_count"));
+        assertEquals(1L, result.get("currency_mismatch"));
+        List<Map<String, Object>> byCurrency = (List<Map<String, Object>>) result.get("by_currency");
+        assertEquals("EUR", byCurrency.get(0).get("currency"));
+        assertEquals(1000.0, (Double) byCurrency.get(0).get("amount"), 0.0001);
+    }
+
+    @Test
+    void spend_reusesCachedResultUntilWriteVersionChanges() {
+        when(store.writeVersion(eq("org-1"), anyCollection())).thenReturn(1L, 1L, 2L);
+
+        assertEquals(false, service.spend("org-1", null, null, true).get("cached"));
+        assertEquals(true, service.spend("org-1", null, null, true).get("cached"));
+        assertEquals(false, service.spend("org-1", null, null, true).get("cached"));
+        verify(store, times(2)).scanJson(eq("quotes"), eq("org-1"), anyInt(), any());
+    }
+
+    @Test
+    void spend_manyPages_mergesAllWhileBoundingInFlightPages() throws Exception {
+        String page = json(quote("q", "s1", null, "2024-03-01T10:00:00Z", item("np-1", 2.0)));
+        doAnswer(inv -> {
+            Consumer<List<String>> consumer = inv.getArgument(3);
+            for (int i = 0; i < 500; i++) consumer.accept(List.of(page, page));
+            return null;
+        }).when(store).scanJson(eq("quotes"), eq("org-1"), anyInt(), any());
+
+        Map<String, Object> result = service.spend("org-1", null, null, false);
+
+        assertEquals(1000L, result.get("quote_count"));
+        assertEquals(2000.0, (Double) result.get("total_spend"), 0.0001);
+    }
+
+    @Test
+    void spend_cacheEvictsLeastRecentlyUsedEntry() {
+        when(store.writeVersion(eq("org-1"), anyCollection())).thenReturn(1L);
+
+        service.spend("org-1", "2024-01-01", null, true);
+        for (int i = 0; i < 256; i++) {
+            assertEquals(true, service.spend("org-1", "2024-01-01", null, true).get("cached"));
+            service.spend("org-1", null, "2025-" + i, true);
+        }
+
+        assertEquals(true, service.spend("org-1", "2024-01-01", null, true).get("cached"));
+        assertEquals(false, service.spend("org-1", null, "2025-0", true).get("cached"));
+    }
+
+    private String json(Map<String, Object> doc) throws Exception {
+        return mapper.writeValueAsString(doc);
+    }
+
+    private Map<String, Object> quote(String id, String supplierId, String rfqId, String receivedAt,
+                                      Map<String, Object>... items) {
+        Map<String, Object> quote = new java.util.LinkedHashMap<>();
+        quote.put("id", id);
+        quote.put("org_id", "org-1");
+        quote.put("supplier_id", supplierId);
+        if (rfqId != null) quote.put("rfq_id", rfqId);
+        quote.put("received_at", receivedAt);
+        quote.put("items", List.of(items));
+        return quote;
+    }
+
+    private Map<String, Object> item(String productId, double total) {
+        return Map.of("normalized_product_id", productId, "qty", 1, "unit_price", total, "total_price", total);
+    }
+}
@@ -0,0 +1,155 @@
+package com.constructiq.backendjava.service;
+
+import com.constructiq.backendjava.store.LatestPriceStore;
+import com.constructiq.backendjava.store.RfqInvitationStore;
+import com.constructiq.backendjava.store.SqlDocumentStore;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("unchecked")
+class SupplierScorecardServiceTest {
+
+    private static final Instant SENT_AT = Instant.parse("2026-01-01T08:00:00Z");
+
+    @Mock
+    private SqlDocumentStore store;
+
+    @Mock
+    private LatestPriceStore latestPrices;
+
+    @Mock
+    private RfqInvitationStore invitations;
+
+    private SupplierScorecardService scorecards;
+
+    @BeforeEach
+    void setUp() {
+        scorecards = new SupplierScorecardService(store, latestPrices, invitations);
+    }
+
+    @Test
+    void onRfqSent_countsOnlyNewInvitations() {
+        when(invitations.invite("org-1", "rfq-1", List.of("s1", "s2"), SENT_AT)).thenReturn(List.of("s2"));
+
+        scorecards.onRfqSent("org-1", "rfq-1", List.of("s1", "s2"), SENT_AT);
+
+        verify(store).increment(eq(SupplierScorecardService.COLLECTION), argThat(card -> "s2".equals(card.get("id"))),
+                eq(Map.of("rfq_invited", 1L)), anyString());
+        verifyNoMoreInteractions(store);
+    }
+
+    @Test
+    void onRfqSent_resend_doesNotIncrementAgain() {
+        when(invitations.invite(anyString(), anyString(), anyCollection(), any())).thenReturn(List.of());
+
+        scorecards.onRfqSent("org-1", "rfq-1", List.of("s1"), SENT_AT);
+
+        verifyNoInteractions(store);
+    }
+
+    @Test
+    void onQuoteCreated_firstResponse_recordsResponseAndLatency() {
+        when(invitations.markResponded("org-1", "rfq-1", "s1", Instant.parse("2026-01-01T11:00:00Z")))
+                .thenReturn(Optional.of(SENT_AT));
+
+        scorecards.onQuoteCreated("org-1", Map.of("supplier_id", "s1", "rfq_id", "rfq-1",
+                "total_amount", 250.0, "received_at", "2026-01-01T11:00:00Z"));
+
+        assertEquals(Map.of("quote_count", 1L, "quoted_amount_total", 250.0, "rfq_responded", 1L,
+                "response_latency_samples", 1L, "response_latency_hours_total", 3.0), deltas());
+    }
+
+    @Test
+    void onQuoteCreated_laterQuote_countsQuoteOnly() {
+        when(invitations.markResponded(anyString(), anyString(), anyString(), any())).thenReturn(Optional.empty());
+
+        scorecards.onQuoteCreated("org-1", Map.of("supplier_id", "s1", "rfq_id", "rfq-1", "total_amount", 100));
+
+        assertEquals(Map.of("quote_count", 1L, "quoted_amount_total", 100.0), deltas());
+    }
+
+    @Test
+    void onPricePoint_recordsRankAndVolatilitySums() {
+        when(latestPrices.forProduct("org-1", "p1")).thenReturn(List.of(
+                latest("s1", 9.0), latest("s2", 8.0), latest("s3", 12.0)));
+
+        scorecards.onPricePoint("org-1", "p1", "s1",
+                new PriceAnomalyDetector.Observation("s1", 11.0, 10.0, 10.0, 0.0, 0.0, 3));
+
+        Map<String, Number> deltas = deltas();
+        assertEquals(1L, deltas.get("rank_samples"));
+        assertEquals(2L, deltas.get("rank_sum"));
+        assertEquals(1L, deltas.get("volatility_samples"));
+        assertEquals(10.0, deltas.get("volatility_sum").doubleValue(), 1e-9);
+        assertEquals(100.0, deltas.get("volatility_sum_sq").doubleValue(), 1e-9);
+    }
+
+    @Test
+    void onPricePoints_looksUpCompetitorsOnceAndSumsIntoOneUpdate() {
+        when(latestPrices.forProducts("org-1", List.of("p1", "p2"))).thenReturn(Map.of(
+                "p1", List.of(latest("s1", 9.0), latest("s2", 8.0)),
+                "p2", List.of(latest("s2", 20.0), latest("s3", 30.0))));
+
+        scorecards.onPricePoints("org-1", "s1", List.of(
+                new SupplierScorecardService.PricedProduct("p1", new PriceAnomalyDetector.Observation("s1", 11.0, 10.0, 10.0, 0.0, 0.0, 3)),
+                new SupplierScorecardService.PricedProduct("p2", new PriceAnomalyDetector.Observation("s1", 10.0, 0.0, 0.0, 0.0, 0.0, 0))));
+
+        Map<String, Number> deltas = deltas();
+        assertEquals(2L, deltas.get("rank_samples"));
+        assertEquals(3L, deltas.get("rank_sum"));
+        assertEquals(1L, deltas.get("volatility_samples"));
+        assertEquals(10.0, deltas.get("volatility_sum").doubleValue(), 1e-9);
+        verify(latestPrices, never()).forProduct(anyString(), anyString());
+    }
+
+    @Test
+    void get_derivesMetricsFromCounters() {
+        when(store.findOne(SupplierScorecardService.COLLECTION, "s1", "org-1")).thenReturn(Optional.of(new HashMap<>(Map.of(
+                "id", "s1", "rfq_invited", 4, "rfq_responded", 3,
+                "response_latency_samples", 2, "response_latency_hours_total", 5.0,
+                "rank_samples", 2, "rank_sum", 3,
+                "volatility_samples", 3, "volatility_sum", 6.0, "volatility_sum_sq", 20.0))));
+
+        Map<String, Object> card = scorecards.get("org-1", "s1");
+
+        assertEquals(0.75, card.get("response_rate"));
+        assertEquals(2.5, card.get("avg_response_hours"));
+        assertEquals(1.5, card.get("avg_price_rank"));
+        assertEquals(2.0, card.get("price_volatility"));
+    }
+
+    @Test
+    void storeFailure_propagatesToCaller() {
+        doThrow(new DataAccessResourceFailureException("down"))
+                .when(store).increment(anyString(), anyMap(), anyMap(), anyString());
+
+        assertThrows(DataAccessResourceFailureException.class,
+                () -> scorecards.onQuoteCreated("org-1", Map.of("supplier_id", "s1")));
+    }
+
+    private static LatestPriceStore.LatestPrice latest(String supplierId, double unitPrice) {
+        return new LatestPriceStore.LatestPrice("p1", supplierId, unitPrice, "RON", "buc", null, null);
+    }
+
+    private Map<String, Number> deltas() {
+        ArgumentCaptor<Map<String, Number>> deltas = ArgumentCaptor.forClass(Map.class);
+        verify(store).increment(eq(SupplierScorecardService.COLLECTION), anyMap(), deltas.capture(), anyString());
+        return deltas.getValue();
+    }
+}
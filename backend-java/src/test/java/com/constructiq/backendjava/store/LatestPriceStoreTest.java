@@ -0,0 +1,40 @@
+package com.constructiq.backendjava.store;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class LatestPriceStoreTest {
+
+    @Mock
+    private JdbcTemplate jdbc;
+
+    @InjectMocks
+    private LatestPriceStore latestPrices;
+
+    @Test
+    void bestPrices_pagesProductsFirstAndScopesEveryJoinToTheOrg() {
+        latestPrices.bestPrices("org-1", "Steel", 50, 25);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbc).query(sql.capture(), any(RowMapper.class), params.capture());
+        String query = sql.getValue();
+        assertTrue(query.contains("AND category_col = ?"), query);
+        assertTrue(query.contains("ORDER BY name_col, doc_id\n    LIMIT 25 OFFSET 50"), query);
+        assertTrue(query.contains("PARTITION BY lp.product_id, lp.currency, lp.uom"), query);
+        assertTrue(query.contains("JOIN page ON page.doc_id = lp.product_id"), query);
+        assertTrue(query.contains("s.collection_name = 'suppliers' AND s.org_id = ?"), query);
+        assertArrayEquals(new Object[]{"org-1", "Steel", "org-1", "org-1"}, params.getValue());
+    }
+}
@@ -0,0 +1,92 @@
+package com.constructiq.backendjava.store;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SingleFlightTest {
+
+    private static final int FOLLOWERS = 8;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void leaderMutatingItsResult_doesNotLeakIntoFollowers() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SingleFlight flight = new SingleFlight(registry, true);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        ExecutorService pool = Executors.newFixedThreadPool(FOLLOWERS + 1);
+        try {
+            Future<List<Map<String, Object>>> leader = pool.submit(() -> {
+                List<Map<String, Object>> result = flight.execute("find", "k", () -> {
+                    entered.countDown();
+                    await(release);
+                    List<Map<String, Object>> docs = new ArrayList<>();
+                    for (int i = 0; i < 200; i++) {
+                        docs.add(new LinkedHashMap<>(Map.of("id", "d" + i, "tags", new ArrayList<>(List.of("a")))));
+                    }
+                    return docs;
+                });
+                for (int round = 0; round < 200; round++) {
+                    for (Map<String, Object> doc : result) {
+                        doc.put("extra-" + round, round);
+                        ((List<Object>) doc.get("tags")).add(round);
+                    }
+                    result.add(new LinkedHashMap<>(Map.of("id", "added-" + round, "tags", new ArrayList<>())));
+                }
+                return result;
+            });
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+            List<Future<List<Map<String, Object>>>> followers = new ArrayList<>();
+            for (int i = 0; i < FOLLOWERS; i++) {
+                followers.add(pool.submit(() -> flight.execute("find", "k", List::<Map<String, Object>>of)));
+            }
+            long deadline = System.currentTimeMillis() + 5000;
+            while (coalesced(registry) < FOLLOWERS && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            assertEquals(400, leader.get(5, TimeUnit.SECONDS).size());
+            for (Future<List<Map<String, Object>>> follower : followers) {
+                List<Map<String, Object>> docs = follower.get(5, TimeUnit.SECONDS);
+                assertEquals(200, docs.size());
+                for (Map<String, Object> doc : docs) {
+                    assertEquals(2, doc.size());
+                    assertEquals(List.of("a"), doc.get("tags"));
+                }
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertEquals(FOLLOWERS, coalesced(registry));
+    }
+
+    private static double coalesced(SimpleMeterRegistry registry) {
+        Counter counter = registry.find("constructiq_store_single_flight_total").tag("result", "coalesced").counter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            assertTrue(latch.await(5, TimeUnit.SECONDS));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -10,9 +10,15 @@ import org.testcontainers.containers.MySQLContainer;
 import org.testcontainers.junit.jupiter.Container;
 import org.testcontainers.junit.jupiter.Testcontainers;
 
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -32,12 +38,20 @@ class SqlDocumentStoreIntegrationTest {
     @Autowired
     private SqlDocumentStore store;
 
+    @Autowired
+    private LatestPriceStore latestPrices;
+
+    @Autowired
+    private RfqInvitationStore invitations;
+
     @Autowired
     private org.springframework.jdbc.core.JdbcTemplate jdbc;
 
     @BeforeEach
     void cleanUp() {
-        jdbc.update("DELETE FROM documents WHERE org_id IN ('org-1','org-2','org-count','org-del','org-upd','org-sort')");
+        jdbc.update("DELETE FROM documents WHERE org_id IN ('org-1','org-2','org-count','org-del','org-upd','org-sort','org-scan','org-price','org-inc')");
+        jdbc.update("DELETE FROM rfq_invitations WHERE org_id = 'org-inc'");
+        jdbc.update("DELETE FROM latest_prices WHERE org_id = 'org-price'");
     }
 
     @Test
@@ -68,6 +82,23 @@ class SqlDocumentStoreIntegrationTest {
         assertEquals("Alpha", results.get(0).get("name"));
     }
 
+    @Test
+    void stream_withLookup_joinsSupplierNamesInOneStatement() throws Exception {
+        store.upsert("suppliers", Map.of("id", "lk-s1", "org_id", "org-lk", "name", "Acme"));
+        store.upsert("price_points", Map.of("id", "lk-pp1", "org_id", "org-lk", "supplier_id", "lk-s1",
+                "observed_at", "2024-01-01T00:00:00Z"));
+        store.upsert("price_points", Map.of("id", "lk-pp2", "org_id", "org-lk", "supplier_id", "lk-missing",
+                "observed_at", "2024-01-02T00:00:00Z"));
+
+        List<Map<String, Object>> docs = new ArrayList<>();
+        store.stream("price_points", Map.of("org_id", "org-lk"), "observed_at", false, 10,
+                new SqlDocumentStore.Lookup("suppliers", "supplier_id", "name", "supplier_name"), docs::add);
+
+        assertEquals(2, docs.size());
+        assertEquals("Acme", docs.get(0).get("supplier_name"));
+        assertNull(docs.get(1).get("supplier_name"));
+    }
+
     @Test
     void count_returnsCorrectCount() {
         store.upsert("projects", Map.of("id", "c1", "org_id", "org-count", "status", "active"));
@@ -134,4 +165,98 @@ class SqlDocumentStoreIntegrationTest {
         assertEquals("Updated", result.get().get("name"));
         assertEquals("completed", result.get().get("status"));
     }
+
+    @Test
+    void scan_visitsEveryOrgDocumentInPages() {
+        for (int i = 0; i < 7; i++) {
+            store.upsert("quotes", Map.of("id", "scan-" + i, "org_id", "org-scan", "total_amount", i));
+        }
+        store.upsert("quotes", Map.of("id", "scan-other", "org_id", "org-2", "total_amount", 99));
+
+        List<Integer> pageSizes = new java.util.ArrayList<>();
+        List<Object> ids = new java.util.ArrayList<>();
+        store.scan("quotes", "org-scan", 3, page -> {
+            pageSizes.add(page.size());
+            page.forEach(d -> ids.add(d.get("id")));
+        });
+
+        assertEquals(List.of(3, 3, 1), pageSizes);
+        assertEquals(7, ids.size());
+        assertFalse(ids.contains("scan-other"));
+    }
+
+    @Test
+    void latestPrices_keepNewestObservationAndRankBestSupplier() {
+        store.upsert("normalized_products", Map.of("id", "np-1", "org_id", "org-price", "canonical_name", "Rebar"));
+        store.upsert("suppliers", Map.of("id", "s1", "org_id", "org-price", "name", "Steel Co"));
+        latestPrices.upsert("org-price", "np-1", "s1", 900.0, "USD", "ton", "2024-01-02T00:00:00Z", "pp-2");
+        latestPrices.upsert("org-price", "np-1", "s1", 500.0, "USD", "ton", "2024-01-01T00:00:00Z", "pp-1");
+        latestPrices.upsert("org-price", "np-1", "s2", 950.0, "USD", "ton", "2024-01-03T00:00:00Z", "pp-3");
+
+        List<LatestPriceStore.LatestPrice> prices = latestPrices.forProduct("org-price", "np-1");
+        assertEquals(2, prices.size());
+        assertEquals("pp-2", prices.get(0).pricePointId());
+        assertEquals(900.0, prices.get(0).unitPrice());
+
+        List<LatestPriceStore.BestPrice> best = latestPrices.bestPrices("org-price", null, 0, 10);
+        assertEquals(1, best.size());
+        assertEquals("s1", best.get(0).best().supplierId());
+        assertEquals("Steel Co", best.get(0).supplierName());
+        assertEquals(2, best.get(0).supplierCount());
+    }
+
+    @Test
+    void bestPrices_comparesOnlyWithinCurrencyAndBaseUom() {
+        store.upsert("normalized_products", Map.of("id", "np-2", "org_id", "org-price", "canonical_name", "Cement",
+                "category", "Binders", "base_uom", "bag"));
+        store.upsert("normalized_products", Map.of("id", "np-3", "org_id", "org-price", "canonical_name", "Aggregate",
+                "category", "Fill", "base_uom", "ton"));
+        store.upsert("suppliers", Map.of("id", "s1", "org_id", "org-price", "name", "Own Supplier"));
+        latestPrices.upsert("org-price", "np-2", "s1", 30.0, "RON", "bag", "2024-01-01T00:00:00Z", "pp-10");
+        latestPrices.upsert("org-price", "np-2", "s2", 32.0, "RON", "bag", "2024-01-01T00:00:00Z", "pp-11");
+        latestPrices.upsert("org-price", "np-2", "s3", 6.0, "EUR", "bag", "2024-01-01T00:00:00Z", "pp-12");
+        latestPrices.upsert("org-price", "np-2", "s4", 1.0, "RON", "kg", "2024-01-01T00:00:00Z", "pp-13");
+
+        List<LatestPriceStore.BestPrice> best = latestPrices.bestPrices("org-price", "Binders", 0, 10);
+
+        assertEquals(1, best.size());
+        assertEquals("s1", best.get(0).best().supplierId());
+        assertEquals("RON", best.get(0).best().currency());
+        assertEquals("Own Supplier", best.get(0).supplierName());
+        assertEquals(4, best.get(0).supplierCount());
+        assertEquals(List.of("Aggregate", "Cement"),
+                latestPrices.bestPrices("org-price", null, 0, 10).stream().map(LatestPriceStore.BestPrice::productName).toList());
+    }
+
+    @Test
+    void increment_concurrentUpdates_areNotLost() throws Exception {
+        Map<String, Object> initial = new LinkedHashMap<>(Map.of("id", "s1", "org_id", "org-inc", "quote_count", 0, "total", 0.0));
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<?>> updates = new ArrayList<>();
+            for (int i = 0; i < 200; i++) {
+                updates.add(pool.submit(() -> store.increment("supplier_scorecards", initial,
+                        Map.of("quote_count", 1L, "total", 0.5), Instant.now().toString())));
+            }
+            for (Future<?> update : updates) update.get();
+        } finally {
+            pool.shutdown();
+        }
+
+        Map<String, Object> card = store.findOne("supplier_scorecards", "s1", "org-inc").orElseThrow();
+        assertEquals(200, ((Number) card.get("quote_count")).intValue());
+        assertEquals(100.0, ((Number) card.get("total")).doubleValue(), 1e-9);
+    }
+
+    @Test
+    void invitations_areIdempotentPerRfqAndSupplier() {
+        Instant sentAt = Instant.parse("2026-01-01T08:00:00Z");
+
+        assertEquals(List.of("s1", "s2"), invitations.invite("org-inc", "rfq-1", List.of("s1", "s2"), sentAt));
+        assertEquals(List.of("s3"), invitations.invite("org-inc", "rfq-1", List.of("s1", "s3"), sentAt.plusSeconds(60)));
+
+        assertEquals(Optional.of(sentAt), invitations.markResponded("org-inc", "rfq-1", "s1", sentAt.plusSeconds(3600)));
+        assertEquals(Optional.empty(), invitations.markResponded("org-inc", "rfq-1", "s1", sentAt.plusSeconds(7200)));
+        assertEquals(Optional.empty(), invitations.markResponded("org-inc", "rfq-1", "s9", sentAt));
+    }
 }
@@ -1,18 +1,29 @@
 package com.constructiq.backendjava.store;
 
+import com.constructiq.backendjava.config.ConstructIQProperties;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.RowCallbackHandler;
 import org.springframework.jdbc.core.RowMapper;
 
+import java.sql.ResultSet;
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import org.mockito.ArgumentCaptor;
 
@@ -69,6 +80,38 @@ class SqlDocumentStoreTest {
         verify(jdbc, times(1)).update(anyString(), eq("projects"), eq("doc-1"), eq("org-1"), anyString());
     }
 
+    @Test
+    void upsertAll_issuesSingleBatchAndBumpsVersion() {
+        long before = store.writeVersion("org-1", List.of("projects"));
+        store.upsertAll("projects", List.of(
+                new LinkedHashMap<>(Map.of("id", "doc-1", "org_id", "org-1")),
+                new LinkedHashMap<>(Map.of("id", "doc-2", "org_id", "org-1"))));
+
+        ArgumentCaptor<List<Object[]>> rows = ArgumentCaptor.forClass(List.class);
+        verify(jdbc).batchUpdate(anyString(), rows.capture());
+        assertEquals(2, rows.getValue().size());
+        assertEquals("doc-2", rows.getValue().get(1)[1]);
+        assertTrue(store.writeVersion("org-1", List.of("projects")) > before);
+    }
+
+    @Test
+    void sharedWriteVersions_bumpInDatabaseAndAreReadBack() {
+        store.shareWriteVersions(List.of("quotes"));
+        when(jdbc.queryForObject(contains("FROM collection_versions"), eq(Long.class), any(Object[].class)))
+                .thenReturn(7L);
+
+        store.upsert("quotes", new LinkedHashMap<>(Map.of("id", "q-1", "org_id", "org-1")));
+        store.upsert("projects", new LinkedHashMap<>(Map.of("id", "p-1", "org_id", "org-1")));
+
+        verify(jdbc).update(contains("INSERT INTO collection_versions"), eq("org-1"), eq("quotes"));
+        verify(jdbc, never()).update(contains("INSERT INTO collection_versions"), eq("org-1"), eq("projects"));
+
+        assertEquals(8L, store.writeVersion("org-1", List.of("quotes", "projects")));
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbc).queryForObject(contains("collection_name IN (?)"), eq(Long.class), params.capture());
+        assertArrayEquals(new Object[]{"org-1", "quotes"}, params.getValue());
+    }
+
     @Test
     void deleteOne_callsJdbcUpdate() {
         when(jdbc.update(anyString(), eq("projects"), eq("doc-1"), eq("org-1"))).thenReturn(1);
@@ -99,6 +142,233 @@ class SqlDocumentStoreTest {
         assertTrue(sqlCaptor.getValue().contains("ORDER BY"));
     }
 
+    @Test
+    void find_usesIndexedColumnsForOrgStatusAndSort() {
+        when(jdbc.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        store.find("alert_events", Map.of("org_id", "org-1", "status", "new"), "triggered_at", true, 0, 5);
+
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbc).query(sqlCaptor.capture(), any(RowMapper.class), any(Object[].class));
+        String sql = sqlCaptor.getValue();
+        assertTrue(sql.contains("org_id=?"), sql);
+        assertTrue(sql.contains("status_col=?"), sql);
+        assertTrue(sql.contains("ORDER BY triggered_at_col DESC"), sql);
+    }
+
+    @Test
+    void summarize_issuesSingleUnionQuery() throws Exception {
+        ResultSet count = mock(ResultSet.class);
+        when(count.getString("k")).thenReturn("rfqs_count");
+        when(count.getString("kind")).thenReturn("c");
+        when(count.getLong("n")).thenReturn(7L);
+        ResultSet recent = mock(ResultSet.class);
+        when(recent.getString("k")).thenReturn("rfqs");
+        when(recent.getString("kind")).thenReturn("r");
+        when(recent.getString("json_data")).thenReturn("{\"id\":\"r1\"}");
+        doAnswer(inv -> {
+            RowCallbackHandler handler = inv.getArgument(1);
+            handler.processRow(count);
+            handler.processRow(recent);
+            return null;
+        }).when(jdbc).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        SqlDocumentStore.Summary summary = store.summarize("org-1",
+                List.of(new SqlDocumentStore.CountSpec("rfqs_count", "rfqs", null),
+                        new SqlDocumentStore.CountSpec("active_alerts", "alert_events", "new")),
+                List.of(new SqlDocumentStore.RecentSpec("rfqs", "created_at", 5),
+                        new SqlDocumentStore.RecentSpec("quotes", "created_at", 5)));
+
+        assertEquals(Map.of("rfqs_count", 7L, "active_alerts", 0L), summary.counts());
+        assertEquals("r1", summary.recent().get("rfqs").get(0).get("id"));
+        assertTrue(summary.recent().get("quotes").isEmpty());
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbc, times(1)).query(sqlCaptor.capture(), any(RowCallbackHandler.class), any(Object[].class));
+        assertEquals(3, sqlCaptor.getValue().split("UNION ALL").length - 1);
+        assertTrue(sqlCaptor.getValue().contains("ORDER BY created_at_col DESC LIMIT 5"));
+    }
+
+    @Test
+    void streamRaw_pushesRangeFilterDownAndPassesRowsThrough() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("json_data")).thenReturn("{\"id\": \"pp-1\"}");
+        doAnswer(inv -> {
+            inv.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbc).query(any(PreparedStatementCreator.class), any(RowCallbackHandler.class));
+
+        List<String> rows = new ArrayList<>();
+        store.streamRaw("price_points", Map.of("org_id", "org-1", "observed_at", Map.of("$gte", "2024-01-01")),
+                "observed_at", false, 1000, rows::add);
+
+        assertEquals(List.of("{\"id\": \"pp-1\"}"), rows);
+        verify(jdbc, never()).query(anyString(), any(RowMapper.class), any(Object[].class));
+    }
+
+    @Test
+    void stream_withLookup_resolvesValuesInTheStreamingStatement() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("json_data")).thenReturn("{\"id\": \"pp-1\", \"org_id\": \"org-1\", \"supplier_id\": \"s1\"}");
+        when(row.getString("looked_up")).thenReturn("Acme");
+        ArgumentCaptor<PreparedStatementCreator> creator = ArgumentCaptor.forClass(PreparedStatementCreator.class);
+        doAnswer(inv -> {
+            inv.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbc).query(creator.capture(), any(RowCallbackHandler.class));
+
+        List<Map<String, Object>> docs = new ArrayList<>();
+        store.stream("price_points", Map.of("org_id", "org-1"), "observed_at", false, 1000,
+                new SqlDocumentStore.Lookup("suppliers", "supplier_id", "name", "supplier_name"), docs::add);
+
+        assertEquals("Acme", docs.get(0).get("supplier_name"));
+        java.sql.Connection connection = mock(java.sql.Connection.class);
+        java.sql.PreparedStatement ps = mock(java.sql.PreparedStatement.class);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        when(connection.prepareStatement(sql.capture(), anyInt(), anyInt())).thenReturn(ps);
+        creator.getValue().createPreparedStatement(connection);
+        assertTrue(sql.getValue().startsWith("SELECT json_data, (SELECT JSON_UNQUOTE(JSON_EXTRACT(j.json_data, '$.name'))"
+                + " FROM documents j WHERE j.collection_name=?"), sql.getValue());
+        verify(ps).setString(1, "suppliers");
+        verify(ps).setString(2, "price_points");
+        verify(jdbc, never()).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+    }
+
+    @Test
+    void fieldByDocId_looksUpOnlyRequestedIds() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("doc_id")).thenReturn("s1");
+        when(row.getString("v")).thenReturn("Acme");
+        doAnswer(inv -> {
+            inv.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbc).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        Map<String, String> names = store.fieldByDocId("suppliers", "org-1", "name", List.of("s1", "s2"));
+
+        assertEquals(Map.of("s1", "Acme"), names);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbc).query(sql.capture(), any(RowCallbackHandler.class), params.capture());
+        assertTrue(sql.getValue().endsWith("AND doc_id IN (?,?)"));
+        assertArrayEquals(new Object[]{"suppliers", "org-1", "s1", "s2"}, params.getValue());
+        assertTrue(store.fieldByDocId("suppliers", "org-1", "name", List.of()).isEmpty());
+    }
+
+    @Test
+    void findByDocIds_readsRequestedDocumentsInOneQuery() throws Exception {
+        ResultSet row = mock(ResultSet.class);
+        when(row.getString("doc_id")).thenReturn("a1");
+        when(row.getString("json_data")).thenReturn("{\"id\":\"a1\",\"samples\":3}");
+        doAnswer(inv -> {
+            inv.getArgument(1, RowCallbackHandler.class).processRow(row);
+            return null;
+        }).when(jdbc).query(anyString(), any(RowCallbackHandler.class), any(Object[].class));
+
+        Map<String, Map<String, Object>> docs = store.findByDocIds("price_anomaly_state", "org-1", List.of("a1", "a2"));
+
+        assertEquals(Map.of("a1", Map.of("id", "a1", "samples", 3)), docs);
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbc).query(sql.capture(), any(RowCallbackHandler.class), params.capture());
+        assertTrue(sql.getValue().endsWith("AND doc_id IN (?,?)"));
+        assertArrayEquals(new Object[]{"price_anomaly_state", "org-1", "a1", "a2"}, params.getValue());
+    }
+
+    @Test
+    void increment_appliesDeltasInOneStatement() throws Exception {
+        Map<String, Object> initial = new LinkedHashMap<>();
+        initial.put("id", "s1");
+        initial.put("org_id", "org-1");
+        initial.put("quote_count", 0);
+        initial.put("quoted_amount_total", 0.0);
+        Map<String, Number> deltas = new LinkedHashMap<>();
+        deltas.put("quote_count", 1L);
+        deltas.put("quoted_amount_total", 12.5);
+
+        store.increment("supplier_scorecards", initial, deltas, "2026-01-01T00:00Z");
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        ArgumentCaptor<Object[]> params = ArgumentCaptor.forClass(Object[].class);
+        verify(jdbc).update(sql.capture(), params.capture());
+        assertTrue(sql.getValue().endsWith("ON DUPLICATE KEY UPDATE json_data = JSON_SET(json_data, "
+                + "'$.quote_count', CAST(COALESCE(JSON_EXTRACT(json_data, '$.quote_count'), 0) AS SIGNED) + ?, "
+                + "'$.quoted_amount_total', CAST(COALESCE(JSON_EXTRACT(json_data, '$.quoted_amount_total'), 0) AS DOUBLE) + ?, "
+                + "'$.updated_at', ?), version = version + 1, updated_at = CURRENT_TIMESTAMP"), sql.getValue());
+        Object[] args = params.getValue();
+        assertEquals(List.of("supplier_scorecards", "s1", "org-1"), List.of(args[0], args[1], args[2]));
+        assertEquals(Map.of("id", "s1", "org_id", "org-1", "quote_count", 1, "quoted_amount_total", 12.5,
+                "updated_at", "2026-01-01T00:00Z"), new ObjectMapper().readValue((String) args[3], Map.class));
+        assertEquals(List.of(1L, 12.5, "2026-01-01T00:00Z"), List.of(args[4], args[5], args[6]));
+    }
+
+    @Test
+    void increment_rejectsFieldNamesThatAreNotIdentifiers() {
+        Map<String, Object> initial = Map.of("id", "s1", "org_id", "org-1");
+
+        assertThrows(IllegalArgumentException.class,
+                () -> store.increment("supplier_scorecards", initial, Map.of("x') , '$.y", 1L), "now"));
+        verifyNoInteractions(jdbc);
+    }
+
+    @Test
+    void find_withFields_projectsInSql() {
+        when(jdbc.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        store.find("quotes", Map.of("org_id", "org-1"), "created_at", true, 0, 10, List.of("id", "totals.amount"));
+
+        ArgumentCaptor<String> sqlCaptor = ArgumentCaptor.forClass(String.class);
+        verify(jdbc).query(sqlCaptor.capture(), any(RowMapper.class), any(Object[].class));
+        assertTrue(sqlCaptor.getValue().startsWith("SELECT JSON_OBJECT('id', JSON_EXTRACT(json_data, '$.id'), "
+                + "'totals.amount', JSON_EXTRACT(json_data, '$.totals.amount')) AS projected FROM documents"),
+                sqlCaptor.getValue());
+        assertThrows(IllegalArgumentException.class, () -> store.find("quotes", Map.of(), null, false, 0, 10,
+                List.of("id') FROM documents --")));
+    }
+
+    @Test
+    void find_withFieldsAndComplexQuery_projectsInMemory() {
+        Map<String, Object> doc = new LinkedHashMap<>(Map.of("id", "q1", "org_id", "org-1", "name", "Alpha",
+                "totals", Map.of("amount", 12.5), "items", List.of(Map.of("sku", "x"))));
+        when(jdbc.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(doc));
+
+        List<Map<String, Object>> results = store.find("quotes",
+                Map.of("org_id", "org-1", "name", Map.of("$regex", "alp")), null, false, 0, 10,
+                List.of("id", "totals.amount", "status"));
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("id", "q1");
+        expected.put("totals", Map.of("amount", 12.5));
+        expected.put("status", null);
+        assertEquals(List.of(expected), results);
+    }
+
+    @Test
+    void find_withFields_nestsDottedPathsFromSql() {
+        Map<String, Object> row = new LinkedHashMap<>();
+        row.put("id", "q1");
+        row.put("totals.amount", 12.5);
+        row.put("totals.currency", "EUR");
+        row.put("supplier", Map.of("name", "Acme"));
+        row.put("supplier.name", "Acme");
+        when(jdbc.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of(row));
+
+        List<Map<String, Object>> results = store.find("quotes", Map.of("org_id", "org-1"), null, false, 0, 10,
+                List.of("id", "totals.amount", "totals.currency", "supplier", "supplier.name"));
+
+        Map<String, Object> expected = new LinkedHashMap<>();
+        expected.put("id", "q1");
+        expected.put("totals", Map.of("amount", 12.5, "currency", "EUR"));
+        expected.put("supplier", Map.of("name", "Acme"));
+        assertEquals(List.of(expected), results);
+    }
+
+    @Test
+    void parseFields_putsIdFirstAndDropsDuplicates() {
+        assertEquals(List.of(), SqlDocumentStore.parseFields(" "));
+        assertEquals(List.of("id", "name", "totals.amount"), SqlDocumentStore.parseFields("name, totals.amount,id,name"));
+        assertThrows(IllegalArgumentException.class, () -> SqlDocumentStore.parseFields("name,a-b"));
+    }
+
     @Test
     void find_complexQuery_fallsBackToInMemoryFilter() {
         Map<String, Object> doc1 = new LinkedHashMap<>(Map.of("id", "r1", "org_id", "org-1", "name", "Alpha"));
@@ -115,6 +385,80 @@ class SqlDocumentStoreTest {
         assertEquals("r1", results.get(0).get("id"));
     }
 
+    @Test
+    void find_recordsTimerTaggedByCollectionAndPath() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlDocumentStore instrumented = new SqlDocumentStore(jdbc, new ObjectMapper(), registry, new ConstructIQProperties());
+        Map<String, Object> doc1 = new LinkedHashMap<>(Map.of("id", "r1", "org_id", "org-1", "name", "Alpha"));
+        Map<String, Object> doc2 = new LinkedHashMap<>(Map.of("id", "r2", "org_id", "org-1", "name", "Beta"));
+        when(jdbc.query(anyString(), any(RowMapper.class), any(Object[].class)))
+                .thenReturn(List.of(doc1, doc2));
+
+        instrumented.find("projects", Map.of("org_id", "org-1", "name", Map.of("$regex", "alpha")), null, false, 0, 10);
+        instrumented.find("projects", Map.of("org_id", "org-1"), null, false, 0, 10);
+
+        assertEquals(1, registry.get("constructiq_store_operation_seconds")
+                .tags("operation", "find", "collection", "projects", "path", "in_memory").timer().count());
+        assertEquals(1, registry.get("constructiq_store_operation_seconds")
+                .tags("operation", "find", "collection", "projects", "path", "sql").timer().count());
+        assertEquals(3, registry.get("constructiq_store_rows_returned")
+                .tags("operation", "find", "collection", "projects").summary().totalAmount());
+    }
+
+    @Test
+    void deleteOneFindAllAndScanJson_recordStoreTimers() {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlDocumentStore instrumented = new SqlDocumentStore(jdbc, new ObjectMapper(), registry, new ConstructIQProperties());
+        when(jdbc.query(anyString(), any(RowMapper.class), any(Object[].class))).thenReturn(List.of());
+
+        instrumented.deleteOne("projects", "doc-1", "org-1");
+        instrumented.findAll("projects");
+        instrumented.scanJson("quotes", "org-1", 100, page -> {});
+
+        for (String[] op : new String[][]{{"deleteOne", "projects"}, {"findAll", "projects"}, {"scanJson", "quotes"}}) {
+            assertEquals(1, registry.get("constructiq_store_operation_seconds")
+                    .tags("operation", op[0], "collection", op[1], "path", "sql").timer().count(), op[0]);
+        }
+    }
+
+    @Test
+    void find_concurrentIdenticalQueries_shareOneExecution() throws Exception {
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        SqlDocumentStore coalescing = new SqlDocumentStore(jdbc, new ObjectMapper(), registry, new ConstructIQProperties());
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        when(jdbc.query(anyString(), any(RowMapper.class), any(Object[].class))).thenAnswer(inv -> {
+            entered.countDown();
+            assertTrue(release.await(5, TimeUnit.SECONDS));
+            return List.of(new LinkedHashMap<>(Map.of("id", "r1", "org_id", "org-1")));
+        });
+        Map<String, Object> query = Map.of("org_id", "org-1");
+
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<List<Map<String, Object>>> leader = pool.submit(() -> coalescing.find("rfqs", query, null, false, 0, 10));
+            assertTrue(entered.await(5, TimeUnit.SECONDS));
+            Future<List<Map<String, Object>>> follower = pool.submit(() -> coalescing.find("rfqs", query, null, false, 0, 10));
+            long deadline = System.currentTimeMillis() + 5000;
+            while (registry.find("constructiq_store_single_flight_total").tag("result", "coalesced").counter() == null
+                    && System.currentTimeMillis() < deadline) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            List<Map<String, Object>> first = leader.get(5, TimeUnit.SECONDS);
+            List<Map<String, Object>> second = follower.get(5, TimeUnit.SECONDS);
+            assertEquals(first, second);
+            assertNotSame(first.get(0), second.get(0));
+        } finally {
+            pool.shutdownNow();
+        }
+
+        verify(jdbc, times(1)).query(anyString(), any(RowMapper.class), any(Object[].class));
+        assertEquals(1, registry.get("constructiq_store_single_flight_total")
+                .tags("operation", "find", "result", "coalesced").counter().count());
+    }
+
     @Test
     void updateByQuery_mergesUpdatesCorrectly() {
         Map<String, Object> existing = new LinkedHashMap<>(Map.of("id", "d1", "org_id", "o1", "status", "draft"));
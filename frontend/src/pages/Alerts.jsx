@@ -322,6 +322,7 @@ export default function Alerts() {
                       <SelectContent>
                         <SelectItem value="threshold_vs_last">Prag vs Ultimul Preț</SelectItem>
                         <SelectItem value="threshold_vs_avg">Prag vs Medie</SelectItem>
+                        <SelectItem value="price_anomaly">Anomalie Statistică (z-score)</SelectItem>
                       </SelectContent>
                     </Select>
                   </div>